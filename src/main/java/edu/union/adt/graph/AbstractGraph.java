@@ -0,0 +1,137 @@
+package edu.union.adt.graph;
+
+/**
+ * A skeletal Graph implementation.  Subclasses provide storage and
+ * the basic queries (vertices, adjacency, counts and mutation); this
+ * class supplies the path queries, isEmpty, equals, hashCode and
+ * toString in terms of them.
+ *
+ * The path queries run one breadth-first search each and stop as
+ * soon as the destination is discovered, and report the vertices and
+ * edges they visit to an InstrumentedGraph wrapped around the graph.
+ * Subclasses with faster access to their storage may override them.
+ *
+ * @version 1
+ */
+public abstract class AbstractGraph<V> implements Graph<V>
+{
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    public boolean isEmpty()
+    {
+        return numVertices() == 0;
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        return PathSearch.hasPath(this, from, to, null);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * path.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(V from, V to)
+    {
+        return PathSearch.pathLength(this, from, to, null);
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices, including both endpoints.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to'.  If there is no path, the collection
+     * is empty.
+     */
+    public Iterable<V> getPath(V from, V to)
+    {
+        return PathSearch.path(this, from, to, null);
+    }
+
+    /**
+     * Two graphs are equal if they have the same vertices and the
+     * same edges, regardless of how they are stored.
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof Graph)) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        Graph<Object> that = (Graph<Object>) other;
+        if (numVertices() != that.numVertices()
+            || numEdges() != that.numEdges()) {
+            return false;
+        }
+        for (V vertex : getVertices()) {
+            if (!that.contains(vertex)) {
+                return false;
+            }
+            for (V next : adjacentTo(vertex)) {
+                if (!that.hasEdge(vertex, next)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = 0;
+        for (V vertex : getVertices()) {
+            hash += vertex.hashCode();
+            for (V next : adjacentTo(vertex)) {
+                hash += 31 * vertex.hashCode() ^ next.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Gives a string representation of the graph: one line per
+     * vertex, in the format described by Graph.toString.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder representation = new StringBuilder();
+        for (V vertex : getVertices()) {
+            representation.append(vertex).append(":");
+            String separator = " ";
+            for (V next : adjacentTo(vertex)) {
+                representation.append(separator).append(next);
+                separator = ", ";
+            }
+            representation.append("\n");
+        }
+        return representation.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package edu.union.adt.graph;
+
+/**
+ * A graph that can only grow: removeVertex and removeEdge throw
+ * UnsupportedOperationException.  Handed out by GraphFactory for the
+ * APPEND_ONLY mutability.
+ *
+ * @version 1
+ */
+class AppendOnlyGraph<V> extends ForwardingGraph<V>
+{
+    AppendOnlyGraph(Graph<V> delegate)
+    {
+        super(delegate);
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("Graph is append-only");
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Graph is append-only");
+    }
+}
@@ -0,0 +1,346 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs path queries on a graph asynchronously, on a fixed pool of
+ * worker threads, and returns each answer as a CompletableFuture.
+ *
+ * Callers (request handlers on virtual threads, say) wait on the
+ * future instead of running a long breadth-first search themselves,
+ * so a slow query occupies one of the pool's threads and never the
+ * caller's.  The pool and its queue are bounded: when the queue is
+ * full a query is refused at once, its future failing with
+ * RejectedExecutionException, so overload sheds queries instead of
+ * piling them up.
+ *
+ * Each query may have a timeout, after which its future fails with
+ * TimeoutException.  Cancelling a future or timing it out also stops
+ * the search: the searches used here check their future before each
+ * vertex they expand (every 1024 edges for FrozenGraphs, whose own
+ * search is used) and give up once it is done.
+ *
+ * Queries run concurrently with each other and with the caller, so
+ * the graph must tolerate concurrent readers, as FrozenGraph,
+ * CompressedGraph and VersionedGraph do.
+ *
+ * @version 1
+ */
+public class AsyncGraphQueries<V> implements AutoCloseable
+{
+    /**
+     * Thrown inside a search to abandon it.
+     */
+    private static final class Stopped extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        Stopped()
+        {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final Stopped STOPPED = new Stopped();
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final Graph<V> graph;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor timer;
+    private final long defaultTimeoutNanos;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    /**
+     * Creates a query runner with one worker per processor, a queue of
+     * 1024 queries and no default timeout.
+     *
+     * @param graph the graph to query
+     */
+    public AsyncGraphQueries(Graph<V> graph)
+    {
+        this(graph, Runtime.getRuntime().availableProcessors(), 1024, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param graph the graph to query
+     * @param threads how many queries may run at once
+     * @param queueCapacity how many queries may wait for a thread
+     * @param defaultTimeout the timeout of queries that do not give
+     * one; 0 for none
+     * @param unit the unit of 'defaultTimeout'
+     */
+    public AsyncGraphQueries(Graph<V> graph, int threads, int queueCapacity,
+                             long defaultTimeout, TimeUnit unit)
+    {
+        if (graph == null) {
+            throw new NullPointerException("Graph must not be null");
+        }
+        if (threads < 1 || queueCapacity < 1 || defaultTimeout < 0) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+        this.graph = graph;
+        this.defaultTimeoutNanos = unit.toNanos(defaultTimeout);
+        int pool = POOLS.incrementAndGet();
+        workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                                         new ArrayBlockingQueue<Runnable>(queueCapacity),
+                                         daemons("graph-query-" + pool + "-"));
+        timer = new ScheduledThreadPoolExecutor(1, daemons("graph-query-timer-" + pool + "-"));
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    private static ThreadFactory daemons(String prefix)
+    {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @return the graph being queried.
+     */
+    public Graph<V> graph()
+    {
+        return graph;
+    }
+
+    public CompletableFuture<Boolean> hasPath(V from, V to)
+    {
+        return hasPath(from, to, defaultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Asks whether there is a path from 'from' to 'to'.
+     *
+     * @param timeout how long the query may take, queueing included;
+     * 0 for no limit
+     * @param unit the unit of 'timeout'
+     * @return the answer, to come
+     */
+    public CompletableFuture<Boolean> hasPath(V from, V to, long timeout, TimeUnit unit)
+    {
+        return submit(guard -> {
+            if (graph instanceof FrozenGraph) {
+                return ((FrozenGraph<V>) graph).hasPath(from, to, guarded(guard));
+            }
+            return PathSearch.hasPath(graph, from, to, null, guard);
+        }, unit.toNanos(timeout));
+    }
+
+    public CompletableFuture<Integer> pathLength(V from, V to)
+    {
+        return pathLength(from, to, defaultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Finds the length of the shortest path from 'from' to 'to'.
+     *
+     * @param timeout how long the query may take, queueing included;
+     * 0 for no limit
+     * @param unit the unit of 'timeout'
+     * @return the length, Integer.MAX_VALUE if there is no path, to
+     * come
+     */
+    public CompletableFuture<Integer> pathLength(V from, V to, long timeout, TimeUnit unit)
+    {
+        return submit(guard -> {
+            if (graph instanceof FrozenGraph) {
+                return ((FrozenGraph<V>) graph).pathLength(from, to, guarded(guard));
+            }
+            return PathSearch.pathLength(graph, from, to, null, guard);
+        }, unit.toNanos(timeout));
+    }
+
+    public CompletableFuture<List<V>> getPath(V from, V to)
+    {
+        return getPath(from, to, defaultTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Finds a shortest path from 'from' to 'to'.
+     *
+     * @param timeout how long the query may take, queueing included;
+     * 0 for no limit
+     * @param unit the unit of 'timeout'
+     * @return the vertices of the path, including both ends, or an
+     * empty list if there is no path, to come
+     */
+    public CompletableFuture<List<V>> getPath(V from, V to, long timeout, TimeUnit unit)
+    {
+        return submit(guard -> {
+            if (graph instanceof FrozenGraph) {
+                List<V> path = new ArrayList<V>();
+                for (V vertex : ((FrozenGraph<V>) graph).getPath(from, to, guarded(guard))) {
+                    path.add(vertex);
+                }
+                return path;
+            }
+            return PathSearch.path(graph, from, to, null, guard);
+        }, unit.toNanos(timeout));
+    }
+
+    /**
+     * @return an edge filter that accepts every edge and checks
+     * 'guard' every 1024 edges.
+     */
+    private static IntPredicate guarded(PathSearch.Guard guard)
+    {
+        int[] edges = new int[1];
+        return edge -> {
+            if ((++edges[0] & 1023) == 0) {
+                guard.check();
+            }
+            return true;
+        };
+    }
+
+    /**
+     * A search to run on a worker.
+     */
+    private interface Search<T>
+    {
+        T run(PathSearch.Guard guard);
+    }
+
+    /**
+     * A queued or running query and the future it completes.
+     */
+    private static final class Query<T> implements Runnable
+    {
+        private final Search<T> search;
+        private final CompletableFuture<T> future = new CompletableFuture<T>();
+
+        Query(Search<T> search)
+        {
+            this.search = search;
+        }
+
+        public void run()
+        {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(search.run(() -> {
+                    if (future.isDone() || Thread.currentThread().isInterrupted()) {
+                        throw STOPPED;
+                    }
+                }));
+            } catch (Stopped e) {
+                future.cancel(false);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Search<T> search, long timeoutNanos)
+    {
+        if (timeoutNanos < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        Query<T> query = new Query<T>(search);
+        CompletableFuture<T> future = query.future;
+        try {
+            workers.execute(query);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(e);
+            return future;
+        }
+        ScheduledFuture<?> deadline = null;
+        if (timeoutNanos > 0) {
+            deadline = timer.schedule(() -> {
+                // Counted first so the count is visible to whoever sees the timeout.
+                timedOut.increment();
+                if (!future.completeExceptionally(new TimeoutException("Query took longer than "
+                                                                       + timeoutNanos + " ns"))) {
+                    timedOut.decrement();
+                }
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        ScheduledFuture<?> timeout = deadline;
+        future.whenComplete((result, failure) -> {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            if (future.isCancelled()) {
+                cancelled.increment();
+            } else if (failure == null) {
+                completed.increment();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return the number of queries answered.
+     */
+    public long completedCount()
+    {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of queries refused because the queue was
+     * full.
+     */
+    public long rejectedCount()
+    {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of queries that ran out of time.
+     */
+    public long timedOutCount()
+    {
+        return timedOut.sum();
+    }
+
+    /**
+     * @return the number of queries cancelled, by their callers or by
+     * close().
+     */
+    public long cancelledCount()
+    {
+        return cancelled.sum();
+    }
+
+    /**
+     * @return the number of queries waiting for a thread.
+     */
+    public int queuedCount()
+    {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Cancels every query not yet answered and stops the threads.
+     * Later queries are rejected.
+     */
+    public void close()
+    {
+        for (Runnable waiting : workers.shutdownNow()) {
+            ((Query<?>) waiting).future.cancel(false);
+        }
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,251 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named, typed attribute columns over a fixed range of indices: the
+ * vertex ids or the edge indices of a FrozenGraph.  Each column is one
+ * primitive array (or a BitSet) indexed like the graph, so reading an
+ * attribute during a traversal is an array access with no boxing and
+ * no hashing.
+ *
+ * The column methods create a column the first time they are asked
+ * for a name and return the same column afterwards; asking for an
+ * existing name with a different type throws
+ * IllegalArgumentException.  Columns are returned directly and are
+ * written in place:
+ *
+ * <PRE>
+ * long[] timestamps = graph.edgeAttributes().longColumn("timestamp");
+ * timestamps[graph.edgeIndex("A", "B")] = 1700000000L;
+ * graph.hasPath("A", "C", edge -&gt; timestamps[edge] &gt; cutoff);
+ * </PRE>
+ *
+ * Creating columns is thread-safe; writing to them is up to the
+ * caller.
+ *
+ * @version 1
+ */
+public final class Attributes
+{
+    private final int size;
+    private final Map<String, Object> columns = new LinkedHashMap<String, Object>();
+
+    Attributes(int size)
+    {
+        this.size = size;
+    }
+
+    /**
+     * @return the number of indices each column covers.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the names of the columns, in the order they were created.
+     */
+    public synchronized Set<String> names()
+    {
+        return new LinkedHashSet<String>(columns.keySet());
+    }
+
+    /**
+     * @return the int column with a given name, created filled with 0.
+     */
+    public int[] intColumn(String name)
+    {
+        return column(name, int[].class);
+    }
+
+    /**
+     * @return the long column with a given name, created filled with 0.
+     */
+    public long[] longColumn(String name)
+    {
+        return column(name, long[].class);
+    }
+
+    /**
+     * @return the double column with a given name, created filled
+     * with 0.
+     */
+    public double[] doubleColumn(String name)
+    {
+        return column(name, double[].class);
+    }
+
+    /**
+     * @return the boolean column with a given name, created all false.
+     */
+    public BitSet booleanColumn(String name)
+    {
+        return column(name, BitSet.class);
+    }
+
+    /**
+     * @return the string column with a given name, created all null.
+     */
+    public StringColumn stringColumn(String name)
+    {
+        return column(name, StringColumn.class);
+    }
+
+    /**
+     * Fills this set with copies of the columns of another set of the
+     * same size, moving the value at each index i to index moved[i].
+     */
+    synchronized void copyFrom(Attributes source, int[] moved)
+    {
+        synchronized (source) {
+            for (Map.Entry<String, Object> entry : source.columns.entrySet()) {
+                Object from = entry.getValue();
+                Object to;
+                if (from instanceof int[]) {
+                    int[] values = new int[size];
+                    for (int i = 0; i < moved.length; i++) {
+                        values[moved[i]] = ((int[]) from)[i];
+                    }
+                    to = values;
+                } else if (from instanceof long[]) {
+                    long[] values = new long[size];
+                    for (int i = 0; i < moved.length; i++) {
+                        values[moved[i]] = ((long[]) from)[i];
+                    }
+                    to = values;
+                } else if (from instanceof double[]) {
+                    double[] values = new double[size];
+                    for (int i = 0; i < moved.length; i++) {
+                        values[moved[i]] = ((double[]) from)[i];
+                    }
+                    to = values;
+                } else if (from instanceof BitSet) {
+                    BitSet values = new BitSet(size);
+                    BitSet set = (BitSet) from;
+                    for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+                        values.set(moved[i]);
+                    }
+                    to = values;
+                } else {
+                    StringColumn strings = (StringColumn) from;
+                    StringColumn values = new StringColumn(size);
+                    values.dictionary.addAll(strings.dictionary);
+                    values.lookup.putAll(strings.lookup);
+                    for (int i = 0; i < moved.length; i++) {
+                        values.codes[moved[i]] = strings.codes[i];
+                    }
+                    to = values;
+                }
+                columns.put(entry.getKey(), to);
+            }
+        }
+    }
+
+    private synchronized <T> T column(String name, Class<T> type)
+    {
+        Object column = columns.get(name);
+        if (column == null) {
+            if (type == int[].class) {
+                column = new int[size];
+            } else if (type == long[].class) {
+                column = new long[size];
+            } else if (type == double[].class) {
+                column = new double[size];
+            } else if (type == BitSet.class) {
+                column = new BitSet(size);
+            } else {
+                column = new StringColumn(size);
+            }
+            columns.put(name, column);
+        } else if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Attribute " + name + " is not a "
+                                               + type.getSimpleName() + " column");
+        }
+        return type.cast(column);
+    }
+
+    /**
+     * A dictionary-encoded string column.  Each distinct string is
+     * stored once and each index holds a small int code, so filters
+     * can compare codes instead of strings:
+     *
+     * <PRE>
+     * int road = labels.codeOf("road");
+     * graph.hasPath(a, b, edge -&gt; labels.code(edge) == road);
+     * </PRE>
+     */
+    public static final class StringColumn
+    {
+        private final int[] codes;
+        private final List<String> dictionary = new ArrayList<String>();
+        private final Map<String, Integer> lookup = new HashMap<String, Integer>();
+
+        StringColumn(int size)
+        {
+            codes = new int[size];
+            Arrays.fill(codes, -1);
+        }
+
+        /**
+         * @return the string at an index, or null if none was set.
+         */
+        public String get(int index)
+        {
+            int code = codes[index];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        /**
+         * Sets the string at an index; null clears it.
+         */
+        public void set(int index, String value)
+        {
+            if (value == null) {
+                codes[index] = -1;
+                return;
+            }
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+            codes[index] = code;
+        }
+
+        /**
+         * @return the code of the string at an index, or -1 if none
+         * was set.
+         */
+        public int code(int index)
+        {
+            return codes[index];
+        }
+
+        /**
+         * @return the code of a string, or -1 if no index holds it.
+         */
+        public int codeOf(String value)
+        {
+            Integer code = lookup.get(value);
+            return code == null ? -1 : code;
+        }
+
+        /**
+         * @return the number of distinct strings ever set.
+         */
+        public int distinctValues()
+        {
+            return dictionary.size();
+        }
+    }
+}
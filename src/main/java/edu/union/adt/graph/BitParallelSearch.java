@@ -0,0 +1,143 @@
+package edu.union.adt.graph;
+
+/**
+ * Runs up to 64 breadth-first searches over CSR arrays at once.  Each
+ * vertex carries a 64-bit mask of the sources that have reached it,
+ * so one sweep over the edges of the frontier advances every search
+ * by a level.  Shared by FrozenGraph.pathLengths and DistanceMatrix,
+ * which differ only in what they record when a search reaches one of
+ * their targets.
+ *
+ * A search object holds the masks and work lists for one graph and is
+ * reused from batch to batch; only the entries a batch touched are
+ * cleared after it.  It is not safe for concurrent use.
+ *
+ * @version 1
+ */
+final class BitParallelSearch
+{
+    /**
+     * The most sources searched together: one per bit of a long.
+     */
+    static final int BATCH = 64;
+
+    /**
+     * Told when the searches reach a target.
+     */
+    interface Hits
+    {
+        /**
+         * @param vertex a vertex marked as a target
+         * @param sources the bits of the sources that reached it first
+         * at this level
+         * @param level the distance from those sources
+         * @return how many answers this completed
+         */
+        long reached(int vertex, long sources, int level);
+    }
+
+    private final long[] seen;
+    private final long[] frontier;
+    private final long[] next;
+    private final int[] active;
+    private final int[] discovered;
+    private final int[] touched;
+
+    /**
+     * @param vertices the number of vertices of the graph searched
+     */
+    BitParallelSearch(int vertices)
+    {
+        seen = new long[vertices];
+        frontier = new long[vertices];
+        next = new long[vertices];
+        active = new int[vertices];
+        discovered = new int[vertices];
+        touched = new int[vertices];
+    }
+
+    /**
+     * Searches from sources[first, first + count), bit b standing for
+     * sources[first + b].  Sources of -1 are skipped; a source may
+     * appear more than once.  Stops once 'unanswered' answers have been
+     * reported or no search can go further.
+     *
+     * @param isTarget non-negative at the vertices whose hits matter
+     * @param unanswered how many answers the batch waits for
+     * @param hits receives each target's sources, level by level,
+     * starting with the sources that are themselves targets at level 0
+     */
+    void run(int[] offsets, int[] targets, int[] sources, int first, int count,
+             int[] isTarget, long unanswered, Hits hits)
+    {
+        long[] seen = this.seen;
+        long[] frontier = this.frontier;
+        long[] next = this.next;
+        int[] active = this.active;
+        int[] discovered = this.discovered;
+        int[] touched = this.touched;
+        int activeCount = 0;
+        int touchedCount = 0;
+        for (int b = 0; b < count; b++) {
+            int source = sources[first + b];
+            if (source < 0) {
+                continue;
+            }
+            long bit = 1L << b;
+            if (seen[source] == 0) {
+                active[activeCount++] = source;
+                touched[touchedCount++] = source;
+            }
+            seen[source] |= bit;
+            frontier[source] |= bit;
+        }
+        for (int a = 0; a < activeCount; a++) {
+            int source = active[a];
+            if (isTarget[source] >= 0) {
+                unanswered -= hits.reached(source, seen[source], 0);
+            }
+        }
+
+        int level = 0;
+        while (activeCount > 0 && unanswered > 0) {
+            level++;
+            int discoveredCount = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int v = active[a];
+                long reaching = frontier[v];
+                frontier[v] = 0;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    long fresh = reaching & ~seen[u];
+                    if (fresh != 0) {
+                        if (next[u] == 0) {
+                            discovered[discoveredCount++] = u;
+                        }
+                        if (seen[u] == 0) {
+                            touched[touchedCount++] = u;
+                        }
+                        next[u] |= fresh;
+                        seen[u] |= fresh;
+                    }
+                }
+            }
+            for (int d = 0; d < discoveredCount; d++) {
+                int u = discovered[d];
+                if (isTarget[u] >= 0) {
+                    unanswered -= hits.reached(u, next[u], level);
+                }
+                frontier[u] = next[u];
+                next[u] = 0;
+            }
+            int[] swap = active;
+            active = discovered;
+            discovered = swap;
+            activeCount = discoveredCount;
+        }
+
+        for (int t = 0; t < touchedCount; t++) {
+            seen[touched[t]] = 0;
+            frontier[touched[t]] = 0;
+        }
+    }
+}
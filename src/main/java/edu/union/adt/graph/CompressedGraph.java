@@ -0,0 +1,410 @@
+package edu.union.adt.graph;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable graph whose adjacency lists are compressed.
+ *
+ * Like FrozenGraph, each vertex gets a dense int id and its successors
+ * are sorted by id.  Instead of one int per edge, each row is stored as
+ * gaps between consecutive successors, written as variable-length
+ * integers: seven bits per byte, the high bit set on every byte but
+ * the last.  The first successor is stored relative to the row's own
+ * vertex (zig-zag encoded, since it may be smaller), so edges between
+ * vertices with nearby ids cost one byte each.  Rows are decoded on the
+ * fly by adjacentTo, hasEdge and the path queries; nothing is
+ * expanded in memory.
+ *
+ * How well a graph compresses depends on how its vertices are
+ * numbered: ids are assigned in getVertices order, and graphs whose
+ * edges mostly join vertices that are close in that order compress
+ * best.
+ *
+ * Compressed graphs are safe to share between threads.  All mutators
+ * throw UnsupportedOperationException.
+ *
+ * @version 1
+ */
+public final class CompressedGraph<V> extends AbstractGraph<V>
+{
+    private final Object[] vertices;
+    private final Map<V, Integer> ids;
+    private final int[] degrees;
+    private final int[] offsets;
+    private final byte[] data;
+    private final int edgeCount;
+
+    private CompressedGraph(Object[] vertices, int[] degrees, int[] offsets, byte[] data,
+                            int edgeCount)
+    {
+        this.vertices = vertices;
+        this.degrees = degrees;
+        this.offsets = offsets;
+        this.data = data;
+        this.edgeCount = edgeCount;
+        this.ids = new HashMap<V, Integer>(vertices.length * 4 / 3 + 1);
+        for (int i = 0; i < vertices.length; i++) {
+            ids.put(vertex(i), i);
+        }
+    }
+
+    /**
+     * Makes a compressed copy of a graph.
+     *
+     * @param source the graph to copy
+     * @return a compressed graph with the same vertices and edges, or
+     * 'source' itself if it is already compressed
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> CompressedGraph<V> copyOf(Graph<? extends V> source)
+    {
+        if (source instanceof CompressedGraph) {
+            return (CompressedGraph<V>) source;
+        }
+        FrozenGraph<V> frozen = FrozenGraph.copyOf(source);
+        int n = frozen.numVertices();
+        Object[] vertices = new Object[n];
+        int[] degrees = new int[n];
+        int[] offsets = new int[n + 1];
+        byte[] data = new byte[Math.max(16, frozen.numEdges() + n)];
+        int position = 0;
+        for (int v = 0; v < n; v++) {
+            vertices[v] = frozen.vertex(v);
+            offsets[v] = position;
+            int start = frozen.offsets[v];
+            int end = frozen.offsets[v + 1];
+            degrees[v] = end - start;
+            int previous = v;
+            for (int e = start; e < end; e++) {
+                int target = frozen.targets[e];
+                long value = e == start ? zigZag(target - v) : target - previous - 1;
+                if (data.length - position < 5) {
+                    data = Arrays.copyOf(data, data.length * 2);
+                }
+                position = writeVarint(data, position, value);
+                previous = target;
+            }
+        }
+        offsets[n] = position;
+        return new CompressedGraph<V>(vertices, degrees, offsets,
+                                      Arrays.copyOf(data, position), frozen.numEdges());
+    }
+
+    private static long zigZag(int value)
+    {
+        return ((value << 1) ^ (value >> 31)) & 0xffffffffL;
+    }
+
+    private static int unZigZag(long value)
+    {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    private static int writeVarint(byte[] data, int position, long value)
+    {
+        while (value >= 0x80) {
+            data[position++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * @return the number of bytes used to store the edges.
+     */
+    public long compressedSize()
+    {
+        return data.length + 4L * (degrees.length + offsets.length);
+    }
+
+    /**
+     * @return the vertex with a given id.
+     */
+    @SuppressWarnings("unchecked")
+    public V vertex(int id)
+    {
+        return (V) vertices[id];
+    }
+
+    /**
+     * @return the id of a vertex, or -1 if it is not in the graph.
+     */
+    public int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    public int numVertices()
+    {
+        return vertices.length;
+    }
+
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    public int degree(V vertex)
+    {
+        int id = id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex is not in the graph");
+        }
+        return degrees[id];
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return new AbstractList<V>() {
+            public V get(int index)
+            {
+                return vertex(index);
+            }
+
+            public int size()
+            {
+                return vertices.length;
+            }
+        };
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        final int id = id(from);
+        if (id < 0) {
+            return Collections.<V>emptyList();
+        }
+        return () -> new Iterator<V>() {
+            private final Row row = new Row(id);
+
+            public boolean hasNext()
+            {
+                return row.hasNext();
+            }
+
+            public V next()
+            {
+                if (!row.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return vertex(row.next());
+            }
+        };
+    }
+
+    /**
+     * Passes the ids of every edge to an action, in id order, decoding
+     * the rows in place.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void forEachEdge(IntIntConsumer action)
+    {
+        if (vertices.length == 0) {
+            return;
+        }
+        Row row = new Row(0);
+        for (int v = 0; v < vertices.length; v++) {
+            row.reset(v);
+            while (row.hasNext()) {
+                action.accept(v, row.next());
+            }
+        }
+    }
+
+    /**
+     * Passes the ids of every edge to an action from the threads of
+     * the common fork-join pool, split by ranges of vertices.  The
+     * action must be safe to call concurrently; edges arrive in no
+     * particular order.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void parallelForEachEdge(IntIntConsumer action)
+    {
+        IntStream.range(0, vertices.length).parallel().forEach(v -> {
+            Row row = new Row(v);
+            while (row.hasNext()) {
+                action.accept(v, row.next());
+            }
+        });
+    }
+
+    public boolean contains(V vertex)
+    {
+        return ids.containsKey(vertex);
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        int source = id(from);
+        int target = id(to);
+        if (source < 0 || target < 0) {
+            return false;
+        }
+        Row row = new Row(source);
+        while (row.hasNext()) {
+            int next = row.next();
+            if (next >= target) {
+                return next == target;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        return search(id(from), id(to)) != null;
+    }
+
+    public int pathLength(V from, V to)
+    {
+        int source = id(from);
+        int target = id(to);
+        int[] parents = search(source, target);
+        if (parents == null) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (int at = target; at != source; at = parents[at]) {
+            length++;
+        }
+        return length;
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        int source = id(from);
+        int target = id(to);
+        LinkedList<V> path = new LinkedList<V>();
+        int[] parents = search(source, target);
+        if (parents != null) {
+            int at = target;
+            path.push(vertex(at));
+            while (at != source) {
+                at = parents[at];
+                path.push(vertex(at));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Runs a breadth-first search over ids until 'target' is found,
+     * decoding each row as it is expanded.
+     *
+     * @return the BFS parent of each discovered id (-1 for the rest),
+     * or null if either id is missing or 'target' is unreachable.
+     */
+    private int[] search(int source, int target)
+    {
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        int[] parents = new int[vertices.length];
+        Arrays.fill(parents, -1);
+        parents[source] = source;
+        if (source == target) {
+            return parents;
+        }
+        int[] queue = new int[vertices.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        Row row = new Row(source);
+        long scanned = 0;
+        try {
+            while (head < tail) {
+                int current = queue[head++];
+                row.reset(current);
+                while (row.hasNext()) {
+                    int next = row.next();
+                    scanned++;
+                    if (parents[next] < 0) {
+                        parents[next] = current;
+                        if (next == target) {
+                            return parents;
+                        }
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            PathSearch.report(head, scanned);
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException("Compressed graphs are immutable");
+    }
+
+    public void addEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Compressed graphs are immutable");
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("Compressed graphs are immutable");
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Compressed graphs are immutable");
+    }
+
+    /**
+     * Decodes the successor ids of one vertex, in increasing order.
+     */
+    private final class Row
+    {
+        private int vertex;
+        private int position;
+        private int remaining;
+        private int previous;
+
+        Row(int vertex)
+        {
+            reset(vertex);
+        }
+
+        void reset(int vertex)
+        {
+            this.vertex = vertex;
+            position = offsets[vertex];
+            remaining = degrees[vertex];
+            previous = -1;
+        }
+
+        boolean hasNext()
+        {
+            return remaining > 0;
+        }
+
+        int next()
+        {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            remaining--;
+            previous = previous < 0 ? vertex + unZigZag(value) : previous + (int) value + 1;
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package edu.union.adt.graph;
+
+/**
+ * The management interface of a ConnectivityTracker.
+ *
+ * @version 1
+ */
+public interface ConnectivityMXBean
+{
+    /**
+     * @return the number of weakly connected components, as of the
+     * last addition or rebuild.
+     */
+    public int getComponentCount();
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int getVertexCount();
+
+    /**
+     * @return how many times the components were rebuilt after a
+     * removal.
+     */
+    public long getRebuildCount();
+}
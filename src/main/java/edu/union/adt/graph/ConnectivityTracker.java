@@ -0,0 +1,235 @@
+package edu.union.adt.graph;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A graph decorator that keeps track of the weakly connected
+ * components of the graph it wraps: two vertices are weakly connected
+ * if a path joins them when edge directions are ignored.
+ *
+ * The components are kept in a UnionFind over ids assigned here, and
+ * updated by every addVertex and addEdge, so connected, componentSize
+ * and componentCount take nearly constant time.  Removals can split a
+ * component, so removeVertex and removeEdge only mark the components
+ * stale; they are rebuilt from the wrapped graph's edges the next time
+ * they are asked for.  Workloads that only add are never rebuilt.
+ *
+ * hasPath, pathLength and getPath answer at once for vertices in
+ * different components and otherwise ask the wrapped graph.
+ *
+ * The component count can be read through JMX once register() has
+ * been called.  Trackers are not safe for concurrent use, so the JMX
+ * attributes never touch the components: they read counts the owning
+ * thread publishes after each change and each rebuild.  After a
+ * removal, the component count stays at its last value until the next
+ * query rebuilds the components.
+ *
+ * @version 1
+ */
+public class ConnectivityTracker<V> extends ForwardingGraph<V>
+    implements ConnectivityMXBean
+{
+    private final Map<V, Integer> ids = new HashMap<V, Integer>();
+    private final UnionFind components = new UnionFind(16);
+    private boolean stale;
+    private volatile long rebuilds;
+    private volatile int publishedComponents;
+    private volatile int publishedVertices;
+    private ObjectName registeredName;
+
+    /**
+     * @param delegate the graph to track; it may already hold vertices
+     * and edges
+     */
+    public ConnectivityTracker(Graph<V> delegate)
+    {
+        super(delegate);
+        rebuild();
+    }
+
+    /**
+     * Registers the tracker with the platform MBean server under
+     * "edu.union.adt.graph:type=Connectivity,name=<name>".
+     *
+     * @param name distinguishes this graph from other registered graphs
+     * @return the name the tracker was registered under
+     */
+    public synchronized ObjectName register(String name) throws JMException
+    {
+        unregister();
+        ObjectName objectName = new ObjectName("edu.union.adt.graph:type=Connectivity,name="
+                                               + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        registeredName = objectName;
+        return objectName;
+    }
+
+    /**
+     * Removes the tracker from the platform MBean server, if it was
+     * registered.
+     */
+    public synchronized void unregister() throws JMException
+    {
+        if (registeredName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(registeredName)) {
+                server.unregisterMBean(registeredName);
+            }
+            registeredName = null;
+        }
+    }
+
+    /**
+     * Tells whether two vertices are weakly connected.
+     *
+     * @return true iff both are in the graph and a path joins them
+     * when edge directions are ignored
+     */
+    public boolean connected(V first, V second)
+    {
+        current();
+        Integer a = ids.get(first);
+        Integer b = ids.get(second);
+        return a != null && b != null && components.connected(a, b);
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the number of vertices weakly connected to 'vertex',
+     * including itself, or 0 if it is not in the graph
+     */
+    public int componentSize(V vertex)
+    {
+        current();
+        Integer id = ids.get(vertex);
+        return id == null ? 0 : components.sizeOf(id);
+    }
+
+    /**
+     * @return the number of weakly connected components.
+     */
+    public int componentCount()
+    {
+        current();
+        return components.components();
+    }
+
+    private void current()
+    {
+        if (stale) {
+            rebuild();
+            rebuilds++;
+        }
+    }
+
+    /**
+     * Makes the counts current for JMX readers.
+     */
+    private void publish()
+    {
+        publishedVertices = delegate.numVertices();
+        if (!stale) {
+            publishedComponents = components.components();
+        }
+    }
+
+    private void rebuild()
+    {
+        ids.clear();
+        components.reset();
+        for (V vertex : delegate.getVertices()) {
+            id(vertex);
+        }
+        for (V vertex : delegate.getVertices()) {
+            int from = ids.get(vertex);
+            for (V next : delegate.adjacentTo(vertex)) {
+                components.union(from, ids.get(next));
+            }
+        }
+        stale = false;
+        publish();
+    }
+
+    /**
+     * @return the id of a vertex, giving it one in a component of its
+     * own if it has none.
+     */
+    private int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            id = ids.size();
+            ids.put(vertex, id);
+            components.ensure(id + 1);
+        }
+        return id;
+    }
+
+    public void addEdge(V from, V to)
+    {
+        delegate.addEdge(from, to);
+        if (!stale) {
+            components.union(id(from), id(to));
+        }
+        publish();
+    }
+
+    public void addVertex(V vertex)
+    {
+        delegate.addVertex(vertex);
+        if (!stale) {
+            id(vertex);
+        }
+        publish();
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        delegate.removeVertex(toRemove);
+        stale |= ids.containsKey(toRemove);
+        publish();
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        boolean present = delegate.hasEdge(from, to);
+        delegate.removeEdge(from, to);
+        stale |= present;
+        publish();
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        return connected(from, to) && delegate.hasPath(from, to);
+    }
+
+    public int pathLength(V from, V to)
+    {
+        return connected(from, to) ? delegate.pathLength(from, to) : Integer.MAX_VALUE;
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        return connected(from, to) ? delegate.getPath(from, to) : Collections.<V>emptyList();
+    }
+
+    public int getComponentCount()
+    {
+        return publishedComponents;
+    }
+
+    public int getVertexCount()
+    {
+        return publishedVertices;
+    }
+
+    public long getRebuildCount()
+    {
+        return rebuilds;
+    }
+}
@@ -0,0 +1,137 @@
+package edu.union.adt.graph;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Fills distance matrices over the CSR arrays of a FrozenGraph.
+ *
+ * Sources are taken 64 at a time (fewer for matrices so wide that 64
+ * rows would not fit in BLOCK_INTS) and searched together by a
+ * BitParallelSearch, which stops a batch as soon as each of its sources
+ * has reached every target, or none can go further.  Batches run in
+ * parallel on the common fork-join pool.  Scratch space is checked out
+ * of a pool kept for the one call, so there is at most one per batch
+ * running at once, and none outlives the call.  Each finished batch of
+ * rows is handed to a BlockSink.
+ *
+ * @version 1
+ */
+final class DistanceMatrix
+{
+    /**
+     * How many sources share a sweep: one per bit of a long.
+     */
+    static final int BATCH = BitParallelSearch.BATCH;
+
+    /**
+     * The most ints a block of rows holds.  Wide matrices take fewer
+     * than BATCH sources per sweep so that their blocks stay this
+     * small.
+     */
+    static final int BLOCK_INTS = 1 << 22;
+
+    /**
+     * Receives finished rows of a matrix.
+     */
+    interface BlockSink
+    {
+        /**
+         * @param firstRow the row of the matrix the block starts at
+         * @param block the rows, one after another, 'columns' ints each
+         * @param rows how many rows the block holds
+         */
+        void rows(int firstRow, int[] block, int rows);
+    }
+
+    /**
+     * Scratch space for one batch at a time, sized for one graph.
+     */
+    private static final class Scratch
+    {
+        final BitParallelSearch search;
+        final int[] block;
+
+        Scratch(int vertices, int columns)
+        {
+            search = new BitParallelSearch(vertices);
+            block = new int[rowsPerBlock(columns) * columns];
+        }
+    }
+
+    private DistanceMatrix()
+    {
+    }
+
+    /**
+     * @return how many rows of a matrix 'columns' wide go in a block.
+     */
+    static int rowsPerBlock(int columns)
+    {
+        return Math.max(1, Math.min(BATCH, BLOCK_INTS / Math.max(1, columns)));
+    }
+
+    /**
+     * Computes the distance from each source to each target.
+     *
+     * @param sources the source ids, -1 for vertices not in the graph
+     * @param columns the target ids, -1 for vertices not in the graph
+     * @param sink receives the rows, Integer.MAX_VALUE where there is
+     * no path, in blocks of at most rowsPerBlock(columns.length) rows
+     * that may arrive in any order and from any thread
+     */
+    static void compute(int[] offsets, int[] targets, int[] sources, int[] columns,
+                        BlockSink sink)
+    {
+        int n = offsets.length - 1;
+        int width = columns.length;
+        int batchRows = rowsPerBlock(width);
+        // the columns of each target id, as linked lists
+        int[] firstColumn = new int[n];
+        Arrays.fill(firstColumn, -1);
+        int[] nextColumn = new int[width];
+        int distinct = 0;
+        for (int c = width - 1; c >= 0; c--) {
+            int id = columns[c];
+            if (id >= 0) {
+                if (firstColumn[id] < 0) {
+                    distinct++;
+                }
+                nextColumn[c] = firstColumn[id];
+                firstColumn[id] = c;
+            }
+        }
+        int distinctTargets = distinct;
+        Queue<Scratch> idle = new ConcurrentLinkedQueue<Scratch>();
+        int batches = (sources.length + batchRows - 1) / batchRows;
+        IntStream.range(0, batches).parallel().forEach(batch -> {
+            int first = batch * batchRows;
+            int rows = Math.min(batchRows, sources.length - first);
+            Scratch space = idle.poll();
+            if (space == null) {
+                space = new Scratch(n, width);
+            }
+            int[] block = space.block;
+            Arrays.fill(block, 0, rows * width, Integer.MAX_VALUE);
+            long unanswered = 0;
+            for (int b = 0; b < rows; b++) {
+                if (sources[first + b] >= 0) {
+                    unanswered += distinctTargets;
+                }
+            }
+            space.search.run(offsets, targets, sources, first, rows, firstColumn, unanswered,
+                             (vertex, reached, level) -> {
+                for (long rest = reached; rest != 0; rest &= rest - 1) {
+                    int row = Long.numberOfTrailingZeros(rest) * width;
+                    for (int c = firstColumn[vertex]; c >= 0; c = nextColumn[c]) {
+                        block[row + c] = level;
+                    }
+                }
+                return Long.bitCount(reached);
+            });
+            sink.rows(first, block, rows);
+            idle.add(space);
+        });
+    }
+}
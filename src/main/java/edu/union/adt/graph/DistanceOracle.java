@@ -0,0 +1,360 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Bounds on path lengths, answered from distances to and from a few
+ * landmark vertices instead of a search.
+ *
+ * Building an oracle freezes the graph, picks landmarks (by default
+ * the vertices with the highest degree; see Selection), and runs a
+ * breadth-first search from each landmark along the edges and another
+ * against them, one landmark per thread.  The distances are kept in
+ * two int arrays laid out vertex by vertex, so a query reads two short
+ * runs of memory and takes O(landmarks) time.  Memory is two ints per
+ * vertex per landmark.
+ *
+ * By the triangle inequality, for every landmark L:
+ *
+ * <PRE>
+ * d(u, L) - d(v, L) &lt;= d(u, v) &lt;= d(u, L) + d(L, v)
+ * d(L, v) - d(L, u) &lt;= d(u, v)
+ * </PRE>
+ *
+ * upperBound takes the best route through a landmark and lowerBound
+ * the best of the differences; both are exact when either vertex is
+ * a landmark.  A landmark that reaches u but not v (or is reached
+ * from v but not from u) proves there is no path, and lowerBound then
+ * returns Integer.MAX_VALUE.  More landmarks give tighter bounds for
+ * more memory and a longer build.
+ *
+ * Oracles are immutable and describe the graph as it was when they
+ * were built; see RefreshingDistanceOracle for one that follows a
+ * changing graph.  They are safe to share between threads.
+ *
+ * @version 1
+ */
+public final class DistanceOracle<V>
+{
+    /**
+     * How landmarks are picked.
+     */
+    public enum Selection {
+        /**
+         * The vertices with the most edges in and out.  Best for graphs
+         * with hubs, whose shortest paths mostly pass through one.
+         */
+        DEGREE,
+        /**
+         * The busiest vertex, then repeatedly the vertex farthest from
+         * every landmark picked so far.  Best for graphs without hubs,
+         * such as road networks and meshes, where it spreads the
+         * landmarks around the edge of the graph.  The searches from
+         * the landmarks run one after another, since each decides the
+         * next landmark; only the searches towards them run in
+         * parallel.
+         */
+        FARTHEST
+    }
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final FrozenGraph<V> graph;
+    private final int[] landmarks;
+    /** d(landmark l, v) at [v * landmarks.length + l]. */
+    private final int[] fromLandmark;
+    /** d(v, landmark l) at [v * landmarks.length + l]. */
+    private final int[] toLandmark;
+
+    private DistanceOracle(FrozenGraph<V> graph, int[] landmarks, int[] fromLandmark,
+                           int[] toLandmark)
+    {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Builds an oracle for a graph, picking the busiest vertices as
+     * landmarks.
+     *
+     * @param source the graph; it is copied into a FrozenGraph unless
+     * it is one already, and must not change while the copy is made
+     * @param landmarkCount how many landmarks to use; at most one per
+     * vertex is used
+     * @return the oracle
+     */
+    public static <V> DistanceOracle<V> build(Graph<? extends V> source, int landmarkCount)
+    {
+        return build(source, landmarkCount, Selection.DEGREE);
+    }
+
+    /**
+     * Builds an oracle for a graph.
+     *
+     * @param source the graph; it is copied into a FrozenGraph unless
+     * it is one already, and must not change while the copy is made
+     * @param landmarkCount how many landmarks to use; at most one per
+     * vertex is used
+     * @param selection how to pick the landmarks
+     * @return the oracle
+     */
+    public static <V> DistanceOracle<V> build(Graph<? extends V> source, int landmarkCount,
+                                              Selection selection)
+    {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException("At least one landmark is needed");
+        }
+        FrozenGraph<V> graph = FrozenGraph.copyOf(source);
+        int n = graph.numVertices();
+        int[] reverseOffsets = new int[n + 1];
+        int[] reverseTargets = new int[graph.targets.length];
+        for (int target : graph.targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] fill = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                reverseTargets[fill[graph.targets[e]]++] = v;
+            }
+        }
+
+        int stride = Math.min(landmarkCount, n);
+        if ((long) n * stride > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many landmarks for a graph this large");
+        }
+        int[] fromLandmark = new int[n * stride];
+        int[] toLandmark = new int[n * stride];
+        boolean farthest = selection == Selection.FARTHEST && n > 0;
+        int[] landmarks = farthest
+            ? farthest(graph, busiest(graph, reverseOffsets, 1)[0], stride, fromLandmark)
+            : busiest(graph, reverseOffsets, stride);
+        IntStream.range(0, stride).parallel().forEach(l -> {
+            int[] distances = new int[n];
+            int[] queue = new int[n];
+            if (!farthest) {
+                distances(landmarks[l], graph.offsets, graph.targets, distances, queue);
+                for (int v = 0; v < n; v++) {
+                    fromLandmark[v * stride + l] = distances[v];
+                }
+            }
+            distances(landmarks[l], reverseOffsets, reverseTargets, distances, queue);
+            for (int v = 0; v < n; v++) {
+                toLandmark[v * stride + l] = distances[v];
+            }
+        });
+        return new DistanceOracle<V>(graph, landmarks, fromLandmark, toLandmark);
+    }
+
+    /**
+     * @return the 'count' ids with the most edges in and out, busiest
+     * first.
+     */
+    private static int[] busiest(FrozenGraph<?> graph, int[] reverseOffsets, int count)
+    {
+        int n = graph.numVertices();
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            long degree = graph.offsets[v + 1] - graph.offsets[v]
+                + reverseOffsets[v + 1] - reverseOffsets[v];
+            keys[v] = degree << 32 | (n - 1 - v);
+        }
+        Arrays.sort(keys);
+        int[] busiest = new int[count];
+        for (int i = 0; i < count; i++) {
+            busiest[i] = n - 1 - (int) keys[n - 1 - i];
+        }
+        return busiest;
+    }
+
+    /**
+     * Picks landmarks by farthest-point traversal, filling in the
+     * distances from each one as it is picked.  Vertices no landmark
+     * reaches are not candidates, so isolated vertices are never
+     * picked while reachable ones remain; when none remain, the rest
+     * of the landmarks are the lowest unpicked ids.
+     */
+    private static int[] farthest(FrozenGraph<?> graph, int first, int count, int[] fromLandmark)
+    {
+        int n = graph.numVertices();
+        int[] landmarks = new int[count];
+        boolean[] picked = new boolean[n];
+        int[] nearest = new int[n];
+        Arrays.fill(nearest, UNREACHED);
+        int[] distances = new int[n];
+        int[] queue = new int[n];
+        int next = first;
+        int fallback = 0;
+        for (int l = 0; l < count; l++) {
+            landmarks[l] = next;
+            picked[next] = true;
+            distances(next, graph.offsets, graph.targets, distances, queue);
+            int best = -1;
+            for (int v = 0; v < n; v++) {
+                fromLandmark[v * count + l] = distances[v];
+                nearest[v] = Math.min(nearest[v], distances[v]);
+                if (!picked[v] && nearest[v] != UNREACHED
+                    && (best < 0 || nearest[v] > nearest[best])) {
+                    best = v;
+                }
+            }
+            if (best < 0) {
+                while (fallback < n && picked[fallback]) {
+                    fallback++;
+                }
+                best = fallback;
+            }
+            next = best;
+        }
+        return landmarks;
+    }
+
+    /**
+     * Fills 'distances' with the breadth-first distance of every id
+     * from 'source' over the given rows, UNREACHED where there is no
+     * path.
+     */
+    private static void distances(int source, int[] offsets, int[] targets, int[] distances,
+                                  int[] queue)
+    {
+        Arrays.fill(distances, UNREACHED);
+        distances[source] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int next = distances[current] + 1;
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int target = targets[e];
+                if (distances[target] == UNREACHED) {
+                    distances[target] = next;
+                    queue[tail++] = target;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the frozen copy of the graph the oracle was built from.
+     */
+    public FrozenGraph<V> graph()
+    {
+        return graph;
+    }
+
+    /**
+     * @return the landmarks, busiest first.
+     */
+    public List<V> landmarks()
+    {
+        List<V> items = new ArrayList<V>(landmarks.length);
+        for (int id : landmarks) {
+            items.add(graph.vertex(id));
+        }
+        return items;
+    }
+
+    /**
+     * @return the number of landmarks.
+     */
+    public int landmarkCount()
+    {
+        return landmarks.length;
+    }
+
+    /**
+     * @return the number of bytes used by the landmark distances.
+     */
+    public long memoryBytes()
+    {
+        return 4L * (fromLandmark.length + toLandmark.length + landmarks.length);
+    }
+
+    /**
+     * Gets a length that the shortest path from 'from' to 'to' is no
+     * longer than.
+     *
+     * @return the length of the shortest path through a landmark, 0 if
+     * the vertices are the same, or Integer.MAX_VALUE if no landmark
+     * lies on a path between them or either is not in the graph
+     */
+    public int upperBound(V from, V to)
+    {
+        return upper(graph.id(from), graph.id(to));
+    }
+
+    private int upper(int from, int to)
+    {
+        if (from < 0 || to < 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (from == to) {
+            return 0;
+        }
+        int stride = landmarks.length;
+        int u = from * stride;
+        int v = to * stride;
+        long best = UNREACHED;
+        for (int l = 0; l < stride; l++) {
+            int out = toLandmark[u + l];
+            int back = fromLandmark[v + l];
+            if (out != UNREACHED && back != UNREACHED) {
+                best = Math.min(best, (long) out + back);
+            }
+        }
+        return (int) best;
+    }
+
+    /**
+     * Gets a length that the shortest path from 'from' to 'to' is at
+     * least as long as.
+     *
+     * @return the bound, 0 if the vertices are the same, or
+     * Integer.MAX_VALUE if the landmarks prove there is no path or
+     * either vertex is not in the graph
+     */
+    public int lowerBound(V from, V to)
+    {
+        return lower(graph.id(from), graph.id(to));
+    }
+
+    private int lower(int from, int to)
+    {
+        if (from < 0 || to < 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (from == to) {
+            return 0;
+        }
+        int stride = landmarks.length;
+        int u = from * stride;
+        int v = to * stride;
+        int best = 1;
+        for (int l = 0; l < stride; l++) {
+            int reachesFrom = fromLandmark[u + l];
+            int reachesTo = fromLandmark[v + l];
+            if (reachesFrom != UNREACHED) {
+                if (reachesTo == UNREACHED) {
+                    return Integer.MAX_VALUE;
+                }
+                best = Math.max(best, reachesTo - reachesFrom);
+            }
+            int fromReaches = toLandmark[u + l];
+            int toReaches = toLandmark[v + l];
+            if (toReaches != UNREACHED) {
+                if (fromReaches == UNREACHED) {
+                    return Integer.MAX_VALUE;
+                }
+                best = Math.max(best, fromReaches - toReaches);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,617 @@
+package edu.union.adt.graph;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A graph whose mutations survive a crash.
+ *
+ * Every addVertex, addEdge, removeEdge and removeVertex is applied to
+ * the wrapped in-memory graph and then appended to a log in a
+ * directory.  A mutation the wrapped graph rejects (a removal on an
+ * append-only graph, say) is never logged, so recovery never replays
+ * it.  Each log record is one kind byte, the vertices in the form
+ * given by a VertexCodec, and a CRC32 of both, so a record torn by a
+ * crash is detected and dropped on recovery.
+ *
+ * The log is forced to disk with group commit: a background thread
+ * syncs everything appended so far every syncIntervalMillis, and any
+ * thread can call sync() to wait until its own mutations are durable
+ * (concurrent callers share one fsync).  With an interval of 0 every
+ * mutation waits for its own sync before returning.
+ *
+ * After checkpointInterval mutations the whole graph is written to a
+ * snapshot file and the log is started afresh, which bounds both the
+ * log size and recovery time.  The directory is synced after the
+ * snapshot is renamed into place and before the old log is deleted,
+ * so a crash cannot keep the deletion without the rename.  open()
+ * loads the latest snapshot and replays the log written after it.
+ *
+ * Mutations are serialized with a lock.  Queries are forwarded to
+ * the wrapped graph without locking, so it must tolerate concurrent
+ * readers if DurableGraph is shared between threads.
+ *
+ * @version 1
+ */
+public class DurableGraph<V> extends ForwardingGraph<V> implements Closeable
+{
+    private static final int SNAPSHOT_MAGIC = 0x47534e50;
+    private static final String SNAPSHOT = "graph.snapshot";
+    private static final String LOG_PREFIX = "graph-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final Mutation.Kind[] KINDS = Mutation.Kind.values();
+
+    /**
+     * The default number of mutations between checkpoints.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000000;
+
+    private final Path directory;
+    private final VertexCodec<V> codec;
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private final RecordBuffer record = new RecordBuffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    /** Encoded records waiting for the wrapped graph to accept them. */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService syncer;
+
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private long generation;
+    private FileChannel channel;
+    private DataOutputStream log;
+    private long appended;
+    private volatile long durable;
+    private int sinceCheckpoint;
+    private volatile IOException failure;
+    private boolean closed;
+
+    private DurableGraph(Graph<V> graph, Path directory, VertexCodec<V> codec,
+                         long syncIntervalMillis)
+    {
+        super(graph);
+        this.directory = directory;
+        this.codec = codec;
+        if (syncIntervalMillis > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "graph-log-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::backgroundSync, syncIntervalMillis,
+                                          syncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Opens (or creates) a durable graph stored in a directory.  The
+     * latest snapshot and the log written after it are replayed into
+     * 'graph', which must be empty.  A torn record at the end of the
+     * log is discarded.
+     *
+     * @param directory where the snapshot and log live; created if
+     * missing
+     * @param codec converts vertices to and from bytes
+     * @param graph the empty in-memory graph to recover into and to
+     * apply new mutations to
+     * @param syncIntervalMillis how often the log is forced to disk in
+     * the background; 0 to force it on every mutation
+     * @return the recovered graph
+     */
+    public static <V> DurableGraph<V> open(Path directory, VertexCodec<V> codec,
+                                           Graph<V> graph, long syncIntervalMillis)
+        throws IOException
+    {
+        if (!graph.isEmpty()) {
+            throw new IllegalArgumentException("Graph to recover into must be empty");
+        }
+        Files.createDirectories(directory);
+        DurableGraph<V> durable = new DurableGraph<V>(graph, directory, codec,
+                                                      syncIntervalMillis);
+        try {
+            durable.recover();
+        } catch (IOException | RuntimeException e) {
+            durable.shutdownSyncer();
+            throw e;
+        }
+        return durable;
+    }
+
+    /**
+     * Sets how many mutations are logged between automatic
+     * checkpoints.
+     *
+     * @param mutations the interval; must be positive
+     */
+    public void setCheckpointInterval(int mutations)
+    {
+        if (mutations <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        synchronized (writeLock) {
+            checkpointInterval = mutations;
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        apply(Mutation.addVertex(vertex));
+    }
+
+    public void addEdge(V from, V to)
+    {
+        apply(Mutation.addEdge(from, to));
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        apply(Mutation.removeVertex(toRemove));
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        apply(Mutation.removeEdge(from, to));
+    }
+
+    /**
+     * Applies a mutation to the in-memory graph and then logs it.  If
+     * the wrapped graph throws, nothing is logged.
+     *
+     * @param mutation the change to make
+     */
+    public void apply(Mutation<V> mutation)
+    {
+        long sequence;
+        boolean checkpointDue;
+        synchronized (writeLock) {
+            checkOpen();
+            pending.reset();
+            try {
+                encode(mutation);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mutation.applyTo(delegate);
+            writePending();
+            sequence = ++appended;
+            checkpointDue = ++sinceCheckpoint >= checkpointInterval;
+        }
+        if (checkpointDue) {
+            checkpoint();
+        } else if (syncer == null) {
+            syncTo(sequence);
+        }
+    }
+
+    /**
+     * Applies a batch of mutations to the in-memory graph with the
+     * wrapped graph's applyAll and then logs it, waiting for one sync
+     * for the whole batch.  A crash can keep any prefix of the batch.
+     *
+     * If the wrapped graph throws, none of the batch is logged.  It may
+     * have kept part of the batch, which the log then lacks, so further
+     * mutations are refused; reopening recovers the logged graph.
+     *
+     * @param mutations the changes to make, in order
+     */
+    @Override
+    public void applyAll(List<Mutation<V>> mutations)
+    {
+        long sequence;
+        boolean checkpointDue;
+        synchronized (writeLock) {
+            checkOpen();
+            pending.reset();
+            try {
+                for (Mutation<V> mutation : mutations) {
+                    encode(mutation);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                delegate.applyAll(mutations);
+            } catch (RuntimeException e) {
+                failure = new IOException("The wrapped graph rejected part of a batch", e);
+                throw e;
+            }
+            writePending();
+            appended += mutations.size();
+            sequence = appended;
+            sinceCheckpoint += mutations.size();
+            checkpointDue = sinceCheckpoint >= checkpointInterval;
+        }
+        if (checkpointDue) {
+            checkpoint();
+        } else if (syncer == null) {
+            syncTo(sequence);
+        }
+    }
+
+    /**
+     * Blocks until every mutation applied so far is on disk.
+     */
+    public void sync()
+    {
+        long target;
+        synchronized (writeLock) {
+            checkOpen();
+            target = appended;
+        }
+        syncTo(target);
+    }
+
+    /**
+     * Writes the whole graph to a new snapshot file and starts a new,
+     * empty log.  Blocks mutations while it runs.
+     */
+    public void checkpoint()
+    {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                checkOpen();
+                try {
+                    long next = generation + 1;
+                    writeSnapshot(next);
+                    log.close();
+                    Files.deleteIfExists(logFile(generation));
+                    generation = next;
+                    openLog(0);
+                    sinceCheckpoint = 0;
+                    durable = appended;
+                } catch (IOException e) {
+                    failure = e;
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Syncs the log and releases its file.  The in-memory graph stays
+     * readable, but further mutations throw IllegalStateException.
+     */
+    public void close() throws IOException
+    {
+        shutdownSyncer();
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                log.flush();
+                channel.force(false);
+                durable = appended;
+                log.close();
+            }
+        }
+    }
+
+    private void checkOpen()
+    {
+        if (closed) {
+            throw new IllegalStateException("Graph has been closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Log is no longer writable", failure);
+        }
+    }
+
+    private void shutdownSyncer()
+    {
+        if (syncer != null) {
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void backgroundSync()
+    {
+        long target;
+        synchronized (writeLock) {
+            if (closed || failure != null) {
+                return;
+            }
+            target = appended;
+        }
+        try {
+            syncTo(target);
+        } catch (UncheckedIOException e) {
+            // remembered in 'failure' and reported to the next writer
+        }
+    }
+
+    /**
+     * Forces the log to disk unless some other thread already did so
+     * for every record up to 'target'.
+     */
+    private void syncTo(long target)
+    {
+        if (durable >= target) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable >= target) {
+                return;
+            }
+            long upTo;
+            FileChannel current;
+            try {
+                synchronized (writeLock) {
+                    log.flush();
+                    upTo = appended;
+                    current = channel;
+                }
+                current.force(false);
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException(e);
+            }
+            durable = upTo;
+        }
+    }
+
+    /**
+     * Adds the log record of a mutation to 'pending'.
+     */
+    private void encode(Mutation<V> mutation) throws IOException
+    {
+        record.reset();
+        recordOut.writeByte(mutation.kind().ordinal());
+        codec.write(recordOut, mutation.from());
+        if (mutation.isEdge()) {
+            codec.write(recordOut, mutation.to());
+        }
+        crc.reset();
+        crc.update(record.buffer(), 0, record.size());
+        record.writeTo(pendingOut);
+        pendingOut.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Appends the pending records to the log.
+     */
+    private void writePending()
+    {
+        try {
+            pending.writeTo(log);
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path logFile(long logGeneration)
+    {
+        return directory.resolve(LOG_PREFIX + logGeneration + LOG_SUFFIX);
+    }
+
+    private void openLog(long validLength) throws IOException
+    {
+        channel = FileChannel.open(logFile(generation), StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        syncDirectory();
+        log = new DataOutputStream(new BufferedOutputStream(
+                                       Channels.newOutputStream(channel), 1 << 16));
+    }
+
+    private void recover() throws IOException
+    {
+        Path snapshot = directory.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            generation = readSnapshot(snapshot);
+        }
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory,
+                                                                   LOG_PREFIX + "*" + LOG_SUFFIX)) {
+            for (Path stale : logs) {
+                if (!stale.equals(logFile(generation))) {
+                    Files.delete(stale);
+                }
+            }
+        }
+        long validLength = 0;
+        if (Files.exists(logFile(generation))) {
+            validLength = replay(logFile(generation));
+        }
+        openLog(validLength);
+    }
+
+    /**
+     * Applies every intact record of a log to the in-memory graph.
+     *
+     * @return the length of the intact prefix of the log
+     */
+    private long replay(Path file) throws IOException
+    {
+        long valid = 0;
+        try (InputStream raw = new BufferedInputStream(new FileInputStream(file.toFile()),
+                                                       1 << 16)) {
+            RecordInput counted = new RecordInput(raw);
+            DataInputStream in = new DataInputStream(counted);
+            while (true) {
+                counted.crc.reset();
+                Mutation<V> mutation;
+                try {
+                    int kind = in.readUnsignedByte();
+                    if (kind >= KINDS.length) {
+                        break;
+                    }
+                    V from = codec.read(in);
+                    if (kind == Mutation.Kind.ADD_EDGE.ordinal()) {
+                        mutation = Mutation.addEdge(from, codec.read(in));
+                    } else if (kind == Mutation.Kind.REMOVE_EDGE.ordinal()) {
+                        mutation = Mutation.removeEdge(from, codec.read(in));
+                    } else if (kind == Mutation.Kind.ADD_VERTEX.ordinal()) {
+                        mutation = Mutation.addVertex(from);
+                    } else {
+                        mutation = Mutation.removeVertex(from);
+                    }
+                    int expected = (int) counted.crc.getValue();
+                    if (in.readInt() != expected) {
+                        break;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // end of file, or a torn record that decodes to garbage
+                    break;
+                }
+                mutation.applyTo(delegate);
+                valid = counted.position;
+            }
+        }
+        return valid;
+    }
+
+    private void writeSnapshot(long snapshotGeneration) throws IOException
+    {
+        Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(snapshotGeneration);
+            out.writeInt(delegate.numVertices());
+            Map<V, Integer> index = new HashMap<V, Integer>();
+            List<V> vertices = new ArrayList<V>();
+            for (V vertex : delegate.getVertices()) {
+                index.put(vertex, index.size());
+                vertices.add(vertex);
+                codec.write(out, vertex);
+            }
+            out.writeInt(delegate.numEdges());
+            for (V vertex : vertices) {
+                int from = index.get(vertex);
+                for (V next : delegate.adjacentTo(vertex)) {
+                    out.writeInt(from);
+                    out.writeInt(index.get(next));
+                }
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // the rename must be on disk before the old log is deleted
+        syncDirectory();
+    }
+
+    /**
+     * Forces the directory's entries to disk, so that files created,
+     * renamed or deleted in it stay that way after a crash.
+     */
+    private void syncDirectory() throws IOException
+    {
+        try (FileChannel entries = FileChannel.open(directory, StandardOpenOption.READ)) {
+            entries.force(true);
+        }
+    }
+
+    /**
+     * Loads a snapshot into the in-memory graph.
+     *
+     * @return the generation of the log that follows the snapshot
+     */
+    private long readSnapshot(Path file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                                      new FileInputStream(file.toFile()), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            long snapshotGeneration = in.readLong();
+            int vertexCount = in.readInt();
+            List<V> vertices = new ArrayList<V>(vertexCount);
+            for (int i = 0; i < vertexCount; i++) {
+                V vertex = codec.read(in);
+                vertices.add(vertex);
+                delegate.addVertex(vertex);
+            }
+            int edgeCount = in.readInt();
+            for (int i = 0; i < edgeCount; i++) {
+                V from = vertices.get(in.readInt());
+                delegate.addEdge(from, vertices.get(in.readInt()));
+            }
+            return snapshotGeneration;
+        }
+    }
+
+    /**
+     * A ByteArrayOutputStream that exposes its buffer for checksumming.
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream
+    {
+        byte[] buffer()
+        {
+            return buf;
+        }
+    }
+
+    /**
+     * Counts and checksums the bytes read through it.
+     */
+    private static class RecordInput extends FilterInputStream
+    {
+        final CRC32 crc = new CRC32();
+        long position;
+
+        RecordInput(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = in.read();
+            if (b >= 0) {
+                crc.update(b);
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException
+        {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                crc.update(buffer, offset, n);
+                position += n;
+            }
+            return n;
+        }
+    }
+}
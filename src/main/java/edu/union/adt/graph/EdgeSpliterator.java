@@ -0,0 +1,158 @@
+package edu.union.adt.graph;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Splits the edges of a FrozenGraph, in id order, by ranges of
+ * positions in its targets array.  Halving the range of edges rather
+ * than of vertices keeps the halves the same size even when a few
+ * hubs hold most of the edges; a hub's row may be cut in two.  Sizes
+ * are exact, so parallel streams split evenly and toArray needs no
+ * copying.
+ *
+ * @version 1
+ */
+final class EdgeSpliterator<V> implements Spliterator<Pair<V, V>>
+{
+    private final FrozenGraph<V> graph;
+    private final int[] offsets;
+    private final int[] targets;
+    private int vertex;
+    private int edge;
+    private final int end;
+
+    /**
+     * Covers all the edges of a graph.
+     */
+    EdgeSpliterator(FrozenGraph<V> graph)
+    {
+        this(graph, 0, 0, graph.targets.length);
+    }
+
+    /**
+     * @param vertex the source of 'edge', or of the first edge after
+     * it if its row is empty
+     * @param edge the first edge covered
+     * @param end one past the last edge covered
+     */
+    private EdgeSpliterator(FrozenGraph<V> graph, int vertex, int edge, int end)
+    {
+        this.graph = graph;
+        this.offsets = graph.offsets;
+        this.targets = graph.targets;
+        this.vertex = vertex;
+        this.edge = edge;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Pair<V, V>> action)
+    {
+        if (edge >= end) {
+            return false;
+        }
+        while (offsets[vertex + 1] <= edge) {
+            vertex++;
+        }
+        action.accept(Pair.of(graph.vertex(vertex), graph.vertex(targets[edge++])));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Pair<V, V>> action)
+    {
+        for (; edge < end; vertex++) {
+            V from = graph.vertex(vertex);
+            int rowEnd = Math.min(end, offsets[vertex + 1]);
+            for (; edge < rowEnd; edge++) {
+                action.accept(Pair.of(from, graph.vertex(targets[edge])));
+            }
+        }
+    }
+
+    /**
+     * Passes the ids of the remaining edges to 'action', in order.
+     */
+    void forEachRemaining(IntIntConsumer action)
+    {
+        for (; edge < end; vertex++) {
+            int rowEnd = Math.min(end, offsets[vertex + 1]);
+            for (; edge < rowEnd; edge++) {
+                action.accept(vertex, targets[edge]);
+            }
+        }
+    }
+
+    /**
+     * Passes the ids of the remaining edges to 'action' from the
+     * threads of the common fork-join pool, in no particular order.
+     */
+    void forEachRemainingInParallel(IntIntConsumer action)
+    {
+        long leaf = Math.max(1 << 12, estimateSize() / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute()
+            {
+                split(EdgeSpliterator.this, action, leaf);
+            }
+        });
+    }
+
+    private static <V> void split(EdgeSpliterator<V> edges, IntIntConsumer action, long leaf)
+    {
+        EdgeSpliterator<V> prefix;
+        if (edges.estimateSize() > leaf && (prefix = edges.trySplit()) != null) {
+            RecursiveAction left = new RecursiveAction() {
+                @Override
+                protected void compute()
+                {
+                    split(prefix, action, leaf);
+                }
+            };
+            left.fork();
+            split(edges, action, leaf);
+            left.join();
+        } else {
+            edges.forEachRemaining(action);
+        }
+    }
+
+    @Override
+    public EdgeSpliterator<V> trySplit()
+    {
+        if (end - edge < 2) {
+            return null;
+        }
+        int middle = (edge + end) >>> 1;
+        // the last vertex whose row starts at or before 'middle'
+        int low = vertex;
+        int high = offsets.length - 2;
+        while (low < high) {
+            int probe = (low + high + 1) >>> 1;
+            if (offsets[probe] <= middle) {
+                low = probe;
+            } else {
+                high = probe - 1;
+            }
+        }
+        EdgeSpliterator<V> prefix = new EdgeSpliterator<V>(graph, vertex, edge, middle);
+        vertex = low;
+        edge = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return end - edge;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED | IMMUTABLE;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.union.adt.graph;
+
+/**
+ * A graph that forwards every call to another graph.  Decorators
+ * extend this class and override only the methods they change.
+ *
+ * @version 1
+ */
+public abstract class ForwardingGraph<V> implements Graph<V>
+{
+    protected final Graph<V> delegate;
+
+    /**
+     * @param delegate the graph that calls are forwarded to
+     */
+    protected ForwardingGraph(Graph<V> delegate)
+    {
+        if (delegate == null) {
+            throw new NullPointerException("Delegate graph must not be null");
+        }
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the graph that calls are forwarded to.
+     */
+    public Graph<V> delegate()
+    {
+        return delegate;
+    }
+
+    public int numVertices()
+    {
+        return delegate.numVertices();
+    }
+
+    public int numEdges()
+    {
+        return delegate.numEdges();
+    }
+
+    public int degree(V vertex)
+    {
+        return delegate.degree(vertex);
+    }
+
+    public void addEdge(V from, V to)
+    {
+        delegate.addEdge(from, to);
+    }
+
+    public void addVertex(V vertex)
+    {
+        delegate.addVertex(vertex);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return delegate.getVertices();
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        return delegate.adjacentTo(from);
+    }
+
+    public boolean contains(V vertex)
+    {
+        return delegate.contains(vertex);
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        return delegate.hasEdge(from, to);
+    }
+
+    public boolean isEmpty()
+    {
+        return delegate.isEmpty();
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        delegate.removeVertex(toRemove);
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        delegate.removeEdge(from, to);
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        return delegate.hasPath(from, to);
+    }
+
+    public int pathLength(V from, V to)
+    {
+        return delegate.pathLength(from, to);
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        return delegate.getPath(from, to);
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (other instanceof ForwardingGraph) {
+            other = ((ForwardingGraph<?>) other).delegate;
+        }
+        return delegate.equals(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return delegate.toString();
+    }
+}
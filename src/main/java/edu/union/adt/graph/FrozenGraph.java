@@ -0,0 +1,1087 @@
+package edu.union.adt.graph;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) form.
+ *
+ * Each vertex gets a dense int id.  The successors of vertex i are
+ * targets[offsets[i]] .. targets[offsets[i + 1] - 1], sorted by id, so
+ * the whole adjacency structure is two int arrays with no per-edge
+ * objects.  hasEdge is a binary search and the path queries run a
+ * breadth-first search over ids.
+ *
+ * Vertex ids and edge indices (positions in the targets array) never
+ * change, so typed attribute columns can be kept against them; see
+ * vertexAttributes, edgeAttributes and edgeIndex.  hasPath, pathLength
+ * and getPath also come in forms that follow only the edges a filter
+ * accepts, such as those with a timestamp after some cutoff.
+ *
+ * Ids follow getVertices order of the graph copied, which may scatter
+ * neighbors across memory; reorder makes a copy numbered for locality.
+ *
+ * Frozen graphs are safe to share between threads.  All mutators
+ * throw UnsupportedOperationException.
+ *
+ * @version 1
+ */
+public final class FrozenGraph<V> extends AbstractGraph<V>
+{
+    /**
+     * Ways to renumber the vertices for locality; see reorder.
+     */
+    public enum Ordering {
+        /**
+         * Breadth-first order, so each vertex's neighbors tend to have
+         * ids close to each other and to its own.
+         */
+        BFS,
+        /**
+         * Reverse Cuthill-McKee: breadth-first from a vertex of least
+         * degree, taking neighbors in order of increasing degree, then
+         * reversed.  Keeps the ids at the two ends of each edge close,
+         * which suits meshes, grids and road networks.
+         */
+        RCM,
+        /**
+         * By decreasing degree, so the hubs that most searches pass
+         * through share a few cache lines.  Suits power-law graphs.
+         */
+        DEGREE
+    }
+
+    /**
+     * Subgraphs with at least this many vertices are extracted in
+     * parallel.
+     */
+    private static final int PARALLEL_EXTRACTION = 1 << 14;
+
+    /**
+     * The most ints written through one memory mapping, 1 GB.
+     */
+    private static final int MAPPED_INTS = 1 << 28;
+
+    private final Object[] vertices;
+    private final Map<V, Integer> ids;
+    final int[] offsets;
+    final int[] targets;
+    private final Attributes vertexAttributes;
+    private final Attributes edgeAttributes;
+
+    /**
+     * @param vertices the vertex for each id
+     * @param offsets where each vertex's row starts in 'targets'; one
+     * longer than 'vertices'
+     * @param targets the rows, each sorted and free of duplicates
+     */
+    FrozenGraph(Object[] vertices, int[] offsets, int[] targets)
+    {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.vertexAttributes = new Attributes(vertices.length);
+        this.edgeAttributes = new Attributes(targets.length);
+        this.ids = new HashMap<V, Integer>(vertices.length * 4 / 3 + 1);
+        for (int i = 0; i < vertices.length; i++) {
+            ids.put(vertex(i), i);
+        }
+    }
+
+    /**
+     * Makes a frozen copy of a graph.
+     *
+     * @param source the graph to copy
+     * @return a frozen graph with the same vertices and edges, or
+     * 'source' itself if it is already frozen
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> FrozenGraph<V> copyOf(Graph<? extends V> source)
+    {
+        if (source instanceof FrozenGraph) {
+            return (FrozenGraph<V>) source;
+        }
+        Map<Object, Integer> index = new HashMap<Object, Integer>();
+        Object[] vertices = new Object[source.numVertices()];
+        for (Object vertex : source.getVertices()) {
+            if (index.size() == vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2 + 1);
+            }
+            vertices[index.size()] = vertex;
+            index.put(vertex, index.size());
+        }
+        vertices = Arrays.copyOf(vertices, index.size());
+        int[] offsets = new int[vertices.length + 1];
+        int[] targets = new int[Math.max(0, source.numEdges())];
+        int edges = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            offsets[i] = edges;
+            for (Object next : ((Graph<Object>) source).adjacentTo(vertices[i])) {
+                if (edges == targets.length) {
+                    targets = Arrays.copyOf(targets, targets.length * 2 + 1);
+                }
+                targets[edges++] = index.get(next);
+            }
+            Arrays.sort(targets, offsets[i], edges);
+        }
+        offsets[vertices.length] = edges;
+        return new FrozenGraph<V>(vertices, offsets, Arrays.copyOf(targets, edges));
+    }
+
+    /**
+     * Builds a frozen graph directly from adjacency rows over the
+     * vertices 0 .. offsets.length - 2, without going through a
+     * mutable graph.  The successors of vertex i are targets[offsets[i]]
+     * .. targets[offsets[i + 1] - 1], in any order; duplicates are
+     * dropped.  This is the bulk-load path for graphs produced by
+     * generators and loaders.
+     *
+     * @param offsets where each vertex's row starts in 'targets', one
+     * entry per vertex followed by the end of the last row; not kept
+     * @param targets the rows; sorted in place and not kept
+     * @return the graph, whose vertices are Integers
+     */
+    public static FrozenGraph<Integer> ofRows(int[] offsets, int[] targets)
+    {
+        int n = offsets.length - 1;
+        if (n < 0 || offsets[0] != 0 || offsets[n] > targets.length) {
+            throw new IllegalArgumentException("Offsets do not describe rows of 'targets'");
+        }
+        Object[] vertices = new Object[n];
+        int[] compacted = new int[n + 1];
+        int edges = 0;
+        for (int v = 0; v < n; v++) {
+            vertices[v] = v;
+            int start = offsets[v];
+            int end = offsets[v + 1];
+            if (end < start) {
+                throw new IllegalArgumentException("Offsets must not decrease");
+            }
+            Arrays.sort(targets, start, end);
+            compacted[v] = edges;
+            for (int e = start; e < end; e++) {
+                int target = targets[e];
+                if (target < 0 || target >= n) {
+                    throw new IllegalArgumentException("Target " + target + " is not a vertex");
+                }
+                if (e == start || target != targets[e - 1]) {
+                    targets[edges++] = target;
+                }
+            }
+        }
+        compacted[n] = edges;
+        return new FrozenGraph<Integer>(vertices, compacted, Arrays.copyOf(targets, edges));
+    }
+
+    /**
+     * Builds the subgraph of any graph induced by a set of vertices,
+     * reading each kept vertex's edges once through adjacentTo.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> FrozenGraph<V> induced(Graph<V> source, Set<V> keep)
+    {
+        Map<Object, Integer> index = new HashMap<Object, Integer>(keep.size() * 4 / 3 + 1);
+        Object[] vertices = new Object[keep.size()];
+        for (V vertex : keep) {
+            if (source.contains(vertex)) {
+                vertices[index.size()] = vertex;
+                index.put(vertex, index.size());
+            }
+        }
+        vertices = Arrays.copyOf(vertices, index.size());
+        int[] offsets = new int[vertices.length + 1];
+        int[] targets = new int[16];
+        int edges = 0;
+        for (int i = 0; i < vertices.length; i++) {
+            offsets[i] = edges;
+            for (V next : source.adjacentTo((V) vertices[i])) {
+                Integer target = index.get(next);
+                if (target != null) {
+                    if (edges == targets.length) {
+                        targets = Arrays.copyOf(targets, targets.length * 2);
+                    }
+                    targets[edges++] = target;
+                }
+            }
+            Arrays.sort(targets, offsets[i], edges);
+        }
+        offsets[vertices.length] = edges;
+        return new FrozenGraph<V>(vertices, offsets, Arrays.copyOf(targets, edges));
+    }
+
+    /**
+     * @return the vertex with a given id.
+     */
+    @SuppressWarnings("unchecked")
+    public V vertex(int id)
+    {
+        return (V) vertices[id];
+    }
+
+    /**
+     * @return the id of a vertex, or -1 if it is not in the graph.
+     */
+    public int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return the attribute columns indexed by vertex id.
+     */
+    public Attributes vertexAttributes()
+    {
+        return vertexAttributes;
+    }
+
+    /**
+     * @return the attribute columns indexed by edge index.
+     */
+    public Attributes edgeAttributes()
+    {
+        return edgeAttributes;
+    }
+
+    /**
+     * @return the index of the edge (from, to), from 0 to
+     * numEdges() - 1, or -1 if there is no such edge.
+     */
+    public int edgeIndex(V from, V to)
+    {
+        int source = id(from);
+        int target = id(to);
+        if (source < 0 || target < 0) {
+            return -1;
+        }
+        int at = Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target);
+        return at < 0 ? -1 : at;
+    }
+
+    public int numVertices()
+    {
+        return vertices.length;
+    }
+
+    public int numEdges()
+    {
+        return targets.length;
+    }
+
+    public int degree(V vertex)
+    {
+        int id = id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex is not in the graph");
+        }
+        return offsets[id + 1] - offsets[id];
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return new AbstractList<V>() {
+            public V get(int index)
+            {
+                return vertex(index);
+            }
+
+            public int size()
+            {
+                return vertices.length;
+            }
+        };
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        final int id = id(from);
+        if (id < 0) {
+            return Collections.<V>emptyList();
+        }
+        final int start = offsets[id];
+        final int size = offsets[id + 1] - start;
+        return new AbstractList<V>() {
+            public V get(int index)
+            {
+                return vertex(targets[start + index]);
+            }
+
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Streams the edges in id order, straight off the CSR arrays.  The
+     * stream is sized, and a parallel stream splits it into equal
+     * ranges of edges, so hubs do not leave one thread with most of
+     * the work.
+     *
+     * @return the (from, to) pair of each edge
+     */
+    @Override
+    public Stream<Pair<V, V>> edges()
+    {
+        return StreamSupport.stream(new EdgeSpliterator<V>(this), false);
+    }
+
+    /**
+     * Passes the ids of every edge to an action, in id order, without
+     * allocating anything.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void forEachEdge(IntIntConsumer action)
+    {
+        new EdgeSpliterator<V>(this).forEachRemaining(action);
+    }
+
+    /**
+     * Passes the ids of every edge to an action from the threads of
+     * the common fork-join pool, each taking an equal range of edges.
+     * The action must be safe to call concurrently; edges arrive in no
+     * particular order.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void parallelForEachEdge(IntIntConsumer action)
+    {
+        new EdgeSpliterator<V>(this).forEachRemainingInParallel(action);
+    }
+
+    public boolean contains(V vertex)
+    {
+        return ids.containsKey(vertex);
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        int source = id(from);
+        int target = id(to);
+        return source >= 0 && target >= 0 && hasEdge(source, target);
+    }
+
+    /**
+     * @return true iff there is an edge between two vertex ids.
+     */
+    boolean hasEdge(int source, int target)
+    {
+        return Arrays.binarySearch(targets, offsets[source], offsets[source + 1], target) >= 0;
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        return hasPath(from, to, null);
+    }
+
+    public int pathLength(V from, V to)
+    {
+        return pathLength(from, to, null);
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        return getPath(from, to, null);
+    }
+
+    /**
+     * Tells whether there is a path between two vertices using only
+     * the edges a filter accepts.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param edgeFilter accepts the indices of the edges that may be
+     * followed; null accepts every edge
+     * @return true iff such a path exists
+     */
+    public boolean hasPath(V from, V to, IntPredicate edgeFilter)
+    {
+        return search(id(from), id(to), edgeFilter) != null;
+    }
+
+    /**
+     * Gets the length of the shortest path between two vertices using
+     * only the edges a filter accepts.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param edgeFilter accepts the indices of the edges that may be
+     * followed; null accepts every edge
+     * @return the length of the shortest such path, or
+     * Integer.MAX_VALUE if there is none
+     */
+    public int pathLength(V from, V to, IntPredicate edgeFilter)
+    {
+        int source = id(from);
+        int target = id(to);
+        int[] parents = search(source, target, edgeFilter);
+        if (parents == null) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (int at = target; at != source; at = parents[at]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Gets the shortest path between two vertices using only the edges
+     * a filter accepts.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param edgeFilter accepts the indices of the edges that may be
+     * followed; null accepts every edge
+     * @return the vertices along the shortest such path, including
+     * both endpoints, or an empty collection if there is none
+     */
+    public Iterable<V> getPath(V from, V to, IntPredicate edgeFilter)
+    {
+        int source = id(from);
+        int target = id(to);
+        LinkedList<V> path = new LinkedList<V>();
+        int[] parents = search(source, target, edgeFilter);
+        if (parents != null) {
+            int at = target;
+            path.push(vertex(at));
+            while (at != source) {
+                at = parents[at];
+                path.push(vertex(at));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Runs a breadth-first search over ids until 'target' is found,
+     * following only edges accepted by 'edgeFilter' (all if null).
+     *
+     * @return the BFS parent of each discovered id (-1 for the rest),
+     * or null if either id is missing or 'target' is unreachable.
+     */
+    private int[] search(int source, int target, IntPredicate edgeFilter)
+    {
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        int[] parents = new int[vertices.length];
+        Arrays.fill(parents, -1);
+        parents[source] = source;
+        if (source == target) {
+            return parents;
+        }
+        int[] queue = new int[vertices.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        long scanned = 0;
+        try {
+            while (head < tail) {
+                int current = queue[head++];
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int next = targets[e];
+                    scanned++;
+                    if (parents[next] < 0 && (edgeFilter == null || edgeFilter.test(e))) {
+                        parents[next] = current;
+                        if (next == target) {
+                            return parents;
+                        }
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            PathSearch.report(head, scanned);
+        }
+    }
+
+    /**
+     * Gets the lengths of the shortest paths for many (from, to) pairs
+     * with bit-parallel breadth-first searches.  Distinct sources are
+     * taken 64 at a time and searched together by a BitParallelSearch,
+     * which stops as soon as every query in the batch is answered.
+     *
+     * @param queries the (from, to) pairs
+     * @return the path length of each query, in iteration order;
+     * Integer.MAX_VALUE where there is no path
+     */
+    @Override
+    public int[] pathLengths(Collection<Pair<V, V>> queries)
+    {
+        int count = queries.size();
+        int[] lengths = new int[count];
+        Arrays.fill(lengths, Integer.MAX_VALUE);
+        int[] sources = new int[count];
+        int[] destinations = new int[count];
+        Map<Integer, List<Integer>> bySource = new LinkedHashMap<Integer, List<Integer>>();
+        int q = 0;
+        for (Pair<V, V> query : queries) {
+            sources[q] = id(query.first());
+            destinations[q] = id(query.second());
+            if (sources[q] >= 0 && destinations[q] >= 0) {
+                List<Integer> group = bySource.get(sources[q]);
+                if (group == null) {
+                    group = new ArrayList<Integer>();
+                    bySource.put(sources[q], group);
+                }
+                group.add(q);
+            }
+            q++;
+        }
+
+        int[] waiting = new int[vertices.length];
+        Arrays.fill(waiting, -1);
+        int[] nextWaiting = new int[count];
+        int[] bits = new int[count];
+        BitParallelSearch search = new BitParallelSearch(vertices.length);
+        BitParallelSearch.Hits answer = (vertex, reached, level) -> {
+            long answered = 0;
+            int previous = -1;
+            for (int query = waiting[vertex]; query >= 0; query = nextWaiting[query]) {
+                if ((reached & (1L << bits[query])) != 0) {
+                    lengths[query] = level;
+                    answered++;
+                    if (previous < 0) {
+                        waiting[vertex] = nextWaiting[query];
+                    } else {
+                        nextWaiting[previous] = nextWaiting[query];
+                    }
+                } else {
+                    previous = query;
+                }
+            }
+            return answered;
+        };
+
+        List<List<Integer>> groups = new ArrayList<List<Integer>>(bySource.values());
+        int[] batch = new int[BitParallelSearch.BATCH];
+        for (int first = 0; first < groups.size(); first += BitParallelSearch.BATCH) {
+            int size = Math.min(groups.size() - first, BitParallelSearch.BATCH);
+            long unanswered = 0;
+            for (int b = 0; b < size; b++) {
+                List<Integer> group = groups.get(first + b);
+                batch[b] = sources[group.get(0)];
+                for (int query : group) {
+                    bits[query] = b;
+                    nextWaiting[query] = waiting[destinations[query]];
+                    waiting[destinations[query]] = query;
+                    unanswered++;
+                }
+            }
+            search.run(offsets, targets, batch, 0, size, waiting, unanswered, answer);
+            for (int b = 0; b < size; b++) {
+                for (int query : groups.get(first + b)) {
+                    waiting[destinations[query]] = -1;
+                }
+            }
+        }
+        return lengths;
+    }
+
+    /**
+     * Gets the length of the shortest path from every source to every
+     * target.  Sources are searched 64 at a time as in pathLengths,
+     * and the batches run in parallel on the common fork-join pool.
+     * A batch stops once its sources have reached every target.
+     *
+     * @param sources the rows of the matrix
+     * @param targets the columns of the matrix
+     * @return the lengths, row after row: the entry for sources[i] and
+     * targets[j] is at i * targets.size() + j; Integer.MAX_VALUE where
+     * there is no path or either vertex is not in the graph
+     * @throws IllegalArgumentException if the matrix has too many
+     * entries for an array; write it to a file instead
+     */
+    @Override
+    public int[] distanceMatrix(List<V> sources, List<V> targets)
+    {
+        long entries = (long) sources.size() * targets.size();
+        if (entries > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A " + sources.size() + " x " + targets.size()
+                                               + " matrix does not fit in an array");
+        }
+        int width = targets.size();
+        int[] matrix = new int[(int) entries];
+        DistanceMatrix.compute(offsets, this.targets, idsOf(sources), idsOf(targets),
+                               (firstRow, block, rows) ->
+                               System.arraycopy(block, 0, matrix, firstRow * width,
+                                                rows * width));
+        return matrix;
+    }
+
+    /**
+     * Writes the length of the shortest path from every source to
+     * every target to a file, for matrices too large to keep in the
+     * heap.  The file holds the entries of distanceMatrix(sources,
+     * targets) as big-endian ints, row after row, and is written
+     * through memory-mapped regions of one block of rows each, split
+     * further where a block passes MAPPED_INTS.  Wide matrices are
+     * computed a few rows at a time, so any number of targets fits.
+     *
+     * @param sources the rows of the matrix
+     * @param targets the columns of the matrix
+     * @param file the file to write; it is replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void distanceMatrix(List<V> sources, List<V> targets, Path file) throws IOException
+    {
+        int width = targets.size();
+        long rowBytes = 4L * width;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (rowBytes == 0 || sources.isEmpty()) {
+                return;
+            }
+            try {
+                DistanceMatrix.compute(offsets, this.targets, idsOf(sources), idsOf(targets),
+                                       (firstRow, block, rows) -> {
+                    long position = firstRow * rowBytes;
+                    int length = rows * width;
+                    try {
+                        // no one mapping may pass 2 GB
+                        int done = 0;
+                        while (done < length) {
+                            int ints = Math.min(MAPPED_INTS, length - done);
+                            channel.map(FileChannel.MapMode.READ_WRITE, position + 4L * done,
+                                        4L * ints)
+                                .asIntBuffer().put(block, done, ints);
+                            done += ints;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * @return the id of each vertex, -1 for those not in the graph.
+     */
+    private int[] idsOf(List<V> list)
+    {
+        int[] ids = new int[list.size()];
+        int i = 0;
+        for (V vertex : list) {
+            ids[i++] = id(vertex);
+        }
+        return ids;
+    }
+
+    @Override
+    public List<V> commonNeighbors(V first, V second)
+    {
+        List<V> common = new ArrayList<V>();
+        int a = id(first);
+        int b = id(second);
+        if (a >= 0 && b >= 0) {
+            SortedInts.intersect(targets, offsets[a], offsets[a + 1],
+                                 targets, offsets[b], offsets[b + 1],
+                                 id -> common.add(vertex(id)));
+        }
+        return common;
+    }
+
+    @Override
+    public int commonNeighborCount(V first, V second)
+    {
+        int a = id(first);
+        int b = id(second);
+        if (a < 0 || b < 0) {
+            return 0;
+        }
+        return SortedInts.intersectionSize(targets, offsets[a], offsets[a + 1],
+                                           targets, offsets[b], offsets[b + 1]);
+    }
+
+    /**
+     * Counts triangles by intersecting sorted rows.  Edges are first
+     * made undirected and then pointed from the lower- to the
+     * higher-ranked end, ranking vertices by degree, so each triangle
+     * is found exactly once and hubs keep short rows.
+     */
+    @Override
+    public long triangleCount()
+    {
+        int n = vertices.length;
+        int[] degrees = new int[n];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (targets[e] != v) {
+                    degrees[v]++;
+                    degrees[targets[e]]++;
+                }
+            }
+        }
+        // both directions of every edge, grouped by vertex; a pair
+        // joined both ways appears twice and is dropped when sorted
+        int[] starts = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            starts[v + 1] = starts[v] + degrees[v];
+        }
+        int[] ends = Arrays.copyOf(starts, n);
+        int[] neighbors = new int[starts[n]];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (u != v && outranks(u, v, degrees)) {
+                    neighbors[ends[v]++] = u;
+                } else if (u != v) {
+                    neighbors[ends[u]++] = v;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            Arrays.sort(neighbors, starts[v], ends[v]);
+            int unique = starts[v];
+            for (int i = starts[v]; i < ends[v]; i++) {
+                if (i == starts[v] || neighbors[i] != neighbors[i - 1]) {
+                    neighbors[unique++] = neighbors[i];
+                }
+            }
+            ends[v] = unique;
+        }
+        long triangles = 0;
+        for (int v = 0; v < n; v++) {
+            for (int i = starts[v]; i < ends[v]; i++) {
+                int u = neighbors[i];
+                triangles += SortedInts.intersectionSize(neighbors, starts[v], ends[v],
+                                                         neighbors, starts[u], ends[u]);
+            }
+        }
+        return triangles;
+    }
+
+    /**
+     * @return true iff 'u' ranks above 'v': a higher degree, or the
+     * same degree and a higher id.
+     */
+    private static boolean outranks(int u, int v, int[] degrees)
+    {
+        return degrees[u] > degrees[v] || (degrees[u] == degrees[v] && u > v);
+    }
+
+    /**
+     * Extracts an induced subgraph straight from the CSR arrays.  Each
+     * kept row is intersected with the sorted ids of the kept vertices,
+     * so the cost depends on the size of the subgraph and the degrees
+     * of its vertices, not on the size of this graph.  Large subgraphs
+     * are extracted in parallel.
+     */
+    @Override
+    public FrozenGraph<V> inducedSubgraph(Set<V> keep)
+    {
+        int[] members = new int[keep.size()];
+        int count = 0;
+        for (V vertex : keep) {
+            int id = id(vertex);
+            if (id >= 0) {
+                members[count++] = id;
+            }
+        }
+        members = Arrays.copyOf(members, count);
+        Arrays.sort(members);
+        return subgraph(members);
+    }
+
+    /**
+     * Extracts a k-hop neighborhood by expanding one level at a time
+     * over sorted id arrays, which needs no per-vertex visited array.
+     */
+    @Override
+    public FrozenGraph<V> kHopNeighborhood(V center, int k)
+    {
+        if (k < 0) {
+            throw new IllegalArgumentException("Hop count must not be negative");
+        }
+        int id = id(center);
+        if (id < 0) {
+            return subgraph(new int[0]);
+        }
+        int[] members = {id};
+        int[] frontier = {id};
+        for (int hop = 0; hop < k && frontier.length > 0; hop++) {
+            int size = 0;
+            for (int v : frontier) {
+                size += offsets[v + 1] - offsets[v];
+            }
+            int[] reached = new int[size];
+            size = 0;
+            for (int v : frontier) {
+                int degree = offsets[v + 1] - offsets[v];
+                System.arraycopy(targets, offsets[v], reached, size, degree);
+                size += degree;
+            }
+            Arrays.sort(reached);
+            // keep each newly reached id once, dropping known members
+            int fresh = 0;
+            for (int i = 0; i < size; i++) {
+                if ((i == 0 || reached[i] != reached[i - 1])
+                    && Arrays.binarySearch(members, reached[i]) < 0) {
+                    reached[fresh++] = reached[i];
+                }
+            }
+            frontier = Arrays.copyOf(reached, fresh);
+            int[] merged = new int[members.length + fresh];
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < merged.length; m++) {
+                merged[m] = j == fresh || (i < members.length && members[i] < frontier[j])
+                    ? members[i++] : frontier[j++];
+            }
+            members = merged;
+        }
+        return subgraph(members);
+    }
+
+    /**
+     * @param members sorted, distinct ids of the vertices to keep
+     * @return the subgraph they induce; member i becomes id i
+     */
+    private FrozenGraph<V> subgraph(int[] members)
+    {
+        int n = members.length;
+        Object[] kept = new Object[n];
+        int[] counts = new int[n + 1];
+        IntStream rows = IntStream.range(0, n);
+        if (n >= PARALLEL_EXTRACTION) {
+            rows = rows.parallel();
+        }
+        rows.forEach(i -> {
+            kept[i] = vertices[members[i]];
+            counts[i + 1] = SortedInts.intersectionSize(targets, offsets[members[i]],
+                                                        offsets[members[i] + 1], members, 0, n);
+        });
+        for (int i = 0; i < n; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] subTargets = new int[counts[n]];
+        rows = IntStream.range(0, n);
+        if (n >= PARALLEL_EXTRACTION) {
+            rows = rows.parallel();
+        }
+        rows.forEach(i -> {
+            int[] at = {counts[i]};
+            SortedInts.intersect(targets, offsets[members[i]], offsets[members[i] + 1],
+                                 members, 0, n,
+                                 id -> subTargets[at[0]++] = Arrays.binarySearch(members, id));
+        });
+        return new FrozenGraph<V>(kept, counts, subTargets);
+    }
+
+    /**
+     * Makes a copy of this graph with its vertices renumbered for
+     * cache locality.  The vertices and edges are the same, and so
+     * are the results of every query by vertex; only the ids, the
+     * edge indices and the order of getVertices change.  Attribute
+     * columns are copied to the new ids and edge indices.
+     *
+     * BFS and RCM treat edges as undirected when ordering, and start
+     * again at each part of the graph a search has not reached.
+     *
+     * @param ordering how to number the vertices
+     * @return the renumbered graph
+     */
+    public FrozenGraph<V> reorder(Ordering ordering)
+    {
+        int n = vertices.length;
+        int[] order;
+        if (ordering == Ordering.DEGREE) {
+            long[] keys = new long[n];
+            for (int v = 0; v < n; v++) {
+                keys[v] = (long) (Integer.MAX_VALUE - (offsets[v + 1] - offsets[v])) << 32 | v;
+            }
+            Arrays.sort(keys);
+            order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) keys[i];
+            }
+        } else {
+            order = breadthFirstOrder(ordering == Ordering.RCM);
+        }
+        int[] newIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            newIds[order[i]] = i;
+        }
+
+        Object[] renumbered = new Object[n];
+        int[] newOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            renumbered[i] = vertices[order[i]];
+            newOffsets[i + 1] = newOffsets[i] + offsets[order[i] + 1] - offsets[order[i]];
+        }
+        int[] newTargets = new int[targets.length];
+        // where each old edge index went; only needed to move edge attributes
+        int[] movedEdges = edgeAttributes.names().isEmpty() ? null : new int[targets.length];
+        IntStream rows = IntStream.range(0, n);
+        if (n >= PARALLEL_EXTRACTION) {
+            rows = rows.parallel();
+        }
+        rows.forEach(i -> {
+            int start = offsets[order[i]];
+            int degree = offsets[order[i] + 1] - start;
+            int at = newOffsets[i];
+            if (movedEdges == null) {
+                for (int e = 0; e < degree; e++) {
+                    newTargets[at + e] = newIds[targets[start + e]];
+                }
+                Arrays.sort(newTargets, at, at + degree);
+            } else {
+                long[] keys = new long[degree];
+                for (int e = 0; e < degree; e++) {
+                    keys[e] = (long) newIds[targets[start + e]] << 32 | (start + e);
+                }
+                Arrays.sort(keys);
+                for (int e = 0; e < degree; e++) {
+                    newTargets[at + e] = (int) (keys[e] >>> 32);
+                    movedEdges[(int) keys[e]] = at + e;
+                }
+            }
+        });
+        FrozenGraph<V> reordered = new FrozenGraph<V>(renumbered, newOffsets, newTargets);
+        reordered.vertexAttributes.copyFrom(vertexAttributes, newIds);
+        if (movedEdges != null) {
+            reordered.edgeAttributes.copyFrom(edgeAttributes, movedEdges);
+        }
+        return reordered;
+    }
+
+    /**
+     * Numbers the vertices in breadth-first order over edges in either
+     * direction, starting each unreached part of the graph at its
+     * lowest id.  For Cuthill-McKee, each part starts at a vertex of
+     * least degree, neighbors are taken in order of increasing degree,
+     * and the whole order is reversed at the end.
+     *
+     * @return the old id of each new id
+     */
+    private int[] breadthFirstOrder(boolean cuthillMcKee)
+    {
+        int n = vertices.length;
+        int[] inOffsets = new int[n + 1];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] sources = new int[targets.length];
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                sources[fill[targets[e]]++] = v;
+            }
+        }
+        int[] degrees = new int[n];
+        for (int v = 0; v < n; v++) {
+            degrees[v] = offsets[v + 1] - offsets[v] + inOffsets[v + 1] - inOffsets[v];
+        }
+        int[] roots = new int[n];
+        if (cuthillMcKee) {
+            long[] keys = new long[n];
+            for (int v = 0; v < n; v++) {
+                keys[v] = (long) degrees[v] << 32 | v;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < n; i++) {
+                roots[i] = (int) keys[i];
+            }
+        } else {
+            for (int v = 0; v < n; v++) {
+                roots[v] = v;
+            }
+        }
+
+        int[] order = new int[n];
+        boolean[] placed = new boolean[n];
+        long[] keys = new long[16];
+        int head = 0;
+        int tail = 0;
+        for (int root : roots) {
+            if (placed[root]) {
+                continue;
+            }
+            placed[root] = true;
+            order[tail++] = root;
+            while (head < tail) {
+                int v = order[head++];
+                int first = tail;
+                for (int pass = 0; pass < 2; pass++) {
+                    int[] rowOffsets = pass == 0 ? offsets : inOffsets;
+                    int[] row = pass == 0 ? targets : sources;
+                    for (int e = rowOffsets[v]; e < rowOffsets[v + 1]; e++) {
+                        if (!placed[row[e]]) {
+                            placed[row[e]] = true;
+                            order[tail++] = row[e];
+                        }
+                    }
+                }
+                if (cuthillMcKee && tail - first > 1) {
+                    if (keys.length < tail - first) {
+                        keys = new long[tail - first];
+                    }
+                    for (int i = first; i < tail; i++) {
+                        keys[i - first] = (long) degrees[order[i]] << 32 | order[i];
+                    }
+                    Arrays.sort(keys, 0, tail - first);
+                    for (int i = first; i < tail; i++) {
+                        order[i] = (int) keys[i - first];
+                    }
+                }
+            }
+        }
+        if (cuthillMcKee) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+        }
+        return order;
+    }
+
+    public void addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException("Frozen graphs are immutable");
+    }
+
+    public void addEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Frozen graphs are immutable");
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("Frozen graphs are immutable");
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Frozen graphs are immutable");
+    }
+}
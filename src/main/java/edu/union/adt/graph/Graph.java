@@ -1,9 +1,16 @@
 package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * A graph interface that establishes connections (edges) between objects of
  * (parameterized) type V (vertices).  The edges are directed.  An
  * undirected edge between u and v can be simulated by two edges: (u,
- * v) and (v, u).
+ * v) and (v, u), or an UndirectedGraph can be used instead.
  *
  * The API is based on one from
  *     http://introcs.cs.princeton.edu/java/home/
@@ -224,4 +231,173 @@ public interface Graph<V> {
      */
     public Iterable<V> getPath(V from, V to);
 
-}
\ No newline at end of file
+    /**
+     * Walks the graph breadth-first from a given vertex.  The walk is
+     * lazy: vertices are discovered only as the returned traversal is
+     * consumed, so stopping early leaves the rest of the graph
+     * untouched.
+     *
+     * @param start the vertex to start from
+     * @return a traversal over the vertices reachable from 'start', in
+     * order of their distance from it.  If 'start' is not a vertex in
+     * the graph, the traversal is empty.
+     */
+    public default Traversal<V> bfs(V start)
+    {
+        return Traversal.breadthFirst(this, start);
+    }
+
+    /**
+     * Walks the graph depth-first (pre-order) from a given vertex.
+     * Like bfs, the walk is lazy.
+     *
+     * @param start the vertex to start from
+     * @return a traversal over the vertices reachable from 'start'.
+     * If 'start' is not a vertex in the graph, the traversal is empty.
+     */
+    public default Traversal<V> dfs(V start)
+    {
+        return Traversal.depthFirst(this, start);
+    }
+
+    /**
+     * Streams every edge of the graph as a (from, to) pair, taking the
+     * vertices in getVertices order and each one's successors in
+     * adjacentTo order.  A parallel stream splits the work between
+     * vertices.  This default copies whatever getVertices and adjacentTo
+     * copy; GraphImplementation, HybridGraph and FrozenGraph override
+     * it to read their adjacency in place.
+     *
+     * @return the edges, one pair each
+     */
+    public default Stream<Pair<V, V>> edges()
+    {
+        return StreamSupport.stream(getVertices().spliterator(), false)
+            .flatMap(from -> StreamSupport.stream(adjacentTo(from).spliterator(), false)
+                     .map(to -> Pair.of(from, to)));
+    }
+
+    /**
+     * Gets the lengths of the shortest paths for many (from, to) pairs
+     * at once.  The result is the same as calling pathLength for each
+     * pair, but queries that share a source share one breadth-first
+     * search, and up to 64 sources are searched together.
+     *
+     * @param queries the (from, to) pairs
+     * @return the path length of each query, in iteration order;
+     * Integer.MAX_VALUE where there is no path
+     */
+    public default int[] pathLengths(Collection<Pair<V, V>> queries)
+    {
+        return FrozenGraph.copyOf(this).pathLengths(queries);
+    }
+
+    /**
+     * Gets the length of the shortest path from every source to every
+     * target, computed on a frozen copy with the searches spread over
+     * the common fork-join pool.
+     *
+     * @param sources the rows of the matrix
+     * @param targets the columns of the matrix
+     * @return the lengths, row after row: the entry for sources[i] and
+     * targets[j] is at i * targets.size() + j; Integer.MAX_VALUE where
+     * there is no path or either vertex is not in the graph
+     */
+    public default int[] distanceMatrix(List<V> sources, List<V> targets)
+    {
+        return FrozenGraph.copyOf(this).distanceMatrix(sources, targets);
+    }
+
+    /**
+     * Gets the vertices adjacent to both of two given vertices: the
+     * intersection of adjacentTo(first) and adjacentTo(second).
+     *
+     * @param first a vertex
+     * @param second another vertex
+     * @return the vertices y with edges (first, y) and (second, y).
+     * If either vertex is not in the graph, the list is empty.
+     */
+    public default List<V> commonNeighbors(V first, V second)
+    {
+        List<V> common = new ArrayList<V>();
+        if (contains(second)) {
+            for (V next : adjacentTo(first)) {
+                if (hasEdge(second, next)) {
+                    common.add(next);
+                }
+            }
+        }
+        return common;
+    }
+
+    /**
+     * @param first a vertex
+     * @param second another vertex
+     * @return how many vertices are adjacent to both 'first' and
+     * 'second'; the size of commonNeighbors(first, second).
+     */
+    public default int commonNeighborCount(V first, V second)
+    {
+        return commonNeighbors(first, second).size();
+    }
+
+    /**
+     * Counts the triangles in the graph, ignoring the direction of
+     * edges: three distinct vertices form a triangle if each pair of
+     * them is joined by an edge in at least one direction.  Each
+     * triangle is counted once.
+     *
+     * @return the number of triangles
+     */
+    public default long triangleCount()
+    {
+        return FrozenGraph.copyOf(this).triangleCount();
+    }
+
+    /**
+     * Applies a batch of mutations, with the same result as applying
+     * them one at a time in order.  Implementations may apply a batch
+     * faster than that, and may make it visible to other threads all
+     * at once; GraphTransaction collects batches for this method.
+     *
+     * @param mutations the changes to make, in order
+     */
+    public default void applyAll(List<Mutation<V>> mutations)
+    {
+        for (Mutation<V> mutation : mutations) {
+            mutation.applyTo(this);
+        }
+    }
+
+    /**
+     * Extracts the subgraph induced by a set of vertices: those of the
+     * vertices that are in this graph, and every edge of this graph
+     * between two of them.
+     *
+     * @param vertices the vertices to keep
+     * @return a frozen copy of the induced subgraph
+     */
+    public default FrozenGraph<V> inducedSubgraph(Set<V> vertices)
+    {
+        return FrozenGraph.induced(this, vertices);
+    }
+
+    /**
+     * Extracts the k-hop neighborhood (ego network) of a vertex: the
+     * subgraph induced by the vertices at most k edges away from it.
+     *
+     * @param center the vertex at the middle of the neighborhood
+     * @param k how many hops to go out, which must not be negative
+     * @return a frozen copy of the neighborhood, which is empty if
+     * 'center' is not in the graph
+     */
+    public default FrozenGraph<V> kHopNeighborhood(V center, int k)
+    {
+        Set<V> members = new HashSet<V>();
+        for (V vertex : bfs(center).maxDepth(k)) {
+            members.add(vertex);
+        }
+        return inducedSubgraph(members);
+    }
+
+}
@@ -1,4 +1,3 @@
-
 package edu.union.adt.graph;
 import edu.union.adt.graph.Graph;
 import edu.union.adt.graph.GraphImplementation;
@@ -6,12 +5,236 @@ import edu.union.adt.graph.GraphImplementation;
 /**
 * Graph Factory that return the graph depends on certain criteria
 *
+* A new factory creates plain mutable single-threaded graphs.  Its
+* setters describe the workload instead, and return the factory so
+* they can be chained:
+*
+* <PRE>
+* Graph&lt;String&gt; g = new GraphFactory&lt;String&gt;()
+*     .expectedVertices(100000)
+*     .expectedEdges(1000000)
+*     .concurrency(8)
+*     .createGraph();
+* </PRE>
 *
+* The implementation is chosen as follows:
+* <ul>
+* <li>FROZEN graphs are compact, read-only FrozenGraphs, whatever the
+* concurrency;
+* <li>a concurrency above 1 selects a VersionedGraph, whose readers
+* never block;
+* <li>HYBRID adjacency selects a HybridGraph;
+* <li>otherwise a GraphImplementation pre-sized for the expected
+* vertex and edge counts, with sorted adjacency lists if SORTED
+* adjacency was asked for.
+* </ul>
+* APPEND_ONLY graphs reject removeVertex and removeEdge.
+*
+* UNDIRECTED graphs are UndirectedGraphs.  They are mutable and
+* single-threaded, so they cannot be combined with FROZEN or with a
+* concurrency above 1.
 */
 
 public class GraphFactory<V> {
 
+	/**
+	 * How a graph will be changed after it is created.
+	 */
+	public enum Mutability {
+		/** Vertices and edges are added and removed. */
+		MUTABLE,
+		/** Vertices and edges are only ever added. */
+		APPEND_ONLY,
+		/** The graph never changes once it is created. */
+		FROZEN
+	}
+
+	/**
+	 * How the vertices adjacent to each vertex are kept.
+	 */
+	public enum Adjacency {
+		/** In the order the edges were added; cheapest to build. */
+		INSERTION_ORDER,
+		/** Sorted, for fast hasEdge and neighbor intersections on
+		 * vertices with many edges. */
+		SORTED,
+		/** Stored by degree, for skewed graphs with a long tail of
+		 * small vertices and a few hubs; see HybridGraph. */
+		HYBRID
+	}
+
+	/**
+	 * Whether edges have a direction.
+	 */
+	public enum Direction {
+		/** Edges go from one vertex to another. */
+		DIRECTED,
+		/** Edges join two vertices both ways. */
+		UNDIRECTED
+	}
+
+	private int expectedVertices;
+	private int expectedEdges;
+	private Mutability mutability = Mutability.MUTABLE;
+	private int concurrency = 1;
+	private Adjacency adjacency = Adjacency.INSERTION_ORDER;
+	private Direction direction = Direction.DIRECTED;
+
+	/**
+	 * @param count how many vertices the graphs are expected to hold
+	 * @return this factory
+	 */
+	public GraphFactory<V> expectedVertices(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Expected vertex count must not be negative");
+		}
+		expectedVertices = count;
+		return this;
+	}
+
+	/**
+	 * @param count how many edges the graphs are expected to hold
+	 * @return this factory
+	 */
+	public GraphFactory<V> expectedEdges(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Expected edge count must not be negative");
+		}
+		expectedEdges = count;
+		return this;
+	}
+
+	/**
+	 * @param mutability how the graphs will be changed
+	 * @return this factory
+	 */
+	public GraphFactory<V> mutability(Mutability mutability) {
+		if (mutability == null) {
+			throw new NullPointerException("Mutability must not be null");
+		}
+		this.mutability = mutability;
+		return this;
+	}
+
+	/**
+	 * @param threads how many threads will use each graph at once
+	 * @return this factory
+	 */
+	public GraphFactory<V> concurrency(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Concurrency must be at least 1");
+		}
+		concurrency = threads;
+		return this;
+	}
+
+	/**
+	 * @param adjacency how adjacency lists are kept
+	 * @return this factory
+	 */
+	public GraphFactory<V> adjacency(Adjacency adjacency) {
+		if (adjacency == null) {
+			throw new NullPointerException("Adjacency must not be null");
+		}
+		this.adjacency = adjacency;
+		return this;
+	}
+
+	/**
+	 * @param direction whether the graphs' edges have a direction
+	 * @return this factory
+	 */
+	public GraphFactory<V> direction(Direction direction) {
+		if (direction == null) {
+			throw new NullPointerException("Direction must not be null");
+		}
+		this.direction = direction;
+		return this;
+	}
+
+	/**
+	 * Creates an empty graph suited to the workload described to this
+	 * factory.  For FROZEN graphs, use createGraph(Graph) instead:
+	 * the graph returned here is empty forever.
+	 *
+	 * @return a new, empty graph
+	 */
 	public Graph<V> createGraph() {
-		return new GraphImplementation<V>();
+		checkDirection();
+		if (mutability == Mutability.FROZEN) {
+			return FrozenGraph.copyOf(new GraphImplementation<V>());
+		}
+		return createMutableGraph(expectedVertices, expectedEdges);
+	}
+
+	private void checkDirection() {
+		if (direction == Direction.UNDIRECTED
+		    && (mutability == Mutability.FROZEN || concurrency > 1)) {
+			throw new IllegalStateException(
+				"Undirected graphs cannot be frozen or shared between threads");
+		}
+	}
+
+	private Graph<V> createMutableGraph(int vertices, int edges) {
+		Graph<V> graph;
+		if (direction == Direction.UNDIRECTED) {
+			graph = new UndirectedGraph<V>(vertices, edges);
+		} else if (concurrency > 1) {
+			graph = new VersionedGraph<V>();
+		} else if (adjacency == Adjacency.HYBRID) {
+			graph = new HybridGraph<V>(vertices);
+		} else if (adjacency == Adjacency.SORTED) {
+			graph = new GraphImplementation<V>(vertices, edges, true);
+		} else if (vertices == 0 && edges == 0) {
+			graph = new GraphImplementation<V>();
+		} else {
+			graph = new GraphImplementation<V>(vertices, edges);
+		}
+		if (mutability == Mutability.APPEND_ONLY) {
+			graph = new AppendOnlyGraph<V>(graph);
+		}
+		return graph;
+	}
+
+	/**
+	 * Creates a graph suited to the workload described to this
+	 * factory, holding a copy of the vertices and edges of another
+	 * graph.  This is how FROZEN graphs are loaded.
+	 *
+	 * @param contents the graph to copy
+	 * @return a new graph equal to 'contents'
+	 */
+	public Graph<V> createGraph(Graph<? extends V> contents) {
+		checkDirection();
+		if (mutability == Mutability.FROZEN) {
+			return FrozenGraph.copyOf(contents);
+		}
+		Graph<V> graph = createMutableGraph(Math.max(expectedVertices, contents.numVertices()),
+		                                    Math.max(expectedEdges, contents.numEdges()));
+		copy(contents, graph);
+		return graph;
+	}
+
+	private static <V> void copy(Graph<? extends V> from, Graph<V> to) {
+		for (V vertex : from.getVertices()) {
+			to.addVertex(vertex);
+		}
+		for (V vertex : from.getVertices()) {
+			@SuppressWarnings("unchecked")
+			Graph<V> source = (Graph<V>) from;
+			for (V next : source.adjacentTo(vertex)) {
+				to.addEdge(vertex, next);
+			}
+		}
+	}
+
+	/**
+	 * Creates a graph that records call counts, latencies and path
+	 * search work; see InstrumentedGraph.
+	 *
+	 * @return a new, empty instrumented graph
+	 */
+	public InstrumentedGraph<V> createInstrumentedGraph() {
+		return new InstrumentedGraph<V>(createGraph());
 	}
-}
\ No newline at end of file
+}
@@ -1,10 +1,12 @@
 package edu.union.adt.graph;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Queue;
+import java.util.Arrays;
 import java.util.LinkedList;
-import java.util.AbstractMap.SimpleEntry;
-import java.util.Stack;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * A graph that establishes connections (edges) between objects of
  * (parameterized) type V (vertices).  The edges are directed.  An
@@ -18,18 +20,103 @@ import java.util.Stack;
  * parameterized with a vertex type V instead of assuming String
  * vertices.
  *
+ * Each distinct vertex is interned once in a VertexDictionary and
+ * given an int id.  Adjacency lists hold ids, not vertices, so
+ * hasEdge and the path queries compare ints and never call equals;
+ * vertices are looked up by id only when they are handed back to the
+ * caller.
+ *
+ * By default each adjacency list keeps its edges in the order they
+ * were added, and finding an edge is a linear scan.  A graph created
+ * with sorted adjacency instead keeps each list sorted by id, apart
+ * from a short buffer of recent additions that is merged in once it
+ * fills.  hasEdge and the duplicate check in addEdge are then binary
+ * searches, and commonNeighbors and commonNeighborCount intersect
+ * sorted lists, galloping through the longer one when the two differ
+ * greatly in length.  adjacentTo gives no particular order in this
+ * mode.
+ *
+ * With d the degree of the vertices involved, contains and addVertex
+ * take constant time; addEdge, hasEdge and removeEdge take O(d), or
+ * O(log d) to find the edge with sorted adjacency; removeVertex takes
+ * O(V + E), since every list is searched for edges into the removed
+ * vertex; and hasPath, pathLength and getPath take O(V + E).  The
+ * scale tests check these bounds.  applyAll applies a batch of edge
+ * mutations in O(d + k) for each row receiving k of them.
+ *
  * @author Aaron G. Cass, Nam Bui
  * @version 1
  */
-public class GraphImplementation<V> implements Graph<V>
+public class GraphImplementation<V> extends AbstractGraph<V>
 {
-    private List<List<V>> graph;
+    private static final int[] EMPTY_ROW = new int[0];
+
+    /**
+     * How many unsorted additions a sorted row holds before they are
+     * merged into the sorted part.
+     */
+    private static final int INSERT_BUFFER = 32;
+
+    private final VertexDictionary<V> dictionary;
+    private final boolean sorted;
+    private int[][] rows;
+    private int[] degrees;
+    private int[] sortedCounts;
+    private int edgeCount;
+    private int rowCapacity;
+    /**
+     * Scratch space for applyAll, indexed by id; every entry is -1
+     * between calls.
+     */
+    private int[] positions = EMPTY_ROW;
+
     /**
      * Create an empty graph.
      */
     public GraphImplementation()
     {
-        graph = new ArrayList<>();
+        dictionary = new VertexDictionary<V>(16);
+        sorted = false;
+        rows = new int[16][];
+        degrees = new int[16];
+    }
+
+    /**
+     * Create an empty graph sized for an expected number of vertices
+     * and edges, so that loading it does not repeatedly grow its
+     * lists.  The graph may still grow beyond the expected size.
+     *
+     * @param expectedVertices how many vertices the graph will hold
+     * @param expectedEdges how many edges the graph will hold
+     */
+    public GraphImplementation(int expectedVertices, int expectedEdges)
+    {
+        this(expectedVertices, expectedEdges, false);
+    }
+
+    /**
+     * Create an empty graph sized for an expected number of vertices
+     * and edges, optionally keeping its adjacency lists sorted.
+     *
+     * @param expectedVertices how many vertices the graph will hold
+     * @param expectedEdges how many edges the graph will hold
+     * @param sortedAdjacency true to keep adjacency lists sorted, for
+     * fast hasEdge on vertices with many edges
+     */
+    public GraphImplementation(int expectedVertices, int expectedEdges,
+                               boolean sortedAdjacency)
+    {
+        if (expectedVertices < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected sizes must not be negative");
+        }
+        dictionary = new VertexDictionary<V>(expectedVertices);
+        sorted = sortedAdjacency;
+        rows = new int[Math.max(expectedVertices, 16)][];
+        degrees = new int[rows.length];
+        if (sorted) {
+            sortedCounts = new int[rows.length];
+        }
+        rowCapacity = 1 + (expectedVertices == 0 ? 0 : expectedEdges / expectedVertices);
     }
 
     /**
@@ -37,7 +124,7 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public int numVertices()
     {
-        return graph.size();
+        return dictionary.size();
     }
 
     /**
@@ -45,16 +132,7 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public int numEdges()
     {
-        int count = 0;
-        if (numVertices() == 0) {
-            return 0;
-        } else {
-            for (List<V> element : graph) {
-                count += element.size()-1;
-            }
-            return count;
-        }
-
+        return edgeCount;
     }
 
     /**
@@ -65,22 +143,13 @@ public class GraphImplementation<V> implements Graph<V>
      * @param vertex the vertex whose degree we want.
      * @return the degree of vertex 'vertex'
      */
-    public int degree(V vertex) throws RuntimeException 
+    public int degree(V vertex) throws RuntimeException
     {
-         
-       int x = 0;
-       int size = graph.size();
-       int count = 0;
-       while (x < size && !(graph.get(x).get(0)).equals(vertex)) {
-            x ++;
-
-       }
-       if (x >= size) {
+        int id = dictionary.id(vertex);
+        if (id < 0) {
             throw new RuntimeException("Vertex is not in the graph");
-       } else {
-            count = graph.get(x).size() - 1;
-       }
-       return count;
+        }
+        return degrees[id];
     }
 
     /**
@@ -94,27 +163,44 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public void addEdge(V from, V to)
     {
-        if (!graph.contains(from)) {
-            addVertex(from);
+        int source = intern(from);
+        int target = intern(to);
+        if (indexOf(source, target) >= 0) {
+            return;
         }
-
-        if (!graph.contains(to)) {
-            addVertex(to);
+        int[] row = rows[source];
+        if (degrees[source] == row.length) {
+            row = Arrays.copyOf(row, row.length == 0 ? 4 : row.length * 2);
+            rows[source] = row;
         }
+        row[degrees[source]++] = target;
+        edgeCount++;
+        if (sorted && degrees[source] - sortedCounts[source] >= INSERT_BUFFER) {
+            merge(source);
+        }
+    }
 
-        for (List<V> vertices : graph) {
-            if (vertices.get(0).equals(from)) {
-                int i = 1;
-                int size = vertices.size();
-                while (i < size && !(vertices.get(i).equals(to))) {
-                    i++;
-                }
-                if (i >= size) {
-                    vertices.add(to);
-                }
-                
+    /**
+     * Sorts the buffered additions of a sorted row and merges them
+     * into the sorted part.
+     */
+    private void merge(int source)
+    {
+        int[] row = rows[source];
+        int sortedEnd = sortedCounts[source];
+        int end = degrees[source];
+        Arrays.sort(row, sortedEnd, end);
+        int[] buffer = Arrays.copyOfRange(row, sortedEnd, end);
+        int i = sortedEnd - 1;
+        int j = buffer.length - 1;
+        for (int k = end - 1; j >= 0; k--) {
+            if (i >= 0 && row[i] > buffer[j]) {
+                row[k] = row[i--];
+            } else {
+                row[k] = buffer[j--];
             }
         }
+        sortedCounts[source] = end;
     }
 
     /**
@@ -126,16 +212,53 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public void addVertex(V vertex)
     {
-        int x = 0;
-        int size = graph.size();
-        while (x < size && !(graph.get(x).get(0)).equals(vertex)) {
-            x++;
+        intern(vertex);
+    }
+
+    /**
+     * @return the id of a vertex, adding it with an empty row if it
+     * is new.
+     */
+    private int intern(V vertex)
+    {
+        int id = dictionary.intern(vertex);
+        if (id == rows.length) {
+            rows = Arrays.copyOf(rows, id * 2);
+            degrees = Arrays.copyOf(degrees, id * 2);
+            if (sorted) {
+                sortedCounts = Arrays.copyOf(sortedCounts, id * 2);
+            }
+        }
+        if (rows[id] == null) {
+            rows[id] = rowCapacity == 0 ? EMPTY_ROW : new int[rowCapacity];
+            degrees[id] = 0;
+            if (sorted) {
+                sortedCounts[id] = 0;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * @return where 'target' is in the row of 'source', or -1.
+     */
+    private int indexOf(int source, int target)
+    {
+        int[] row = rows[source];
+        int unsorted = 0;
+        if (sorted) {
+            int at = Arrays.binarySearch(row, 0, sortedCounts[source], target);
+            if (at >= 0) {
+                return at;
+            }
+            unsorted = sortedCounts[source];
         }
-        if (x >= size) {
-            List<V> vertexList = new ArrayList<>();
-            vertexList.add(vertex);
-            graph.add(vertexList);
+        for (int i = unsorted; i < degrees[source]; i++) {
+            if (row[i] == target) {
+                return i;
+            }
         }
+        return -1;
     }
 
     /**
@@ -144,9 +267,11 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public Iterable<V> getVertices()
     {
-        List<V> items = new ArrayList<>();
-        for (List<V> element : graph) {
-            items.add(element.get(0));
+        List<V> items = new ArrayList<>(dictionary.size());
+        for (int id = 0; id < dictionary.capacity(); id++) {
+            if (dictionary.used(id)) {
+                items.add(dictionary.vertex(id));
+            }
         }
         return items;
     }
@@ -166,139 +291,133 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public Iterable<V> adjacentTo(V from)
     {
-        int x = 0;
-        int size = graph.size();
-        List<V> temp = new ArrayList<>();
-        while (x < size && !(graph.get(x).get(0)).equals(from)) {
-            x++;
+        int id = dictionary.id(from);
+        if (id < 0) {
+            return new ArrayList<V>();
         }
-        if (x < size) {
-            List<V> items = graph.get(x);
-            for (int y = 1; y < items.size(); y++) {
-                temp.add(items.get(y));
-            }
+        List<V> items = new ArrayList<>(degrees[id]);
+        int[] row = rows[id];
+        for (int i = 0; i < degrees[id]; i++) {
+            items.add(dictionary.vertex(row[i]));
         }
-        return temp;
+        return items;
     }
 
     /**
-     * Tells whether or not a vertex is in the graph.
+     * Gets the int id the graph stores a vertex under.  Ids are below
+     * the number of vertices the graph has ever held at once, and the
+     * id of a removed vertex is given to the next one added.
      *
      * @param vertex a vertex
-     * @return true iff 'vertex' is a vertex in the graph.
+     * @return its id, or -1 if it is not in the graph
      */
-    public boolean contains(V vertex)
+    public int id(V vertex)
     {
-        int x = 0;
-        int size = graph.size();
-        while (x < size && !(graph.get(x).get(0)).equals(vertex)) {
-            x++;
-        }
-
-        if (x >= size) {
-            return false;
-        } else {
-            return true;
-        }
+        return dictionary.id(vertex);
+    }
 
-     }
+    /**
+     * @param id a vertex id, as passed to forEachEdge
+     * @return the vertex with that id, or null if no vertex has it
+     */
+    public V vertex(int id)
+    {
+        return id >= 0 && id < dictionary.capacity() ? dictionary.vertex(id) : null;
+    }
 
     /**
-     * Tells whether an edge exists in the graph.
+     * Streams the edges straight off the adjacency lists, without
+     * copying the vertex set or any list.  Vertices come in id order,
+     * and a parallel stream splits them into ranges of ids.  The graph
+     * must not change while the stream is used.
      *
-     * @param from the source vertex
-     * @param to the destination vertex
-     *
-     * @return true iff there is an edge from the source vertex to the
-     * destination vertex in the graph.  If either of the given
-     * vertices are not vertices in the graph, then there is no edge
-     * between them.
+     * @return the (from, to) pair of each edge
      */
-    public boolean hasEdge(V from, V to)
+    @Override
+    public Stream<Pair<V, V>> edges()
     {
-        boolean edge = false;
-        if (!graph.contains(from) || !graph.contains(to)) {
-            edge = false;
-        }
-        for (List<V> vertices : graph) {
-            if (vertices.get(0).equals(from)) {
-                for (int x = 1; x < vertices.size(); x++) {
-                    if (vertices.get(x).equals(to)) {
-                        edge = true;
-                    }
-                }
+        RowEdgeSpliterator.Rows<V> lists = new RowEdgeSpliterator.Rows<V>() {
+            public V vertex(int id)
+            {
+                return dictionary.vertex(id);
+            }
+
+            public int degree(int source)
+            {
+                return degrees[source];
             }
-        }
 
-        return edge;
+            public int[] row(int source, int[] scratch)
+            {
+                return rows[source];
+            }
+        };
+        return StreamSupport.stream(new RowEdgeSpliterator<V>(lists, 0, dictionary.capacity(),
+                                                              edgeCount), false);
     }
 
     /**
-     * Gives a string representation of the graph.  The representation
-     * is a series of lines, one for each vertex in the graph.  On
-     * each line, the vertex is shown followed by ": " and then
-     * followed by a list of the vertices adjacent to that vertex.  In
-     * this list of vertices, the vertices are separated by ", ".  For
-     * example, for a graph with String vertices "A", "B", and "C", we
-     * might have the following string representation:
-     *
-     * <PRE>
-     * A: A, B
-     * B:
-     * C: A, B
-     * </PRE>
-     *
-     * This representation would indicate that the following edges are
-     * in the graph: (A, A), (A, B), (C, A), (C, B) and that B has no
-     * adjacent vertices.
+     * Passes the ids of every edge to an action, reading the adjacency
+     * lists in place and allocating nothing.  The graph must not
+     * change while the edges are passed.
      *
-     * Note: there are no extraneous spaces in the output.  So, if we
-     * replace each space with '*', the above representation would be:
-     *
-     * <PRE>
-     * A:*A,*B
-     * B:
-     * C:*A,*B
-     * </PRE>
-     *
-     * @return the string representation of the graph
+     * @param action receives the (from, to) ids of each edge
      */
-    public String toString()
+    public void forEachEdge(IntIntConsumer action)
     {
-        String representation = "";
-        for (List<V> element : graph) {
-            representation += element.get(0) + ":";
-            for (int i = 1; i < element.size(); i++) {
-                representation += " " + element.get(i);
+        for (int source = 0; source < dictionary.capacity(); source++) {
+            int[] row = rows[source];
+            for (int i = 0; i < degrees[source]; i++) {
+                action.accept(source, row[i]);
             }
-            representation += "\n";
         }
-        representation.substring(0, (representation.length()));
-        return representation;
     }
-    @Override
-    public boolean equals(Object other) {
-        boolean answer = false;
-            if (!(other instanceof Graph)) {
-            answer = false;
-        }
-        GraphImplementation that = (GraphImplementation) other;
 
-        if ((this.graph.equals(that.graph))) {
-            answer = true;
-        }
-        return answer;
+    /**
+     * Passes the ids of every edge to an action from the threads of
+     * the common fork-join pool, split by ranges of ids.  The action
+     * must be safe to call concurrently, and the graph must not change
+     * until this returns.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void parallelForEachEdge(IntIntConsumer action)
+    {
+        IntStream.range(0, dictionary.capacity()).parallel().forEach(source -> {
+            int[] row = rows[source];
+            for (int i = 0; i < degrees[source]; i++) {
+                action.accept(source, row[i]);
+            }
+        });
     }
 
-        /**
-     * Tells whether the graph is empty.
+    /**
+     * Tells whether or not a vertex is in the graph.
      *
-     * @return true iff the graph is empty. A graph is empty if it has
-     * no vertices and no edges.
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
      */
-    public boolean isEmpty()
+    public boolean contains(V vertex)
     {
-        return (numVertices() == 0 && numEdges() == 0);
+        return dictionary.id(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        return source >= 0 && target >= 0 && indexOf(source, target) >= 0;
     }
 
     /**
@@ -318,18 +437,19 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public void removeVertex(V toRemove)
     {
-        for (int x = 0; x <graph.size(); x++) {
-            if (graph.get(x).get(0).equals(toRemove)) {
-                graph.remove(x);
-            }
+        int id = dictionary.remove(toRemove);
+        if (id < 0) {
+            return;
         }
-        for (List<V> element : graph) {
-            int y = 1;
-            while (y<element.size()){
-                 if (element.get(y).equals(toRemove)){
-                    element.remove(y);
-                 }
-                 y++;
+        edgeCount -= degrees[id];
+        rows[id] = null;
+        degrees[id] = 0;
+        if (sorted) {
+            sortedCounts[id] = 0;
+        }
+        for (int source = 0; source < dictionary.capacity(); source++) {
+            if (rows[source] != null) {
+                removeFromRow(source, id);
             }
         }
     }
@@ -342,14 +462,194 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public void removeEdge(V from, V to)
     {
-        for (List<V> element : graph) {
-            if (element.get(0).equals(from)){
-                int x = 1;
-                while (x < element.size()) {
-                    if (element.get(x).equals(to)){
-                        element.remove(x);
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        if (source >= 0 && target >= 0) {
+            removeFromRow(source, target);
+        }
+    }
+
+    /**
+     * Applies a batch of mutations in one pass over each row it
+     * touches.  The batch is cut at each removeVertex; between cuts,
+     * mutations on different rows do not affect each other, so the
+     * edge mutations are sorted by source vertex (keeping their order
+     * within a row) and each row takes all of its mutations at once.
+     * The row's edges are found through a table indexed by id rather
+     * than a scan per mutation, and the row is compacted once at the
+     * end.
+     */
+    @Override
+    public void applyAll(List<Mutation<V>> mutations)
+    {
+        int start = 0;
+        for (int i = 0; i <= mutations.size(); i++) {
+            if (i == mutations.size() || mutations.get(i).kind() == Mutation.Kind.REMOVE_VERTEX) {
+                applyEdges(mutations, start, i);
+                if (i < mutations.size()) {
+                    removeVertex(mutations.get(i).from());
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Applies mutations[from, to), none of which removes a vertex.
+     */
+    private void applyEdges(List<Mutation<V>> mutations, int from, int to)
+    {
+        // each key is a source id and a position in 'targets'; a
+        // negative target marks a removal
+        long[] keys = new long[to - from];
+        int[] targets = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            Mutation<V> mutation = mutations.get(i);
+            int source;
+            if (mutation.kind() == Mutation.Kind.ADD_VERTEX) {
+                intern(mutation.from());
+                continue;
+            } else if (mutation.kind() == Mutation.Kind.ADD_EDGE) {
+                source = intern(mutation.from());
+                targets[count] = intern(mutation.to());
+            } else {
+                source = dictionary.id(mutation.from());
+                int target = dictionary.id(mutation.to());
+                if (source < 0 || target < 0) {
+                    continue;
+                }
+                targets[count] = -target - 1;
+            }
+            keys[count] = (long) source << 32 | count;
+            count++;
+        }
+        Arrays.sort(keys, 0, count);
+        if (positions.length < dictionary.capacity()) {
+            int old = positions.length;
+            positions = Arrays.copyOf(positions, rows.length);
+            Arrays.fill(positions, old, positions.length, -1);
+        }
+        for (int first = 0, last; first < count; first = last) {
+            int source = (int) (keys[first] >>> 32);
+            last = first + 1;
+            while (last < count && (int) (keys[last] >>> 32) == source) {
+                last++;
+            }
+            applyToRow(source, keys, targets, first, last);
+        }
+    }
+
+    /**
+     * Applies the mutations keys[first, last) to the row of 'source'.
+     */
+    private void applyToRow(int source, long[] keys, int[] targets, int first, int last)
+    {
+        int[] row = rows[source];
+        int degree = degrees[source];
+        for (int p = 0; p < degree; p++) {
+            positions[row[p]] = p;
+        }
+        // an edge is live at position p iff positions[target] == p;
+        // removals only clear the table, and re-added edges go at the end
+        int end = degree;
+        for (int k = first; k < last; k++) {
+            int target = targets[(int) keys[k]];
+            if (target >= 0) {
+                if (positions[target] < 0) {
+                    if (end == row.length) {
+                        row = Arrays.copyOf(row, row.length == 0 ? 4 : row.length * 2);
                     }
+                    row[end] = target;
+                    positions[target] = end++;
                 }
+            } else {
+                positions[-target - 1] = -1;
+            }
+        }
+        int kept = 0;
+        for (int p = 0; p < end; p++) {
+            int target = row[p];
+            if (positions[target] == p) {
+                row[kept++] = target;
+                positions[target] = -1;
+            }
+        }
+        rows[source] = row;
+        degrees[source] = kept;
+        edgeCount += kept - degree;
+        if (sorted) {
+            Arrays.sort(row, 0, kept);
+            sortedCounts[source] = kept;
+        }
+    }
+
+    /**
+     * Removes 'target' from the row of 'source', keeping the order of
+     * the rest of the row.
+     */
+    private void removeFromRow(int source, int target)
+    {
+        int at = indexOf(source, target);
+        if (at >= 0) {
+            int[] row = rows[source];
+            System.arraycopy(row, at + 1, row, at, degrees[source] - at - 1);
+            degrees[source]--;
+            edgeCount--;
+            if (sorted && at < sortedCounts[source]) {
+                sortedCounts[source]--;
+            }
+        }
+    }
+
+    @Override
+    public List<V> commonNeighbors(V first, V second)
+    {
+        List<V> common = new ArrayList<V>();
+        int a = dictionary.id(first);
+        int b = dictionary.id(second);
+        if (a >= 0 && b >= 0) {
+            intersect(a, b, id -> common.add(dictionary.vertex(id)));
+        }
+        return common;
+    }
+
+    @Override
+    public int commonNeighborCount(V first, V second)
+    {
+        int a = dictionary.id(first);
+        int b = dictionary.id(second);
+        if (a < 0 || b < 0) {
+            return 0;
+        }
+        int[] count = new int[1];
+        intersect(a, b, id -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Passes each id in the rows of both 'a' and 'b' to 'action'.
+     * Sorted rows are intersected part by part: the two sorted parts
+     * with SortedInts, then each buffered id by lookup in the other
+     * row.
+     */
+    private void intersect(int a, int b, IntConsumer action)
+    {
+        int[] rowA = rows[a];
+        int[] rowB = rows[b];
+        int sortedA = 0;
+        if (sorted) {
+            sortedA = sortedCounts[a];
+            SortedInts.intersect(rowA, 0, sortedA, rowB, 0, sortedCounts[b], action);
+            for (int i = sortedCounts[b]; i < degrees[b]; i++) {
+                if (Arrays.binarySearch(rowA, 0, sortedA, rowB[i]) >= 0) {
+                    action.accept(rowB[i]);
+                }
+            }
+        }
+        for (int i = sortedA; i < degrees[a]; i++) {
+            if (indexOf(b, rowA[i]) >= 0) {
+                action.accept(rowA[i]);
             }
         }
     }
@@ -369,43 +669,9 @@ public class GraphImplementation<V> implements Graph<V>
      * @param to the destination vertex
      * @return true iff there is a path from 'from' to 'to' in the graph.
      */
-    public boolean hasPath(V from, V to) {
-        boolean result = false;
-        if (contains(from) && contains(to)) {
-            List<V> visitedVertex = new ArrayList<V>();
-            visitedVertex.add(from);
-            Queue<V> nextVertex = new LinkedList<V>();
-            
-            nextVertex.add(from);
-
-            while (nextVertex.size() != 0 && !nextVertex.peek().equals(to)) {
-                V current = nextVertex.poll();
-                ArrayList<V> source = getVertexList(current);
-
-                for (int x = 1; x<source.size(); x ++) {
-                    if (!visitedVertex.contains(source.get(x))) {
-                        nextVertex.add(source.get(x));
-                        visitedVertex.add(source.get(x));
-                    }
-                }
-                
-            }
-            if (nextVertex.size() != 0) {
-                result = true;
-            } 
-        }
-        return result;
-        
-    }
-
-    private ArrayList<V> getVertexList(V current) {
-        ArrayList<V> temp = new ArrayList<V>();
-        for (List<V> element : graph) {
-            if (element.get(0).equals(current)) {
-                temp.addAll(element);
-            }
-        }
-        return temp;
+    public boolean hasPath(V from, V to)
+    {
+        return search(dictionary.id(from), dictionary.id(to)) != null;
     }
 
     /**
@@ -413,10 +679,10 @@ public class GraphImplementation<V> implements Graph<V>
      * vertices.  The length of a path is the number of edges in the
      * path.
      *
-     * <ol> 
+     * <ol>
      * <li>If from = to, shortest path has length 0
      * <li>Otherwise, shortest path length is length of the shortest
-     * possible path connecting from to to.  
+     * possible path connecting from to to.
      * </ol>
      *
      * @param from the source vertex
@@ -426,38 +692,17 @@ public class GraphImplementation<V> implements Graph<V>
      */
     public int pathLength(V from, V to)
     {
-        Integer shortestDistance = new Integer(0);
-        if (contains(from) && contains(to)) {
-            List<V> visitedVertex = new ArrayList<V>();
-            visitedVertex.add(from);
-            Queue<SimpleEntry<V, Integer>> nextVertex = new LinkedList<SimpleEntry<V, Integer>>();
-            SimpleEntry<V, Integer> fromPair = new SimpleEntry<V, Integer> (from, shortestDistance);
-            nextVertex.add(fromPair);
-
-            while (nextVertex.size() != 0 && !nextVertex.peek().getKey().equals(to)) {
-                SimpleEntry<V, Integer> current = nextVertex.poll();
-                ArrayList<V> source = getVertexList(current.getKey());
-
-                for (int x = 1; x<source.size(); x ++) {
-                    if (!visitedVertex.contains(source.get(x))) {
-                        int temp = current.getValue().intValue();
-                        temp++;
-                        Integer distance = new Integer(temp);
-                        SimpleEntry<V, Integer> nextSourcePair = new SimpleEntry<V, Integer> ((source.get(x)), distance);
-                        nextVertex.add(nextSourcePair);
-                        visitedVertex.add(source.get(x));
-                    }
-                }
-                
-            }
-            if (nextVertex.size() != 0) {
-                shortestDistance = nextVertex.peek().getValue();
-
-            } else {
-                shortestDistance = Integer.MAX_VALUE;
-            }
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        int[] parents = search(source, target);
+        if (parents == null) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (int at = target; at != source; at = parents[at]) {
+            length++;
         }
-        return shortestDistance.intValue();
+        return length;
     }
 
     /**
@@ -470,92 +715,71 @@ public class GraphImplementation<V> implements Graph<V>
      * <li>x_n = to
      * <li>for all i from 1 to n-1: (x_i, x_{i+1}) is an edge in the graph.
      * </ol>
-     * 
+     *
      * @param from the source vertex
      * @param to the destination vertex
      * @return an Iterable collection of vertices along the shortest
      * path from 'from' to 'to'.  The Iterable should include the
      * source and destination vertices.
      */
-
-    public void getPathRecursion(V from, V to, LinkedList<V> holder)
+    public Iterable<V> getPath(V from, V to)
     {
-        if (contains(from) && contains(to)) {
-            if (from.equals(to)) {
-                holder.push(from);
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        LinkedList<V> path = new LinkedList<V>();
+        int[] parents = search(source, target);
+        if (parents != null) {
+            int at = target;
+            path.push(dictionary.vertex(at));
+            while (at != source) {
+                at = parents[at];
+                path.push(dictionary.vertex(at));
+            }
+        }
+        return path;
+    }
 
-            } else {
-                    List<V> visitedVertex = new ArrayList<V>();
-                    visitedVertex.add(from);
-                    Queue<SimpleEntry<V, V>> nextVertex = new LinkedList<SimpleEntry<V, V>>();
-                    SimpleEntry<V, V> fromPair = new SimpleEntry<V, V> (from, from);
-                    nextVertex.add(fromPair);
-
-                    while (nextVertex.size() != 0 && !nextVertex.peek().getKey().equals(to)) {
-                        SimpleEntry<V, V> current = nextVertex.poll();
-                        ArrayList<V> source = getVertexList(current.getKey());
-
-                        for (int x = 1; x<source.size(); x ++) {
-                            if (!visitedVertex.contains(source.get(x))) {
-                                V previous = current.getKey();
-                                SimpleEntry<V, V> nextSourcePair = new SimpleEntry<V, V> ((source.get(x)), previous);
-                                nextVertex.add(nextSourcePair);
-                                visitedVertex.add(source.get(x));
-                            }
+    /**
+     * Runs a breadth-first search over ids until 'target' is found.
+     *
+     * @return the BFS parent of each discovered id (-1 for the rest),
+     * or null if either id is missing or 'target' is unreachable.
+     */
+    private int[] search(int source, int target)
+    {
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        int[] parents = new int[dictionary.capacity()];
+        Arrays.fill(parents, -1);
+        parents[source] = source;
+        if (source == target) {
+            return parents;
+        }
+        int[] queue = new int[dictionary.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        long scanned = 0;
+        try {
+            while (head < tail) {
+                int current = queue[head++];
+                int[] row = rows[current];
+                for (int i = 0; i < degrees[current]; i++) {
+                    int next = row[i];
+                    scanned++;
+                    if (parents[next] < 0) {
+                        parents[next] = current;
+                        if (next == target) {
+                            return parents;
                         }
-                        
-                    }
-                    if (nextVertex.size() != 0) {
-                        V vertex = nextVertex.peek().getKey();
-                        holder.push(vertex);
-                        getPathRecursion(from, nextVertex.peek().getValue(), holder);
-
+                        queue[tail++] = next;
                     }
+                }
             }
- 
-        }
-    }
-
-    //     public void getPathRecursion(V from, V to, Stack holder)
-    // {
-    //     if (contains(from) && contains(to)) {
-    //         if (from.equals(to)) {
-    //             holder.push(from);
-    //         } else {
-    //                 List<V> visitedVertex = new ArrayList<V>();
-    //                 visitedVertex.add(from);
-    //                 Queue<V> nextVertex = new LinkedList<V>();
-                    
-    //                 nextVertex.add(from);
-    //                 V current = null;
-    //                 while (nextVertex.size() != 0 && !nextVertex.peek().equals(to)) {
-    //                     current = nextVertex.poll();
-    //                     ArrayList<V> source = getVertexList(current);
-
-    //                     for (int x = 1; x<source.size(); x ++) {
-    //                         if (!visitedVertex.contains(source.get(x))) {
-    //                             nextVertex.add(source.get(x));
-    //                             visitedVertex.add(source.get(x));
-    //                         }
-    //                     }
-                        
-    //                 }
-    //                 if (nextVertex.size() != 0) {
-    //                     holder.push(current);
-    //                     getPathRecursion(from, current,holder);
-    //                 }
-    //         }
- 
-    //     }
-    // }
-
-    public Iterable<V> getPath(V from, V to) {
-        LinkedList<V> holder = new LinkedList<V>();
-        if (hasPath(from, to)) {
-                
-                getPathRecursion(from, to, holder);
-        }
-        return holder;
-
+            return null;
+        } finally {
+            PathSearch.report(head, scanned);
+        }
     }
 }
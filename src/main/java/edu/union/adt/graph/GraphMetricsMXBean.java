@@ -0,0 +1,66 @@
+package edu.union.adt.graph;
+import java.util.Map;
+
+/**
+ * The management interface of an InstrumentedGraph.  Maps are keyed
+ * by Graph method name; latencies are in microseconds.
+ *
+ * @version 1
+ */
+public interface GraphMetricsMXBean
+{
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int getVertexCount();
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int getEdgeCount();
+
+    /**
+     * @return how many times each method was called.
+     */
+    public Map<String, Long> getCallCounts();
+
+    /**
+     * @return the mean latency of each method.
+     */
+    public Map<String, Double> getMeanLatencyMicros();
+
+    /**
+     * @return the 99th percentile latency of each method.
+     */
+    public Map<String, Double> getP99LatencyMicros();
+
+    /**
+     * @return the largest latency seen for each method.
+     */
+    public Map<String, Double> getMaxLatencyMicros();
+
+    /**
+     * @return how many vertices the path queries have expanded.
+     */
+    public long getVerticesVisited();
+
+    /**
+     * @return how many edges the path queries have examined.
+     */
+    public long getEdgesScanned();
+
+    /**
+     * @return one call in how many is timed.
+     */
+    public int getSamplingInterval();
+
+    /**
+     * @param interval time one call in 'interval'; 1 times every call
+     */
+    public void setSamplingInterval(int interval);
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    public void reset();
+}
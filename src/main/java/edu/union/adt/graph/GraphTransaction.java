@@ -0,0 +1,142 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects mutations for a graph and applies them together.  Nothing
+ * reaches the graph until commit(), which hands the whole batch to the
+ * graph's applyAll; rollback() throws the batch away instead.
+ *
+ * <PRE>
+ * try (GraphTransaction&lt;String&gt; tx = new GraphTransaction&lt;String&gt;(graph)) {
+ *     tx.addEdge("A", "B");
+ *     tx.removeEdge("B", "C");
+ *     tx.commit();
+ * }
+ * </PRE>
+ *
+ * A committed batch has the same result as making its mutations one
+ * at a time, but graphs can apply it faster and more safely:
+ * <ul>
+ * <li>GraphImplementation sorts the edge mutations by source vertex
+ * and takes each adjacency list through one pass;
+ * <li>VersionedGraph applies the batch under one lock and publishes
+ * it as one snapshot, so readers see all of it or none of it;
+ * <li>DurableGraph logs the batch and then syncs the log once.
+ * </ul>
+ * Other graphs apply the mutations one at a time.
+ *
+ * A transaction can be reused after commit or rollback.  Transactions
+ * are not safe for concurrent use; give each writer its own.
+ *
+ * @version 1
+ */
+public class GraphTransaction<V> implements AutoCloseable
+{
+    private final Graph<V> graph;
+    private List<Mutation<V>> pending = new ArrayList<Mutation<V>>();
+
+    /**
+     * @param graph the graph that commit() changes
+     */
+    public GraphTransaction(Graph<V> graph)
+    {
+        if (graph == null) {
+            throw new NullPointerException("Graph must not be null");
+        }
+        this.graph = graph;
+    }
+
+    /**
+     * @return the graph that commit() changes.
+     */
+    public Graph<V> graph()
+    {
+        return graph;
+    }
+
+    public void addVertex(V vertex)
+    {
+        add(Mutation.addVertex(vertex));
+    }
+
+    public void addEdge(V from, V to)
+    {
+        add(Mutation.addEdge(from, to));
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        add(Mutation.removeVertex(toRemove));
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        add(Mutation.removeEdge(from, to));
+    }
+
+    /**
+     * Adds a mutation to the batch.
+     *
+     * @param mutation the change to make at commit
+     */
+    public void add(Mutation<V> mutation)
+    {
+        if (mutation.from() == null || (mutation.isEdge() && mutation.to() == null)) {
+            throw new NullPointerException("Vertices must not be null");
+        }
+        pending.add(mutation);
+    }
+
+    /**
+     * @return the number of mutations waiting for commit.
+     */
+    public int size()
+    {
+        return pending.size();
+    }
+
+    /**
+     * @return the mutations waiting for commit, oldest first.
+     */
+    public List<Mutation<V>> pending()
+    {
+        return Collections.unmodifiableList(pending);
+    }
+
+    /**
+     * Applies the batch to the graph and starts a new, empty batch.
+     * If the graph throws, the batch is kept so that it can be
+     * rolled back; graphs other than VersionedGraph may have applied
+     * part of it.
+     *
+     * @return the number of mutations applied
+     */
+    public int commit()
+    {
+        List<Mutation<V>> batch = pending;
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        graph.applyAll(batch);
+        pending = new ArrayList<Mutation<V>>();
+        return batch.size();
+    }
+
+    /**
+     * Discards the batch, leaving the graph as it is.
+     */
+    public void rollback()
+    {
+        pending.clear();
+    }
+
+    /**
+     * Discards any mutations not committed.
+     */
+    public void close()
+    {
+        rollback();
+    }
+}
@@ -0,0 +1,632 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A directed graph whose adjacency lists are stored in one of four
+ * ways depending on the degree of their vertex, for graphs where most
+ * vertices have a handful of successors and a few hubs have very many.
+ *
+ * <ul>
+ * <li>Up to INLINE successors are kept in a slot of a single int
+ * arena shared by all vertices, so the long tail of small vertices
+ * costs no objects at all.
+ * <li>Up to HUB successors are kept in a sorted int array per vertex;
+ * hasEdge is a binary search.
+ * <li>Hubs keep their successors in an IntHashSet, so hasEdge,
+ * addEdge and removeEdge take constant time however large they get.
+ * <li>A hub adjacent to more than a 32nd of the graph switches to a
+ * bitmap over all ids, which is then the smaller of the two.
+ * </ul>
+ *
+ * Rows move between forms automatically as edges are added and
+ * removed, with some slack so that a row hovering at a threshold does
+ * not flip back and forth.  Vertices are interned to int ids as in
+ * GraphImplementation.  adjacentTo gives no particular order.
+ *
+ * removeVertex takes O(V), since every row is checked for an edge into
+ * the removed vertex, each in at most O(log HUB) time; the path queries
+ * take O(V + E).
+ *
+ * @version 1
+ */
+public class HybridGraph<V> extends AbstractGraph<V>
+{
+    /**
+     * The most successors kept in the shared arena.
+     */
+    public static final int INLINE = 4;
+
+    /**
+     * The most successors kept in a sorted array; rows that grow past
+     * this become hash sets, and shrink back below half of it.
+     */
+    public static final int HUB = 128;
+
+    private final VertexDictionary<V> dictionary;
+    private int[] degrees;
+    /** The successors of small vertex v at [v * INLINE, v * INLINE + degree). */
+    private int[] arena;
+    /** For larger vertices: a sorted int[], an IntHashSet or a long[] bitmap. */
+    private Object[] rows;
+    private int edgeCount;
+
+    /**
+     * Create an empty graph.
+     */
+    public HybridGraph()
+    {
+        this(16);
+    }
+
+    /**
+     * Create an empty graph sized for an expected number of vertices.
+     * The graph may still grow beyond the expected size.
+     *
+     * @param expectedVertices how many vertices the graph will hold
+     */
+    public HybridGraph(int expectedVertices)
+    {
+        if (expectedVertices < 0) {
+            throw new IllegalArgumentException("Expected sizes must not be negative");
+        }
+        int capacity = Math.max(expectedVertices, 16);
+        dictionary = new VertexDictionary<V>(expectedVertices);
+        degrees = new int[capacity];
+        arena = new int[capacity * INLINE];
+        rows = new Object[capacity];
+    }
+
+    public int numVertices()
+    {
+        return dictionary.size();
+    }
+
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    public int degree(V vertex)
+    {
+        int id = dictionary.id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex is not in the graph");
+        }
+        return degrees[id];
+    }
+
+    public void addVertex(V vertex)
+    {
+        intern(vertex);
+    }
+
+    private int intern(V vertex)
+    {
+        int id = dictionary.intern(vertex);
+        if (id == degrees.length) {
+            degrees = Arrays.copyOf(degrees, id * 2);
+            arena = Arrays.copyOf(arena, id * 2 * INLINE);
+            rows = Arrays.copyOf(rows, id * 2);
+        }
+        return id;
+    }
+
+    public void addEdge(V from, V to)
+    {
+        int source = intern(from);
+        int target = intern(to);
+        if (insert(source, target)) {
+            degrees[source]++;
+            edgeCount++;
+        }
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        if (source >= 0 && target >= 0) {
+            removeFromRow(source, target);
+        }
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        int id = dictionary.remove(toRemove);
+        if (id < 0) {
+            return;
+        }
+        edgeCount -= degrees[id];
+        degrees[id] = 0;
+        rows[id] = null;
+        for (int source = 0; source < dictionary.capacity(); source++) {
+            if (degrees[source] > 0) {
+                removeFromRow(source, id);
+            }
+        }
+    }
+
+    private void removeFromRow(int source, int target)
+    {
+        if (delete(source, target)) {
+            degrees[source]--;
+            edgeCount--;
+        }
+    }
+
+    public boolean contains(V vertex)
+    {
+        return dictionary.id(vertex) >= 0;
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        return source >= 0 && target >= 0 && has(source, target);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        List<V> items = new ArrayList<V>(dictionary.size());
+        for (int id = 0; id < dictionary.capacity(); id++) {
+            if (dictionary.used(id)) {
+                items.add(dictionary.vertex(id));
+            }
+        }
+        return items;
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        int id = dictionary.id(from);
+        if (id < 0) {
+            return new ArrayList<V>();
+        }
+        int[] successors = new int[degrees[id]];
+        copyRow(id, successors);
+        List<V> items = new ArrayList<V>(successors.length);
+        for (int target : successors) {
+            items.add(dictionary.vertex(target));
+        }
+        return items;
+    }
+
+    /**
+     * Gets the int id the graph stores a vertex under.  The id of a
+     * removed vertex is given to the next one added.
+     *
+     * @param vertex a vertex
+     * @return its id, or -1 if it is not in the graph
+     */
+    public int id(V vertex)
+    {
+        return dictionary.id(vertex);
+    }
+
+    /**
+     * @param id a vertex id, as passed to forEachEdge
+     * @return the vertex with that id, or null if no vertex has it
+     */
+    public V vertex(int id)
+    {
+        return id >= 0 && id < dictionary.capacity() ? dictionary.vertex(id) : null;
+    }
+
+    /**
+     * Streams the edges out of the rows without copying the vertex set.
+     * Sorted-array rows are read in place; the others are copied one
+     * at a time into a scratch array the stream reuses.  Vertices come
+     * in id order.  The graph must not change while the stream is
+     * used.
+     *
+     * @return the (from, to) pair of each edge
+     */
+    @Override
+    public Stream<Pair<V, V>> edges()
+    {
+        RowEdgeSpliterator.Rows<V> lists = new RowEdgeSpliterator.Rows<V>() {
+            public V vertex(int id)
+            {
+                return dictionary.vertex(id);
+            }
+
+            public int degree(int source)
+            {
+                return degrees[source];
+            }
+
+            public int[] row(int source, int[] scratch)
+            {
+                if (rows[source] instanceof int[]) {
+                    return (int[]) rows[source];
+                }
+                copyRow(source, scratch);
+                return scratch;
+            }
+        };
+        return StreamSupport.stream(new RowEdgeSpliterator<V>(lists, 0, dictionary.capacity(),
+                                                              edgeCount), false);
+    }
+
+    /**
+     * Passes the ids of every edge to an action, reading the rows in
+     * place and allocating nothing.  The graph must not change while
+     * the edges are passed.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void forEachEdge(IntIntConsumer action)
+    {
+        for (int source = 0; source < dictionary.capacity(); source++) {
+            if (degrees[source] > 0) {
+                forEachSuccessor(source, action);
+            }
+        }
+    }
+
+    /**
+     * Passes the ids of every edge to an action from the threads of
+     * the common fork-join pool, split by ranges of ids.  The action
+     * must be safe to call concurrently, and the graph must not change
+     * until this returns.
+     *
+     * @param action receives the (from, to) ids of each edge
+     */
+    public void parallelForEachEdge(IntIntConsumer action)
+    {
+        IntStream.range(0, dictionary.capacity()).parallel()
+            .filter(source -> degrees[source] > 0)
+            .forEach(source -> forEachSuccessor(source, action));
+    }
+
+    /**
+     * @return true iff the row of 'source' holds 'target'.
+     */
+    private boolean has(int source, int target)
+    {
+        Object row = rows[source];
+        if (row == null) {
+            int base = source * INLINE;
+            for (int i = base; i < base + degrees[source]; i++) {
+                if (arena[i] == target) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (row instanceof int[]) {
+            return Arrays.binarySearch((int[]) row, 0, degrees[source], target) >= 0;
+        } else if (row instanceof IntHashSet) {
+            return ((IntHashSet) row).contains(target);
+        }
+        long[] bits = (long[]) row;
+        int word = target >>> 6;
+        return word < bits.length && (bits[word] & 1L << target) != 0;
+    }
+
+    /**
+     * Adds 'target' to the row of 'source', changing the row's form if
+     * it outgrows it.  Does not update the degree.
+     *
+     * @return true iff it was not there already
+     */
+    private boolean insert(int source, int target)
+    {
+        int degree = degrees[source];
+        Object row = rows[source];
+        if (row == null) {
+            int base = source * INLINE;
+            for (int i = base; i < base + degree; i++) {
+                if (arena[i] == target) {
+                    return false;
+                }
+            }
+            if (degree < INLINE) {
+                arena[base + degree] = target;
+                return true;
+            }
+            int[] sorted = new int[INLINE * 2];
+            System.arraycopy(arena, base, sorted, 0, INLINE);
+            Arrays.sort(sorted, 0, INLINE);
+            rows[source] = sorted;
+            return insert(source, target);
+        } else if (row instanceof int[]) {
+            int[] sorted = (int[]) row;
+            int at = Arrays.binarySearch(sorted, 0, degree, target);
+            if (at >= 0) {
+                return false;
+            }
+            if (degree == HUB) {
+                IntHashSet set = new IntHashSet(HUB * 2);
+                for (int i = 0; i < degree; i++) {
+                    set.add(sorted[i]);
+                }
+                rows[source] = set;
+                return insert(source, target);
+            }
+            at = -at - 1;
+            if (degree == sorted.length) {
+                sorted = Arrays.copyOf(sorted, Math.min(degree * 2, HUB));
+                rows[source] = sorted;
+            }
+            System.arraycopy(sorted, at, sorted, at + 1, degree - at);
+            sorted[at] = target;
+            return true;
+        } else if (row instanceof IntHashSet) {
+            IntHashSet set = (IntHashSet) row;
+            if (!set.add(target)) {
+                return false;
+            }
+            if (set.size() > dictionary.capacity() / 32) {
+                rows[source] = bitmap(source, set.size());
+            }
+            return true;
+        }
+        long[] bits = (long[]) row;
+        int word = target >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(word + 1, (dictionary.capacity() + 63) >>> 6));
+            rows[source] = bits;
+        }
+        if ((bits[word] & 1L << target) != 0) {
+            return false;
+        }
+        bits[word] |= 1L << target;
+        return true;
+    }
+
+    /**
+     * Removes 'target' from the row of 'source', changing the row's
+     * form if it has shrunk well below it.  Does not update the degree.
+     *
+     * @return true iff it was there
+     */
+    private boolean delete(int source, int target)
+    {
+        int degree = degrees[source];
+        Object row = rows[source];
+        if (row == null) {
+            int base = source * INLINE;
+            for (int i = base; i < base + degree; i++) {
+                if (arena[i] == target) {
+                    arena[i] = arena[base + degree - 1];
+                    return true;
+                }
+            }
+            return false;
+        } else if (row instanceof int[]) {
+            int[] sorted = (int[]) row;
+            int at = Arrays.binarySearch(sorted, 0, degree, target);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(sorted, at + 1, sorted, at, degree - at - 1);
+            if (degree - 1 <= INLINE / 2) {
+                System.arraycopy(sorted, 0, arena, source * INLINE, degree - 1);
+                rows[source] = null;
+            }
+            return true;
+        } else if (row instanceof IntHashSet) {
+            IntHashSet set = (IntHashSet) row;
+            if (!set.remove(target)) {
+                return false;
+            }
+            if (set.size() < HUB / 2) {
+                rows[source] = sortedCopy(source, set.size());
+            }
+            return true;
+        }
+        long[] bits = (long[]) row;
+        int word = target >>> 6;
+        if (word >= bits.length || (bits[word] & 1L << target) == 0) {
+            return false;
+        }
+        bits[word] &= ~(1L << target);
+        if (degree - 1 < dictionary.capacity() / 128) {
+            IntHashSet set = new IntHashSet(degree - 1);
+            degrees[source]--;
+            copyRow(source, set);
+            degrees[source]++;
+            rows[source] = set;
+        }
+        return true;
+    }
+
+    private long[] bitmap(int source, int degree)
+    {
+        long[] bits = new long[(dictionary.capacity() + 63) >>> 6];
+        int[] successors = new int[degree];
+        int saved = degrees[source];
+        degrees[source] = degree;
+        copyRow(source, successors);
+        degrees[source] = saved;
+        for (int target : successors) {
+            bits[target >>> 6] |= 1L << target;
+        }
+        return bits;
+    }
+
+    private int[] sortedCopy(int source, int degree)
+    {
+        int[] sorted = new int[HUB];
+        int saved = degrees[source];
+        degrees[source] = degree;
+        copyRow(source, sorted);
+        degrees[source] = saved;
+        Arrays.sort(sorted, 0, degree);
+        return sorted;
+    }
+
+    private void copyRow(int source, IntHashSet into)
+    {
+        int[] successors = new int[degrees[source]];
+        copyRow(source, successors);
+        for (int target : successors) {
+            into.add(target);
+        }
+    }
+
+    /**
+     * Copies the first degrees[source] successors of 'source' into
+     * 'into'.
+     */
+    private void copyRow(int source, int[] into)
+    {
+        int degree = degrees[source];
+        Object row = rows[source];
+        if (row == null) {
+            System.arraycopy(arena, source * INLINE, into, 0, degree);
+        } else if (row instanceof int[]) {
+            System.arraycopy((int[]) row, 0, into, 0, degree);
+        } else if (row instanceof IntHashSet) {
+            int count = 0;
+            for (int slot : ((IntHashSet) row).slots()) {
+                if (slot != IntHashSet.EMPTY && count < degree) {
+                    into[count++] = slot;
+                }
+            }
+        } else {
+            long[] bits = (long[]) row;
+            int count = 0;
+            for (int word = 0; word < bits.length && count < degree; word++) {
+                for (long rest = bits[word]; rest != 0 && count < degree; rest &= rest - 1) {
+                    into[count++] = word << 6 | Long.numberOfTrailingZeros(rest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes (source, target) to an action for each successor of
+     * 'source', reading its row in place.
+     */
+    private void forEachSuccessor(int source, IntIntConsumer action)
+    {
+        int degree = degrees[source];
+        Object row = rows[source];
+        if (row == null || row instanceof int[]) {
+            int[] successors = row == null ? arena : (int[]) row;
+            int base = row == null ? source * INLINE : 0;
+            for (int i = base; i < base + degree; i++) {
+                action.accept(source, successors[i]);
+            }
+        } else if (row instanceof IntHashSet) {
+            for (int slot : ((IntHashSet) row).slots()) {
+                if (slot != IntHashSet.EMPTY) {
+                    action.accept(source, slot);
+                }
+            }
+        } else {
+            long[] bits = (long[]) row;
+            for (int word = 0; word < bits.length; word++) {
+                for (long rest = bits[word]; rest != 0; rest &= rest - 1) {
+                    action.accept(source, word << 6 | Long.numberOfTrailingZeros(rest));
+                }
+            }
+        }
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        return search(dictionary.id(from), dictionary.id(to)) != null;
+    }
+
+    public int pathLength(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        int[] parents = search(source, target);
+        if (parents == null) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (int at = target; at != source; at = parents[at]) {
+            length++;
+        }
+        return length;
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        LinkedList<V> path = new LinkedList<V>();
+        int[] parents = search(source, target);
+        if (parents != null) {
+            int at = target;
+            path.push(dictionary.vertex(at));
+            while (at != source) {
+                at = parents[at];
+                path.push(dictionary.vertex(at));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Runs a breadth-first search over ids until 'target' is found.
+     * Arena slots and sorted rows are read in place; hub rows are
+     * copied out to a scratch array first.
+     *
+     * @return the BFS parent of each discovered id (-1 for the rest),
+     * or null if either id is missing or 'target' is unreachable.
+     */
+    private int[] search(int source, int target)
+    {
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        int[] parents = new int[dictionary.capacity()];
+        Arrays.fill(parents, -1);
+        parents[source] = source;
+        if (source == target) {
+            return parents;
+        }
+        int[] queue = new int[dictionary.size()];
+        int[] successors = new int[HUB];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        long scanned = 0;
+        try {
+            while (head < tail) {
+                int current = queue[head++];
+                int degree = degrees[current];
+                int[] row;
+                int start = 0;
+                if (rows[current] == null) {
+                    row = arena;
+                    start = current * INLINE;
+                } else if (rows[current] instanceof int[]) {
+                    row = (int[]) rows[current];
+                } else {
+                    if (degree > successors.length) {
+                        successors = new int[degree];
+                    }
+                    copyRow(current, successors);
+                    row = successors;
+                }
+                for (int i = start; i < start + degree; i++) {
+                    int next = row[i];
+                    scanned++;
+                    if (parents[next] < 0) {
+                        parents[next] = current;
+                        if (next == target) {
+                            return parents;
+                        }
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            PathSearch.report(head, scanned);
+        }
+    }
+}
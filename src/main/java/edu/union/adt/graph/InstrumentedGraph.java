@@ -0,0 +1,406 @@
+package edu.union.adt.graph;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A graph decorator that records how it is used: a call count and a
+ * latency histogram for every Graph method, the number of vertices
+ * and edges touched by path queries, and the size of the graph.  The
+ * numbers can be read directly or through JMX once register() has
+ * been called.
+ *
+ * Every call is counted, but only about one call in samplingInterval
+ * is timed (chosen at random), which keeps the cost of System.nanoTime
+ * off the common path for cheap methods such as hasEdge.  The
+ * interval is rounded up to a power of two.
+ *
+ * hasPath, pathLength and getPath are answered by the wrapped graph,
+ * so their latencies are those of its own search.  Every graph in
+ * this library reports the vertices its search expands and the edges
+ * it scans, once per search, to the InstrumentedGraph whose query is
+ * running on the calling thread; graphs written elsewhere can do the
+ * same through searched.
+ *
+ * @version 1
+ */
+public class InstrumentedGraph<V> extends ForwardingGraph<V>
+    implements GraphMetricsMXBean
+{
+    /**
+     * The Graph methods that are measured.
+     */
+    public enum Operation
+    {
+        NUM_VERTICES("numVertices"), NUM_EDGES("numEdges"), DEGREE("degree"),
+        ADD_EDGE("addEdge"), ADD_VERTEX("addVertex"), GET_VERTICES("getVertices"),
+        ADJACENT_TO("adjacentTo"), CONTAINS("contains"), HAS_EDGE("hasEdge"),
+        IS_EMPTY("isEmpty"), REMOVE_VERTEX("removeVertex"), REMOVE_EDGE("removeEdge"),
+        HAS_PATH("hasPath"), PATH_LENGTH("pathLength"), GET_PATH("getPath");
+
+        private final String methodName;
+
+        Operation(String methodName)
+        {
+            this.methodName = methodName;
+        }
+
+        /**
+         * @return the name of the Graph method.
+         */
+        public String methodName()
+        {
+            return methodName;
+        }
+    }
+
+    /**
+     * The default sampling interval.
+     */
+    public static final int DEFAULT_SAMPLING_INTERVAL = 64;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final LongAdder[] calls = new LongAdder[OPERATIONS.length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder verticesVisited = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+    private final PathSearch.Counter counter = (vertices, edges) -> {
+        verticesVisited.add(vertices);
+        edgesScanned.add(edges);
+    };
+    private volatile int samplingMask = DEFAULT_SAMPLING_INTERVAL - 1;
+    private ObjectName registeredName;
+
+    /**
+     * @param delegate the graph to measure
+     */
+    public InstrumentedGraph(Graph<V> delegate)
+    {
+        super(delegate);
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Credits the work of one path search to the InstrumentedGraph
+     * whose hasPath, pathLength or getPath is running on the calling
+     * thread; does nothing if there is none.  For Graph
+     * implementations that run their own searches.
+     *
+     * @param vertices how many vertices the search expanded
+     * @param edges how many edges it scanned
+     */
+    public static void searched(long vertices, long edges)
+    {
+        PathSearch.report(vertices, edges);
+    }
+
+    /**
+     * Registers this graph's metrics with the platform MBean server
+     * under "edu.union.adt.graph:type=Graph,name=<name>".
+     *
+     * @param name distinguishes this graph from other registered graphs
+     * @return the name the metrics were registered under
+     */
+    public synchronized ObjectName register(String name) throws JMException
+    {
+        unregister();
+        ObjectName objectName = new ObjectName("edu.union.adt.graph:type=Graph,name="
+                                               + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        registeredName = objectName;
+        return objectName;
+    }
+
+    /**
+     * Removes this graph's metrics from the platform MBean server, if
+     * they were registered.
+     */
+    public synchronized void unregister() throws JMException
+    {
+        if (registeredName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(registeredName)) {
+                server.unregisterMBean(registeredName);
+            }
+            registeredName = null;
+        }
+    }
+
+    /**
+     * @param operation a Graph method
+     * @return how many times it was called.
+     */
+    public long calls(Operation operation)
+    {
+        return calls[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation a Graph method
+     * @return the latencies of its sampled calls.
+     */
+    public LatencyHistogram latency(Operation operation)
+    {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Counts a call and, if it is sampled, returns its start time.
+     *
+     * @return the start time, or 0 if the call is not timed
+     */
+    private long begin(Operation operation)
+    {
+        calls[operation.ordinal()].increment();
+        int mask = samplingMask;
+        if (mask != 0 && (ThreadLocalRandom.current().nextInt() & mask) != 0) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    private void end(Operation operation, long start)
+    {
+        if (start != 0) {
+            latencies[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public int numVertices()
+    {
+        long start = begin(Operation.NUM_VERTICES);
+        try {
+            return delegate.numVertices();
+        } finally {
+            end(Operation.NUM_VERTICES, start);
+        }
+    }
+
+    public int numEdges()
+    {
+        long start = begin(Operation.NUM_EDGES);
+        try {
+            return delegate.numEdges();
+        } finally {
+            end(Operation.NUM_EDGES, start);
+        }
+    }
+
+    public int degree(V vertex)
+    {
+        long start = begin(Operation.DEGREE);
+        try {
+            return delegate.degree(vertex);
+        } finally {
+            end(Operation.DEGREE, start);
+        }
+    }
+
+    public void addEdge(V from, V to)
+    {
+        long start = begin(Operation.ADD_EDGE);
+        try {
+            delegate.addEdge(from, to);
+        } finally {
+            end(Operation.ADD_EDGE, start);
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        long start = begin(Operation.ADD_VERTEX);
+        try {
+            delegate.addVertex(vertex);
+        } finally {
+            end(Operation.ADD_VERTEX, start);
+        }
+    }
+
+    public Iterable<V> getVertices()
+    {
+        long start = begin(Operation.GET_VERTICES);
+        try {
+            return delegate.getVertices();
+        } finally {
+            end(Operation.GET_VERTICES, start);
+        }
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        long start = begin(Operation.ADJACENT_TO);
+        try {
+            return delegate.adjacentTo(from);
+        } finally {
+            end(Operation.ADJACENT_TO, start);
+        }
+    }
+
+    public boolean contains(V vertex)
+    {
+        long start = begin(Operation.CONTAINS);
+        try {
+            return delegate.contains(vertex);
+        } finally {
+            end(Operation.CONTAINS, start);
+        }
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        long start = begin(Operation.HAS_EDGE);
+        try {
+            return delegate.hasEdge(from, to);
+        } finally {
+            end(Operation.HAS_EDGE, start);
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        long start = begin(Operation.IS_EMPTY);
+        try {
+            return delegate.isEmpty();
+        } finally {
+            end(Operation.IS_EMPTY, start);
+        }
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        long start = begin(Operation.REMOVE_VERTEX);
+        try {
+            delegate.removeVertex(toRemove);
+        } finally {
+            end(Operation.REMOVE_VERTEX, start);
+        }
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        long start = begin(Operation.REMOVE_EDGE);
+        try {
+            delegate.removeEdge(from, to);
+        } finally {
+            end(Operation.REMOVE_EDGE, start);
+        }
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        long start = begin(Operation.HAS_PATH);
+        try {
+            return PathSearch.counted(counter, () -> delegate.hasPath(from, to));
+        } finally {
+            end(Operation.HAS_PATH, start);
+        }
+    }
+
+    public int pathLength(V from, V to)
+    {
+        long start = begin(Operation.PATH_LENGTH);
+        try {
+            return PathSearch.counted(counter, () -> delegate.pathLength(from, to));
+        } finally {
+            end(Operation.PATH_LENGTH, start);
+        }
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        long start = begin(Operation.GET_PATH);
+        try {
+            return PathSearch.counted(counter, () -> delegate.getPath(from, to));
+        } finally {
+            end(Operation.GET_PATH, start);
+        }
+    }
+
+    public int getVertexCount()
+    {
+        return delegate.numVertices();
+    }
+
+    public int getEdgeCount()
+    {
+        return delegate.numEdges();
+    }
+
+    public Map<String, Long> getCallCounts()
+    {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (Operation operation : OPERATIONS) {
+            result.put(operation.methodName(), calls(operation));
+        }
+        return result;
+    }
+
+    public Map<String, Double> getMeanLatencyMicros()
+    {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        for (Operation operation : OPERATIONS) {
+            result.put(operation.methodName(), latency(operation).mean() / 1000.0);
+        }
+        return result;
+    }
+
+    public Map<String, Double> getP99LatencyMicros()
+    {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        for (Operation operation : OPERATIONS) {
+            result.put(operation.methodName(), latency(operation).percentile(99) / 1000.0);
+        }
+        return result;
+    }
+
+    public Map<String, Double> getMaxLatencyMicros()
+    {
+        Map<String, Double> result = new LinkedHashMap<String, Double>();
+        for (Operation operation : OPERATIONS) {
+            result.put(operation.methodName(), latency(operation).max() / 1000.0);
+        }
+        return result;
+    }
+
+    public long getVerticesVisited()
+    {
+        return verticesVisited.sum();
+    }
+
+    public long getEdgesScanned()
+    {
+        return edgesScanned.sum();
+    }
+
+    public int getSamplingInterval()
+    {
+        return samplingMask + 1;
+    }
+
+    public void setSamplingInterval(int interval)
+    {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1");
+        }
+        samplingMask = interval == 1 ? 0 : Integer.highestOneBit(interval - 1) * 2 - 1;
+    }
+
+    public void reset()
+    {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i].reset();
+            latencies[i].reset();
+        }
+        verticesVisited.reset();
+        edgesScanned.reset();
+    }
+}
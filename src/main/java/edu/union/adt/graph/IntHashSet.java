@@ -0,0 +1,135 @@
+package edu.union.adt.graph;
+import java.util.Arrays;
+
+/**
+ * A set of non-negative ints in one open-addressed int array, with
+ * linear probing and no boxing.  The table is kept between a quarter
+ * and half full, so add, remove and contains take constant expected
+ * time and the set costs 8 to 16 bytes per member.  Removal shifts
+ * later members of the probe run back instead of leaving tombstones.
+ *
+ * @version 1
+ */
+final class IntHashSet
+{
+    static final int EMPTY = -1;
+
+    private int[] slots;
+    private int size;
+
+    /**
+     * @param expected how many members to make room for
+     */
+    IntHashSet(int expected)
+    {
+        slots = new int[tableSize(expected)];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    private static int tableSize(int members)
+    {
+        return Math.max(8, Integer.highestOneBit(Math.max(1, members) * 2 - 1) * 2);
+    }
+
+    private static int home(int value, int mask)
+    {
+        int hash = value * 0x9e3779b9;
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    /**
+     * @return the number of members.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the table itself: each slot holds a member or EMPTY.
+     * Callers must not change it.
+     */
+    int[] slots()
+    {
+        return slots;
+    }
+
+    boolean contains(int value)
+    {
+        int mask = slots.length - 1;
+        for (int i = home(value, mask); ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return true iff 'value' was not already a member
+     */
+    boolean add(int value)
+    {
+        int mask = slots.length - 1;
+        int i = home(value, mask);
+        for (; slots[i] != EMPTY; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+        }
+        slots[i] = value;
+        if (++size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return true iff 'value' was a member
+     */
+    boolean remove(int value)
+    {
+        int mask = slots.length - 1;
+        int i = home(value, mask);
+        while (slots[i] != value) {
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // shift back each later member of the run that may sit in the gap
+        int gap = i;
+        for (int j = (i + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            int want = home(slots[j], mask);
+            if (((j - want) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        slots[gap] = EMPTY;
+        if (--size * 4 < slots.length && slots.length > 8) {
+            rehash(slots.length / 2);
+        }
+        return true;
+    }
+
+    private void rehash(int length)
+    {
+        int[] old = slots;
+        slots = new int[length];
+        Arrays.fill(slots, EMPTY);
+        int mask = length - 1;
+        for (int value : old) {
+            if (value != EMPTY) {
+                int i = home(value, mask);
+                while (slots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+}
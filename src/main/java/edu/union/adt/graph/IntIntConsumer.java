@@ -0,0 +1,18 @@
+package edu.union.adt.graph;
+
+/**
+ * Receives edges as pairs of vertex ids, with no boxing; see the
+ * forEachEdge methods of GraphImplementation, HybridGraph, FrozenGraph
+ * and CompressedGraph.
+ *
+ * @version 1
+ */
+@FunctionalInterface
+public interface IntIntConsumer
+{
+    /**
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     */
+    public void accept(int from, int to);
+}
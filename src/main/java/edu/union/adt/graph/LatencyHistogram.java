@@ -0,0 +1,129 @@
+package edu.union.adt.graph;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free histogram of durations in nanoseconds.
+ *
+ * Like HdrHistogram, buckets are log-linear: values below 16 get a
+ * bucket each, and every power of two above that is split into 16
+ * equal sub-buckets, so any recorded value is known to within about
+ * 6%.  Recording is a couple of shifts and one atomic increment; the
+ * whole histogram is under 8KB regardless of how many values it
+ * holds.
+ *
+ * @version 1
+ */
+public final class LatencyHistogram
+{
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray totals = new AtomicLongArray(2);
+
+    /**
+     * Records one duration.  Negative durations are recorded as 0.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos)
+    {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        totals.addAndGet(0, value);
+        long max = totals.get(1);
+        while (value > max && !totals.compareAndSet(1, max, value)) {
+            max = totals.get(1);
+        }
+    }
+
+    /**
+     * @return how many durations have been recorded.
+     */
+    public long count()
+    {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the mean recorded duration in nanoseconds, or 0 if
+     * nothing has been recorded.
+     */
+    public double mean()
+    {
+        long count = count();
+        return count == 0 ? 0 : (double) totals.get(0) / count;
+    }
+
+    /**
+     * @return the largest recorded duration in nanoseconds.
+     */
+    public long max()
+    {
+        return totals.get(1);
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations.
+     *
+     * @param percentile a percentile between 0 and 100
+     * @return the upper bound of the bucket holding that percentile,
+     * in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long percentile(double percentile)
+    {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(lowest(i + 1) - 1, max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totals.set(0, 0);
+        totals.set(1, 0);
+    }
+
+    static int bucket(long value)
+    {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long lowest(int bucket)
+    {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        if (bucket >= BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+}
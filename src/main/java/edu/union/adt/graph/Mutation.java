@@ -0,0 +1,151 @@
+package edu.union.adt.graph;
+
+/**
+ * A single change to a graph: adding or removing a vertex or an edge.
+ * Mutations are immutable values; applying one to a graph has the
+ * same effect as calling the corresponding Graph method.
+ *
+ * For vertex mutations, from() is the vertex and to() is null.
+ *
+ * @version 1
+ */
+public final class Mutation<V>
+{
+    /**
+     * The kinds of change a mutation can make.
+     */
+    public enum Kind { ADD_VERTEX, REMOVE_VERTEX, ADD_EDGE, REMOVE_EDGE }
+
+    private final Kind kind;
+    private final V from;
+    private final V to;
+
+    private Mutation(Kind kind, V from, V to)
+    {
+        this.kind = kind;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return a mutation that adds 'vertex' to a graph.
+     */
+    public static <V> Mutation<V> addVertex(V vertex)
+    {
+        return new Mutation<V>(Kind.ADD_VERTEX, vertex, null);
+    }
+
+    /**
+     * @return a mutation that removes 'vertex' from a graph.
+     */
+    public static <V> Mutation<V> removeVertex(V vertex)
+    {
+        return new Mutation<V>(Kind.REMOVE_VERTEX, vertex, null);
+    }
+
+    /**
+     * @return a mutation that adds the edge (from, to) to a graph.
+     */
+    public static <V> Mutation<V> addEdge(V from, V to)
+    {
+        return new Mutation<V>(Kind.ADD_EDGE, from, to);
+    }
+
+    /**
+     * @return a mutation that removes the edge (from, to) from a graph.
+     */
+    public static <V> Mutation<V> removeEdge(V from, V to)
+    {
+        return new Mutation<V>(Kind.REMOVE_EDGE, from, to);
+    }
+
+    /**
+     * @return the kind of change.
+     */
+    public Kind kind()
+    {
+        return kind;
+    }
+
+    /**
+     * @return the vertex of a vertex mutation, or the source vertex of
+     * an edge mutation.
+     */
+    public V from()
+    {
+        return from;
+    }
+
+    /**
+     * @return the destination vertex of an edge mutation, or null for
+     * a vertex mutation.
+     */
+    public V to()
+    {
+        return to;
+    }
+
+    /**
+     * @return true iff this mutation adds or removes an edge.
+     */
+    public boolean isEdge()
+    {
+        return kind == Kind.ADD_EDGE || kind == Kind.REMOVE_EDGE;
+    }
+
+    /**
+     * Applies this mutation to a graph.
+     *
+     * @param graph the graph to change
+     */
+    public void applyTo(Graph<V> graph)
+    {
+        switch (kind) {
+        case ADD_VERTEX:
+            graph.addVertex(from);
+            break;
+        case REMOVE_VERTEX:
+            graph.removeVertex(from);
+            break;
+        case ADD_EDGE:
+            graph.addEdge(from, to);
+            break;
+        default:
+            graph.removeEdge(from, to);
+            break;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (!(other instanceof Mutation)) {
+            return false;
+        }
+        Mutation<?> that = (Mutation<?>) other;
+        return kind == that.kind && equal(from, that.from) && equal(to, that.to);
+    }
+
+    private static boolean equal(Object a, Object b)
+    {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = kind.hashCode();
+        hash = 31 * hash + (from == null ? 0 : from.hashCode());
+        hash = 31 * hash + (to == null ? 0 : to.hashCode());
+        return hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        if (isEdge()) {
+            return kind + "(" + from + ", " + to + ")";
+        }
+        return kind + "(" + from + ")";
+    }
+}
@@ -0,0 +1,35 @@
+package edu.union.adt.graph;
+import java.util.List;
+
+/**
+ * Receives the changes made to an ObservableGraph, in the order they
+ * were made.  Each listener is called from a thread of its own, so
+ * listeners need no locking among themselves, but they run behind the
+ * graph: by the time a batch arrives the graph may have changed again.
+ *
+ * @version 1
+ */
+public interface MutationListener<V>
+{
+    /**
+     * Called with the next mutations, oldest first.  A batch holds
+     * every mutation published since the last call, up to the ring
+     * capacity.
+     *
+     * @param batch the mutations; the list may be kept
+     */
+    public void onMutations(List<Mutation<V>> batch);
+
+    /**
+     * Called when a listener subscribed with Backpressure.RESYNC fell
+     * so far behind that mutations were overwritten before it could
+     * read them.  Delivery continues with the mutations after the lost
+     * ones, so a listener that keeps derived state should rebuild it
+     * from the graph here.
+     *
+     * @param missed how many mutations were lost
+     */
+    public default void onOverflow(long missed)
+    {
+    }
+}
@@ -0,0 +1,428 @@
+package edu.union.adt.graph;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A graph decorator that publishes every change made through it to
+ * asynchronous listeners, so caches and indexes built around a graph
+ * can be updated incrementally instead of being rebuilt.
+ *
+ * Only calls that change the graph are published.  addEdge publishes
+ * an ADD_VERTEX for each endpoint it adds before the ADD_EDGE itself.
+ * REMOVE_VERTEX implies the removal of the vertex's edges, which are
+ * not published separately.
+ *
+ * Mutations go into a ring buffer with one slot per mutation, in the
+ * style of the LMAX Disruptor: the writer claims the next sequence
+ * number, stores the mutation in its slot and publishes the sequence,
+ * without taking a lock per listener or allocating queue nodes.  Each
+ * listener has a thread that reads every slot published since it last
+ * looked and hands them over as one batch, so a listener that falls
+ * behind catches up in large batches rather than one call per
+ * mutation.
+ *
+ * When the writer laps a listener, the listener's Backpressure decides
+ * what happens: BLOCK makes the writer wait until the listener has
+ * read the slot, so nothing is ever lost; RESYNC lets the writer carry
+ * on and tells the listener how much it missed through onOverflow.
+ * A listener that throws is unsubscribed and no longer holds back the
+ * writer.
+ *
+ * Mutations are serialized with a lock; queries are forwarded to the
+ * wrapped graph without locking.  Listeners must not change the graph
+ * they observe, since the writer may be waiting for them.
+ *
+ * @version 1
+ */
+public class ObservableGraph<V> extends ForwardingGraph<V> implements Closeable
+{
+    /**
+     * What happens when the ring buffer is full of mutations a
+     * listener has not read yet.
+     */
+    public enum Backpressure {
+        /** The writer waits for the listener. */
+        BLOCK,
+        /** The writer overwrites, and the listener is told what it missed. */
+        RESYNC
+    }
+
+    /**
+     * The default ring buffer capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final long PARK_NANOS = 50000;
+    private static final int SPINS = 100;
+
+    private final Object writeLock = new Object();
+    private final Object[] ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+    private long published = -1;
+
+    /**
+     * @param delegate the graph to observe
+     */
+    public ObservableGraph(Graph<V> delegate)
+    {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the graph to observe
+     * @param capacity how many unread mutations the ring buffer holds,
+     * rounded up to a power of two
+     */
+    public ObservableGraph(Graph<V> delegate, int capacity)
+    {
+        super(delegate);
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        ring = new Object[size < capacity ? size * 2 : size];
+        mask = ring.length - 1;
+    }
+
+    /**
+     * @return the number of slots in the ring buffer.
+     */
+    public int capacity()
+    {
+        return ring.length;
+    }
+
+    /**
+     * @return the number of mutations published so far.
+     */
+    public long publishedCount()
+    {
+        return cursor.get() + 1;
+    }
+
+    /**
+     * Subscribes a listener that holds back the writer rather than
+     * miss a mutation.
+     */
+    public Subscription subscribe(MutationListener<V> listener)
+    {
+        return subscribe(listener, Backpressure.BLOCK);
+    }
+
+    /**
+     * Subscribes a listener to the mutations made from now on and
+     * starts its thread.
+     *
+     * @param listener the listener to call
+     * @param backpressure what to do when the listener falls a whole
+     * ring behind
+     * @return the subscription, which stops delivery when closed
+     */
+    public Subscription subscribe(MutationListener<V> listener, Backpressure backpressure)
+    {
+        if (listener == null || backpressure == null) {
+            throw new NullPointerException("Listener and backpressure must not be null");
+        }
+        Subscription subscription;
+        synchronized (writeLock) {
+            subscription = new Subscription(listener, backpressure, published);
+            subscriptions.add(subscription);
+        }
+        subscription.thread.start();
+        return subscription;
+    }
+
+    private void unsubscribe(Subscription subscription)
+    {
+        subscriptions.remove(subscription);
+    }
+
+    public void addVertex(V vertex)
+    {
+        synchronized (writeLock) {
+            if (!delegate.contains(vertex)) {
+                delegate.addVertex(vertex);
+                publish(Mutation.addVertex(vertex));
+            }
+        }
+    }
+
+    public void addEdge(V from, V to)
+    {
+        synchronized (writeLock) {
+            boolean newFrom = !delegate.contains(from);
+            boolean newTo = !delegate.contains(to) && !to.equals(from);
+            int edges = delegate.numEdges();
+            delegate.addEdge(from, to);
+            if (newFrom) {
+                publish(Mutation.addVertex(from));
+            }
+            if (newTo) {
+                publish(Mutation.addVertex(to));
+            }
+            if (delegate.numEdges() != edges) {
+                publish(Mutation.addEdge(from, to));
+            }
+        }
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        synchronized (writeLock) {
+            if (delegate.contains(toRemove)) {
+                delegate.removeVertex(toRemove);
+                publish(Mutation.removeVertex(toRemove));
+            }
+        }
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        synchronized (writeLock) {
+            int edges = delegate.numEdges();
+            delegate.removeEdge(from, to);
+            if (delegate.numEdges() != edges) {
+                publish(Mutation.removeEdge(from, to));
+            }
+        }
+    }
+
+    /**
+     * Applies a mutation to the graph, publishing it if it changes
+     * anything.
+     *
+     * @param mutation the change to make
+     */
+    public void apply(Mutation<V> mutation)
+    {
+        mutation.applyTo(this);
+    }
+
+    /**
+     * Stores a mutation in the next slot and makes it visible to the
+     * listeners.  Called with the write lock held, so there is only
+     * ever one writer.
+     */
+    private void publish(Mutation<V> mutation)
+    {
+        long sequence = published + 1;
+        // the mutation this one overwrites; it must have been delivered
+        long wrap = sequence - ring.length;
+        for (Subscription s : subscriptions) {
+            if (s.backpressure == Backpressure.BLOCK) {
+                int spins = 0;
+                while (s.sequence.get() < wrap && !s.done) {
+                    if (spins++ < SPINS) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                }
+            }
+        }
+        ring[(int) sequence & mask] = new Slot(sequence, mutation);
+        published = sequence;
+        cursor.lazySet(sequence);
+        for (Subscription s : subscriptions) {
+            if (s.sleeping) {
+                LockSupport.unpark(s.thread);
+            }
+        }
+    }
+
+    /**
+     * Stops every subscription after it has received the mutations
+     * already published.
+     */
+    public void close()
+    {
+        for (Subscription s : subscriptions) {
+            s.close();
+        }
+    }
+
+    /**
+     * A published mutation and its sequence number.  The fields are
+     * final, so a listener that reads a slot the writer has since
+     * reused sees the newer sequence and knows it was lapped.
+     */
+    private static final class Slot
+    {
+        final long sequence;
+        final Mutation<?> mutation;
+
+        Slot(long sequence, Mutation<?> mutation)
+        {
+            this.sequence = sequence;
+            this.mutation = mutation;
+        }
+    }
+
+    /**
+     * A listener's place in the ring buffer, and the thread that
+     * calls it.
+     */
+    public final class Subscription implements Closeable
+    {
+        private final MutationListener<V> listener;
+        private final Backpressure backpressure;
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean sleeping;
+        private volatile boolean done;
+        private volatile RuntimeException failure;
+        private volatile long delivered;
+        private volatile long missed;
+
+        private Subscription(MutationListener<V> listener, Backpressure backpressure, long start)
+        {
+            this.listener = listener;
+            this.backpressure = backpressure;
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this::run, "graph-mutation-listener");
+            thread.setDaemon(true);
+        }
+
+        /**
+         * @return the number of mutations published but not yet handed
+         * to the listener.
+         */
+        public long lag()
+        {
+            return Math.max(0, cursor.get() - sequence.get());
+        }
+
+        /**
+         * @return the number of mutations handed to the listener.
+         */
+        public long deliveredCount()
+        {
+            return delivered;
+        }
+
+        /**
+         * @return the number of mutations the listener missed because
+         * they were overwritten.
+         */
+        public long missedCount()
+        {
+            return missed;
+        }
+
+        /**
+         * @return the exception that ended the subscription, or null.
+         */
+        public RuntimeException failure()
+        {
+            return failure;
+        }
+
+        /**
+         * Waits until the listener has been handed every mutation
+         * published before this call, or until the subscription ends.
+         */
+        public void awaitDelivery() throws InterruptedException
+        {
+            long target = cursor.get();
+            while (sequence.get() < target && !done) {
+                Thread.sleep(1);
+            }
+        }
+
+        /**
+         * Delivers the mutations already published, then stops the
+         * listener's thread and waits for it to finish.
+         */
+        public void close()
+        {
+            running = false;
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() != thread) {
+                boolean interrupted = false;
+                while (thread.isAlive()) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void run()
+        {
+            try {
+                int idle = 0;
+                while (true) {
+                    long next = sequence.get() + 1;
+                    long available = cursor.get();
+                    if (available < next) {
+                        if (!running) {
+                            return;
+                        }
+                        idle = await(idle);
+                        continue;
+                    }
+                    idle = 0;
+                    List<Mutation<V>> batch = new ArrayList<Mutation<V>>((int) Math.min(
+                        available - next + 1, ring.length));
+                    long lost = Math.max(0, available - ring.length + 1 - next);
+                    for (long s = next + lost; s <= available; s++) {
+                        Slot slot = (Slot) ring[(int) s & mask];
+                        if (slot.sequence != s) {
+                            // lapped: drop what was read so far along with this one
+                            lost += batch.size() + 1;
+                            batch.clear();
+                        } else {
+                            batch.add((Mutation<V>) slot.mutation);
+                        }
+                    }
+                    if (lost > 0) {
+                        missed += lost;
+                        listener.onOverflow(lost);
+                    }
+                    if (!batch.isEmpty()) {
+                        listener.onMutations(batch);
+                    }
+                    delivered += batch.size();
+                    sequence.set(available);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                running = false;
+            } finally {
+                done = true;
+                unsubscribe(this);
+            }
+        }
+
+        /**
+         * Waits a little for the writer: spinning at first, then
+         * parking until it publishes.
+         */
+        private int await(int idle)
+        {
+            if (idle < SPINS) {
+                Thread.yield();
+                return idle + 1;
+            }
+            sleeping = true;
+            if (cursor.get() <= sequence.get() && running) {
+                LockSupport.parkNanos(PARK_NANOS * 20);
+            }
+            sleeping = false;
+            return idle;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.union.adt.graph;
+
+/**
+ * An immutable pair of values, such as the two endpoints of a path
+ * query.
+ *
+ * @version 1
+ */
+public final class Pair<A, B>
+{
+    private final A first;
+    private final B second;
+
+    private Pair(A first, B second)
+    {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * @return the pair (first, second).
+     */
+    public static <A, B> Pair<A, B> of(A first, B second)
+    {
+        return new Pair<A, B>(first, second);
+    }
+
+    /**
+     * @return the first value.
+     */
+    public A first()
+    {
+        return first;
+    }
+
+    /**
+     * @return the second value.
+     */
+    public B second()
+    {
+        return second;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (!(other instanceof Pair)) {
+            return false;
+        }
+        Pair<?, ?> that = (Pair<?, ?>) other;
+        return (first == null ? that.first == null : first.equals(that.first))
+            && (second == null ? that.second == null : second.equals(that.second));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * (first == null ? 0 : first.hashCode())
+            + (second == null ? 0 : second.hashCode());
+    }
+
+    @Override
+    public String toString()
+    {
+        return "(" + first + ", " + second + ")";
+    }
+}
@@ -0,0 +1,210 @@
+package edu.union.adt.graph;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Supplier;
+
+/**
+ * Breadth-first path queries written purely in terms of the Graph
+ * interface.  Shared by AbstractGraph and by decorators that answer
+ * path queries themselves.
+ *
+ * A search given no Counter reports to the one installed for the
+ * current thread by counted, if any.  The graphs that search their
+ * own int ids report the same way through report, so InstrumentedGraph
+ * sees the work done inside whichever graph it wraps.
+ *
+ * @version 1
+ */
+final class PathSearch
+{
+    /**
+     * Receives the work done by a search.
+     */
+    interface Counter
+    {
+        /**
+         * @param vertices how many vertices were dequeued and expanded
+         * @param edges how many edges were examined
+         */
+        void searched(long vertices, long edges);
+    }
+
+    /**
+     * Lets the caller stop a search that is still running.
+     */
+    interface Guard
+    {
+        /**
+         * Called before each vertex is expanded; throws to stop the
+         * search.
+         */
+        void check();
+    }
+
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<Counter>();
+
+    private PathSearch()
+    {
+    }
+
+    /**
+     * Runs a query with 'counter' receiving the work of the searches
+     * it makes on this thread without a Counter of their own.
+     *
+     * @return the query's result
+     */
+    static <T> T counted(Counter counter, Supplier<T> query)
+    {
+        Counter outer = CURRENT.get();
+        CURRENT.set(counter);
+        try {
+            return query.get();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Reports the work of a search a graph ran over its own storage to
+     * the Counter installed by counted, if there is one.  Graphs call
+     * this once per search, not per edge.
+     */
+    static void report(long vertices, long edges)
+    {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.searched(vertices, edges);
+        }
+    }
+
+    /**
+     * @return true iff there is a path from 'from' to 'to' in 'graph'.
+     */
+    static <V> boolean hasPath(Graph<V> graph, V from, V to, Counter counter)
+    {
+        return hasPath(graph, from, to, counter, null);
+    }
+
+    /**
+     * @return true iff there is a path from 'from' to 'to' in 'graph',
+     * checking 'guard' as the search goes.
+     */
+    static <V> boolean hasPath(Graph<V> graph, V from, V to, Counter counter, Guard guard)
+    {
+        return search(graph, from, to, counter, guard) != null;
+    }
+
+    /**
+     * @return the length of the shortest path from 'from' to 'to', or
+     * Integer.MAX_VALUE if there is none.
+     */
+    static <V> int pathLength(Graph<V> graph, V from, V to, Counter counter)
+    {
+        return pathLength(graph, from, to, counter, null);
+    }
+
+    /**
+     * @return the length of the shortest path from 'from' to 'to', or
+     * Integer.MAX_VALUE if there is none, checking 'guard' as the
+     * search goes.
+     */
+    static <V> int pathLength(Graph<V> graph, V from, V to, Counter counter, Guard guard)
+    {
+        Map<V, V> parents = search(graph, from, to, counter, guard);
+        if (parents == null) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (V at = to; !at.equals(from); at = parents.get(at)) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * @return the vertices of the shortest path from 'from' to 'to',
+     * including both, or an empty list if there is no path.
+     */
+    static <V> LinkedList<V> path(Graph<V> graph, V from, V to, Counter counter)
+    {
+        return path(graph, from, to, counter, null);
+    }
+
+    /**
+     * @return the vertices of the shortest path from 'from' to 'to',
+     * including both, or an empty list if there is no path, checking
+     * 'guard' as the search goes.
+     */
+    static <V> LinkedList<V> path(Graph<V> graph, V from, V to, Counter counter, Guard guard)
+    {
+        LinkedList<V> path = new LinkedList<V>();
+        Map<V, V> parents = search(graph, from, to, counter, guard);
+        if (parents != null) {
+            V at = to;
+            path.push(at);
+            while (!at.equals(from)) {
+                at = parents.get(at);
+                path.push(at);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Runs a breadth-first search from 'from' until 'to' is found.
+     * 'counter' and 'guard' may be null.
+     *
+     * @return the BFS parent of every vertex discovered so far, or
+     * null if 'to' is not reachable from 'from'.
+     */
+    private static <V> Map<V, V> search(Graph<V> graph, V from, V to, Counter counter,
+                                        Guard guard)
+    {
+        if (!graph.contains(from) || !graph.contains(to)) {
+            return null;
+        }
+        Map<V, V> parents = new HashMap<V, V>();
+        parents.put(from, from);
+        if (from.equals(to)) {
+            return parents;
+        }
+        if (counter == null) {
+            counter = CURRENT.get();
+        }
+        long vertices = 0;
+        long edges = 0;
+        Queue<V> queue = new ArrayDeque<V>();
+        queue.add(from);
+        try {
+            while (!queue.isEmpty()) {
+                if (guard != null) {
+                    guard.check();
+                }
+                V current = queue.poll();
+                vertices++;
+                for (V next : graph.adjacentTo(current)) {
+                    edges++;
+                    if (!parents.containsKey(next)) {
+                        parents.put(next, current);
+                        if (next.equals(to)) {
+                            return parents;
+                        }
+                        queue.add(next);
+                    }
+                }
+            }
+            return null;
+        } finally {
+            if (counter != null) {
+                counter.searched(vertices, edges);
+            }
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package edu.union.adt.graph;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable hash map in the form of a hash array mapped trie
+ * (HAMT).  Updates return a new map that shares every untouched
+ * branch of the trie with the old one, so an update costs O(log32 n)
+ * time and space and old versions stay valid forever.
+ *
+ * Each trie node keeps a 32-bit bitmap of occupied slots and a dense
+ * array of (key, value) pairs; a pair whose key slot is null holds a
+ * child node in its value slot.  Keys whose full hashes collide are
+ * kept in a collision node.  Neither keys nor values may be null.
+ *
+ * @version 1
+ */
+final class PersistentHashMap<K, T> implements Iterable<K>
+{
+    private static final PersistentHashMap<Object, Object> EMPTY =
+        new PersistentHashMap<Object, Object>(BitmapNode.EMPTY, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, T> PersistentHashMap<K, T> empty()
+    {
+        return (PersistentHashMap<K, T>) EMPTY;
+    }
+
+    /**
+     * @return the number of keys in the map.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param key a key, possibly null
+     * @return the value mapped to 'key', or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    T get(Object key)
+    {
+        if (key == null) {
+            return null;
+        }
+        return (T) root.find(0, hash(key), key);
+    }
+
+    /**
+     * @param key a key, possibly null
+     * @return true iff 'key' is mapped to a value.
+     */
+    boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * @return a map like this one but with 'key' mapped to 'value'.
+     * Returns this map if the mapping is already present.
+     */
+    PersistentHashMap<K, T> plus(K key, T value)
+    {
+        if (key == null || value == null) {
+            throw new NullPointerException("Keys and values must not be null");
+        }
+        boolean[] added = new boolean[1];
+        Node updated = root.assoc(0, hash(key), key, value, added);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentHashMap<K, T>(updated, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return a map like this one but without 'key'.  Returns this map
+     * if 'key' is not present.
+     */
+    PersistentHashMap<K, T> minus(Object key)
+    {
+        if (key == null) {
+            return this;
+        }
+        Node updated = root.without(0, hash(key), key);
+        if (updated == root) {
+            return this;
+        }
+        if (updated == null) {
+            return empty();
+        }
+        return new PersistentHashMap<K, T>(updated, size - 1);
+    }
+
+    /**
+     * @return an iterator over the keys, in no particular order.
+     */
+    public Iterator<K> iterator()
+    {
+        return new TrieIterator<K>(root, 0);
+    }
+
+    /**
+     * @return an iterable over the values, in the same order as the
+     * keys.
+     */
+    Iterable<T> values()
+    {
+        return () -> new TrieIterator<T>(root, 1);
+    }
+
+    private static int hash(Object key)
+    {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Object[] insertPair(Object[] array, int index,
+                                       Object key, Object value)
+    {
+        Object[] copy = new Object[array.length + 2];
+        System.arraycopy(array, 0, copy, 0, 2 * index);
+        copy[2 * index] = key;
+        copy[2 * index + 1] = value;
+        System.arraycopy(array, 2 * index, copy, 2 * index + 2,
+                         array.length - 2 * index);
+        return copy;
+    }
+
+    private static Object[] removePair(Object[] array, int index)
+    {
+        Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, 2 * index);
+        System.arraycopy(array, 2 * index + 2, copy, 2 * index,
+                         copy.length - 2 * index);
+        return copy;
+    }
+
+    private static Object[] replaceSlot(Object[] array, int slot, Object value)
+    {
+        Object[] copy = array.clone();
+        copy[slot] = value;
+        return copy;
+    }
+
+    private abstract static class Node
+    {
+        final Object[] array;
+
+        Node(Object[] array)
+        {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(int shift, int hash, Object key, Object value,
+                            boolean[] added);
+
+        /**
+         * @return the node without 'key', this node if 'key' is absent,
+         * or null if the node would become empty.
+         */
+        abstract Node without(int shift, int hash, Object key);
+    }
+
+    private static final class BitmapNode extends Node
+    {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array)
+        {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit)
+        {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        Object find(int shift, int hash, Object key)
+        {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        Node assoc(int shift, int hash, Object key, Object value,
+                   boolean[] added)
+        {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                return new BitmapNode(bitmap | bit,
+                                      insertPair(array, i, key, value));
+            }
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node updated = child.assoc(shift + BITS, hash, key, value, added);
+                if (updated == child) {
+                    return this;
+                }
+                return new BitmapNode(bitmap, replaceSlot(array, 2 * i + 1, updated));
+            }
+            if (key.equals(k)) {
+                if (v == value) {
+                    return this;
+                }
+                return new BitmapNode(bitmap, replaceSlot(array, 2 * i + 1, value));
+            }
+            added[0] = true;
+            Node child = split(shift + BITS, k, v, hash, key, value);
+            Object[] copy = array.clone();
+            copy[2 * i] = null;
+            copy[2 * i + 1] = child;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private static Node split(int shift, Object k1, Object v1,
+                                  int h2, Object k2, Object v2)
+        {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+            }
+            boolean[] ignored = new boolean[1];
+            return EMPTY.assoc(shift, h1, k1, v1, ignored)
+                        .assoc(shift, h2, k2, v2, ignored);
+        }
+
+        Node without(int shift, int hash, Object key)
+        {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node updated = child.without(shift + BITS, hash, key);
+                if (updated == child) {
+                    return this;
+                }
+                if (updated != null) {
+                    return new BitmapNode(bitmap, replaceSlot(array, 2 * i + 1, updated));
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            return new BitmapNode(bitmap ^ bit, removePair(array, i));
+        }
+    }
+
+    private static final class CollisionNode extends Node
+    {
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array)
+        {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i / 2;
+                }
+            }
+            return -1;
+        }
+
+        Object find(int shift, int hash, Object key)
+        {
+            int i = indexOf(key);
+            return i < 0 ? null : array[2 * i + 1];
+        }
+
+        Node assoc(int shift, int hash, Object key, Object value,
+                   boolean[] added)
+        {
+            if (hash != this.hash) {
+                Node wrapper = new BitmapNode(bit(this.hash, shift),
+                                              new Object[] { null, this });
+                return wrapper.assoc(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i < 0) {
+                added[0] = true;
+                return new CollisionNode(hash, insertPair(array, array.length / 2,
+                                                          key, value));
+            }
+            if (array[2 * i + 1] == value) {
+                return this;
+            }
+            return new CollisionNode(hash, replaceSlot(array, 2 * i + 1, value));
+        }
+
+        Node without(int shift, int hash, Object key)
+        {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            return new CollisionNode(hash, removePair(array, i));
+        }
+    }
+
+    /**
+     * Walks the trie depth-first, yielding either the key (offset 0)
+     * or the value (offset 1) of each pair.
+     */
+    private static final class TrieIterator<E> implements Iterator<E>
+    {
+        private final int offset;
+        private final Object[][] arrays = new Object[16][];
+        private final int[] positions = new int[16];
+        private int depth;
+        private Object next;
+
+        TrieIterator(Node root, int offset)
+        {
+            this.offset = offset;
+            arrays[0] = root.array;
+            advance();
+        }
+
+        private void advance()
+        {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    depth++;
+                    arrays[depth] = ((Node) array[position + 1]).array;
+                    positions[depth] = 0;
+                } else {
+                    next = array[position + offset];
+                    return;
+                }
+            }
+        }
+
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next()
+        {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            E result = (E) next;
+            advance();
+            return result;
+        }
+    }
+}
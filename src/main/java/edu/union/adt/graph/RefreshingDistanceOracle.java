@@ -0,0 +1,173 @@
+package edu.union.adt.graph;
+import java.io.Closeable;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A DistanceOracle that follows a changing VersionedGraph.
+ *
+ * A background thread checks the graph's version at a fixed interval
+ * and, if it has changed, builds a new oracle from a snapshot, which
+ * no writer can disturb, then swaps it in with one volatile write.
+ * Queries never wait for a rebuild: they are answered by the newest
+ * oracle built so far, which describes the graph as of version() and
+ * may be out of date by up to one interval plus one build.  A burst
+ * of mutations costs a single rebuild.  Every oracle picks its
+ * landmarks the same way, by the Selection given at construction.
+ *
+ * @version 1
+ */
+public class RefreshingDistanceOracle<V> implements Closeable
+{
+    /**
+     * An oracle together with the version of the graph it describes.
+     */
+    private static final class Built<V>
+    {
+        final DistanceOracle<V> oracle;
+        final long version;
+
+        Built(DistanceOracle<V> oracle, long version)
+        {
+            this.oracle = oracle;
+            this.version = version;
+        }
+    }
+
+    private final VersionedGraph<V> graph;
+    private final int landmarkCount;
+    private final DistanceOracle.Selection selection;
+    private final ScheduledThreadPoolExecutor refresher;
+    private volatile Built<V> current;
+    private volatile RuntimeException failure;
+    private long rebuilds;
+
+    /**
+     * Builds the first oracle at once and then keeps it up to date,
+     * picking the busiest vertices as landmarks.
+     *
+     * @param graph the graph to follow
+     * @param landmarkCount how many landmarks each oracle uses
+     * @param interval how often to check the graph for changes
+     * @param unit the unit of 'interval'
+     */
+    public RefreshingDistanceOracle(VersionedGraph<V> graph, int landmarkCount, long interval,
+                                    TimeUnit unit)
+    {
+        this(graph, landmarkCount, DistanceOracle.Selection.DEGREE, interval, unit);
+    }
+
+    /**
+     * Builds the first oracle at once and then keeps it up to date.
+     *
+     * @param graph the graph to follow
+     * @param landmarkCount how many landmarks each oracle uses
+     * @param selection how each oracle picks its landmarks
+     * @param interval how often to check the graph for changes
+     * @param unit the unit of 'interval'
+     */
+    public RefreshingDistanceOracle(VersionedGraph<V> graph, int landmarkCount,
+                                    DistanceOracle.Selection selection, long interval,
+                                    TimeUnit unit)
+    {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        if (selection == null) {
+            throw new NullPointerException("Selection must not be null");
+        }
+        this.graph = graph;
+        this.landmarkCount = landmarkCount;
+        this.selection = selection;
+        VersionedGraph.Snapshot<V> snapshot = graph.snapshot();
+        current = new Built<V>(DistanceOracle.build(snapshot, landmarkCount, selection),
+                               snapshot.version());
+        refresher = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "distance-oracle-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * Rebuilds the oracle now if the graph has changed since the
+     * current one was built.
+     *
+     * @return true iff a new oracle was built
+     */
+    public synchronized boolean refresh()
+    {
+        VersionedGraph.Snapshot<V> snapshot = graph.snapshot();
+        if (snapshot.version() == current.version) {
+            return false;
+        }
+        current = new Built<V>(DistanceOracle.build(snapshot, landmarkCount, selection),
+                               snapshot.version());
+        rebuilds++;
+        return true;
+    }
+
+    /**
+     * @return the newest oracle.
+     */
+    public DistanceOracle<V> current()
+    {
+        return current.oracle;
+    }
+
+    /**
+     * @return the version of the graph the newest oracle describes.
+     */
+    public long version()
+    {
+        return current.version;
+    }
+
+    /**
+     * @return the number of oracles built after the first.
+     */
+    public synchronized long rebuildCount()
+    {
+        return rebuilds;
+    }
+
+    /**
+     * @return the exception thrown by the last background rebuild that
+     * failed, or null if none has.
+     */
+    public RuntimeException failure()
+    {
+        return failure;
+    }
+
+    /**
+     * @see DistanceOracle#upperBound
+     */
+    public int upperBound(V from, V to)
+    {
+        return current.oracle.upperBound(from, to);
+    }
+
+    /**
+     * @see DistanceOracle#lowerBound
+     */
+    public int lowerBound(V from, V to)
+    {
+        return current.oracle.lowerBound(from, to);
+    }
+
+    /**
+     * Stops following the graph.  The current oracle stays usable.
+     */
+    public void close()
+    {
+        refresher.shutdownNow();
+    }
+}
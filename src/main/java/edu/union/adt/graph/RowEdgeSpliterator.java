@@ -0,0 +1,144 @@
+package edu.union.adt.graph;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Splits the edges of a graph kept as one adjacency row per vertex
+ * id, as GraphImplementation and HybridGraph keep them, by ranges of
+ * source ids.  Rows are read where they lie when the graph keeps them
+ * as int arrays; other rows are copied into one scratch array that the
+ * spliterator reuses, so a whole scan allocates only the pairs it
+ * hands out.  The graph must not change while its edges are split.
+ *
+ * @version 1
+ */
+final class RowEdgeSpliterator<V> implements Spliterator<Pair<V, V>>
+{
+    private static final int[] EMPTY_ROW = new int[0];
+
+    /**
+     * The rows of a graph, by source id.
+     */
+    interface Rows<V>
+    {
+        /**
+         * @return the vertex with a given id.
+         */
+        V vertex(int id);
+
+        /**
+         * @return the number of successors of 'source', 0 if the id is
+         * unused.
+         */
+        int degree(int source);
+
+        /**
+         * @param scratch an array with room for degree(source) ids
+         * @return an array whose first degree(source) entries are the
+         * successors of 'source': the graph's own row, or 'scratch'
+         * filled with them
+         */
+        int[] row(int source, int[] scratch);
+    }
+
+    private final Rows<V> rows;
+    private int source;
+    private final int end;
+    private long estimate;
+    private int[] scratch = EMPTY_ROW;
+    private V from;
+    private int[] row = EMPTY_ROW;
+    private int index;
+    private int degree;
+
+    /**
+     * @param source the first source id covered
+     * @param end one past the last source id covered
+     * @param estimate about how many edges leave those sources
+     */
+    RowEdgeSpliterator(Rows<V> rows, int source, int end, long estimate)
+    {
+        this.rows = rows;
+        this.source = source;
+        this.end = end;
+        this.estimate = estimate;
+    }
+
+    /**
+     * Moves on to the next source with edges.
+     *
+     * @return false if there is none
+     */
+    private boolean nextRow()
+    {
+        while (source < end) {
+            int next = source++;
+            degree = rows.degree(next);
+            if (degree > 0) {
+                if (scratch.length < degree) {
+                    scratch = new int[Math.max(degree, scratch.length * 2)];
+                }
+                row = rows.row(next, scratch);
+                from = rows.vertex(next);
+                index = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Pair<V, V>> action)
+    {
+        if (index >= degree && !nextRow()) {
+            return false;
+        }
+        action.accept(Pair.of(from, rows.vertex(row[index++])));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Pair<V, V>> action)
+    {
+        do {
+            for (; index < degree; index++) {
+                action.accept(Pair.of(from, rows.vertex(row[index])));
+            }
+        } while (nextRow());
+    }
+
+    @Override
+    public RowEdgeSpliterator<V> trySplit()
+    {
+        if (end - source < 2) {
+            return null;
+        }
+        int middle = (source + end) >>> 1;
+        estimate >>>= 1;
+        // the prefix takes over the row this one is partway through
+        RowEdgeSpliterator<V> prefix = new RowEdgeSpliterator<V>(rows, source, middle, estimate);
+        prefix.scratch = scratch;
+        prefix.from = from;
+        prefix.row = row;
+        prefix.index = index;
+        prefix.degree = degree;
+        scratch = EMPTY_ROW;
+        row = EMPTY_ROW;
+        index = 0;
+        degree = 0;
+        source = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | DISTINCT | NONNULL;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.union.adt.graph;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set operations on sorted, duplicate-free ranges of int arrays, as
+ * used for the rows of sorted adjacency lists.
+ *
+ * Ranges of similar length are intersected with a linear merge.  When
+ * one range is much longer than the other, each element of the short
+ * range is found in the long one by galloping (doubling the step, then
+ * binary searching), which costs O(m log(n / m)) instead of O(m + n):
+ * this is what keeps intersections with hub vertices cheap.
+ *
+ * @version 1
+ */
+final class SortedInts
+{
+    /**
+     * How many times longer one range must be than the other before
+     * galloping beats merging.
+     */
+    private static final int GALLOP_RATIO = 32;
+
+    private SortedInts()
+    {
+    }
+
+    /**
+     * @return the number of values in both a[aFrom, aTo) and
+     * b[bFrom, bTo).
+     */
+    static int intersectionSize(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo)
+    {
+        int[] count = new int[1];
+        intersect(a, aFrom, aTo, b, bFrom, bTo, value -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Passes each value in both a[aFrom, aTo) and b[bFrom, bTo) to
+     * 'action', in increasing order.
+     */
+    static void intersect(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+                          IntConsumer action)
+    {
+        int aLength = aTo - aFrom;
+        int bLength = bTo - bFrom;
+        if (aLength == 0 || bLength == 0) {
+            return;
+        }
+        if (aLength > bLength * GALLOP_RATIO) {
+            gallop(b, bFrom, bTo, a, aFrom, aTo, action);
+        } else if (bLength > aLength * GALLOP_RATIO) {
+            gallop(a, aFrom, aTo, b, bFrom, bTo, action);
+        } else {
+            int i = aFrom;
+            int j = bFrom;
+            while (i < aTo && j < bTo) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    action.accept(a[i]);
+                    i++;
+                    j++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Intersects a short range with a long one by galloping through
+     * the long one.
+     */
+    private static void gallop(int[] small, int smallFrom, int smallTo,
+                               int[] large, int largeFrom, int largeTo,
+                               IntConsumer action)
+    {
+        int low = largeFrom;
+        for (int i = smallFrom; i < smallTo && low < largeTo; i++) {
+            int value = small[i];
+            int step = 1;
+            int high = low;
+            while (high < largeTo && large[high] < value) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(large, low, Math.min(high + 1, largeTo), value);
+            if (at >= 0) {
+                action.accept(value);
+                low = at + 1;
+            } else {
+                low = -at - 1;
+            }
+        }
+    }
+}
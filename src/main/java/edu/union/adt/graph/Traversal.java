@@ -0,0 +1,271 @@
+package edu.union.adt.graph;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy, pull-based traversal of the vertices reachable from a start
+ * vertex.  Nothing is visited when the traversal is created: each
+ * call to next() on one of its iterators expands just enough of the
+ * graph to produce the next vertex, so a consumer that stops early
+ * (for example with Stream.findFirst) never touches the rest of the
+ * graph.
+ *
+ * A Traversal is an immutable description; maxDepth and filter
+ * return new traversals, and every call to iterator() or stream()
+ * starts a fresh walk.  Each vertex is produced at most once.
+ *
+ * <PRE>
+ * V hit = graph.bfs(start).maxDepth(3).stream()
+ *              .filter(v -&gt; v.isInteresting())
+ *              .findFirst().orElse(null);
+ * </PRE>
+ *
+ * @version 1
+ */
+public final class Traversal<V> implements Iterable<V>
+{
+    /**
+     * The order in which a traversal visits vertices.
+     */
+    public enum Order { BREADTH_FIRST, DEPTH_FIRST }
+
+    private final Graph<V> graph;
+    private final V start;
+    private final Order order;
+    private final int maxDepth;
+    private final Predicate<? super V> filter;
+
+    private Traversal(Graph<V> graph, V start, Order order, int maxDepth,
+                      Predicate<? super V> filter)
+    {
+        this.graph = graph;
+        this.start = start;
+        this.order = order;
+        this.maxDepth = maxDepth;
+        this.filter = filter;
+    }
+
+    /**
+     * Creates a breadth-first traversal.  Vertices are produced in
+     * non-decreasing order of their distance from 'start'.
+     *
+     * @param graph the graph to walk
+     * @param start the first vertex produced
+     * @return a traversal that is empty if 'start' is not in the graph
+     */
+    public static <V> Traversal<V> breadthFirst(Graph<V> graph, V start)
+    {
+        return new Traversal<V>(graph, start, Order.BREADTH_FIRST,
+                                Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a depth-first (pre-order) traversal.
+     *
+     * @param graph the graph to walk
+     * @param start the first vertex produced
+     * @return a traversal that is empty if 'start' is not in the graph
+     */
+    public static <V> Traversal<V> depthFirst(Graph<V> graph, V start)
+    {
+        return new Traversal<V>(graph, start, Order.DEPTH_FIRST,
+                                Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Limits the traversal to vertices at most 'depth' edges away from
+     * the start vertex.  For a breadth-first traversal this is the
+     * shortest-path distance; for a depth-first traversal it is the
+     * depth in the DFS tree.  A depth of 0 produces only the start
+     * vertex.
+     *
+     * @param depth the maximum depth, which must not be negative
+     * @return a new traversal with the limit applied
+     */
+    public Traversal<V> maxDepth(int depth)
+    {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative");
+        }
+        return new Traversal<V>(graph, start, order, depth, filter);
+    }
+
+    /**
+     * Restricts the traversal to vertices accepted by a predicate.
+     * Rejected vertices are neither produced nor expanded, so the walk
+     * never passes through them.  The start vertex is always produced.
+     *
+     * @param accept the predicate a vertex must satisfy to be visited
+     * @return a new traversal with the predicate applied (in addition
+     * to any predicate already present)
+     */
+    public Traversal<V> filter(Predicate<? super V> accept)
+    {
+        Predicate<? super V> combined = accept;
+        if (filter != null) {
+            final Predicate<? super V> first = filter;
+            combined = v -> first.test(v) && accept.test(v);
+        }
+        return new Traversal<V>(graph, start, order, maxDepth, combined);
+    }
+
+    /**
+     * @return the order in which this traversal visits vertices.
+     */
+    public Order order()
+    {
+        return order;
+    }
+
+    /**
+     * @return a new lazy iterator over the reachable vertices.
+     */
+    public Iterator<V> iterator()
+    {
+        if (!graph.contains(start)) {
+            return new ArrayDeque<V>().iterator();
+        }
+        if (order == Order.BREADTH_FIRST) {
+            return new BreadthFirstIterator();
+        } else {
+            return new DepthFirstIterator();
+        }
+    }
+
+    /**
+     * @return a new lazy sequential stream over the reachable vertices.
+     */
+    public Stream<V> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public Spliterator<V> spliterator()
+    {
+        return Spliterators.spliteratorUnknownSize(
+            iterator(),
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    private boolean accepts(V vertex)
+    {
+        return filter == null || filter.test(vertex);
+    }
+
+    /**
+     * Keeps the discovered-but-unproduced vertices in a FIFO queue.
+     * The neighbours of a produced vertex are only discovered when the
+     * consumer asks for the vertex after it.
+     */
+    private class BreadthFirstIterator implements Iterator<V>
+    {
+        private final Set<V> visited = new HashSet<>();
+        private final Deque<V> queue = new ArrayDeque<>();
+        private V toExpand;
+        private int depth;
+        private int leftInLevel;
+        private int nextLevel;
+
+        BreadthFirstIterator()
+        {
+            visited.add(start);
+            queue.add(start);
+            leftInLevel = 1;
+        }
+
+        public boolean hasNext()
+        {
+            if (toExpand != null) {
+                if (depth < maxDepth) {
+                    for (V neighbor : graph.adjacentTo(toExpand)) {
+                        if (accepts(neighbor) && visited.add(neighbor)) {
+                            queue.add(neighbor);
+                            nextLevel++;
+                        }
+                    }
+                }
+                toExpand = null;
+            }
+            return !queue.isEmpty();
+        }
+
+        public V next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (leftInLevel == 0) {
+                depth++;
+                leftInLevel = nextLevel;
+                nextLevel = 0;
+            }
+            leftInLevel--;
+            toExpand = queue.poll();
+            return toExpand;
+        }
+    }
+
+    /**
+     * Keeps one neighbour iterator per vertex on the current DFS path,
+     * advancing the deepest one only as far as the next unvisited
+     * vertex.
+     */
+    private class DepthFirstIterator implements Iterator<V>
+    {
+        private final Set<V> visited = new HashSet<>();
+        private final Deque<Iterator<V>> path = new ArrayDeque<>();
+        private V pending;
+        private V toExpand;
+
+        DepthFirstIterator()
+        {
+            visited.add(start);
+            pending = start;
+        }
+
+        public boolean hasNext()
+        {
+            if (pending != null) {
+                return true;
+            }
+            if (toExpand != null) {
+                if (path.size() < maxDepth) {
+                    path.push(graph.adjacentTo(toExpand).iterator());
+                }
+                toExpand = null;
+            }
+            while (!path.isEmpty()) {
+                Iterator<V> top = path.peek();
+                while (top.hasNext()) {
+                    V candidate = top.next();
+                    if (accepts(candidate) && visited.add(candidate)) {
+                        pending = candidate;
+                        return true;
+                    }
+                }
+                path.pop();
+            }
+            return false;
+        }
+
+        public V next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            toExpand = pending;
+            pending = null;
+            return toExpand;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package edu.union.adt.graph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A graph whose edges are undirected: addEdge(u, v) joins u and v both
+ * ways, so hasEdge(u, v) and hasEdge(v, u) are both true and each
+ * endpoint is adjacent to the other.  numEdges counts each undirected
+ * edge once, and a loop (v, v) is one edge.
+ *
+ * Vertices are interned to int ids as in GraphImplementation, and each
+ * edge appears in the rows of both its endpoints.  hasEdge and the
+ * duplicate check in addEdge scan only the shorter of the two rows.
+ *
+ * hasPath is answered by a union-find structure over the ids, kept up
+ * to date as edges are added, so it takes nearly constant time.
+ * Removing an edge or a vertex may split a component, which union-find
+ * cannot express; the structure is then rebuilt from the remaining
+ * edges the next time hasPath is called.  pathLength and getPath run
+ * a breadth-first search.
+ *
+ * @version 1
+ */
+public class UndirectedGraph<V> extends AbstractGraph<V>
+{
+    private static final int[] EMPTY_ROW = new int[0];
+
+    private final VertexDictionary<V> dictionary;
+    private int[][] rows;
+    private int[] degrees;
+    private int edgeCount;
+    private final UnionFind components;
+    private boolean componentsStale;
+
+    /**
+     * Create an empty undirected graph.
+     */
+    public UndirectedGraph()
+    {
+        this(16, 0);
+    }
+
+    /**
+     * Create an empty undirected graph sized for an expected number of
+     * vertices and edges.  The graph may still grow beyond the
+     * expected size.
+     *
+     * @param expectedVertices how many vertices the graph will hold
+     * @param expectedEdges how many undirected edges the graph will hold
+     */
+    public UndirectedGraph(int expectedVertices, int expectedEdges)
+    {
+        if (expectedVertices < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected sizes must not be negative");
+        }
+        dictionary = new VertexDictionary<V>(expectedVertices);
+        rows = new int[Math.max(expectedVertices, 16)][];
+        degrees = new int[rows.length];
+        components = new UnionFind(rows.length);
+    }
+
+    public int numVertices()
+    {
+        return dictionary.size();
+    }
+
+    /**
+     * @return the number of undirected edges in the graph.
+     */
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * @return the number of vertices adjacent to 'vertex'.
+     */
+    public int degree(V vertex)
+    {
+        int id = dictionary.id(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex is not in the graph");
+        }
+        return degrees[id];
+    }
+
+    /**
+     * Adds an undirected edge between two vertices, adding either
+     * vertex if it is new.  If the vertices are already joined, does
+     * nothing.
+     */
+    public void addEdge(V from, V to)
+    {
+        int a = intern(from);
+        int b = intern(to);
+        if (joined(a, b)) {
+            return;
+        }
+        append(a, b);
+        if (a != b) {
+            append(b, a);
+        }
+        edgeCount++;
+        if (!componentsStale) {
+            components.union(a, b);
+        }
+    }
+
+    public void addVertex(V vertex)
+    {
+        intern(vertex);
+    }
+
+    private int intern(V vertex)
+    {
+        int id = dictionary.intern(vertex);
+        if (id == rows.length) {
+            rows = Arrays.copyOf(rows, id * 2);
+            degrees = Arrays.copyOf(degrees, id * 2);
+        }
+        if (rows[id] == null) {
+            rows[id] = EMPTY_ROW;
+            degrees[id] = 0;
+        }
+        components.ensure(id + 1);
+        return id;
+    }
+
+    private void append(int source, int target)
+    {
+        int[] row = rows[source];
+        if (degrees[source] == row.length) {
+            row = Arrays.copyOf(row, row.length == 0 ? 4 : row.length * 2);
+            rows[source] = row;
+        }
+        row[degrees[source]++] = target;
+    }
+
+    /**
+     * @return true iff ids 'a' and 'b' share an edge, found by scanning
+     * the shorter of their rows.
+     */
+    private boolean joined(int a, int b)
+    {
+        return degrees[a] <= degrees[b] ? indexOf(a, b) >= 0 : indexOf(b, a) >= 0;
+    }
+
+    private int indexOf(int source, int target)
+    {
+        int[] row = rows[source];
+        for (int i = 0; i < degrees[source]; i++) {
+            if (row[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Iterable<V> getVertices()
+    {
+        List<V> items = new ArrayList<V>(dictionary.size());
+        for (int id = 0; id < dictionary.capacity(); id++) {
+            if (dictionary.used(id)) {
+                items.add(dictionary.vertex(id));
+            }
+        }
+        return items;
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        int id = dictionary.id(from);
+        if (id < 0) {
+            return new ArrayList<V>();
+        }
+        List<V> items = new ArrayList<V>(degrees[id]);
+        int[] row = rows[id];
+        for (int i = 0; i < degrees[id]; i++) {
+            items.add(dictionary.vertex(row[i]));
+        }
+        return items;
+    }
+
+    public boolean contains(V vertex)
+    {
+        return dictionary.id(vertex) >= 0;
+    }
+
+    /**
+     * @return true iff 'from' and 'to' are joined by an edge, in
+     * either order.
+     */
+    public boolean hasEdge(V from, V to)
+    {
+        int a = dictionary.id(from);
+        int b = dictionary.id(to);
+        return a >= 0 && b >= 0 && joined(a, b);
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        int id = dictionary.id(toRemove);
+        if (id < 0) {
+            return;
+        }
+        int[] row = rows[id];
+        for (int i = 0; i < degrees[id]; i++) {
+            if (row[i] != id) {
+                removeFromRow(row[i], id);
+            }
+            edgeCount--;
+        }
+        dictionary.remove(toRemove);
+        rows[id] = null;
+        degrees[id] = 0;
+        componentsStale = true;
+    }
+
+    /**
+     * Removes the undirected edge between two vertices, if there is one.
+     */
+    public void removeEdge(V from, V to)
+    {
+        int a = dictionary.id(from);
+        int b = dictionary.id(to);
+        if (a >= 0 && b >= 0 && removeFromRow(a, b)) {
+            if (a != b) {
+                removeFromRow(b, a);
+            }
+            edgeCount--;
+            componentsStale = true;
+        }
+    }
+
+    /**
+     * Removes 'target' from the row of 'source'.
+     *
+     * @return true iff it was there
+     */
+    private boolean removeFromRow(int source, int target)
+    {
+        int at = indexOf(source, target);
+        if (at < 0) {
+            return false;
+        }
+        int[] row = rows[source];
+        row[at] = row[--degrees[source]];
+        return true;
+    }
+
+    /**
+     * Tells whether two vertices are in the same connected component.
+     */
+    public boolean hasPath(V from, V to)
+    {
+        int a = dictionary.id(from);
+        int b = dictionary.id(to);
+        if (a < 0 || b < 0) {
+            return false;
+        }
+        if (componentsStale) {
+            rebuildComponents();
+        }
+        return components.connected(a, b);
+    }
+
+    private void rebuildComponents()
+    {
+        components.clear();
+        for (int source = 0; source < dictionary.capacity(); source++) {
+            int[] row = rows[source];
+            for (int i = 0; row != null && i < degrees[source]; i++) {
+                if (row[i] > source) {
+                    components.union(source, row[i]);
+                }
+            }
+        }
+        componentsStale = false;
+    }
+
+    public int pathLength(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        int[] parents = search(source, target);
+        if (parents == null) {
+            return Integer.MAX_VALUE;
+        }
+        int length = 0;
+        for (int at = target; at != source; at = parents[at]) {
+            length++;
+        }
+        return length;
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        int source = dictionary.id(from);
+        int target = dictionary.id(to);
+        LinkedList<V> path = new LinkedList<V>();
+        int[] parents = search(source, target);
+        if (parents != null) {
+            int at = target;
+            path.push(dictionary.vertex(at));
+            while (at != source) {
+                at = parents[at];
+                path.push(dictionary.vertex(at));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Runs a breadth-first search over ids until 'target' is found.
+     * Searches between different components are refused without
+     * searching when the components are known.
+     *
+     * @return the BFS parent of each discovered id (-1 for the rest),
+     * or null if either id is missing or 'target' is unreachable.
+     */
+    private int[] search(int source, int target)
+    {
+        if (source < 0 || target < 0
+            || (!componentsStale && !components.connected(source, target))) {
+            return null;
+        }
+        int[] parents = new int[dictionary.capacity()];
+        Arrays.fill(parents, -1);
+        parents[source] = source;
+        if (source == target) {
+            return parents;
+        }
+        int[] queue = new int[dictionary.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        long scanned = 0;
+        try {
+            while (head < tail) {
+                int current = queue[head++];
+                int[] row = rows[current];
+                for (int i = 0; i < degrees[current]; i++) {
+                    int next = row[i];
+                    scanned++;
+                    if (parents[next] < 0) {
+                        parents[next] = current;
+                        if (next == target) {
+                            return parents;
+                        }
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            PathSearch.report(head, scanned);
+        }
+    }
+}
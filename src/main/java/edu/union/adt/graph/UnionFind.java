@@ -0,0 +1,128 @@
+package edu.union.adt.graph;
+import java.util.Arrays;
+
+/**
+ * Disjoint sets over int ids, with union by size and path halving, so
+ * any sequence of operations runs in nearly constant amortized time
+ * per operation.  Ids start out in sets of their own, and the id range
+ * grows as needed.
+ *
+ * Sets can only be merged, never split: callers that delete edges
+ * must clear() and union the remaining edges again.
+ *
+ * @version 1
+ */
+final class UnionFind
+{
+    private int[] parents;
+    private int[] sizes;
+    private int components;
+    private int capacity;
+
+    /**
+     * @param capacity how many ids to make room for
+     */
+    UnionFind(int capacity)
+    {
+        parents = new int[Math.max(capacity, 16)];
+        sizes = new int[parents.length];
+    }
+
+    /**
+     * Makes sure ids below 'count' are present, each new one in a set
+     * of its own.
+     */
+    void ensure(int count)
+    {
+        if (count > parents.length) {
+            int length = Math.max(count, parents.length * 2);
+            parents = Arrays.copyOf(parents, length);
+            sizes = Arrays.copyOf(sizes, length);
+        }
+        for (int id = capacity; id < count; id++) {
+            parents[id] = id;
+            sizes[id] = 1;
+            components++;
+        }
+        capacity = Math.max(capacity, count);
+    }
+
+    /**
+     * Puts every id back in a set of its own.
+     */
+    void clear()
+    {
+        int count = capacity;
+        capacity = 0;
+        components = 0;
+        ensure(count);
+    }
+
+    /**
+     * Removes every id.
+     */
+    void reset()
+    {
+        capacity = 0;
+        components = 0;
+    }
+
+    /**
+     * @return the representative of the set holding 'id'.
+     */
+    int find(int id)
+    {
+        while (parents[id] != id) {
+            parents[id] = parents[parents[id]];
+            id = parents[id];
+        }
+        return id;
+    }
+
+    /**
+     * Merges the sets holding two ids.
+     *
+     * @return true iff they were in different sets
+     */
+    boolean union(int a, int b)
+    {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (sizes[rootA] < sizes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootB] = rootA;
+        sizes[rootA] += sizes[rootB];
+        components--;
+        return true;
+    }
+
+    /**
+     * @return true iff two ids are in the same set.
+     */
+    boolean connected(int a, int b)
+    {
+        return find(a) == find(b);
+    }
+
+    /**
+     * @return how many ids share a set with 'id', including itself.
+     */
+    int sizeOf(int id)
+    {
+        return sizes[find(id)];
+    }
+
+    /**
+     * @return the number of sets.
+     */
+    int components()
+    {
+        return components;
+    }
+}
@@ -0,0 +1,317 @@
+package edu.union.adt.graph;
+import java.util.List;
+
+/**
+ * A thread-safe graph whose readers never block and never see a
+ * half-applied mutation.
+ *
+ * The graph state is an immutable Snapshot built from persistent hash
+ * tries: each vertex maps to the set of its successors and the set
+ * of its predecessors.  A writer builds the next snapshot from the
+ * current one, sharing every untouched branch, and publishes it with
+ * a single volatile write.  Writers are serialized with a lock;
+ * readers take no lock at all.
+ *
+ * Every query on the graph itself runs against the snapshot current
+ * when the query starts, so a long pathLength never observes a
+ * concurrent removeVertex.  Callers that need several queries to
+ * agree with each other should take a snapshot() once, in O(1), and
+ * query that.
+ *
+ * Vertices must not be null.
+ *
+ * @version 1
+ */
+public class VersionedGraph<V> extends AbstractGraph<V>
+{
+    private final Object writeLock = new Object();
+    private volatile Snapshot<V> current;
+
+    /**
+     * Create an empty graph.
+     */
+    public VersionedGraph()
+    {
+        current = new Snapshot<V>(PersistentHashMap.<V, PersistentHashMap<V, V>>empty(),
+                                  PersistentHashMap.<V, PersistentHashMap<V, V>>empty(),
+                                  0, 0L);
+    }
+
+    /**
+     * Gets an immutable view of the graph as it is now.  Later
+     * mutations of this graph do not affect the snapshot.
+     *
+     * @return the current snapshot.
+     */
+    public Snapshot<V> snapshot()
+    {
+        return current;
+    }
+
+    /**
+     * @return the number of mutations that changed the graph so far.
+     */
+    public long version()
+    {
+        return current.version();
+    }
+
+    public int numVertices()
+    {
+        return current.numVertices();
+    }
+
+    public int numEdges()
+    {
+        return current.numEdges();
+    }
+
+    public int degree(V vertex)
+    {
+        return current.degree(vertex);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        return current.getVertices();
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        return current.adjacentTo(from);
+    }
+
+    public boolean contains(V vertex)
+    {
+        return current.contains(vertex);
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        return current.hasEdge(from, to);
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        return current.hasPath(from, to);
+    }
+
+    public int pathLength(V from, V to)
+    {
+        return current.pathLength(from, to);
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        return current.getPath(from, to);
+    }
+
+    public void addVertex(V vertex)
+    {
+        synchronized (writeLock) {
+            current = current.withVertex(vertex);
+        }
+    }
+
+    public void addEdge(V from, V to)
+    {
+        synchronized (writeLock) {
+            current = current.withEdge(from, to);
+        }
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        synchronized (writeLock) {
+            current = current.withoutVertex(toRemove);
+        }
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        synchronized (writeLock) {
+            current = current.withoutEdge(from, to);
+        }
+    }
+
+    /**
+     * Applies a batch of mutations and publishes the result as one
+     * snapshot, so readers see either none of the batch or all of it.
+     * If a mutation throws, none of the batch is published.
+     */
+    @Override
+    public void applyAll(List<Mutation<V>> mutations)
+    {
+        synchronized (writeLock) {
+            Snapshot<V> next = current;
+            for (Mutation<V> mutation : mutations) {
+                switch (mutation.kind()) {
+                case ADD_VERTEX:
+                    next = next.withVertex(mutation.from());
+                    break;
+                case REMOVE_VERTEX:
+                    next = next.withoutVertex(mutation.from());
+                    break;
+                case ADD_EDGE:
+                    next = next.withEdge(mutation.from(), mutation.to());
+                    break;
+                default:
+                    next = next.withoutEdge(mutation.from(), mutation.to());
+                    break;
+                }
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * An immutable version of a VersionedGraph.  All queries are
+     * lock-free and safe to run from any number of threads; all
+     * mutators throw UnsupportedOperationException.
+     */
+    public static final class Snapshot<V> extends AbstractGraph<V>
+    {
+        private final PersistentHashMap<V, PersistentHashMap<V, V>> out;
+        private final PersistentHashMap<V, PersistentHashMap<V, V>> in;
+        private final int numEdges;
+        private final long version;
+
+        private Snapshot(PersistentHashMap<V, PersistentHashMap<V, V>> out,
+                         PersistentHashMap<V, PersistentHashMap<V, V>> in,
+                         int numEdges, long version)
+        {
+            this.out = out;
+            this.in = in;
+            this.numEdges = numEdges;
+            this.version = version;
+        }
+
+        /**
+         * @return the number of mutations that produced this snapshot.
+         */
+        public long version()
+        {
+            return version;
+        }
+
+        public int numVertices()
+        {
+            return out.size();
+        }
+
+        public int numEdges()
+        {
+            return numEdges;
+        }
+
+        public int degree(V vertex)
+        {
+            PersistentHashMap<V, V> successors = out.get(vertex);
+            if (successors == null) {
+                throw new RuntimeException("Vertex is not in the graph");
+            }
+            return successors.size();
+        }
+
+        public Iterable<V> getVertices()
+        {
+            return out;
+        }
+
+        public Iterable<V> adjacentTo(V from)
+        {
+            PersistentHashMap<V, V> successors = out.get(from);
+            if (successors == null) {
+                return PersistentHashMap.<V, V>empty();
+            }
+            return successors;
+        }
+
+        public boolean contains(V vertex)
+        {
+            return out.containsKey(vertex);
+        }
+
+        public boolean hasEdge(V from, V to)
+        {
+            PersistentHashMap<V, V> successors = out.get(from);
+            return successors != null && successors.containsKey(to);
+        }
+
+        public void addVertex(V vertex)
+        {
+            throw new UnsupportedOperationException("Snapshots are immutable");
+        }
+
+        public void addEdge(V from, V to)
+        {
+            throw new UnsupportedOperationException("Snapshots are immutable");
+        }
+
+        public void removeVertex(V toRemove)
+        {
+            throw new UnsupportedOperationException("Snapshots are immutable");
+        }
+
+        public void removeEdge(V from, V to)
+        {
+            throw new UnsupportedOperationException("Snapshots are immutable");
+        }
+
+        Snapshot<V> withVertex(V vertex)
+        {
+            if (out.containsKey(vertex)) {
+                return this;
+            }
+            return new Snapshot<V>(out.plus(vertex, PersistentHashMap.<V, V>empty()),
+                                   in.plus(vertex, PersistentHashMap.<V, V>empty()),
+                                   numEdges, version + 1);
+        }
+
+        Snapshot<V> withEdge(V from, V to)
+        {
+            Snapshot<V> base = withVertex(from).withVertex(to);
+            PersistentHashMap<V, V> successors = base.out.get(from);
+            if (successors.containsKey(to)) {
+                return base;
+            }
+            return new Snapshot<V>(base.out.plus(from, successors.plus(to, to)),
+                                   base.in.plus(to, base.in.get(to).plus(from, from)),
+                                   base.numEdges + 1, version + 1);
+        }
+
+        Snapshot<V> withoutEdge(V from, V to)
+        {
+            if (!hasEdge(from, to)) {
+                return this;
+            }
+            return new Snapshot<V>(out.plus(from, out.get(from).minus(to)),
+                                   in.plus(to, in.get(to).minus(from)),
+                                   numEdges - 1, version + 1);
+        }
+
+        Snapshot<V> withoutVertex(V vertex)
+        {
+            PersistentHashMap<V, V> successors = out.get(vertex);
+            if (successors == null) {
+                return this;
+            }
+            PersistentHashMap<V, V> predecessors = in.get(vertex);
+            PersistentHashMap<V, PersistentHashMap<V, V>> newOut = out.minus(vertex);
+            PersistentHashMap<V, PersistentHashMap<V, V>> newIn = in.minus(vertex);
+            int removed = successors.size();
+            for (V source : predecessors) {
+                if (!source.equals(vertex)) {
+                    newOut = newOut.plus(source, newOut.get(source).minus(vertex));
+                    removed++;
+                }
+            }
+            for (V target : successors) {
+                if (!target.equals(vertex)) {
+                    newIn = newIn.plus(target, newIn.get(target).minus(vertex));
+                }
+            }
+            return new Snapshot<V>(newOut, newIn, numEdges - removed, version + 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package edu.union.adt.graph;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts vertices to and from a compact binary form, for graphs that
+ * are written to disk.
+ *
+ * @version 1
+ */
+public interface VertexCodec<V>
+{
+    /**
+     * Writes a vertex.
+     *
+     * @param out the destination
+     * @param vertex the vertex to write
+     */
+    public void write(DataOutput out, V vertex) throws IOException;
+
+    /**
+     * Reads a vertex written by write.
+     *
+     * @param in the source
+     * @return the vertex
+     */
+    public V read(DataInput in) throws IOException;
+
+    /**
+     * @return a codec for String vertices (modified UTF-8).
+     */
+    public static VertexCodec<String> strings()
+    {
+        return new VertexCodec<String>() {
+            public void write(DataOutput out, String vertex) throws IOException
+            {
+                out.writeUTF(vertex);
+            }
+
+            public String read(DataInput in) throws IOException
+            {
+                return in.readUTF();
+            }
+        };
+    }
+
+    /**
+     * @return a codec for Integer vertices.
+     */
+    public static VertexCodec<Integer> integers()
+    {
+        return new VertexCodec<Integer>() {
+            public void write(DataOutput out, Integer vertex) throws IOException
+            {
+                out.writeInt(vertex);
+            }
+
+            public Integer read(DataInput in) throws IOException
+            {
+                return in.readInt();
+            }
+        };
+    }
+}
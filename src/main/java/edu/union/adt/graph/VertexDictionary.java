@@ -0,0 +1,123 @@
+package edu.union.adt.graph;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps each distinct vertex to a small int id and back.  Equal
+ * vertices share one id, and only the first instance added is kept,
+ * so a graph built from many equal copies of a vertex (say, Strings
+ * parsed from a file) holds just one of them.
+ *
+ * Ids are dense: a removed vertex's id is handed to the next vertex
+ * added, so ids stay below capacity() and arrays indexed by id stay
+ * small.
+ *
+ * @version 1
+ */
+final class VertexDictionary<V>
+{
+    private final Map<V, Integer> ids;
+    private Object[] vertices;
+    private int capacity;
+    private int[] free = new int[0];
+    private int freeCount;
+
+    /**
+     * @param expectedVertices how many vertices the dictionary will
+     * hold
+     */
+    VertexDictionary(int expectedVertices)
+    {
+        ids = new HashMap<V, Integer>(expectedVertices * 4 / 3 + 1);
+        vertices = new Object[Math.max(expectedVertices, 4)];
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    int size()
+    {
+        return ids.size();
+    }
+
+    /**
+     * @return one more than the largest id ever handed out.  Ids of
+     * removed vertices below this bound are unused.
+     */
+    int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * @return the id of a vertex, or -1 if it is not in the dictionary.
+     */
+    int id(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the id of a vertex, adding the vertex if it is new.
+     *
+     * @return the vertex's id
+     */
+    int intern(V vertex)
+    {
+        Integer existing = ids.get(vertex);
+        if (existing != null) {
+            return existing;
+        }
+        int id;
+        if (freeCount > 0) {
+            id = free[--freeCount];
+        } else {
+            if (capacity == vertices.length) {
+                vertices = Arrays.copyOf(vertices, capacity * 2);
+            }
+            id = capacity++;
+        }
+        vertices[id] = vertex;
+        ids.put(vertex, id);
+        return id;
+    }
+
+    /**
+     * @return the vertex with a given id, or null if the id is unused.
+     */
+    @SuppressWarnings("unchecked")
+    V vertex(int id)
+    {
+        return (V) vertices[id];
+    }
+
+    /**
+     * @return true iff a vertex currently has the given id.
+     */
+    boolean used(int id)
+    {
+        return vertices[id] != null;
+    }
+
+    /**
+     * Removes a vertex, freeing its id for reuse.
+     *
+     * @return the id the vertex had, or -1 if it was not in the
+     * dictionary
+     */
+    int remove(V vertex)
+    {
+        Integer id = ids.remove(vertex);
+        if (id == null) {
+            return -1;
+        }
+        vertices[id] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2 + 1);
+        }
+        free[freeCount++] = id;
+        return id;
+    }
+}
@@ -0,0 +1,54 @@
+package edu.union.adt.graph.generators;
+import java.util.SplittableRandom;
+
+/**
+ * Preferential attachment graphs.  Every edge made so far is recorded
+ * by its two endpoints, and a new edge's target is an endpoint picked
+ * uniformly from that record, which picks each vertex with probability
+ * proportional to its degree.
+ *
+ * @version 1
+ */
+final class BarabasiAlbertGenerator implements GraphGenerator
+{
+    private final int vertices;
+    private final int edgesPerVertex;
+    private final long seed;
+
+    BarabasiAlbertGenerator(int vertices, int edgesPerVertex, long seed)
+    {
+        if (vertices < 0 || edgesPerVertex < 1) {
+            throw new IllegalArgumentException("Need at least one edge per vertex");
+        }
+        if ((long) vertices * edgesPerVertex * 2 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges to generate");
+        }
+        this.vertices = vertices;
+        this.edgesPerVertex = edgesPerVertex;
+        this.seed = seed;
+    }
+
+    public int numVertices()
+    {
+        return vertices;
+    }
+
+    public void generate(EdgeSink sink)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] endpoints = new int[Math.max(0, 2 * edgesPerVertex * (vertices - 1))];
+        int recorded = 0;
+        for (int v = 1; v < vertices; v++) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                int target = recorded == 0 ? 0 : endpoints[random.nextInt(recorded)];
+                if (target == v) {
+                    // no loops: fall back to a uniformly chosen earlier vertex
+                    target = random.nextInt(v);
+                }
+                sink.edge(v, target);
+                endpoints[recorded++] = v;
+                endpoints[recorded++] = target;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.union.adt.graph.generators;
+
+/**
+ * A single directed path through every vertex in id order.
+ *
+ * @version 1
+ */
+final class ChainGenerator implements GraphGenerator
+{
+    private final int vertices;
+
+    ChainGenerator(int vertices)
+    {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("Vertex count must not be negative");
+        }
+        this.vertices = vertices;
+    }
+
+    public int numVertices()
+    {
+        return vertices;
+    }
+
+    public void generate(EdgeSink sink)
+    {
+        for (int v = 0; v + 1 < vertices; v++) {
+            sink.edge(v, v + 1);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package edu.union.adt.graph.generators;
+
+/**
+ * Receives the edges of a generated graph one at a time, as pairs of
+ * vertex ids.
+ *
+ * @version 1
+ */
+@FunctionalInterface
+public interface EdgeSink
+{
+    /**
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     */
+    public void edge(int from, int to);
+}
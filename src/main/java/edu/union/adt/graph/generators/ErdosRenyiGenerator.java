@@ -0,0 +1,59 @@
+package edu.union.adt.graph.generators;
+import java.util.SplittableRandom;
+
+/**
+ * G(n, p) random graphs, generated by geometric skipping: the gap to
+ * the next present edge in the n x n matrix is drawn directly, as in
+ * Batagelj and Brandes, "Efficient generation of large random
+ * networks" (2005).
+ *
+ * @version 1
+ */
+final class ErdosRenyiGenerator implements GraphGenerator
+{
+    private final int vertices;
+    private final double probability;
+    private final long seed;
+
+    ErdosRenyiGenerator(int vertices, double averageDegree, long seed)
+    {
+        if (vertices < 0 || averageDegree < 0 || (vertices > 1 && averageDegree > vertices - 1)) {
+            throw new IllegalArgumentException("Average degree must be between 0 and vertices - 1");
+        }
+        this.vertices = vertices;
+        this.probability = vertices > 1 ? averageDegree / (vertices - 1) : 0;
+        this.seed = seed;
+    }
+
+    public int numVertices()
+    {
+        return vertices;
+    }
+
+    public void generate(EdgeSink sink)
+    {
+        if (probability == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        double logMiss = Math.log(1 - probability);
+        long cells = (long) vertices * vertices;
+        long cell = -1;
+        while (true) {
+            if (probability < 1) {
+                double skip = Math.floor(Math.log(1 - random.nextDouble()) / logMiss);
+                if (skip >= cells - cell - 1) {
+                    return;
+                }
+                cell += (long) skip + 1;
+            } else if (++cell == cells) {
+                return;
+            }
+            int from = (int) (cell / vertices);
+            int to = (int) (cell % vertices);
+            if (from != to) {
+                sink.edge(from, to);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package edu.union.adt.graph.generators;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import java.util.function.IntFunction;
+
+/**
+ * Produces a synthetic directed graph over the vertex ids 0 ..
+ * numVertices() - 1, for benchmarks and scale tests.
+ *
+ * Generators are deterministic: the edges depend only on the
+ * parameters and the seed, and every call to generate() streams the
+ * same edges in the same order.  Edges are handed to an EdgeSink as
+ * they are produced, so no edge list is built; a generator may produce
+ * the same edge more than once, and the graph it is loaded into keeps
+ * one copy.
+ *
+ * <PRE>
+ * GraphGenerator generator = GraphGenerator.rmat(20, 16, 42);
+ * FrozenGraph&lt;Integer&gt; g = generator.freeze();
+ * Graph&lt;String&gt; h = generator.into(new GraphImplementation&lt;String&gt;(), id -&gt; "v" + id);
+ * </PRE>
+ *
+ * @version 1
+ */
+public interface GraphGenerator
+{
+    /**
+     * @return the number of vertices in the generated graph.
+     */
+    public int numVertices();
+
+    /**
+     * Streams the generated edges to a sink.
+     *
+     * @param sink receives every edge
+     */
+    public void generate(EdgeSink sink);
+
+    /**
+     * Adds the generated vertices and edges to a graph of Integer ids.
+     *
+     * @param graph the graph to fill
+     * @return 'graph'
+     */
+    public default Graph<Integer> into(Graph<Integer> graph)
+    {
+        return into(graph, Integer::valueOf);
+    }
+
+    /**
+     * Adds the generated vertices and edges to a graph, naming each
+     * vertex with a function of its id.  Every vertex is added, even
+     * those without edges.
+     *
+     * @param graph the graph to fill
+     * @param naming gives the vertex for each id; it must give
+     * different vertices for different ids
+     * @return 'graph'
+     */
+    public default <V> Graph<V> into(Graph<V> graph, IntFunction<? extends V> naming)
+    {
+        for (int id = 0; id < numVertices(); id++) {
+            graph.addVertex(naming.apply(id));
+        }
+        generate((from, to) -> graph.addEdge(naming.apply(from), naming.apply(to)));
+        return graph;
+    }
+
+    /**
+     * Bulk-loads the generated graph into compressed sparse row form.
+     * The edges are generated twice, once to count each vertex's edges
+     * and once to place them, so the only memory used is the result.
+     *
+     * @return a frozen graph whose vertices are the Integer ids
+     */
+    public default FrozenGraph<Integer> freeze()
+    {
+        int n = numVertices();
+        int[] offsets = new int[n + 1];
+        generate((from, to) -> offsets[from + 1]++);
+        for (int v = 0; v < n; v++) {
+            if (offsets[v + 1] > Integer.MAX_VALUE - offsets[v]) {
+                throw new IllegalStateException("Too many edges for a frozen graph");
+            }
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        generate((from, to) -> targets[next[from]++] = to);
+        return FrozenGraph.ofRows(offsets, targets);
+    }
+
+    /**
+     * Creates an Erdos-Renyi G(n, p) random graph: each of the n(n - 1)
+     * possible edges is present independently with probability
+     * p = averageDegree / (n - 1).  Generation skips straight from one
+     * present edge to the next, so it takes time proportional to the
+     * number of edges.
+     *
+     * @param vertices the number of vertices
+     * @param averageDegree the expected number of edges leaving each
+     * vertex
+     * @param seed selects the graph
+     */
+    public static GraphGenerator erdosRenyi(int vertices, double averageDegree, long seed)
+    {
+        return new ErdosRenyiGenerator(vertices, averageDegree, seed);
+    }
+
+    /**
+     * Creates a Barabasi-Albert preferential attachment graph, whose
+     * degrees follow a power law.  Vertices arrive in id order and each
+     * adds edges to 'edgesPerVertex' earlier vertices, chosen with
+     * probability proportional to their degree, so early vertices
+     * become hubs.
+     *
+     * Choosing by degree needs the endpoints of the edges made so far,
+     * so this generator uses two ints of memory per edge while it runs.
+     *
+     * @param vertices the number of vertices
+     * @param edgesPerVertex how many edges each new vertex adds
+     * @param seed selects the graph
+     */
+    public static GraphGenerator barabasiAlbert(int vertices, int edgesPerVertex, long seed)
+    {
+        return new BarabasiAlbertGenerator(vertices, edgesPerVertex, seed);
+    }
+
+    /**
+     * Creates an R-MAT (recursive matrix) graph with the Graph500
+     * parameters a = 0.57, b = c = 0.19, d = 0.05, which gives skewed
+     * degrees and community structure like that of web and social
+     * graphs.
+     *
+     * @param scale the graph has 2^scale vertices
+     * @param edgeFactor the graph has edgeFactor * 2^scale edges,
+     * before duplicates are dropped
+     * @param seed selects the graph
+     */
+    public static GraphGenerator rmat(int scale, int edgeFactor, long seed)
+    {
+        return rmat(scale, edgeFactor, 0.57, 0.19, 0.19, seed);
+    }
+
+    /**
+     * Creates an R-MAT graph, also known as a stochastic Kronecker
+     * graph.  Each edge is placed by descending 'scale' times into one
+     * quadrant of the adjacency matrix, chosen with probabilities a
+     * (top left), b (top right), c (bottom left) and 1 - a - b - c
+     * (bottom right).
+     *
+     * @param scale the graph has 2^scale vertices
+     * @param edgeFactor the graph has edgeFactor * 2^scale edges,
+     * before duplicates are dropped
+     * @param seed selects the graph
+     */
+    public static GraphGenerator rmat(int scale, int edgeFactor, double a, double b, double c,
+                                      long seed)
+    {
+        return new RMatGenerator(scale, edgeFactor, a, b, c, seed);
+    }
+
+    /**
+     * Creates a rows x columns grid in which each cell is joined both
+     * ways to the cells beside, above and below it.  Vertex r * columns
+     * + c is the cell in row r and column c.  Grids have long shortest
+     * paths, about rows + columns edges between opposite corners.
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     */
+    public static GraphGenerator grid(int rows, int columns)
+    {
+        return new GridGenerator(rows, columns);
+    }
+
+    /**
+     * Creates a single path 0 -&gt; 1 -&gt; ... -&gt; vertices - 1, the worst
+     * case for search depth and for recursive algorithms.
+     *
+     * @param vertices the number of vertices
+     */
+    public static GraphGenerator chain(int vertices)
+    {
+        return new ChainGenerator(vertices);
+    }
+}
@@ -0,0 +1,44 @@
+package edu.union.adt.graph.generators;
+
+/**
+ * Two-dimensional grids with edges both ways between neighbouring
+ * cells.
+ *
+ * @version 1
+ */
+final class GridGenerator implements GraphGenerator
+{
+    private final int rows;
+    private final int columns;
+
+    GridGenerator(int rows, int columns)
+    {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid size must be between 0 and 2^31 - 1 cells");
+        }
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    public int numVertices()
+    {
+        return rows * columns;
+    }
+
+    public void generate(EdgeSink sink)
+    {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int cell = r * columns + c;
+                if (c + 1 < columns) {
+                    sink.edge(cell, cell + 1);
+                    sink.edge(cell + 1, cell);
+                }
+                if (r + 1 < rows) {
+                    sink.edge(cell, cell + columns);
+                    sink.edge(cell + columns, cell);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package edu.union.adt.graph.generators;
+import java.util.SplittableRandom;
+
+/**
+ * R-MAT graphs (Chakrabarti, Zhan and Faloutsos, "R-MAT: A recursive
+ * model for graph mining", 2004).  Each edge picks one quadrant of the
+ * adjacency matrix per bit of its endpoints, so generating an edge
+ * takes 'scale' random numbers and no memory.
+ *
+ * @version 1
+ */
+final class RMatGenerator implements GraphGenerator
+{
+    private final int scale;
+    private final long edges;
+    private final double a;
+    private final double ab;
+    private final double abc;
+    private final long seed;
+
+    RMatGenerator(int scale, int edgeFactor, double a, double b, double c, long seed)
+    {
+        if (scale < 0 || scale > 30 || edgeFactor < 0) {
+            throw new IllegalArgumentException("Scale must be between 0 and 30");
+        }
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException("Quadrant probabilities must add up to at most 1");
+        }
+        this.scale = scale;
+        this.edges = (long) edgeFactor << scale;
+        this.a = a;
+        this.ab = a + b;
+        this.abc = a + b + c;
+        this.seed = seed;
+    }
+
+    public int numVertices()
+    {
+        return 1 << scale;
+    }
+
+    public void generate(EdgeSink sink)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (long e = 0; e < edges; e++) {
+            int from = 0;
+            int to = 0;
+            for (int bit = scale - 1; bit >= 0; bit--) {
+                double r = random.nextDouble();
+                if (r >= abc) {
+                    from |= 1 << bit;
+                    to |= 1 << bit;
+                } else if (r >= ab) {
+                    from |= 1 << bit;
+                } else if (r >= a) {
+                    to |= 1 << bit;
+                }
+            }
+            sink.edge(from, to);
+        }
+    }
+}
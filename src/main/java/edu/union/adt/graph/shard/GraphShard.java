@@ -0,0 +1,159 @@
+package edu.union.adt.graph.shard;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The operations one shard of a ShardedGraph performs on the vertices
+ * it owns.  This is the interface a transport carries between the
+ * coordinating ShardedGraph and the shards, so every argument and
+ * result is a plain value.
+ *
+ * Batches of (vertex, parent) pairs are flattened into one list:
+ * vertex, parent, vertex, parent, ...
+ *
+ * @version 1
+ */
+public interface GraphShard<V>
+{
+    /**
+     * Adds an owned vertex, if it is not already present.
+     */
+    public void addVertex(V vertex);
+
+    /**
+     * Adds an edge whose source is owned by this shard, adding the
+     * source vertex if needed.  The destination must be added to its
+     * own shard separately.
+     */
+    public void addEdge(V from, V to);
+
+    /**
+     * Removes an owned vertex and its outgoing edges.
+     */
+    public void removeVertex(V vertex);
+
+    /**
+     * Removes an edge whose source is owned by this shard.
+     */
+    public void removeEdge(V from, V to);
+
+    /**
+     * Removes every edge stored in this shard that leads to 'vertex'.
+     */
+    public void removeEdgesTo(V vertex);
+
+    /**
+     * @return true iff this shard holds 'vertex'.
+     */
+    public boolean contains(V vertex);
+
+    /**
+     * @return true iff this shard holds the edge (from, to).
+     */
+    public boolean hasEdge(V from, V to);
+
+    /**
+     * @return the successors of an owned vertex, or null if this shard
+     * does not hold it.
+     */
+    public List<V> successors(V vertex);
+
+    /**
+     * @return the vertices held by this shard.
+     */
+    public List<V> vertices();
+
+    /**
+     * @return how many vertices this shard holds.
+     */
+    public int vertexCount();
+
+    /**
+     * @return how many edges this shard holds.
+     */
+    public int edgeCount();
+
+    /**
+     * Runs one level of a distributed breadth-first search.  Every
+     * arriving vertex that this shard has not yet seen for the query
+     * is marked visited with its parent and expanded; the newly
+     * discovered successors are returned grouped by owning shard.
+     *
+     * @param query identifies the search
+     * @param arrivals the (vertex, parent) pairs reaching this shard
+     * @param target the vertex being searched for
+     * @return whether 'target' arrived, and the next frontier
+     */
+    public Level<V> expand(long query, List<V> arrivals, V target);
+
+    /**
+     * @return the BFS parent recorded for an owned vertex in a query,
+     * or null if the vertex was not visited.
+     */
+    public V parent(long query, V vertex);
+
+    /**
+     * Releases the state kept for a query.
+     */
+    public void endQuery(long query);
+
+    /**
+     * The outcome of one search level on one shard.
+     */
+    public static final class Level<V> implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean found;
+        private final List<List<V>> outgoing;
+        private final int expanded;
+        private final long scanned;
+
+        /**
+         * @param found whether the target arrived at this shard
+         * @param outgoing for each shard, the (vertex, parent) pairs
+         * discovered for it
+         * @param expanded how many arriving vertices were expanded
+         * @param scanned how many of their edges were examined
+         */
+        public Level(boolean found, List<List<V>> outgoing, int expanded, long scanned)
+        {
+            this.found = found;
+            this.outgoing = outgoing;
+            this.expanded = expanded;
+            this.scanned = scanned;
+        }
+
+        /**
+         * @return true iff the target was reached.
+         */
+        public boolean found()
+        {
+            return found;
+        }
+
+        /**
+         * @return for each shard, the (vertex, parent) pairs to send it.
+         */
+        public List<List<V>> outgoing()
+        {
+            return outgoing;
+        }
+
+        /**
+         * @return how many vertices this shard expanded in the level.
+         */
+        public int expanded()
+        {
+            return expanded;
+        }
+
+        /**
+         * @return how many edges this shard examined in the level.
+         */
+        public long scanned()
+        {
+            return scanned;
+        }
+    }
+}
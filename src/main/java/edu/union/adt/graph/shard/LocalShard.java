@@ -0,0 +1,166 @@
+package edu.union.adt.graph.shard;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A shard held in memory in the current process.  Each owned vertex
+ * maps to the set of its successors.
+ *
+ * Mutations are synchronized; searches keep their state per query so
+ * several can run at once.
+ *
+ * @version 1
+ */
+public class LocalShard<V> implements GraphShard<V>
+{
+    private final int shardCount;
+    private final Partitioner<V> partitioner;
+    private final Map<V, Set<V>> rows = new HashMap<V, Set<V>>();
+    private final Map<Long, Map<V, V>> searches = new ConcurrentHashMap<Long, Map<V, V>>();
+    private int edges;
+
+    /**
+     * @param shardCount the total number of shards
+     * @param partitioner how vertices are assigned to shards
+     */
+    public LocalShard(int shardCount, Partitioner<V> partitioner)
+    {
+        this.shardCount = shardCount;
+        this.partitioner = partitioner;
+    }
+
+    public synchronized void addVertex(V vertex)
+    {
+        if (!rows.containsKey(vertex)) {
+            rows.put(vertex, new LinkedHashSet<V>());
+        }
+    }
+
+    public synchronized void addEdge(V from, V to)
+    {
+        addVertex(from);
+        if (rows.get(from).add(to)) {
+            edges++;
+        }
+    }
+
+    public synchronized void removeVertex(V vertex)
+    {
+        Set<V> row = rows.remove(vertex);
+        if (row != null) {
+            edges -= row.size();
+        }
+    }
+
+    public synchronized void removeEdge(V from, V to)
+    {
+        Set<V> row = rows.get(from);
+        if (row != null && row.remove(to)) {
+            edges--;
+        }
+    }
+
+    public synchronized void removeEdgesTo(V vertex)
+    {
+        for (Set<V> row : rows.values()) {
+            if (row.remove(vertex)) {
+                edges--;
+            }
+        }
+    }
+
+    public synchronized boolean contains(V vertex)
+    {
+        return rows.containsKey(vertex);
+    }
+
+    public synchronized boolean hasEdge(V from, V to)
+    {
+        Set<V> row = rows.get(from);
+        return row != null && row.contains(to);
+    }
+
+    public synchronized List<V> successors(V vertex)
+    {
+        Set<V> row = rows.get(vertex);
+        return row == null ? null : new ArrayList<V>(row);
+    }
+
+    public synchronized List<V> vertices()
+    {
+        return new ArrayList<V>(rows.keySet());
+    }
+
+    public synchronized int vertexCount()
+    {
+        return rows.size();
+    }
+
+    public synchronized int edgeCount()
+    {
+        return edges;
+    }
+
+    public Level<V> expand(long query, List<V> arrivals, V target)
+    {
+        Map<V, V> parents = searches.get(query);
+        if (parents == null) {
+            parents = new HashMap<V, V>();
+            searches.put(query, parents);
+        }
+        List<List<V>> outgoing = new ArrayList<List<V>>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            outgoing.add(new ArrayList<V>());
+        }
+        boolean found = false;
+        int expanded = 0;
+        long scanned = 0;
+        synchronized (this) {
+            Iterator<V> pairs = arrivals.iterator();
+            while (pairs.hasNext()) {
+                V vertex = pairs.next();
+                V parent = pairs.next();
+                if (parents.containsKey(vertex)) {
+                    continue;
+                }
+                parents.put(vertex, parent);
+                if (vertex.equals(target)) {
+                    found = true;
+                }
+                Set<V> row = rows.get(vertex);
+                expanded++;
+                if (row == null) {
+                    continue;
+                }
+                scanned += row.size();
+                for (V next : row) {
+                    if (parents.containsKey(next)) {
+                        // only owned vertices are ever visited here
+                        continue;
+                    }
+                    List<V> batch = outgoing.get(partitioner.shardOf(next, shardCount));
+                    batch.add(next);
+                    batch.add(vertex);
+                }
+            }
+        }
+        return new Level<V>(found, outgoing, expanded, scanned);
+    }
+
+    public V parent(long query, V vertex)
+    {
+        Map<V, V> parents = searches.get(query);
+        return parents == null ? null : parents.get(vertex);
+    }
+
+    public void endQuery(long query)
+    {
+        searches.remove(query);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.union.adt.graph.shard;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A transport whose shards are LocalShards in the current process.
+ * Useful for tests, and for spreading one graph's searches over the
+ * cores of a single machine.
+ *
+ * @version 1
+ */
+public class LoopbackTransport<V> implements ShardTransport<V>
+{
+    private final Partitioner<V> partitioner;
+    private final List<GraphShard<V>> shards;
+
+    /**
+     * @param shardCount how many shards to create
+     * @param partitioner how vertices are assigned to shards
+     */
+    public LoopbackTransport(int shardCount, Partitioner<V> partitioner)
+    {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("There must be at least one shard");
+        }
+        this.partitioner = partitioner;
+        this.shards = new ArrayList<GraphShard<V>>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new LocalShard<V>(shardCount, partitioner));
+        }
+    }
+
+    public int shardCount()
+    {
+        return shards.size();
+    }
+
+    public Partitioner<V> partitioner()
+    {
+        return partitioner;
+    }
+
+    public GraphShard<V> shard(int index)
+    {
+        return shards.get(index);
+    }
+
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,69 @@
+package edu.union.adt.graph.shard;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Decides which shard owns each vertex.  The owner of a vertex stores
+ * the vertex and all of its outgoing edges.
+ *
+ * Partitioners are serializable so that the same assignment can be
+ * shipped to shards running in other processes.
+ *
+ * @version 1
+ */
+public interface Partitioner<V> extends Serializable
+{
+    /**
+     * @param vertex a vertex
+     * @param shards the number of shards
+     * @return the index of the shard that owns 'vertex', between 0 and
+     * shards - 1
+     */
+    public int shardOf(V vertex, int shards);
+
+    /**
+     * @return a partitioner that spreads vertices by their hash codes.
+     */
+    public static <V> Partitioner<V> hash()
+    {
+        return (vertex, shards) -> {
+            int h = vertex.hashCode();
+            h ^= h >>> 16;
+            return Math.floorMod(h * 0x9E3779B9, shards);
+        };
+    }
+
+    /**
+     * Creates a partitioner that gives each shard a contiguous range of
+     * vertices.  Shard i owns the vertices v with splits[i-1] &lt;= v
+     * &lt; splits[i]; vertices beyond the last split go to the last
+     * shard.
+     *
+     * @param splits the first vertex of shards 1, 2, ...; sorted by
+     * 'order'
+     * @param order the order that defines the ranges; must itself be
+     * serializable to ship the partitioner to other processes
+     * @return the partitioner
+     */
+    public static <V> Partitioner<V> range(List<? extends V> splits,
+                                           Comparator<? super V> order)
+    {
+        final List<V> bounds = Collections.unmodifiableList(new ArrayList<V>(splits));
+        return (vertex, shards) -> {
+            int low = 0;
+            int high = bounds.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (order.compare(bounds.get(middle), vertex) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return Math.min(low, shards - 1);
+        };
+    }
+}
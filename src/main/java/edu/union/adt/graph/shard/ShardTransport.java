@@ -0,0 +1,29 @@
+package edu.union.adt.graph.shard;
+import java.io.Closeable;
+
+/**
+ * Connects a ShardedGraph to its shards.  A transport may reach shards
+ * in the same process or in other processes; ShardedGraph only sees
+ * the GraphShard interface.
+ *
+ * @version 1
+ */
+public interface ShardTransport<V> extends Closeable
+{
+    /**
+     * @return the number of shards.
+     */
+    public int shardCount();
+
+    /**
+     * @return how vertices are assigned to shards.  The shards and the
+     * coordinator must use the same partitioner.
+     */
+    public Partitioner<V> partitioner();
+
+    /**
+     * @param index a shard index between 0 and shardCount() - 1
+     * @return the shard with that index
+     */
+    public GraphShard<V> shard(int index);
+}
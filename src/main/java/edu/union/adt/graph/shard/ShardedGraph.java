@@ -0,0 +1,281 @@
+package edu.union.adt.graph.shard;
+import edu.union.adt.graph.AbstractGraph;
+import edu.union.adt.graph.InstrumentedGraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A graph whose vertices are partitioned across shards.  Each vertex
+ * and its outgoing edges live on the shard its Partitioner picks;
+ * shards are reached through a ShardTransport, so they may be in this
+ * process (LoopbackTransport) or elsewhere.
+ *
+ * hasPath, pathLength and getPath run a level-synchronous
+ * breadth-first search: in each round every shard with arrivals
+ * expands them in parallel, and the newly discovered vertices are
+ * exchanged in one batch per destination shard.  A search takes one
+ * round per level, however many vertices a level holds.  The shards
+ * count the vertices they expand and the edges they scan, and the
+ * totals are reported to an InstrumentedGraph wrapping this one.
+ *
+ * removeVertex must ask every shard to drop edges into the removed
+ * vertex, so it costs one call per shard.  Vertices must not be
+ * null.
+ *
+ * @version 1
+ */
+public class ShardedGraph<V> extends AbstractGraph<V> implements Closeable
+{
+    private final ShardTransport<V> transport;
+    private final Partitioner<V> partitioner;
+    private final int shardCount;
+    private final ExecutorService workers;
+    private final AtomicLong queries = new AtomicLong();
+
+    /**
+     * @param transport reaches the shards; closed with this graph
+     */
+    public ShardedGraph(ShardTransport<V> transport)
+    {
+        this.transport = transport;
+        this.partitioner = transport.partitioner();
+        this.shardCount = transport.shardCount();
+        this.workers = Executors.newFixedThreadPool(shardCount, r -> {
+            Thread thread = new Thread(r, "graph-shard-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the number of shards.
+     */
+    public int shardCount()
+    {
+        return shardCount;
+    }
+
+    private GraphShard<V> owner(V vertex)
+    {
+        return transport.shard(partitioner.shardOf(vertex, shardCount));
+    }
+
+    public int numVertices()
+    {
+        int count = 0;
+        for (int i = 0; i < shardCount; i++) {
+            count += transport.shard(i).vertexCount();
+        }
+        return count;
+    }
+
+    public int numEdges()
+    {
+        int count = 0;
+        for (int i = 0; i < shardCount; i++) {
+            count += transport.shard(i).edgeCount();
+        }
+        return count;
+    }
+
+    public int degree(V vertex)
+    {
+        List<V> successors = vertex == null ? null : owner(vertex).successors(vertex);
+        if (successors == null) {
+            throw new RuntimeException("Vertex is not in the graph");
+        }
+        return successors.size();
+    }
+
+    public void addEdge(V from, V to)
+    {
+        addVertex(to);
+        owner(from).addEdge(from, to);
+    }
+
+    public void addVertex(V vertex)
+    {
+        owner(vertex).addVertex(vertex);
+    }
+
+    public Iterable<V> getVertices()
+    {
+        List<V> vertices = new ArrayList<V>();
+        for (int i = 0; i < shardCount; i++) {
+            vertices.addAll(transport.shard(i).vertices());
+        }
+        return vertices;
+    }
+
+    public Iterable<V> adjacentTo(V from)
+    {
+        List<V> successors = from == null ? null : owner(from).successors(from);
+        return successors == null ? Collections.<V>emptyList() : successors;
+    }
+
+    public boolean contains(V vertex)
+    {
+        return vertex != null && owner(vertex).contains(vertex);
+    }
+
+    public boolean hasEdge(V from, V to)
+    {
+        return from != null && owner(from).hasEdge(from, to);
+    }
+
+    public void removeVertex(V toRemove)
+    {
+        if (!contains(toRemove)) {
+            return;
+        }
+        owner(toRemove).removeVertex(toRemove);
+        for (int i = 0; i < shardCount; i++) {
+            transport.shard(i).removeEdgesTo(toRemove);
+        }
+    }
+
+    public void removeEdge(V from, V to)
+    {
+        if (from != null) {
+            owner(from).removeEdge(from, to);
+        }
+    }
+
+    public boolean hasPath(V from, V to)
+    {
+        long query = queries.incrementAndGet();
+        try {
+            return search(query, from, to) >= 0;
+        } finally {
+            endQuery(query);
+        }
+    }
+
+    public int pathLength(V from, V to)
+    {
+        long query = queries.incrementAndGet();
+        try {
+            int length = search(query, from, to);
+            return length < 0 ? Integer.MAX_VALUE : length;
+        } finally {
+            endQuery(query);
+        }
+    }
+
+    public Iterable<V> getPath(V from, V to)
+    {
+        long query = queries.incrementAndGet();
+        LinkedList<V> path = new LinkedList<V>();
+        try {
+            if (search(query, from, to) >= 0) {
+                V at = to;
+                path.push(at);
+                while (!at.equals(from)) {
+                    at = owner(at).parent(query, at);
+                    path.push(at);
+                }
+            }
+        } finally {
+            endQuery(query);
+        }
+        return path;
+    }
+
+    /**
+     * Runs a distributed breadth-first search.
+     *
+     * @return the distance from 'from' to 'to', or -1 if there is no
+     * path
+     */
+    private int search(final long query, V from, final V to)
+    {
+        if (!contains(from) || !contains(to)) {
+            return -1;
+        }
+        List<List<V>> arrivals = emptyBatches();
+        List<V> start = arrivals.get(partitioner.shardOf(from, shardCount));
+        start.add(from);
+        start.add(from);
+        long expanded = 0;
+        long scanned = 0;
+        try {
+            for (int level = 0; ; level++) {
+                List<Future<GraphShard.Level<V>>> pending = new ArrayList<Future<GraphShard.Level<V>>>();
+                for (int i = 0; i < shardCount; i++) {
+                    final List<V> batch = arrivals.get(i);
+                    if (!batch.isEmpty()) {
+                        final GraphShard<V> shard = transport.shard(i);
+                        pending.add(workers.submit(() -> shard.expand(query, batch, to)));
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return -1;
+                }
+                boolean found = false;
+                List<List<V>> next = emptyBatches();
+                for (Future<GraphShard.Level<V>> future : pending) {
+                    GraphShard.Level<V> result = await(future);
+                    found |= result.found();
+                    expanded += result.expanded();
+                    scanned += result.scanned();
+                    for (int i = 0; i < shardCount; i++) {
+                        next.get(i).addAll(result.outgoing().get(i));
+                    }
+                }
+                if (found) {
+                    return level;
+                }
+                arrivals = next;
+            }
+        } finally {
+            InstrumentedGraph.searched(expanded, scanned);
+        }
+    }
+
+    private List<List<V>> emptyBatches()
+    {
+        List<List<V>> batches = new ArrayList<List<V>>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            batches.add(new ArrayList<V>());
+        }
+        return batches;
+    }
+
+    private static <T> T await(Future<T> future)
+    {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during a distributed search", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Shard failed during a distributed search", e.getCause());
+        }
+    }
+
+    private void endQuery(long query)
+    {
+        for (int i = 0; i < shardCount; i++) {
+            transport.shard(i).endQuery(query);
+        }
+    }
+
+    /**
+     * Stops the search workers and closes the transport.
+     */
+    public void close() throws IOException
+    {
+        workers.shutdown();
+        transport.close();
+    }
+}
@@ -0,0 +1,257 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.HybridGraph;
+import edu.union.adt.graph.UndirectedGraph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Reports the heap allocated per call, and the time per call, of the
+ * read methods of each Graph implementation on the same R-MAT graph,
+ * followed by the calls that allocate the most.  Allocation is read
+ * from the JVM's per-thread counter, so it covers everything a call
+ * allocates, including iterators, boxing and search state.  Gives a
+ * baseline for changes meant to cut garbage.
+ *
+ * With a file name, the run from the first measured round on (later
+ * graphs' loading included) is also captured with Java Flight
+ * Recorder, using the "profile" settings, whose allocation samples
+ * show the stacks behind each number; view them with
+ * 'jfr print --events ObjectAllocationSample <file>' or Mission
+ * Control.  Oracle JDK 8 also needs -XX:+UnlockCommercialFeatures.
+ *
+ * Usage: AllocationProfileBenchmark [scale] [recording.jfr]
+ */
+public class AllocationProfileBenchmark
+{
+    /**
+     * One call of a method under test; returns something derived from
+     * the result so the call is not optimized away.
+     */
+    private interface Call
+    {
+        long run(Graph<Integer> g, Integer first, Integer second);
+    }
+
+    private static final class Workload
+    {
+        final String method;
+        final int calls;
+        final Call call;
+
+        Workload(String method, int calls, Call call)
+        {
+            this.method = method;
+            this.calls = calls;
+            this.call = call;
+        }
+    }
+
+    private static final class Result
+    {
+        final String graph;
+        final String method;
+        final double bytes;
+        final double nanos;
+
+        Result(String graph, String method, double bytes, double nanos)
+        {
+            this.graph = graph;
+            this.method = method;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+    }
+
+    private static final int PICKS = 1 << 16;
+
+    private static long sink;
+
+    public static void main(String[] args) throws Exception
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 14;
+        String recording = args.length > 1 ? args[1] : null;
+
+        GraphGenerator generator = GraphGenerator.rmat(scale, 8, 42);
+        int n = generator.numVertices();
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            boxed[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(5);
+        Integer[] picks = new Integer[PICKS];
+        for (int i = 0; i < PICKS; i++) {
+            picks[i] = boxed[random.nextInt(n)];
+        }
+
+        Map<String, Supplier<Graph<Integer>>> graphs
+            = new LinkedHashMap<String, Supplier<Graph<Integer>>>();
+        graphs.put("GraphImplementation",
+                   () -> generator.into(new GraphImplementation<Integer>(), i -> boxed[i]));
+        graphs.put("sorted GraphImpl",
+                   () -> generator.into(new GraphImplementation<Integer>(n, n * 8, true),
+                                        i -> boxed[i]));
+        graphs.put("HybridGraph", () -> generator.into(new HybridGraph<Integer>(n), i -> boxed[i]));
+        graphs.put("UndirectedGraph",
+                   () -> generator.into(new UndirectedGraph<Integer>(), i -> boxed[i]));
+        graphs.put("VersionedGraph",
+                   () -> generator.into(new VersionedGraph<Integer>(), i -> boxed[i]));
+        graphs.put("FrozenGraph", () -> FrozenGraph.copyOf(
+                       generator.into(new GraphImplementation<Integer>(), i -> boxed[i])));
+        graphs.put("CompressedGraph", () -> CompressedGraph.copyOf(
+                       generator.into(new GraphImplementation<Integer>(), i -> boxed[i])));
+
+        List<Workload> workloads = new ArrayList<Workload>();
+        workloads.add(new Workload("contains", 1000000, (g, a, b) -> g.contains(a) ? 1 : 0));
+        workloads.add(new Workload("degree", 1000000, (g, a, b) -> g.degree(a)));
+        workloads.add(new Workload("hasEdge", 1000000, (g, a, b) -> g.hasEdge(a, b) ? 1 : 0));
+        workloads.add(new Workload("adjacentTo", 200000, (g, a, b) -> {
+            long sum = 0;
+            for (Integer next : g.adjacentTo(a)) {
+                sum += next;
+            }
+            return sum;
+        }));
+        workloads.add(new Workload("getVertices", 20, (g, a, b) -> {
+            long sum = 0;
+            for (Integer v : g.getVertices()) {
+                sum += v;
+            }
+            return sum;
+        }));
+        workloads.add(new Workload("commonNeighbors", 100000,
+                                   (g, a, b) -> g.commonNeighbors(a, b).size()));
+        workloads.add(new Workload("hasPath", 50, (g, a, b) -> g.hasPath(a, b) ? 1 : 0));
+        workloads.add(new Workload("pathLength", 50, (g, a, b) -> g.pathLength(a, b)));
+        workloads.add(new Workload("getPath", 50, (g, a, b) -> {
+            long length = 0;
+            for (Integer v : g.getPath(a, b)) {
+                length++;
+            }
+            return length;
+        }));
+
+        com.sun.management.ThreadMXBean threads
+            = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        System.out.printf("R-MAT scale %d, edge factor 8; bytes allocated / ns per call%n", scale);
+        System.out.printf("%-20s", "");
+        for (Workload workload : workloads) {
+            System.out.printf(" %17s", workload.method);
+        }
+        System.out.println();
+
+        List<Result> results = new ArrayList<Result>();
+        boolean recordingStarted = false;
+        for (Map.Entry<String, Supplier<Graph<Integer>>> entry : graphs.entrySet()) {
+            Graph<Integer> g = entry.getValue().get();
+            for (Workload workload : workloads) {
+                run(g, workload, picks);
+            }
+            if (recording != null && !recordingStarted) {
+                recordingStarted = startRecording(recording);
+            }
+            System.out.printf("%-20s", entry.getKey());
+            for (Workload workload : workloads) {
+                long before = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                run(g, workload, picks);
+                long nanos = System.nanoTime() - start;
+                long bytes = threads.getThreadAllocatedBytes(thread) - before;
+                Result result = new Result(entry.getKey(), workload.method,
+                                           (double) bytes / workload.calls,
+                                           (double) nanos / workload.calls);
+                results.add(result);
+                System.out.printf(" %8s/%8s", amount(result.bytes), amount(result.nanos));
+            }
+            System.out.println();
+        }
+        if (recordingStarted) {
+            diagnosticCommand("jfrStop", "name=allocation-profile");
+            System.out.println("Flight recording written to " + recording);
+        }
+
+        // hot spots: the calls that allocate the most, relative to the
+        // cheapest implementation of the same method
+        Map<String, Double> least = new LinkedHashMap<String, Double>();
+        for (Result result : results) {
+            Double best = least.get(result.method);
+            least.put(result.method, best == null ? result.bytes : Math.min(best, result.bytes));
+        }
+        results.sort((x, y) -> Double.compare(y.bytes, x.bytes));
+        System.out.printf("%nLargest allocators (bytes per call; fewest bytes for the same method)%n");
+        for (int i = 0; i < Math.min(12, results.size()) && results.get(i).bytes >= 1; i++) {
+            Result result = results.get(i);
+            System.out.printf("%-20s %-16s %10s  %10s%n", result.graph, result.method,
+                              amount(result.bytes), amount(least.get(result.method)));
+        }
+        System.out.printf("(checksum %d)%n", sink);
+    }
+
+    private static void run(Graph<Integer> g, Workload workload, Integer[] picks)
+    {
+        long sum = 0;
+        for (int i = 0; i < workload.calls; i++) {
+            sum += workload.call.run(g, picks[i & (PICKS - 1)],
+                                     picks[(i * 7 + 1) & (PICKS - 1)]);
+        }
+        sink += sum;
+    }
+
+    /**
+     * @return a count in at most four characters and a unit suffix.
+     */
+    private static String amount(double value)
+    {
+        if (value < 10000) {
+            return String.format("%.0f", value);
+        } else if (value < 10000000) {
+            return String.format("%.0fk", value / 1e3);
+        }
+        return String.format("%.0fM", value / 1e6);
+    }
+
+    /**
+     * Starts a flight recording through the DiagnosticCommand MBean,
+     * which takes the same commands as jcmd.
+     *
+     * @return whether the recording started
+     */
+    private static boolean startRecording(String file)
+    {
+        try {
+            diagnosticCommand("jfrStart", "name=allocation-profile", "settings=profile",
+                              "filename=" + Paths.get(file).toAbsolutePath());
+            return true;
+        } catch (Exception e) {
+            System.out.println("Flight recording is not available: " + e);
+            return false;
+        }
+    }
+
+    private static String diagnosticCommand(String command, String... arguments) throws Exception
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        return (String) server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                                      command, new Object[] { arguments },
+                                      new String[] { String[].class.getName() });
+    }
+}
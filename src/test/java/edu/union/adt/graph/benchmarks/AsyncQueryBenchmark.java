@@ -0,0 +1,100 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.AsyncGraphQueries;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how AsyncGraphQueries behaves under a mix of cheap and
+ * pathological queries on a grid: most queries join cells a few steps
+ * apart, and a few ask for the far corner, which takes a search of the
+ * whole grid.  Queries arrive at a fixed rate whether or not earlier
+ * ones have finished, once with no timeout and once with one, and the
+ * latencies of the cheap queries are reported with the numbers of
+ * refused and timed out queries.
+ *
+ * Usage: AsyncQueryBenchmark [side] [queries/s] [seconds] [timeout ms]
+ */
+public class AsyncQueryBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        long timeoutMillis = args.length > 3 ? Long.parseLong(args[3]) : 10;
+
+        FrozenGraph<Integer> g = GraphGenerator.grid(side, side).freeze();
+        System.out.printf("%d x %d grid, %d queries/s for %d s, 1 in 100 pathological%n",
+                          side, side, rate, seconds);
+        for (int round = 0; round < 2; round++) {
+            run("no timeout", g, side, rate, seconds, 0);
+            run("timeout " + timeoutMillis + " ms", g, side, rate, seconds, timeoutMillis);
+        }
+    }
+
+    private static void run(String name, FrozenGraph<Integer> g, int side, int rate, int seconds,
+                            long timeoutMillis) throws Exception
+    {
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        Arrays.fill(latencies, -1);
+        SplittableRandom random = new SplittableRandom(11);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[total];
+        try (AsyncGraphQueries<Integer> queries =
+             new AsyncGraphQueries<Integer>(g, Runtime.getRuntime().availableProcessors(), 64,
+                                            timeoutMillis, TimeUnit.MILLISECONDS)) {
+            long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                long due = start + i * interval;
+                while (System.nanoTime() < due) {
+                    LockSupport.parkNanos(due - System.nanoTime());
+                }
+                int row = random.nextInt(side - 10);
+                int col = random.nextInt(side - 10);
+                int from = row * side + col;
+                if (i % 100 == 99) {
+                    futures[i] = queries.pathLength(from, side * side - 1);
+                } else {
+                    int to = (row + random.nextInt(10)) * side + col + random.nextInt(10);
+                    int index = i;
+                    long submitted = System.nanoTime();
+                    futures[i] = queries.pathLength(from, to).whenComplete((length, failure) -> {
+                        if (failure == null) {
+                            latencies[index] = System.nanoTime() - submitted;
+                        }
+                    });
+                }
+            }
+            for (CompletableFuture<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    // counted below
+                }
+            }
+            long answered = Arrays.stream(latencies).filter(l -> l >= 0).count();
+            long[] sorted = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+            System.out.printf("%-16s cheap answered %6d/%d   p50 %8.2f ms   p99 %8.2f ms   "
+                              + "refused %6d   timed out %5d%n",
+                              name, answered, total - total / 100,
+                              percentile(sorted, 0.5), percentile(sorted, 0.99),
+                              queries.rejectedCount(), queries.timedOutCount());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p)
+    {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, sorted.length * p)] / 1e6;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.Pair;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares a timestamp-filtered reachability query answered with the
+ * timestamps in a side HashMap keyed by edge against the same query
+ * over a FrozenGraph edge attribute column.
+ *
+ * Usage: AttributeFilterBenchmark [vertices] [edges] [queries]
+ */
+public class AttributeFilterBenchmark
+{
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 2000000;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        Random random = new Random(42);
+        Graph<Integer> g = new GraphImplementation<Integer>(vertices, edges);
+        Map<Pair<Integer, Integer>, Long> sideTable = new HashMap<Pair<Integer, Integer>, Long>();
+        for (int i = 0; i < edges; i++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            g.addEdge(from, to);
+            sideTable.put(Pair.of(from, to), (long) random.nextInt(1000));
+        }
+        FrozenGraph<Integer> frozen = FrozenGraph.copyOf(g);
+        long[] times = frozen.edgeAttributes().longColumn("timestamp");
+        for (Map.Entry<Pair<Integer, Integer>, Long> entry : sideTable.entrySet()) {
+            times[frozen.edgeIndex(entry.getKey().first(), entry.getKey().second())] = entry.getValue();
+        }
+        long cutoff = 300;
+
+        System.out.printf("%d vertices, %d edges, following edges with timestamp > %d%n",
+                          vertices, frozen.numEdges(), cutoff);
+        for (int round = 0; round < 3; round++) {
+            random = new Random(round);
+            long side = 0;
+            long column = 0;
+            int agree = 0;
+            for (int i = 0; i < queries; i++) {
+                int from = random.nextInt(vertices);
+                int to = random.nextInt(vertices);
+                long start = System.nanoTime();
+                boolean a = sideTableSearch(g, sideTable, from, to, cutoff);
+                side += System.nanoTime() - start;
+                start = System.nanoTime();
+                boolean b = frozen.hasPath(from, to, edge -> times[edge] > cutoff);
+                column += System.nanoTime() - start;
+                agree += a == b ? 1 : 0;
+            }
+            System.out.printf("side HashMap %8.2f ms/query   attribute column %6.2f ms/query"
+                              + "   (%d/%d agree)%n",
+                              side / 1e6 / queries, column / 1e6 / queries, agree, queries);
+        }
+    }
+
+    /**
+     * A breadth-first search through the Graph interface that looks up
+     * each edge's timestamp in a map, as callers did before attribute
+     * columns.
+     */
+    private static boolean sideTableSearch(Graph<Integer> g, Map<Pair<Integer, Integer>, Long> times,
+                                           Integer from, Integer to, long cutoff)
+    {
+        Set<Integer> seen = new HashSet<Integer>();
+        Queue<Integer> queue = new ArrayDeque<Integer>();
+        seen.add(from);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            Integer current = queue.remove();
+            if (current.equals(to)) {
+                return true;
+            }
+            for (Integer next : g.adjacentTo(current)) {
+                if (!seen.contains(next) && times.get(Pair.of(current, next)) > cutoff) {
+                    seen.add(next);
+                    queue.add(next);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the memory and traversal speed of GraphImplementation,
+ * FrozenGraph (uncompressed CSR) and CompressedGraph, on a graph whose
+ * edges mostly join nearby ids and on a uniformly random one.
+ *
+ * Usage: CompressionBenchmark [vertices] [edges]
+ */
+public class CompressionBenchmark
+{
+    private static Graph<Integer> kept;
+
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5000000;
+
+        for (boolean local : new boolean[] {true, false}) {
+            System.out.printf("%s graph, %d vertices, %d edges%n",
+                              local ? "local" : "random", vertices, edges);
+            Graph<Integer> source = build(vertices, edges, local);
+            FrozenGraph<Integer> frozen = FrozenGraph.copyOf(source);
+            // the Integer vertices are shared, so each copy is charged
+            // only for its own structure
+            measure("GraphImplementation", edges, () -> build(vertices, edges, local), vertices);
+            measure("FrozenGraph", edges, () -> FrozenGraph.copyOf(source), vertices);
+            measure("CompressedGraph", edges, () -> CompressedGraph.copyOf(frozen), vertices);
+            CompressedGraph<Integer> compressed = CompressedGraph.copyOf(frozen);
+            System.out.printf("  CompressedGraph edge data: %.2f bytes/edge%n",
+                              (double) compressed.compressedSize() / compressed.numEdges());
+            kept = null;
+        }
+    }
+
+    private static Graph<Integer> build(int vertices, int edges, boolean local)
+    {
+        Graph<Integer> g = new GraphImplementation<Integer>(vertices, edges);
+        Random random = new Random(42);
+        for (int i = 0; i < vertices; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            int from = random.nextInt(vertices);
+            int to = local && i % 10 != 0
+                ? Math.floorMod(from + (int) (random.nextGaussian() * 50), vertices)
+                : random.nextInt(vertices);
+            g.addEdge(from, to);
+        }
+        g.addVertex(-1);
+        return g;
+    }
+
+    private static void measure(String label, int edges, Supplier<Graph<Integer>> make, int vertices)
+    {
+        kept = null;
+        long before = usedHeap();
+        kept = make.get();
+        long used = usedHeap() - before;
+
+        Random random = new Random(7);
+        kept.pathLength(random.nextInt(vertices), -1);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            // -1 is isolated, so each search scans everything reachable
+            kept.pathLength(random.nextInt(vertices), -1);
+        }
+        long search = (System.nanoTime() - start) / 5;
+
+        start = System.nanoTime();
+        long visited = 0;
+        for (Integer ignored : kept.bfs(random.nextInt(vertices))) {
+            visited++;
+        }
+        long traversal = System.nanoTime() - start;
+
+        System.out.printf("  %-20s %6.1f bytes/edge   full BFS %5d ms (%.0f M edges/s)"
+                          + "   bfs() over %d vertices %5d ms%n",
+                          label, (double) used / kept.numEdges(), search / 1000000,
+                          kept.numEdges() / (search / 1e3) , visited, traversal / 1000000);
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.ConnectivityTracker;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+
+import java.util.Random;
+
+/**
+ * Measures an add-only workload that interleaves edge additions with
+ * connectivity questions, answered by breadth-first search and by a
+ * ConnectivityTracker.  Only the time spent answering is reported.
+ *
+ * Usage: ConnectivityBenchmark [vertices] [edges] [queries]
+ */
+public class ConnectivityBenchmark
+{
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        System.out.printf("%d vertices, %d edges, %d queries spread through the load%n",
+                          vertices, edges, queries);
+        for (int round = 0; round < 2; round++) {
+            Graph<Integer> plain = new GraphImplementation<Integer>(vertices, edges);
+            long bfs = run(plain, vertices, edges, queries, false);
+            ConnectivityTracker<Integer> tracker =
+                new ConnectivityTracker<Integer>(new GraphImplementation<Integer>(vertices, edges));
+            long tracked = run(tracker, vertices, edges, queries, true);
+            System.out.printf("time spent answering: hasPath both ways %8.3f ms/query"
+                              + "   ConnectivityTracker %8.4f ms/query   (%d components at the end)%n",
+                              bfs / 1e6 / queries, tracked / 1e6 / queries,
+                              tracker.componentCount());
+        }
+    }
+
+    private static long run(Graph<Integer> g, int vertices, int edges, int queries,
+                            boolean tracked)
+    {
+        Random random = new Random(42);
+        long querying = 0;
+        int every = Math.max(1, edges / queries);
+        long found = 0;
+        for (int i = 0; i < edges; i++) {
+            g.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+            if (i % every == 0) {
+                int a = random.nextInt(vertices);
+                int b = random.nextInt(vertices);
+                long start = System.nanoTime();
+                // the search asks both ways to answer the same question
+                boolean connected = tracked ? ((ConnectivityTracker<Integer>) g).connected(a, b)
+                                            : g.hasPath(a, b) || g.hasPath(b, a);
+                querying += System.nanoTime() - start;
+                found += connected ? 1 : 0;
+            }
+        }
+        return querying;
+    }
+}
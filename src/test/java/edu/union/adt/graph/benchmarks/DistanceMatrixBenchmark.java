@@ -0,0 +1,89 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Pair;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures distance matrix throughput, in source-target pairs per
+ * second, on an R-MAT graph: one pathLength call per pair, pathLengths
+ * over all pairs, distanceMatrix into an array and into a
+ * memory-mapped file.
+ *
+ * Usage: DistanceMatrixBenchmark [scale] [sources] [targets]
+ */
+public class DistanceMatrixBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 18;
+        int sourceCount = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int targetCount = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+
+        FrozenGraph<Integer> g = GraphGenerator.rmat(scale, 8, 42).freeze();
+        SplittableRandom random = new SplittableRandom(7);
+        List<Integer> sources = new ArrayList<Integer>();
+        for (int i = 0; i < sourceCount; i++) {
+            sources.add(random.nextInt(g.numVertices()));
+        }
+        List<Integer> targets = new ArrayList<Integer>();
+        for (int i = 0; i < targetCount; i++) {
+            targets.add(random.nextInt(g.numVertices()));
+        }
+        long pairs = (long) sourceCount * targetCount;
+        System.out.printf("R-MAT scale %d (%d edges), %d x %d, %d threads%n", scale, g.numEdges(),
+                          sourceCount, targetCount, Runtime.getRuntime().availableProcessors());
+
+        // one search per pair; only a sample, or it takes all day
+        int sampled = Math.min(2000, sourceCount);
+        long start = System.nanoTime();
+        long check = 0;
+        for (int i = 0; i < sampled; i++) {
+            check += g.pathLength(sources.get(i), targets.get(i % targetCount));
+        }
+        report("pathLength per pair", sampled, System.nanoTime() - start);
+
+        List<Pair<Integer, Integer>> queries = new ArrayList<Pair<Integer, Integer>>();
+        for (Integer source : sources) {
+            for (Integer target : targets) {
+                queries.add(Pair.of(source, target));
+            }
+        }
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            check += g.pathLengths(queries)[0];
+            report("pathLengths", pairs, System.nanoTime() - start);
+        }
+        queries = null;
+
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            check += g.distanceMatrix(sources, targets)[0];
+            report("distanceMatrix", pairs, System.nanoTime() - start);
+        }
+
+        Path file = Files.createTempFile("distances", ".bin");
+        try {
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                g.distanceMatrix(sources, targets, file);
+                report("distanceMatrix to file", pairs, System.nanoTime() - start);
+            }
+        } finally {
+            Files.delete(file);
+        }
+        System.out.printf("(checksum %d)%n", check);
+    }
+
+    private static void report(String name, long pairs, long nanos)
+    {
+        System.out.printf("%-24s %8d ms  %12.0f pairs/s%n", name, nanos / 1000000,
+                          pairs * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,105 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.DistanceOracle;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Pair;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the accuracy, memory and speed of DistanceOracles with
+ * growing numbers of landmarks, on an R-MAT graph (small world, a few
+ * hubs) and on a grid (no hubs, long paths).  Accuracy is taken over
+ * random pairs joined by a path: the mean ratio of each bound to the
+ * exact distance and the share of pairs whose upper bound is exact.
+ * Each landmark count is tried with both ways of picking landmarks.
+ *
+ * Usage: DistanceOracleBenchmark [scale] [side] [pairs]
+ */
+public class DistanceOracleBenchmark
+{
+    public static void main(String[] args)
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 17;
+        int side = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int pairs = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        run("R-MAT scale " + scale, GraphGenerator.rmat(scale, 8, 42).freeze(), pairs);
+        run(side + " x " + side + " grid", GraphGenerator.grid(side, side).freeze(), pairs);
+    }
+
+    private static void run(String name, FrozenGraph<Integer> g, int pairs)
+    {
+        System.out.printf("%s: %d vertices, %d edges%n", name, g.numVertices(), g.numEdges());
+        SplittableRandom random = new SplittableRandom(5);
+        List<Pair<Integer, Integer>> candidates = new ArrayList<Pair<Integer, Integer>>();
+        for (int i = 0; i < pairs * 4; i++) {
+            candidates.add(Pair.of(random.nextInt(g.numVertices()),
+                                   random.nextInt(g.numVertices())));
+        }
+        long start = System.nanoTime();
+        int[] exact = g.pathLengths(candidates);
+        double exactMicros = (System.nanoTime() - start) / 1e3 / candidates.size();
+        List<Pair<Integer, Integer>> sample = new ArrayList<Pair<Integer, Integer>>();
+        List<Integer> distances = new ArrayList<Integer>();
+        for (int i = 0; i < exact.length && sample.size() < pairs; i++) {
+            if (exact[i] != Integer.MAX_VALUE && exact[i] > 0) {
+                sample.add(candidates.get(i));
+                distances.add(exact[i]);
+            }
+        }
+        System.out.printf("  exact (batched BFS) %.1f us/query, %d reachable pairs sampled%n",
+                          exactMicros, sample.size());
+
+        for (int landmarks : new int[] {1, 4, 16, 64}) {
+          for (DistanceOracle.Selection selection : DistanceOracle.Selection.values()) {
+            start = System.nanoTime();
+            DistanceOracle<Integer> oracle = DistanceOracle.build(g, landmarks, selection);
+            double buildMillis = (System.nanoTime() - start) / 1e6;
+
+            double upperRatio = 0;
+            double lowerRatio = 0;
+            int upperExact = 0;
+            for (int i = 0; i < sample.size(); i++) {
+                Pair<Integer, Integer> pair = sample.get(i);
+                int upper = oracle.upperBound(pair.first(), pair.second());
+                int lower = oracle.lowerBound(pair.first(), pair.second());
+                int distance = distances.get(i);
+                upperRatio += upper == Integer.MAX_VALUE ? Double.NaN : (double) upper / distance;
+                lowerRatio += (double) lower / distance;
+                if (upper == distance) {
+                    upperExact++;
+                }
+            }
+
+            int n = g.numVertices();
+            int[] froms = new int[1 << 16];
+            int[] tos = new int[froms.length];
+            for (int i = 0; i < froms.length; i++) {
+                froms[i] = random.nextInt(n);
+                tos[i] = random.nextInt(n);
+            }
+            long checksum = 0;
+            int queries = 0;
+            start = System.nanoTime();
+            while (System.nanoTime() - start < 500000000L) {
+                for (int i = 0; i < froms.length; i++) {
+                    checksum += oracle.upperBound(froms[i], tos[i]);
+                    checksum += oracle.lowerBound(froms[i], tos[i]);
+                }
+                queries += froms.length;
+            }
+            double rate = queries / ((System.nanoTime() - start) / 1e9);
+
+            System.out.printf("  %2d %-8s  %7.1f MB  build %7.0f ms  %5.2f M queries/s  "
+                              + "upper/exact %5.2f (%4.1f%% exact)  lower/exact %4.2f%s%n",
+                              landmarks, selection, oracle.memoryBytes() / 1e6, buildMillis, rate / 1e6,
+                              upperRatio / sample.size(), 100.0 * upperExact / sample.size(),
+                              lowerRatio / sample.size(), checksum == 42 ? "!" : "");
+          }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.HybridGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Compares ways to visit every edge of an R-MAT graph: getVertices and
+ * adjacentTo, the edges() stream (sequential and parallel), and
+ * forEachEdge on FrozenGraph and CompressedGraph, then edges() and
+ * forEachEdge on a GraphImplementation and a HybridGraph holding the
+ * same edges.  Reports time and bytes allocated per edge on the
+ * calling thread.
+ *
+ * Usage: EdgeScanBenchmark [scale]
+ */
+public class EdgeScanBenchmark
+{
+    public static void main(String[] args)
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        FrozenGraph<Integer> g = GraphGenerator.rmat(scale, 8, 42).freeze();
+        CompressedGraph<Integer> compressed = CompressedGraph.copyOf(g);
+        GraphImplementation<Integer> mutable = new GraphImplementation<Integer>();
+        HybridGraph<Integer> hybrid = new HybridGraph<Integer>();
+        g.forEachEdge((from, to) -> {
+            mutable.addEdge(g.vertex(from), g.vertex(to));
+            hybrid.addEdge(g.vertex(from), g.vertex(to));
+        });
+        System.out.printf("R-MAT scale %d, %d edges, %d threads%n", scale, g.numEdges(),
+                          Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round < 3; round++) {
+            run("getVertices/adjacentTo", g.numEdges(), () -> {
+                long sum = 0;
+                for (Integer from : g.getVertices()) {
+                    for (Integer to : g.adjacentTo(from)) {
+                        sum += from ^ to;
+                    }
+                }
+                return sum;
+            });
+            run("edges()", g.numEdges(),
+                () -> g.edges().mapToLong(edge -> edge.first() ^ edge.second()).sum());
+            run("edges().parallel()", g.numEdges(),
+                () -> g.edges().parallel().mapToLong(edge -> edge.first() ^ edge.second()).sum());
+            run("forEachEdge", g.numEdges(), () -> {
+                long[] sum = new long[1];
+                g.forEachEdge((from, to) -> sum[0] += from ^ to);
+                return sum[0];
+            });
+            run("parallelForEachEdge", g.numEdges(), () -> {
+                LongAdder sum = new LongAdder();
+                g.parallelForEachEdge((from, to) -> sum.add(from ^ to));
+                return sum.sum();
+            });
+            run("compressed forEachEdge", g.numEdges(), () -> {
+                long[] sum = new long[1];
+                compressed.forEachEdge((from, to) -> sum[0] += from ^ to);
+                return sum[0];
+            });
+            run("mutable edges()", g.numEdges(),
+                () -> mutable.edges().mapToLong(edge -> edge.first() ^ edge.second()).sum());
+            run("mutable forEachEdge", g.numEdges(), () -> {
+                long[] sum = new long[1];
+                mutable.forEachEdge((from, to) -> sum[0] += mutable.vertex(from) ^ mutable.vertex(to));
+                return sum[0];
+            });
+            run("hybrid edges()", g.numEdges(),
+                () -> hybrid.edges().mapToLong(edge -> edge.first() ^ edge.second()).sum());
+            run("hybrid forEachEdge", g.numEdges(), () -> {
+                long[] sum = new long[1];
+                hybrid.forEachEdge((from, to) -> sum[0] += hybrid.vertex(from) ^ hybrid.vertex(to));
+                return sum[0];
+            });
+            System.out.println();
+        }
+    }
+
+    private static void run(String name, long edges, LongSupplier scan)
+    {
+        com.sun.management.ThreadMXBean threads
+            = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long checksum = scan.getAsLong();
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - before;
+        System.out.printf("%-24s %6d ms  %5.2f ns/edge  %6.2f B/edge  (checksum %d)%n", name,
+                          nanos / 1000000, (double) nanos / edges, (double) bytes / edges,
+                          checksum);
+    }
+}
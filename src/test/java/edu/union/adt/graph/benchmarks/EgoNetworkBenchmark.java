@@ -0,0 +1,89 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Extracts the k-hop ego networks of many vertices, first by copying
+ * each neighborhood into a new GraphImplementation through adjacentTo
+ * and addEdge, then with FrozenGraph.kHopNeighborhood, one at a time
+ * and from a parallel stream.
+ *
+ * Usage: EgoNetworkBenchmark [vertices] [edges] [networks] [hops]
+ */
+public class EgoNetworkBenchmark
+{
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5000000;
+        int networks = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+        int hops = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        Random random = new Random(42);
+        Graph<Integer> g = new GraphImplementation<Integer>(vertices, edges);
+        for (int i = 0; i < edges; i++) {
+            g.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        FrozenGraph<Integer> frozen = FrozenGraph.copyOf(g);
+        int[] centers = random.ints(networks, 0, vertices).toArray();
+
+        System.out.printf("%d vertices, %d edges, %d ego networks of %d hops%n",
+                          vertices, frozen.numEdges(), networks, hops);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long copied = 0;
+            for (int center : centers) {
+                copied += copy(g, center, hops).numEdges();
+            }
+            long copyTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long extracted = 0;
+            for (int center : centers) {
+                extracted += frozen.kHopNeighborhood(center, hops).numEdges();
+            }
+            long extractTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long parallel = IntStream.of(centers).parallel()
+                .mapToLong(center -> frozen.kHopNeighborhood(center, hops).numEdges())
+                .sum();
+            long parallelTime = System.nanoTime() - start;
+
+            System.out.printf("adjacentTo/addEdge %7d ms   kHopNeighborhood %6d ms"
+                              + "   parallel %6d ms   (%d/%d/%d edges)%n",
+                              copyTime / 1000000, extractTime / 1000000, parallelTime / 1000000,
+                              copied, extracted, parallel);
+        }
+    }
+
+    /**
+     * Builds an ego network the way callers did before
+     * kHopNeighborhood: collect the members with a breadth-first
+     * traversal, then add every edge between them to a new graph.
+     */
+    private static Graph<Integer> copy(Graph<Integer> g, Integer center, int hops)
+    {
+        Set<Integer> members = new HashSet<Integer>();
+        for (Integer vertex : g.bfs(center).maxDepth(hops)) {
+            members.add(vertex);
+        }
+        Graph<Integer> copy = new GraphImplementation<Integer>();
+        for (Integer vertex : members) {
+            copy.addVertex(vertex);
+            for (Integer next : g.adjacentTo(vertex)) {
+                if (members.contains(next)) {
+                    copy.addEdge(vertex, next);
+                }
+            }
+        }
+        return copy;
+    }
+}
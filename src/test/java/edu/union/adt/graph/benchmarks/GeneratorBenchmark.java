@@ -0,0 +1,75 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates each kind of synthetic graph at about a million vertices,
+ * bulk-loaded into a FrozenGraph and streamed into a
+ * GraphImplementation, then times random pathLength queries on the
+ * frozen graph.
+ *
+ * Usage: GeneratorBenchmark [scale] [queries] [seed]
+ */
+public class GeneratorBenchmark
+{
+    public static void main(String[] args)
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        int vertices = 1 << scale;
+        int side = (int) Math.sqrt(vertices);
+        Map<String, GraphGenerator> generators = new LinkedHashMap<String, GraphGenerator>();
+        generators.put("erdos-renyi", GraphGenerator.erdosRenyi(vertices, 8, seed));
+        generators.put("barabasi-albert", GraphGenerator.barabasiAlbert(vertices, 8, seed));
+        generators.put("r-mat", GraphGenerator.rmat(scale, 8, seed));
+        generators.put("grid", GraphGenerator.grid(side, side));
+        generators.put("chain", GraphGenerator.chain(vertices));
+
+        System.out.printf("%-16s %9s %10s %10s %14s %12s %12s%n", "generator", "vertices", "edges",
+                          "freeze ms", "streamed ms", "query ms", "avg length");
+        for (Map.Entry<String, GraphGenerator> entry : generators.entrySet()) {
+            GraphGenerator generator = entry.getValue();
+            long start = System.nanoTime();
+            FrozenGraph<Integer> frozen = generator.freeze();
+            long freezeTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Graph<Integer> streamed = generator.into(
+                new GraphImplementation<Integer>(generator.numVertices(), frozen.numEdges()));
+            long streamTime = System.nanoTime() - start;
+            if (streamed.numEdges() != frozen.numEdges()) {
+                throw new AssertionError("Loads disagree for " + entry.getKey());
+            }
+            streamed = null;
+
+            Random random = new Random(seed);
+            long pathTime = 0;
+            long lengths = 0;
+            int reachable = 0;
+            for (int i = 0; i < queries; i++) {
+                int from = random.nextInt(frozen.numVertices());
+                int to = random.nextInt(frozen.numVertices());
+                start = System.nanoTime();
+                int length = frozen.pathLength(from, to);
+                pathTime += System.nanoTime() - start;
+                if (length != Integer.MAX_VALUE) {
+                    lengths += length;
+                    reachable++;
+                }
+            }
+            System.out.printf("%-16s %9d %10d %10d %14d %12.1f %12s%n", entry.getKey(),
+                              frozen.numVertices(), frozen.numEdges(), freezeTime / 1000000,
+                              streamTime / 1000000, pathTime / 1e6 / queries,
+                              reachable == 0 ? "-" : String.format("%.1f", (double) lengths / reachable));
+        }
+    }
+}
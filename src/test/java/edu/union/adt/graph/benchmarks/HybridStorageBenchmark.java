@@ -0,0 +1,94 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.HybridGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares HybridGraph with GraphImplementation (in insertion order
+ * and sorted) on an R-MAT graph, whose degrees follow a power law:
+ * heap used, load time, hasEdge on random pairs and on the busiest
+ * vertex, and path queries.
+ *
+ * Usage: HybridStorageBenchmark [scale] [edge factor]
+ */
+public class HybridStorageBenchmark
+{
+    public static void main(String[] args)
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int edgeFactor = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        GraphGenerator generator = GraphGenerator.rmat(scale, edgeFactor, 42);
+        System.out.printf("R-MAT scale %d, edge factor %d%n", scale, edgeFactor);
+        int n = generator.numVertices();
+        run("GraphImplementation", () -> new GraphImplementation<Integer>(n, n * edgeFactor),
+            generator);
+        run("sorted GraphImpl", () -> new GraphImplementation<Integer>(n, n * edgeFactor, true),
+            generator);
+        run("HybridGraph", () -> new HybridGraph<Integer>(n), generator);
+    }
+
+    private static void run(String name, Supplier<Graph<Integer>> create, GraphGenerator generator)
+    {
+        Integer[] boxed = new Integer[generator.numVertices()];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        long before = usedHeap();
+        long start = System.nanoTime();
+        Graph<Integer> g = generator.into(create.get(), i -> boxed[i]);
+        long loadTime = System.nanoTime() - start;
+        long used = usedHeap() - before;
+
+        Integer hub = 0;
+        for (Integer v : g.getVertices()) {
+            if (g.degree(v) > g.degree(hub)) {
+                hub = v;
+            }
+        }
+        SplittableRandom random = new SplittableRandom(9);
+        int probes = 2000000;
+        int hits = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < probes; i++) {
+            if (g.hasEdge(boxed[random.nextInt(boxed.length)], boxed[random.nextInt(boxed.length)])) {
+                hits++;
+            }
+        }
+        double randomNanos = (System.nanoTime() - start) / (double) probes;
+        start = System.nanoTime();
+        for (int i = 0; i < probes; i++) {
+            if (g.hasEdge(hub, boxed[random.nextInt(boxed.length)])) {
+                hits++;
+            }
+        }
+        double hubNanos = (System.nanoTime() - start) / (double) probes;
+        start = System.nanoTime();
+        long lengths = 0;
+        for (int i = 0; i < 20; i++) {
+            lengths += g.pathLength(boxed[random.nextInt(boxed.length)],
+                                    boxed[random.nextInt(boxed.length)]);
+        }
+        double pathMillis = (System.nanoTime() - start) / 1e6 / 20;
+
+        System.out.printf("%-20s heap %5d MB (%5.1f B/edge)  load %5d ms  hasEdge %5.0f ns  "
+                          + "hub(%d) hasEdge %6.0f ns  pathLength %5.1f ms%s%n",
+                          name, used >> 20, (double) used / g.numEdges(), loadTime / 1000000,
+                          randomNanos, g.degree(hub), hubNanos, pathMillis,
+                          hits + lengths == 42 ? "!" : "");
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
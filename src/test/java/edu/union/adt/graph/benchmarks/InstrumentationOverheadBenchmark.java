@@ -0,0 +1,143 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.InstrumentedGraph;
+import edu.union.adt.graph.VersionedGraph;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares a mixed read/write workload and path queries on a bare
+ * graph and on the same graph wrapped in an InstrumentedGraph, at
+ * several sampling intervals, for a VersionedGraph and a
+ * GraphImplementation.
+ *
+ * Usage: InstrumentationOverheadBenchmark [operations] [vertices]
+ */
+public class InstrumentationOverheadBenchmark
+{
+    public static void main(String[] args)
+    {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int vertices = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        System.out.printf("%d operations over %d vertices (90%% hasEdge/contains/adjacentTo,"
+                          + " 10%% addEdge/removeEdge)%n", operations, vertices);
+        compare("VersionedGraph", VersionedGraph::new, operations, vertices);
+        compare("GraphImplementation", GraphImplementation::new, operations, vertices);
+    }
+
+    private static void compare(String name, Supplier<Graph<Integer>> create, int operations,
+                                int vertices)
+    {
+        Graph<Integer> bare = build(create.get(), vertices);
+        InstrumentedGraph<Integer> instrumented
+            = new InstrumentedGraph<Integer>(build(create.get(), vertices));
+
+        System.out.printf("%n%s%n", name);
+        for (int round = 0; round < 3; round++) {
+            run(bare, operations, vertices);
+            run(instrumented, operations, vertices);
+        }
+        long base = best(bare, operations, vertices);
+        System.out.printf("%-28s %8.1f ns/op%n", "bare", (double) base / operations);
+        for (int interval : new int[] { 1, 8, 64, 256 }) {
+            instrumented.setSamplingInterval(interval);
+            long nanos = best(instrumented, operations, vertices);
+            System.out.printf("%-28s %8.1f ns/op  overhead %+.1f%%%n",
+                              "instrumented, sample 1/" + interval,
+                              (double) nanos / operations, 100.0 * (nanos - base) / base);
+        }
+        System.out.println("hasEdge p99: "
+                           + instrumented.getP99LatencyMicros().get("hasEdge") + " us");
+
+        instrumented.setSamplingInterval(InstrumentedGraph.DEFAULT_SAMPLING_INTERVAL);
+        int queries = Math.max(1, operations / 1000);
+        for (int round = 0; round < 3; round++) {
+            paths(bare, queries, vertices);
+            paths(instrumented, queries, vertices);
+        }
+        long bareQueries = Long.MAX_VALUE;
+        long instrumentedQueries = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            bareQueries = Math.min(bareQueries, paths(bare, queries, vertices));
+            instrumentedQueries = Math.min(instrumentedQueries,
+                                           paths(instrumented, queries, vertices));
+        }
+        System.out.printf("%d pathLength queries: bare %.1f us/op, instrumented %.1f us/op,"
+                          + " overhead %+.1f%%%n", queries, bareQueries / 1e3 / queries,
+                          instrumentedQueries / 1e3 / queries,
+                          100.0 * (instrumentedQueries - bareQueries) / bareQueries);
+    }
+
+    private static long paths(Graph<Integer> g, int queries, int vertices)
+    {
+        Random random = new Random(11);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            sink += g.pathLength(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+
+    private static Graph<Integer> build(Graph<Integer> g, int vertices)
+    {
+        Random random = new Random(1);
+        for (int i = 0; i < vertices * 5; i++) {
+            g.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        return g;
+    }
+
+    private static long best(Graph<Integer> g, int operations, int vertices)
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            best = Math.min(best, run(g, operations, vertices));
+        }
+        return best;
+    }
+
+    private static long run(Graph<Integer> g, int operations, int vertices)
+    {
+        Random random = new Random(7);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            Integer a = random.nextInt(vertices);
+            Integer b = random.nextInt(vertices);
+            switch (i % 10) {
+            case 0:
+                g.addEdge(a, b);
+                break;
+            case 1:
+                g.removeEdge(a, b);
+                break;
+            case 2:
+            case 3:
+                for (Integer next : g.adjacentTo(a)) {
+                    sink += next;
+                }
+                break;
+            case 4:
+                sink += g.contains(a) ? 1 : 0;
+                break;
+            default:
+                sink += g.hasEdge(a, b) ? 1 : 0;
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+}
@@ -0,0 +1,180 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.ForwardingGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.Mutation;
+import edu.union.adt.graph.ObservableGraph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Measures the cost of publishing mutations to a listener that keeps
+ * an out-degree index up to date.  The same random stream of edge
+ * additions and removals is applied to a plain graph, to a graph that
+ * hands each mutation to the listener through a LinkedBlockingQueue,
+ * and to an ObservableGraph.
+ *
+ * Usage: MutationStreamBenchmark [vertices] [mutations] [capacity]
+ */
+public class MutationStreamBenchmark
+{
+    public static void main(String[] args) throws InterruptedException
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int mutations = args.length > 1 ? Integer.parseInt(args[1]) : 5000000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : ObservableGraph.DEFAULT_CAPACITY;
+
+        System.out.printf("%d mutations over %d vertices, ring capacity %d%n",
+                          mutations, vertices, capacity);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            Graph<Integer> plain = new GraphImplementation<Integer>(vertices, mutations);
+            run(plain, vertices, mutations);
+            long plainTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            DegreeIndex queued = new DegreeIndex();
+            Graph<Integer> queuedGraph = new GraphImplementation<Integer>(vertices, mutations);
+            BlockingQueue<Mutation<Integer>> queue = new LinkedBlockingQueue<Mutation<Integer>>(capacity);
+            Thread consumer = new Thread(() -> {
+                try {
+                    for (Mutation<Integer> m = queue.take(); m.from() != null; m = queue.take()) {
+                        queued.apply(m);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumer.start();
+            run(new QueueingGraph(queuedGraph, queue), vertices, mutations);
+            queue.put(Mutation.<Integer>addVertex(null));
+            consumer.join();
+            long queueTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            DegreeIndex ringed = new DegreeIndex();
+            ObservableGraph<Integer> observable =
+                new ObservableGraph<Integer>(new GraphImplementation<Integer>(vertices, mutations),
+                                             capacity);
+            long[] batches = new long[1];
+            ObservableGraph<Integer>.Subscription subscription = observable.subscribe(batch -> {
+                batches[0]++;
+                ringed.apply(batch);
+            });
+            run(observable, vertices, mutations);
+            subscription.close();
+            long ringTime = System.nanoTime() - start;
+
+            System.out.printf("plain %6d ms   LinkedBlockingQueue %6d ms   ring buffer %6d ms"
+                              + " (%.1f mutations/batch, index %s)%n",
+                              plainTime / 1000000, queueTime / 1000000, ringTime / 1000000,
+                              (double) subscription.deliveredCount() / batches[0],
+                              ringed.degrees.equals(queued.degrees) ? "agrees" : "DISAGREES");
+        }
+    }
+
+    private static void run(Graph<Integer> g, int vertices, int mutations)
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < mutations; i++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            if (random.nextInt(4) == 0) {
+                g.removeEdge(from, to);
+            } else {
+                g.addEdge(from, to);
+            }
+        }
+    }
+
+    /**
+     * An incrementally maintained map from vertex to out-degree.
+     */
+    private static class DegreeIndex
+    {
+        final Map<Integer, Integer> degrees = new HashMap<Integer, Integer>();
+
+        void apply(List<Mutation<Integer>> batch)
+        {
+            for (Mutation<Integer> mutation : batch) {
+                apply(mutation);
+            }
+        }
+
+        void apply(Mutation<Integer> mutation)
+        {
+            switch (mutation.kind()) {
+            case ADD_VERTEX:
+                degrees.put(mutation.from(), 0);
+                break;
+            case ADD_EDGE:
+                degrees.merge(mutation.from(), 1, Integer::sum);
+                break;
+            case REMOVE_EDGE:
+                degrees.merge(mutation.from(), -1, Integer::sum);
+                break;
+            default:
+                degrees.remove(mutation.from());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Publishes the same mutations as ObservableGraph, one queue
+     * element per mutation.
+     */
+    private static class QueueingGraph extends ForwardingGraph<Integer>
+    {
+        private final BlockingQueue<Mutation<Integer>> queue;
+
+        QueueingGraph(Graph<Integer> delegate, BlockingQueue<Mutation<Integer>> queue)
+        {
+            super(delegate);
+            this.queue = queue;
+        }
+
+        private void put(Mutation<Integer> mutation)
+        {
+            try {
+                queue.put(mutation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void addEdge(Integer from, Integer to)
+        {
+            boolean newFrom = !delegate.contains(from);
+            boolean newTo = !delegate.contains(to) && !to.equals(from);
+            int edges = delegate.numEdges();
+            delegate.addEdge(from, to);
+            if (newFrom) {
+                put(Mutation.addVertex(from));
+            }
+            if (newTo) {
+                put(Mutation.addVertex(to));
+            }
+            if (delegate.numEdges() != edges) {
+                put(Mutation.addEdge(from, to));
+            }
+        }
+
+        @Override
+        public void removeEdge(Integer from, Integer to)
+        {
+            int edges = delegate.numEdges();
+            delegate.removeEdge(from, to);
+            if (delegate.numEdges() != edges) {
+                put(Mutation.removeEdge(from, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.Pair;
+import edu.union.adt.graph.VersionedGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares answering many pathLength queries one at a time with the
+ * batched, bit-parallel pathLengths.
+ *
+ * Usage: PathLengthsBenchmark [vertices] [edges] [queries] [sources]
+ */
+public class PathLengthsBenchmark
+{
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 500000;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        int sources = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+        Random random = new Random(42);
+        Graph<Integer> g = new VersionedGraph<Integer>();
+        for (int i = 0; i < vertices; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            g.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        FrozenGraph<Integer> frozen = FrozenGraph.copyOf(g);
+        List<Pair<Integer, Integer>> queries = new ArrayList<Pair<Integer, Integer>>();
+        for (int i = 0; i < count; i++) {
+            queries.add(Pair.of(random.nextInt(sources), random.nextInt(vertices)));
+        }
+
+        System.out.printf("%d queries from %d sources, %d vertices, %d edges%n",
+                          count, sources, vertices, frozen.numEdges());
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long total = 0;
+            for (Pair<Integer, Integer> query : queries) {
+                total += frozen.pathLength(query.first(), query.second());
+            }
+            long single = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int length : frozen.pathLengths(queries)) {
+                total -= length;
+            }
+            long batched = System.nanoTime() - start;
+            System.out.printf("one at a time %6d ms   batched %6d ms   (%.1fx)%s%n",
+                              single / 1000000, batched / 1000000,
+                              (double) single / batched, total == 0 ? "" : "  MISMATCH");
+        }
+    }
+}
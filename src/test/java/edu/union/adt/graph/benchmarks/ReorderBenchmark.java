@@ -0,0 +1,93 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.FrozenGraph.Ordering;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Measures path queries on FrozenGraphs before and after reorder, on
+ * a grid and an R-MAT graph whose ids have been shuffled, as they are
+ * when vertices arrive in no useful order.  The same (from, to) pairs
+ * of vertices are asked of every ordering.
+ *
+ * Usage: ReorderBenchmark [grid side] [R-MAT scale] [queries]
+ */
+public class ReorderBenchmark
+{
+    public static void main(String[] args)
+    {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1500;
+        int scale = args.length > 1 ? Integer.parseInt(args[1]) : 21;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        run(side + " x " + side + " grid", shuffled(GraphGenerator.grid(side, side)), queries);
+        run("R-MAT scale " + scale, shuffled(GraphGenerator.rmat(scale, 8, 42)), queries);
+    }
+
+    /**
+     * @return the generated graph with its vertices renumbered at
+     * random.
+     */
+    private static FrozenGraph<Integer> shuffled(GraphGenerator generator)
+    {
+        int n = generator.numVertices();
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        Random random = new Random(1);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        int[] offsets = new int[n + 1];
+        generator.generate((from, to) -> offsets[ids[from] + 1]++);
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] fill = offsets.clone();
+        generator.generate((from, to) -> targets[fill[ids[from]]++] = ids[to]);
+        return FrozenGraph.ofRows(offsets, targets);
+    }
+
+    private static void run(String name, FrozenGraph<Integer> g, int queries)
+    {
+        System.out.printf("%s: %d vertices, %d edges%n", name, g.numVertices(), g.numEdges());
+        SplittableRandom random = new SplittableRandom(3);
+        Integer[] from = new Integer[queries];
+        Integer[] to = new Integer[queries];
+        for (int i = 0; i < queries; i++) {
+            from[i] = random.nextInt(g.numVertices());
+            to[i] = random.nextInt(g.numVertices());
+        }
+        time("shuffled", g, from, to, 0);
+        for (Ordering ordering : Ordering.values()) {
+            long start = System.nanoTime();
+            FrozenGraph<Integer> reordered = g.reorder(ordering);
+            time(ordering.toString(), reordered, from, to, System.nanoTime() - start);
+        }
+    }
+
+    private static void time(String name, FrozenGraph<Integer> g, Integer[] from, Integer[] to,
+                             long reorderNanos)
+    {
+        long checksum = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < from.length; i++) {
+                checksum += g.pathLength(from[i], to[i]);
+            }
+            if (round == 1) {
+                System.out.printf("  %-9s reorder %6.0f ms   pathLength %7.2f ms/query  (%d)%n",
+                                  name, reorderNanos / 1e6,
+                                  (System.nanoTime() - start) / 1e6 / from.length, checksum);
+            }
+        }
+    }
+}
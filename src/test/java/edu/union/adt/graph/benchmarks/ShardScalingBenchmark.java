@@ -0,0 +1,60 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.shard.LoopbackTransport;
+import edu.union.adt.graph.shard.Partitioner;
+import edu.union.adt.graph.shard.ShardedGraph;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Loads the same random graph into 1, 2, 4 and 8 loopback shards and
+ * measures distributed pathLength throughput.  Scaling is bounded by
+ * the number of cores on the machine.
+ *
+ * Usage: ShardScalingBenchmark [vertices] [edges] [queries]
+ */
+public class ShardScalingBenchmark
+{
+    public static void main(String[] args) throws IOException
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        System.out.printf("%d vertices, %d edges, %d pathLength queries, %d cores%n",
+                          vertices, edges, queries,
+                          Runtime.getRuntime().availableProcessors());
+        for (int shards : new int[] { 1, 2, 4, 8 }) {
+            ShardedGraph<Integer> g = new ShardedGraph<Integer>(
+                new LoopbackTransport<Integer>(shards, Partitioner.<Integer>hash()));
+            Random random = new Random(5);
+            long start = System.nanoTime();
+            for (int i = 0; i < edges; i++) {
+                g.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+            }
+            long load = System.nanoTime() - start;
+
+            run(g, queries / 5, vertices, 1);
+            start = System.nanoTime();
+            long reached = run(g, queries, vertices, 2);
+            long search = System.nanoTime() - start;
+            System.out.printf("%d shard(s): load %5d ms, %7.2f ms/query (%d reachable)%n",
+                              shards, load / 1000000, search / 1e6 / queries, reached);
+            g.close();
+        }
+    }
+
+    private static long run(ShardedGraph<Integer> g, int queries, int vertices, long seed)
+    {
+        Random random = new Random(seed);
+        long reached = 0;
+        for (int i = 0; i < queries; i++) {
+            if (g.pathLength(random.nextInt(vertices), random.nextInt(vertices))
+                != Integer.MAX_VALUE) {
+                reached++;
+            }
+        }
+        return reached;
+    }
+}
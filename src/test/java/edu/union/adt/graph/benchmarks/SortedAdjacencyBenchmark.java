@@ -0,0 +1,78 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.Random;
+
+/**
+ * Compares insertion-order and sorted adjacency lists on a graph whose
+ * out-degrees are heavily skewed: a few hub vertices hold a large
+ * share of the edges.
+ *
+ * Usage: SortedAdjacencyBenchmark [vertices] [edges] [skew]
+ */
+public class SortedAdjacencyBenchmark
+{
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        double skew = args.length > 2 ? Double.parseDouble(args[2]) : 4.0;
+
+        System.out.printf("%d vertices, %d edges, source skew %.1f%n", vertices, edges, skew);
+        for (int round = 0; round < 2; round++) {
+            for (GraphFactory.Adjacency adjacency : GraphFactory.Adjacency.values()) {
+                run(adjacency, vertices, edges, skew);
+            }
+        }
+    }
+
+    private static void run(GraphFactory.Adjacency adjacency, int vertices, int edges, double skew)
+    {
+        Graph<Integer> g = new GraphFactory<Integer>().expectedVertices(vertices)
+            .expectedEdges(edges).adjacency(adjacency).createGraph();
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < edges; i++) {
+            g.addEdge(skewed(random, vertices, skew), random.nextInt(vertices));
+        }
+        long load = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < 1000000; i++) {
+            if (g.hasEdge(skewed(random, vertices, skew), random.nextInt(vertices))) {
+                hits++;
+            }
+        }
+        long probes = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long common = 0;
+        for (int i = 0; i < 10000; i++) {
+            common += g.commonNeighborCount(skewed(random, vertices, skew),
+                                            skewed(random, vertices, skew));
+        }
+        long intersections = System.nanoTime() - start;
+
+        System.out.printf("%-16s load %6d ms   1M hasEdge %6d ms   10K commonNeighborCount %6d ms"
+                          + "   (%d hits, %d common)%n",
+                          adjacency, load / 1000000, probes / 1000000, intersections / 1000000,
+                          hits, common);
+        if (adjacency == GraphFactory.Adjacency.SORTED) {
+            start = System.nanoTime();
+            long triangles = g.triangleCount();
+            System.out.printf("%-16s triangleCount %d in %d ms%n", "", triangles,
+                              (System.nanoTime() - start) / 1000000);
+        }
+    }
+
+    /**
+     * @return a vertex id, with small ids far more likely than large ones
+     */
+    private static int skewed(Random random, int vertices, double skew)
+    {
+        return (int) (vertices * Math.pow(random.nextDouble(), skew));
+    }
+}
@@ -0,0 +1,91 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.GraphTransaction;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Measures edge update throughput on an R-MAT graph, whose hubs have
+ * long adjacency lists: the same stream of additions and removals is
+ * applied one call at a time and in GraphTransaction batches, to a
+ * GraphImplementation and to a VersionedGraph.
+ *
+ * Usage: TransactionBenchmark [scale] [updates] [batch]
+ */
+public class TransactionBenchmark
+{
+    public static void main(String[] args)
+    {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 18;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 500000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+
+        GraphGenerator generator = GraphGenerator.rmat(scale, 8, 42);
+        System.out.printf("%d updates to an R-MAT graph of %d vertices, batches of %d%n",
+                          updates, generator.numVertices(), batchSize);
+        run("GraphImplementation", () -> generator.into(new GraphImplementation<Integer>()),
+            generator, updates, batchSize);
+        run("VersionedGraph", () -> generator.into(new VersionedGraph<Integer>()),
+            generator, updates, batchSize);
+    }
+
+    private static void run(String name, Supplier<Graph<Integer>> load, GraphGenerator generator,
+                            int updates, int batchSize)
+    {
+        for (int round = 0; round < 3; round++) {
+            Graph<Integer> single = load.get();
+            long start = System.nanoTime();
+            updates(single, generator, updates, 0);
+            long singleTime = System.nanoTime() - start;
+
+            Graph<Integer> batched = load.get();
+            start = System.nanoTime();
+            updates(batched, generator, updates, batchSize);
+            long batchTime = System.nanoTime() - start;
+
+            System.out.printf("%-20s one at a time %9.0f updates/s   batched %9.0f updates/s   (%s)%n",
+                              name, updates / (singleTime / 1e9), updates / (batchTime / 1e9),
+                              single.equals(batched) ? "same graph" : "GRAPHS DIFFER");
+        }
+    }
+
+    /**
+     * Applies a stream of updates in which a third of the additions
+     * come from the busiest vertices, directly or through transactions
+     * of 'batchSize' updates if it is positive.
+     */
+    private static void updates(Graph<Integer> g, GraphGenerator generator, int updates,
+                                int batchSize)
+    {
+        SplittableRandom random = new SplittableRandom(7);
+        int vertices = generator.numVertices();
+        GraphTransaction<Integer> tx = new GraphTransaction<Integer>(g);
+        for (int i = 0; i < updates; i++) {
+            int from = random.nextInt(3) == 0 ? random.nextInt(16) : random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            boolean add = random.nextInt(4) != 0;
+            if (batchSize <= 0) {
+                if (add) {
+                    g.addEdge(from, to);
+                } else {
+                    g.removeEdge(from, to);
+                }
+            } else {
+                if (add) {
+                    tx.addEdge(from, to);
+                } else {
+                    tx.removeEdge(from, to);
+                }
+                if (tx.size() == batchSize) {
+                    tx.commit();
+                }
+            }
+        }
+        tx.commit();
+    }
+}
@@ -0,0 +1,91 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.UndirectedGraph;
+
+import java.util.Random;
+
+/**
+ * Compares an UndirectedGraph with a GraphImplementation holding two
+ * directed edges per undirected edge: memory, build time, hasPath and
+ * removeEdge.
+ *
+ * Usage: UndirectedBenchmark [vertices] [edges]
+ */
+public class UndirectedBenchmark
+{
+    public static void main(String[] args)
+    {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5000000;
+
+        Integer[] ids = new Integer[vertices];
+        for (int i = 0; i < vertices; i++) {
+            ids[i] = i;
+        }
+        System.out.printf("%d vertices, %d undirected edges%n", vertices, edges);
+        for (int round = 0; round < 2; round++) {
+            run("two directed edges", new GraphImplementation<Integer>(vertices, 2 * edges),
+                true, ids, edges);
+            run("UndirectedGraph", new UndirectedGraph<Integer>(vertices, edges),
+                false, ids, edges);
+        }
+    }
+
+    private static void run(String label, Graph<Integer> g, boolean twice, Integer[] ids, int edges)
+    {
+        int vertices = ids.length;
+        long before = usedHeap();
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (Integer id : ids) {
+            g.addVertex(id);
+        }
+        for (int i = 0; i < edges; i++) {
+            Integer a = ids[random.nextInt(vertices)];
+            Integer b = ids[random.nextInt(vertices)];
+            g.addEdge(a, b);
+            if (twice) {
+                g.addEdge(b, a);
+            }
+        }
+        long build = System.nanoTime() - start;
+        long used = usedHeap() - before;
+
+        start = System.nanoTime();
+        int connected = 0;
+        for (int i = 0; i < 100; i++) {
+            if (g.hasPath(ids[random.nextInt(vertices)], ids[random.nextInt(vertices)])) {
+                connected++;
+            }
+        }
+        long paths = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            Integer a = ids[random.nextInt(vertices)];
+            Integer b = ids[random.nextInt(vertices)];
+            g.removeEdge(a, b);
+            if (twice) {
+                g.removeEdge(b, a);
+            }
+        }
+        long removals = System.nanoTime() - start;
+
+        System.out.printf("%-20s build %6d ms   %5.1f bytes/edge   100 hasPath %6d ms (%d connected)"
+                          + "   100K removeEdge %4d ms%n",
+                          label, build / 1000000, (double) used / edges, paths / 1000000,
+                          connected, removals / 1000000);
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,55 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+
+import java.util.Random;
+
+/**
+ * Measures the heap a GraphImplementation with String vertices needs
+ * per edge.  Every edge is added with freshly built Strings, as a
+ * loader parsing an edge list would.
+ *
+ * Usage: VertexMemoryBenchmark [edges] [vertices]
+ */
+public class VertexMemoryBenchmark
+{
+    public static void main(String[] args)
+    {
+        int edges = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        int vertices = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        Graph<String> g = new GraphImplementation<String>(vertices, edges);
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            g.addEdge("vertex-" + random.nextInt(vertices), "vertex-" + random.nextInt(vertices));
+        }
+        long elapsed = System.nanoTime() - start;
+        long used = usedHeap() - before;
+
+        System.out.printf("%,d edges over %,d vertices loaded in %d ms%n",
+                          g.numEdges(), g.numVertices(), elapsed / 1000000);
+        System.out.printf("heap: %,d MB, %.1f bytes/edge%n",
+                          used >> 20, (double) used / g.numEdges());
+        long probe = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 1000000; i++) {
+            if (g.hasEdge("vertex-" + random.nextInt(vertices), "vertex-" + random.nextInt(vertices))) {
+                found++;
+            }
+        }
+        System.out.printf("1M hasEdge probes: %d ms (%d hits)%n",
+                          (System.nanoTime() - probe) / 1000000, found);
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,127 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.DurableGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.VertexCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Measures mutation throughput with and without the write-ahead log,
+ * and how long recovery takes.
+ *
+ * Usage: WriteAheadLogBenchmark [mutations] [vertices]
+ */
+public class WriteAheadLogBenchmark
+{
+    public static void main(String[] args) throws IOException
+    {
+        int mutations = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        int vertices = args.length > 1 ? Integer.parseInt(args[1]) : 50000;
+
+        System.out.printf("%d mutations over %d Integer vertices%n", mutations, vertices);
+        // warm up every path once so the JIT sees them all
+        inMemory(mutations / 10, vertices);
+        durable(mutations / 10, vertices, 10, Integer.MAX_VALUE);
+
+        report("in-memory only", mutations, inMemory(mutations, vertices));
+        report("durable, 10ms group commit", mutations,
+               durable(mutations, vertices, 10, Integer.MAX_VALUE));
+        report("durable, 10ms group commit, checkpoint every 100K", mutations,
+               durable(mutations, vertices, 10, 100000));
+        int strict = Math.min(mutations, 5000);
+        report("durable, fsync per mutation", strict,
+               durable(strict, vertices, 0, Integer.MAX_VALUE));
+
+        Path directory = Files.createTempDirectory("wal-bench");
+        try {
+            DurableGraph<Integer> g = DurableGraph.open(directory, VertexCodec.integers(),
+                                                        new VersionedGraph<Integer>(), 10);
+            apply(g, mutations, vertices);
+            g.close();
+            long size = Files.size(directory.resolve("graph-0.log"));
+            long start = System.nanoTime();
+            DurableGraph<Integer> recovered = DurableGraph.open(directory, VertexCodec.integers(),
+                                                                new VersionedGraph<Integer>(), 10);
+            long logReplay = System.nanoTime() - start;
+            recovered.checkpoint();
+            recovered.close();
+            start = System.nanoTime();
+            recovered = DurableGraph.open(directory, VertexCodec.integers(),
+                                          new VersionedGraph<Integer>(), 10);
+            long snapshotLoad = System.nanoTime() - start;
+            recovered.close();
+            System.out.printf("log size: %.1f bytes/mutation%n", (double) size / mutations);
+            System.out.printf("recovery from log only: %d ms%n", logReplay / 1000000);
+            System.out.printf("recovery from snapshot: %d ms (%d edges)%n",
+                              snapshotLoad / 1000000, recovered.numEdges());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static long inMemory(int mutations, int vertices)
+    {
+        Graph<Integer> g = new VersionedGraph<Integer>();
+        long start = System.nanoTime();
+        apply(g, mutations, vertices);
+        return System.nanoTime() - start;
+    }
+
+    private static long durable(int mutations, int vertices, long syncMillis,
+                                int checkpointInterval)
+        throws IOException
+    {
+        Path directory = Files.createTempDirectory("wal-bench");
+        try {
+            DurableGraph<Integer> g = DurableGraph.open(directory, VertexCodec.integers(),
+                                                        new VersionedGraph<Integer>(),
+                                                        syncMillis);
+            g.setCheckpointInterval(checkpointInterval);
+            long start = System.nanoTime();
+            apply(g, mutations, vertices);
+            g.sync();
+            long elapsed = System.nanoTime() - start;
+            g.close();
+            return elapsed;
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Mostly edge additions, with one removal in every ten mutations.
+     */
+    private static void apply(Graph<Integer> g, int mutations, int vertices)
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < mutations; i++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            if (i % 10 == 9) {
+                g.removeEdge(from, to);
+            } else {
+                g.addEdge(from, to);
+            }
+        }
+    }
+
+    private static void report(String label, int mutations, long nanos)
+    {
+        System.out.printf("%-50s %,12.0f mutations/s%n", label,
+                          mutations / (nanos / 1e9));
+    }
+
+    private static void delete(Path directory) throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
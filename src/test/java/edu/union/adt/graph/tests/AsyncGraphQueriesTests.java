@@ -0,0 +1,178 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.AsyncGraphQueries;
+import edu.union.adt.graph.ForwardingGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@RunWith(JUnit4.class)
+public class AsyncGraphQueriesTests
+{
+    private final List<AsyncGraphQueries<?>> opened = new ArrayList<AsyncGraphQueries<?>>();
+
+    @After
+    public void tearDown()
+    {
+        for (AsyncGraphQueries<?> queries : opened) {
+            queries.close();
+        }
+    }
+
+    private <V> AsyncGraphQueries<V> open(Graph<V> graph, int threads, int queue)
+    {
+        AsyncGraphQueries<V> queries =
+            new AsyncGraphQueries<V>(graph, threads, queue, 0, TimeUnit.MILLISECONDS);
+        opened.add(queries);
+        return queries;
+    }
+
+    /**
+     * A chain whose adjacentTo takes a millisecond, so a search to its
+     * far end takes minutes unless it is stopped.
+     */
+    private static class SlowChain extends ForwardingGraph<Integer>
+    {
+        SlowChain(int length)
+        {
+            super(GraphGenerator.chain(length).freeze());
+        }
+
+        @Override
+        public Iterable<Integer> adjacentTo(Integer from)
+        {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.adjacentTo(from);
+        }
+    }
+
+    /**
+     * @return the cause of a failed future's failure.
+     */
+    private static Throwable failure(CompletableFuture<?> future) throws InterruptedException
+    {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        }
+        fail("The query should have failed");
+        return null;
+    }
+
+    @Test
+    public void answersMatchTheGraph() throws Exception
+    {
+        Graph<Integer> versioned = GraphGenerator.grid(20, 20).into(new VersionedGraph<Integer>());
+        for (Graph<Integer> g : Arrays.asList(versioned, FrozenGraph.copyOf(versioned))) {
+            AsyncGraphQueries<Integer> queries = open(g, 2, 16);
+
+            assertEquals(Integer.valueOf(38), queries.pathLength(0, 399).get());
+            assertTrue(queries.hasPath(399, 0).get());
+            assertFalse(queries.hasPath(0, 1000).get());
+            assertEquals(Integer.valueOf(Integer.MAX_VALUE), queries.pathLength(0, 1000).get());
+            List<Integer> path = queries.getPath(0, 21).get();
+            assertEquals(3, path.size());
+            assertEquals(Integer.valueOf(0), path.get(0));
+            assertEquals(Integer.valueOf(21), path.get(2));
+            assertTrue(queries.getPath(0, 1000).get().isEmpty());
+            assertEquals(6, queries.completedCount());
+        }
+    }
+
+    @Test
+    public void slowQueriesTimeOutAndStop() throws Exception
+    {
+        SlowChain g = new SlowChain(100000);
+        AsyncGraphQueries<Integer> queries = open(g, 1, 16);
+        CompletableFuture<Integer> slow = queries.pathLength(0, 99999, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(failure(slow) instanceof TimeoutException);
+        assertEquals(1, queries.timedOutCount());
+        assertEquals("The worker is free again for the next query",
+                     Integer.valueOf(1), queries.pathLength(0, 1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void frozenGraphQueriesTimeOut() throws Exception
+    {
+        FrozenGraph<Integer> g = GraphGenerator.chain(1000000).freeze();
+        AsyncGraphQueries<Integer> queries = open(g, 1, 16);
+        CompletableFuture<List<Integer>> slow = queries.getPath(0, 999999, 1, TimeUnit.NANOSECONDS);
+
+        assertTrue(failure(slow) instanceof TimeoutException);
+        assertEquals(Integer.valueOf(1), queries.pathLength(0, 1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelledQueriesStop() throws Exception
+    {
+        AsyncGraphQueries<Integer> queries = open(new SlowChain(100000), 1, 16);
+        CompletableFuture<Integer> slow = queries.pathLength(0, 99999);
+        Thread.sleep(20);
+        slow.cancel(true);
+
+        assertEquals(Integer.valueOf(1), queries.pathLength(0, 1).get(5, TimeUnit.SECONDS));
+        assertEquals(1, queries.cancelledCount());
+    }
+
+    @Test
+    public void fullQueuesShedQueries() throws Exception
+    {
+        AsyncGraphQueries<Integer> queries = open(new SlowChain(100000), 1, 2);
+        List<CompletableFuture<Integer>> futures = new ArrayList<CompletableFuture<Integer>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(queries.pathLength(0, 99999));
+        }
+        CompletableFuture<Integer> last = futures.get(futures.size() - 1);
+
+        assertTrue(failure(last) instanceof RejectedExecutionException);
+        assertEquals("One query runs, two wait and the rest are refused",
+                     7, queries.rejectedCount());
+        queries.close();
+        for (CompletableFuture<Integer> future : futures) {
+            assertTrue("Closing settles every query", isStopping(future));
+        }
+        assertTrue(failure(queries.hasPath(0, 1)) instanceof RejectedExecutionException);
+    }
+
+    /**
+     * @return true iff a running query finishes soon after close().
+     */
+    private static boolean isStopping(CompletableFuture<?> future)
+    {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            return future.isDone();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Attributes;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class AttributeTests
+{
+    private FrozenGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        Graph<String> source = new GraphFactory<String>().createGraph();
+        source.addEdge("A", "B");
+        source.addEdge("B", "D");
+        source.addEdge("A", "C");
+        source.addEdge("C", "E");
+        source.addEdge("E", "D");
+        g = FrozenGraph.copyOf(source);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void columnsAreCreatedOnceAndTyped()
+    {
+        Attributes edges = g.edgeAttributes();
+        long[] times = edges.longColumn("timestamp");
+
+        assertEquals("Edge columns cover every edge", g.numEdges(), times.length);
+        assertSame("Asking again returns the same column", times, edges.longColumn("timestamp"));
+        assertEquals("Vertex columns cover every vertex",
+                     g.numVertices(), g.vertexAttributes().doubleColumn("rank").length);
+        assertEquals("Names are listed in creation order",
+                     Arrays.asList("timestamp"), new ArrayList<String>(edges.names()));
+        try {
+            edges.intColumn("timestamp");
+            fail("A name has one type");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void edgeIndicesAreStable()
+    {
+        assertEquals("Missing edges have no index", -1, g.edgeIndex("B", "A"));
+        assertEquals("Missing vertices have no index", -1, g.edgeIndex("A", "Z"));
+        boolean[] seen = new boolean[g.numEdges()];
+        for (String from : g.getVertices()) {
+            for (String to : g.adjacentTo(from)) {
+                int index = g.edgeIndex(from, to);
+                assertFalse("Each edge has its own index", seen[index]);
+                seen[index] = true;
+            }
+        }
+    }
+
+    @Test
+    public void filtersRestrictPathQueries()
+    {
+        long[] times = g.edgeAttributes().longColumn("timestamp");
+        Arrays.fill(times, 10);
+        times[g.edgeIndex("B", "D")] = 1;
+
+        assertEquals("Unfiltered, A reaches D through B", 2, g.pathLength("A", "D"));
+        assertEquals("Skipping old edges forces the long way",
+                     3, g.pathLength("A", "D", edge -> times[edge] > 5));
+        assertEquals("The filtered path avoids B",
+                     Arrays.asList("A", "C", "E", "D"),
+                     toList(g.getPath("A", "D", edge -> times[edge] > 5)));
+        assertFalse("No edge is new enough", g.hasPath("A", "D", edge -> times[edge] > 10));
+        assertTrue("A vertex always reaches itself", g.hasPath("A", "A", edge -> false));
+    }
+
+    @Test
+    public void booleanAndStringColumns()
+    {
+        BitSet closed = g.edgeAttributes().booleanColumn("closed");
+        closed.set(g.edgeIndex("A", "C"));
+        assertEquals("Closed edges are skipped",
+                     Integer.MAX_VALUE, g.pathLength("A", "E", edge -> !closed.get(edge)));
+
+        Attributes.StringColumn kinds = g.edgeAttributes().stringColumn("kind");
+        for (int edge = 0; edge < g.numEdges(); edge++) {
+            kinds.set(edge, edge % 2 == 0 ? "road" : "rail");
+        }
+        assertEquals("Strings are stored once", 2, kinds.distinctValues());
+        assertEquals("Unknown strings have no code", -1, kinds.codeOf("air"));
+        int road = kinds.codeOf("road");
+        assertEquals("Codes decode to their strings", "rail", kinds.get(1));
+        assertEquals("Filters compare codes",
+                     g.pathLength("A", "D", edge -> edge % 2 == 0),
+                     g.pathLength("A", "D", edge -> kinds.code(edge) == road));
+    }
+
+    private static <T> List<T> toList(Iterable<T> items)
+    {
+        List<T> list = new ArrayList<T>();
+        for (T item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,126 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class CompressedGraphTests
+{
+    private Graph<Integer> source;
+    private CompressedGraph<Integer> compressed;
+
+    @Before
+    public void setUp()
+    {
+        source = new GraphFactory<Integer>().createGraph();
+        Random random = new Random(9);
+        for (int i = 0; i < 500; i++) {
+            source.addVertex(i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            int from = random.nextInt(500);
+            // mostly nearby vertices, some far away in either direction
+            int to = i % 4 == 0 ? random.nextInt(500)
+                                : Math.floorMod(from + random.nextInt(11) - 5, 500);
+            source.addEdge(from, to);
+        }
+        source.addVertex(100000);
+        compressed = CompressedGraph.copyOf(source);
+    }
+
+    @After
+    public void tearDown()
+    {
+        source = null;
+        compressed = null;
+    }
+
+    @Test
+    public void sameVerticesAndEdges()
+    {
+        assertEquals("Compression keeps every vertex and edge", source, compressed);
+        assertEquals("Edge counts agree", source.numEdges(), compressed.numEdges());
+        assertSame("Compressing a compressed graph is free",
+                   compressed, CompressedGraph.copyOf(compressed));
+        FrozenGraph<Integer> frozen = FrozenGraph.copyOf(source);
+        for (Integer vertex : frozen.getVertices()) {
+            assertEquals("Rows decode in sorted order",
+                         toList(frozen.adjacentTo(vertex)), toList(compressed.adjacentTo(vertex)));
+            assertEquals("Degrees agree", source.degree(vertex), compressed.degree(vertex));
+        }
+    }
+
+    @Test
+    public void hasEdgeMatches()
+    {
+        for (int from = 0; from < 500; from += 3) {
+            for (int to = 0; to < 500; to++) {
+                assertEquals("hasEdge agrees", source.hasEdge(from, to),
+                             compressed.hasEdge(from, to));
+            }
+        }
+        assertTrue("Missing vertices have no edges", !compressed.hasEdge(-1, 3));
+    }
+
+    @Test
+    public void pathQueriesMatch()
+    {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(500);
+            int to = random.nextInt(500);
+            int length = compressed.pathLength(from, to);
+            assertEquals("Path lengths agree", source.pathLength(from, to), length);
+            if (length != Integer.MAX_VALUE) {
+                assertEquals("Paths have one more vertex than their length",
+                             length + 1, toList(compressed.getPath(from, to)).size());
+            }
+        }
+        assertEquals("An isolated vertex is unreachable",
+                     Integer.MAX_VALUE, compressed.pathLength(0, 100000));
+    }
+
+    @Test
+    public void nearbyEdgesCompressWell()
+    {
+        assertTrue("Mostly local edges take well under four bytes each",
+                   compressed.compressedSize() < 3L * compressed.numEdges());
+    }
+
+    @Test
+    public void rejectsMutation()
+    {
+        try {
+            compressed.addEdge(1, 2);
+            fail("Compressed graphs are immutable");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    private static <T> List<T> toList(Iterable<T> items)
+    {
+        List<T> list = new ArrayList<T>();
+        for (T item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+}
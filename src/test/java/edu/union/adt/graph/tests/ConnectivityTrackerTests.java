@@ -0,0 +1,144 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.ConnectivityTracker;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.UndirectedGraph;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+@RunWith(JUnit4.class)
+public class ConnectivityTrackerTests
+{
+    private ConnectivityTracker<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new ConnectivityTracker<String>(new GraphFactory<String>().createGraph());
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        g.unregister();
+        g = null;
+    }
+
+    @Test
+    public void tracksComponentsAsEdgesAreAdded()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("C", "B");
+        g.addVertex("D");
+
+        assertTrue("Direction is ignored", g.connected("A", "C"));
+        assertFalse("A weak connection is not a path", g.hasPath("A", "C"));
+        assertFalse("D is on its own", g.connected("A", "D"));
+        assertEquals("A, B and C form one component", 3, g.componentSize("C"));
+        assertEquals("Two components", 2, g.componentCount());
+
+        g.addEdge("D", "C");
+        assertEquals("Joining D merges the components", 1, g.componentCount());
+        assertEquals("Adding never rebuilds", 0, g.getRebuildCount());
+    }
+
+    @Test
+    public void rebuildsLazilyAfterRemoval()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.removeEdge("A", "B");
+
+        assertEquals("Removal is not applied until asked", 0, g.getRebuildCount());
+        assertFalse("Removing the only link splits the component", g.connected("A", "C"));
+        assertEquals("One rebuild", 1, g.getRebuildCount());
+
+        g.removeVertex("B");
+        assertEquals("Removed vertices leave the count", 2, g.componentCount());
+        assertEquals("Removed vertices have no component", 0, g.componentSize("B"));
+
+        g.removeEdge("X", "Y");
+        g.connected("A", "C");
+        assertEquals("Removing nothing does not rebuild", 2, g.getRebuildCount());
+    }
+
+    @Test
+    public void tracksAnExistingGraph()
+    {
+        Graph<String> graph = new GraphFactory<String>().createGraph();
+        graph.addEdge("A", "B");
+        graph.addVertex("C");
+        ConnectivityTracker<String> tracker = new ConnectivityTracker<String>(graph);
+
+        assertTrue("Existing edges are tracked", tracker.connected("B", "A"));
+        assertEquals("Existing vertices are counted", 2, tracker.componentCount());
+    }
+
+    @Test
+    public void matchesSearchOnRandomGraphs()
+    {
+        ConnectivityTracker<Integer> tracker =
+            new ConnectivityTracker<Integer>(new GraphFactory<Integer>().createGraph());
+        Random random = new Random(12);
+        for (int i = 0; i < 200; i++) {
+            tracker.addEdge(random.nextInt(150), random.nextInt(150));
+            if (i % 20 == 0) {
+                tracker.removeVertex(random.nextInt(150));
+            }
+            int a = random.nextInt(150);
+            int b = random.nextInt(150);
+            assertEquals("Components match an undirected copy",
+                         undirected(tracker.delegate()).hasPath(a, b), tracker.connected(a, b));
+            assertEquals("Path queries agree with the wrapped graph",
+                         tracker.delegate().pathLength(a, b), tracker.pathLength(a, b));
+        }
+    }
+
+    private static Graph<Integer> undirected(Graph<Integer> graph)
+    {
+        Graph<Integer> copy = new UndirectedGraph<Integer>();
+        for (Integer vertex : graph.getVertices()) {
+            copy.addVertex(vertex);
+            for (Integer next : graph.adjacentTo(vertex)) {
+                copy.addEdge(vertex, next);
+            }
+        }
+        return copy;
+    }
+
+    @Test
+    public void exposesComponentCountThroughJmx() throws Exception
+    {
+        g.addEdge("A", "B");
+        g.addVertex("C");
+        ObjectName name = g.register("tests");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        assertEquals("The component count is an MBean attribute",
+                     2, server.getAttribute(name, "ComponentCount"));
+
+        g.removeEdge("A", "B");
+        assertEquals("JMX reads do not rebuild", 2, server.getAttribute(name, "ComponentCount"));
+        assertEquals(0L, server.getAttribute(name, "RebuildCount"));
+        assertEquals(3, g.componentCount());
+        assertEquals("Rebuilds publish the new count",
+                     3, server.getAttribute(name, "ComponentCount"));
+        assertEquals(3, server.getAttribute(name, "VertexCount"));
+        g.unregister();
+        assertFalse("Unregistering removes the MBean", server.isRegistered(name));
+    }
+}
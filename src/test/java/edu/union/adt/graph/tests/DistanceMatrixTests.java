@@ -0,0 +1,145 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class DistanceMatrixTests
+{
+    private static List<Integer> sample(int count, int bound, long seed)
+    {
+        Random random = new Random(seed);
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            result.add(random.nextInt(bound));
+        }
+        return result;
+    }
+
+    private static <V> void assertMatchesPathLength(Graph<V> g, List<V> sources, List<V> targets,
+                                                    int[] matrix)
+    {
+        assertEquals(sources.size() * targets.size(), matrix.length);
+        for (int i = 0; i < sources.size(); i++) {
+            for (int j = 0; j < targets.size(); j++) {
+                assertEquals(sources.get(i) + " to " + targets.get(j),
+                             g.pathLength(sources.get(i), targets.get(j)),
+                             matrix[i * targets.size() + j]);
+            }
+        }
+    }
+
+    @Test
+    public void matrixMatchesPathLength()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.rmat(10, 4, 5).freeze();
+        // more than one batch of sources, with repeats
+        List<Integer> sources = sample(150, 1024, 1);
+        List<Integer> targets = sample(40, 1024, 2);
+        targets.add(sources.get(3));
+        targets.add(targets.get(0));
+
+        assertMatchesPathLength(g, sources, targets, g.distanceMatrix(sources, targets));
+    }
+
+    @Test
+    public void mutableGraphsUseAFrozenCopy()
+    {
+        Graph<Integer> g = GraphGenerator.grid(12, 12).into(new GraphImplementation<Integer>());
+        List<Integer> sources = sample(70, 144, 3);
+        List<Integer> targets = sample(30, 144, 4);
+
+        assertMatchesPathLength(g, sources, targets, g.distanceMatrix(sources, targets));
+    }
+
+    @Test
+    public void unknownVerticesAndUnreachableTargetsHaveNoPath()
+    {
+        Graph<String> g = new GraphImplementation<String>();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addVertex("d");
+
+        int[] matrix = g.distanceMatrix(Arrays.asList("a", "x", "c"),
+                                        Arrays.asList("c", "a", "d", "y"));
+        int none = Integer.MAX_VALUE;
+        assertArrayEquals(new int[] {2, 0, none, none,
+                                     none, none, none, none,
+                                     0, none, none, none}, matrix);
+        assertEquals(0, g.distanceMatrix(Collections.<String>emptyList(),
+                                         Arrays.asList("a")).length);
+    }
+
+    @Test
+    public void largeMatricesCanBeWrittenToAFile() throws IOException
+    {
+        FrozenGraph<Integer> g = GraphGenerator.grid(20, 20).freeze();
+        List<Integer> sources = sample(130, 400, 5);
+        List<Integer> targets = sample(90, 400, 6);
+        int[] expected = g.distanceMatrix(sources, targets);
+
+        Path file = Files.createTempFile("distances", ".bin");
+        try {
+            g.distanceMatrix(sources, targets, file);
+            assertEquals(4L * expected.length, Files.size(file));
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file.toFile()))) {
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], in.readInt());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void wideMatricesAreWrittenAFewRowsAtATime() throws IOException
+    {
+        FrozenGraph<Integer> g = GraphGenerator.grid(20, 20).freeze();
+        List<Integer> sources = sample(130, 400, 7);
+        List<Integer> columns = new ArrayList<Integer>();
+        for (int v = 0; v < 400; v++) {
+            columns.add(v);
+        }
+        int[] distances = g.distanceMatrix(sources, columns);
+        // too wide for 64 rows to share a block
+        List<Integer> targets = sample(100000, 400, 8);
+
+        Path file = Files.createTempFile("distances", ".bin");
+        try {
+            g.distanceMatrix(sources, targets, file);
+            assertEquals(4L * sources.size() * targets.size(), Files.size(file));
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                                          new FileInputStream(file.toFile())))) {
+                for (int i = 0; i < sources.size(); i++) {
+                    for (int target : targets) {
+                        assertEquals(distances[i * 400 + target], in.readInt());
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
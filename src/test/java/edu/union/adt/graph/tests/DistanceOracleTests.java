@@ -0,0 +1,164 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DistanceOracle;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.RefreshingDistanceOracle;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class DistanceOracleTests
+{
+    @Test
+    public void boundsBracketTheTrueDistance()
+    {
+        for (GraphGenerator generator : Arrays.asList(GraphGenerator.erdosRenyi(300, 2, 1),
+                                                      GraphGenerator.rmat(9, 4, 2),
+                                                      GraphGenerator.grid(15, 20))) {
+            FrozenGraph<Integer> g = generator.freeze();
+            for (int landmarks : new int[] {1, 4, 16}) {
+              for (DistanceOracle.Selection selection : DistanceOracle.Selection.values()) {
+                DistanceOracle<Integer> oracle = DistanceOracle.build(g, landmarks, selection);
+                for (int from = 0; from < g.numVertices(); from += 7) {
+                    for (int to = 0; to < g.numVertices(); to += 5) {
+                        int exact = g.pathLength(from, to);
+                        int lower = oracle.lowerBound(from, to);
+                        int upper = oracle.upperBound(from, to);
+                        assertTrue(lower + " <= " + exact + " from " + from + " to " + to,
+                                   lower <= exact);
+                        assertTrue(exact + " <= " + upper + " from " + from + " to " + to,
+                                   exact <= upper);
+                    }
+                }
+              }
+            }
+        }
+    }
+
+    @Test
+    public void farthestLandmarksSpreadOut()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.grid(10, 10).freeze();
+        DistanceOracle<Integer> oracle = DistanceOracle.build(g, 4, DistanceOracle.Selection.FARTHEST);
+
+        assertEquals("The busiest vertex, then the corners farthest from it",
+                     Arrays.asList(11, 99, 9, 90), oracle.landmarks());
+        assertEquals(18, oracle.upperBound(0, 99));
+        assertEquals(18, oracle.lowerBound(0, 99));
+    }
+
+    @Test
+    public void landmarksAreTheBusiestVerticesAndExact()
+    {
+        Graph<String> g = new GraphFactory<String>().createGraph();
+        g.addEdge("hub", "A");
+        g.addEdge("hub", "B");
+        g.addEdge("hub", "C");
+        g.addEdge("A", "B");
+        g.addEdge("C", "D");
+        g.addEdge("D", "E");
+        DistanceOracle<String> oracle = DistanceOracle.build(g, 1);
+
+        assertEquals(Arrays.asList("hub"), oracle.landmarks());
+        assertEquals(3, oracle.upperBound("hub", "E"));
+        assertEquals(3, oracle.lowerBound("hub", "E"));
+        assertEquals(0, oracle.upperBound("D", "D"));
+        assertEquals("One int each way per vertex, plus the landmark",
+                     4 * (2 * 6 + 1), oracle.memoryBytes());
+        assertEquals("At most one landmark per vertex",
+                     6, DistanceOracle.build(g, 100).landmarkCount());
+    }
+
+    @Test
+    public void landmarksProveThereIsNoPath()
+    {
+        Graph<String> g = new GraphFactory<String>().createGraph();
+        g.addEdge("hub", "A");
+        g.addEdge("hub", "B");
+        g.addEdge("hub", "C");
+        g.addEdge("X", "Y");
+        DistanceOracle<String> oracle = DistanceOracle.build(g, 1);
+
+        assertEquals("The hub reaches A but not X",
+                     Integer.MAX_VALUE, oracle.lowerBound("A", "X"));
+        assertEquals(Integer.MAX_VALUE, oracle.upperBound("A", "X"));
+        assertEquals("No landmark decides between X and Y",
+                     1, oracle.lowerBound("X", "Y"));
+        assertEquals(Integer.MAX_VALUE, oracle.upperBound("X", "Y"));
+        assertEquals(Integer.MAX_VALUE, oracle.lowerBound("A", "missing"));
+        assertEquals(Integer.MAX_VALUE, oracle.upperBound("missing", "A"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void anOracleNeedsLandmarks()
+    {
+        DistanceOracle.build(GraphGenerator.chain(5).freeze(), 0);
+    }
+
+    @Test
+    public void refreshingOraclesFollowTheGraph() throws Exception
+    {
+        VersionedGraph<Integer> g = new VersionedGraph<Integer>();
+        GraphGenerator.chain(50).into(g);
+        RefreshingDistanceOracle<Integer> oracle =
+            new RefreshingDistanceOracle<Integer>(g, 4, 5, TimeUnit.MILLISECONDS);
+        try {
+            assertEquals(49, oracle.upperBound(0, 49));
+            DistanceOracle<Integer> first = oracle.current();
+
+            g.addEdge(0, 40);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (oracle.version() != g.version() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals("The background thread rebuilt the oracle", g.version(), oracle.version());
+            assertEquals("The old oracle is unchanged", 49, first.upperBound(0, 49));
+            assertTrue(oracle.upperBound(0, 49) <= 10);
+            assertTrue(oracle.rebuildCount() >= 1);
+            assertTrue("Nothing to rebuild", !oracle.refresh());
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void refreshingOraclesKeepTheirSelection()
+    {
+        VersionedGraph<Integer> g = new VersionedGraph<Integer>();
+        GraphGenerator.grid(10, 10).into(g);
+        RefreshingDistanceOracle<Integer> oracle =
+            new RefreshingDistanceOracle<Integer>(g, 4, DistanceOracle.Selection.FARTHEST, 1,
+                                                  TimeUnit.HOURS);
+        try {
+            assertEquals(DistanceOracle.build(g.snapshot(), 4, DistanceOracle.Selection.FARTHEST)
+                             .landmarks(),
+                         oracle.current().landmarks());
+            assertTrue("Not the busiest vertices",
+                       !DistanceOracle.build(g.snapshot(), 4).landmarks()
+                           .equals(oracle.current().landmarks()));
+
+            g.addEdge(0, 99);
+            assertTrue(oracle.refresh());
+            assertEquals("The rebuilt oracle picks landmarks the same way",
+                         DistanceOracle.build(g.snapshot(), 4, DistanceOracle.Selection.FARTHEST)
+                             .landmarks(),
+                         oracle.current().landmarks());
+            assertEquals(g.version(), oracle.version());
+        } finally {
+            oracle.close();
+        }
+    }
+}
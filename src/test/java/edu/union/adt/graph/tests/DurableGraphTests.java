@@ -0,0 +1,182 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DurableGraph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.Mutation;
+import edu.union.adt.graph.VertexCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+@RunWith(JUnit4.class)
+public class DurableGraphTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DurableGraph<String> open(Path directory, long syncIntervalMillis)
+        throws IOException
+    {
+        return DurableGraph.open(directory, VertexCodec.strings(),
+                                 new GraphImplementation<String>(),
+                                 syncIntervalMillis);
+    }
+
+    @Test
+    public void mutationsSurviveReopening() throws IOException
+    {
+        Path directory = folder.getRoot().toPath();
+        DurableGraph<String> g = open(directory, 10);
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Bar", "haha");
+        g.addVertex("Lonely");
+        g.addEdge("haha", "Foo");
+        g.removeEdge("Bar", "haha");
+        g.close();
+
+        DurableGraph<String> recovered = open(directory, 10);
+        assertEquals("Every vertex is recovered", 4, recovered.numVertices());
+        assertEquals("Every edge is recovered", 2, recovered.numEdges());
+        assertTrue("Edges are recovered", recovered.hasEdge("haha", "Foo"));
+        assertFalse("Removed edges stay removed",
+                    recovered.hasEdge("Bar", "haha"));
+        recovered.close();
+    }
+
+    @Test
+    public void checkpointsKeepEarlierAndLaterMutations() throws IOException
+    {
+        Path directory = folder.getRoot().toPath();
+        DurableGraph<String> g = open(directory, 0);
+        g.setCheckpointInterval(3);
+        for (int i = 0; i < 10; i++) {
+            g.addEdge("v" + i, "v" + (i + 1));
+        }
+        g.removeVertex("v5");
+        g.close();
+
+        assertTrue("A snapshot was written",
+                   Files.exists(directory.resolve("graph.snapshot")));
+
+        DurableGraph<String> recovered = open(directory, 0);
+        assertEquals("Vertices from before and after the checkpoint are "
+                     + "recovered", 10, recovered.numVertices());
+        assertEquals("Edges touching the removed vertex are gone",
+                     8, recovered.numEdges());
+        assertFalse("The removed vertex stays removed",
+                    recovered.contains("v5"));
+        recovered.close();
+    }
+
+    @Test
+    public void tornTailIsIgnored() throws IOException
+    {
+        Path directory = folder.getRoot().toPath();
+        DurableGraph<String> g = open(directory, 0);
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.close();
+
+        Path log = directory.resolve("graph-0.log");
+        long intact = Files.size(log);
+        Files.write(log, new byte[] { 2, 0, 5, 'D' }, StandardOpenOption.APPEND);
+
+        DurableGraph<String> recovered = open(directory, 0);
+        assertEquals("The intact records are replayed", 2, recovered.numEdges());
+        assertEquals("The torn record is cut off", intact, Files.size(log));
+        recovered.addEdge("C", "D");
+        recovered.close();
+
+        recovered = open(directory, 0);
+        assertTrue("Records written after recovery are replayed",
+                   recovered.hasEdge("C", "D"));
+        recovered.close();
+    }
+
+    @Test
+    public void closedGraphRejectsMutations() throws IOException
+    {
+        DurableGraph<String> g = open(folder.getRoot().toPath(), 10);
+        g.addVertex("A");
+        g.close();
+
+        assertTrue("A closed graph can still be read", g.contains("A"));
+        try {
+            g.addVertex("B");
+            fail("A closed graph cannot be changed");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    private DurableGraph<String> openAppendOnly(Path directory) throws IOException
+    {
+        return DurableGraph.open(directory, VertexCodec.strings(),
+                                 new GraphFactory<String>()
+                                     .mutability(GraphFactory.Mutability.APPEND_ONLY)
+                                     .createGraph(),
+                                 0);
+    }
+
+    @Test
+    public void rejectedMutationsAreNotLogged() throws IOException
+    {
+        Path directory = folder.getRoot().toPath();
+        DurableGraph<String> g = openAppendOnly(directory);
+        g.addEdge("A", "B");
+        try {
+            g.removeEdge("A", "B");
+            fail("The wrapped graph is append-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+        g.addEdge("B", "C");
+        g.close();
+
+        DurableGraph<String> recovered = openAppendOnly(directory);
+        assertEquals("The store still opens, with every accepted mutation",
+                     2, recovered.numEdges());
+        recovered.close();
+    }
+
+    @Test
+    public void rejectedBatchesAreNotLogged() throws IOException
+    {
+        Path directory = folder.getRoot().toPath();
+        DurableGraph<String> g = openAppendOnly(directory);
+        g.addEdge("A", "B");
+        try {
+            g.applyAll(Arrays.asList(Mutation.addEdge("B", "C"), Mutation.removeEdge("A", "B")));
+            fail("The wrapped graph is append-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+        try {
+            g.addVertex("D");
+            fail("The graph may hold part of the batch, so it takes no more mutations");
+        } catch (UncheckedIOException expected) {
+            // expected
+        }
+        g.close();
+
+        DurableGraph<String> recovered = openAppendOnly(directory);
+        assertEquals("None of the batch was logged", 1, recovered.numEdges());
+        recovered.close();
+    }
+}
@@ -0,0 +1,224 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.HybridGraph;
+import edu.union.adt.graph.IntIntConsumer;
+import edu.union.adt.graph.Pair;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+@RunWith(JUnit4.class)
+public class EdgeStreamTests
+{
+    private static <V> Set<Pair<V, V>> edgeSet(Graph<V> g)
+    {
+        Set<Pair<V, V>> result = new HashSet<Pair<V, V>>();
+        for (V from : g.getVertices()) {
+            for (V to : g.adjacentTo(from)) {
+                result.add(Pair.of(from, to));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void frozenEdgesComeInIdOrder()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.rmat(10, 8, 6).freeze();
+        List<Pair<Integer, Integer>> edges = g.edges().collect(Collectors.toList());
+
+        assertEquals(g.numEdges(), edges.size());
+        assertEquals(edgeSet(g), new HashSet<Pair<Integer, Integer>>(edges));
+        for (int i = 1; i < edges.size(); i++) {
+            int previousFrom = g.id(edges.get(i - 1).first());
+            int from = g.id(edges.get(i).first());
+            assertTrue(previousFrom < from || previousFrom == from
+                       && g.id(edges.get(i - 1).second()) < g.id(edges.get(i).second()));
+        }
+        assertEquals(edges, g.edges().parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void splitsAreExactAndEven()
+    {
+        // one hub holding most of the edges, then a long tail
+        Graph<Integer> source = new GraphImplementation<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            source.addEdge(0, i);
+            source.addEdge(i, (i + 1) % 1000);
+        }
+        FrozenGraph<Integer> g = FrozenGraph.copyOf(source);
+        Spliterator<Pair<Integer, Integer>> suffix = g.edges().spliterator();
+        assertEquals(g.numEdges(), suffix.estimateSize());
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+
+        Spliterator<Pair<Integer, Integer>> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertTrue(Math.abs(prefix.estimateSize() - suffix.estimateSize()) <= 1);
+        List<Pair<Integer, Integer>> seen = new ArrayList<Pair<Integer, Integer>>();
+        Spliterator<Pair<Integer, Integer>> quarter = prefix.trySplit();
+        quarter.forEachRemaining(seen::add);
+        while (prefix.tryAdvance(seen::add)) {
+        }
+        assertEquals(g.numEdges() / 2, seen.size());
+        suffix.forEachRemaining(seen::add);
+        assertEquals(g.edges().collect(Collectors.toList()), seen);
+    }
+
+    @Test
+    public void forEachEdgePassesIds()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.rmat(12, 8, 2).freeze();
+        CompressedGraph<Integer> compressed = CompressedGraph.copyOf(g);
+        Set<Pair<Integer, Integer>> expected = edgeSet(g);
+
+        Set<Pair<Integer, Integer>> frozenEdges = new HashSet<Pair<Integer, Integer>>();
+        g.forEachEdge((from, to) -> frozenEdges.add(Pair.of(g.vertex(from), g.vertex(to))));
+        assertEquals(expected, frozenEdges);
+        Set<Pair<Integer, Integer>> compressedEdges = new HashSet<Pair<Integer, Integer>>();
+        compressed.forEachEdge((from, to) -> compressedEdges.add(
+                                   Pair.of(compressed.vertex(from), compressed.vertex(to))));
+        assertEquals(expected, compressedEdges);
+
+        long sum = 0;
+        for (Pair<Integer, Integer> edge : expected) {
+            sum += 31L * g.id(edge.first()) + g.id(edge.second());
+        }
+        AtomicLong frozenSum = new AtomicLong();
+        LongAdder frozenCount = new LongAdder();
+        g.parallelForEachEdge((from, to) -> {
+            frozenSum.addAndGet(31L * from + to);
+            frozenCount.increment();
+        });
+        assertEquals(g.numEdges(), frozenCount.sum());
+        assertEquals(sum, frozenSum.get());
+        AtomicLong compressedSum = new AtomicLong();
+        compressed.parallelForEachEdge((from, to) -> compressedSum.addAndGet(31L * from + to));
+        assertEquals(sum, compressedSum.get());
+    }
+
+    @Test
+    public void anyGraphStreamsItsEdges()
+    {
+        Graph<String> g = new GraphImplementation<String>();
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "a");
+        g.addVertex("d");
+
+        assertEquals(edgeSet(g), g.edges().collect(Collectors.toSet()));
+        assertEquals(3, g.edges().parallel().count());
+        assertEquals(0, new GraphImplementation<String>().edges().count());
+        assertEquals(0, FrozenGraph.copyOf(new GraphImplementation<String>()).edges().count());
+    }
+
+    /**
+     * Fills a graph with rows of every size, from empty through 25
+     * and 200 successors to a hub adjacent to a fifth of the graph,
+     * then removes some vertices so that their ids are reused.
+     */
+    private static void fill(Graph<Integer> g)
+    {
+        for (int i = 0; i < 10000; i++) {
+            g.addEdge(i, (i * 7 + 1) % 10000);
+            if (i % 3 == 0) {
+                g.addEdge(i, (i * 13 + 5) % 10000);
+            }
+            if (i < 200) {
+                g.addEdge(1, i);
+                g.addEdge(2, i * 37 % 10000);
+            }
+            if (i % 5 == 0) {
+                g.addEdge(3, i);
+            }
+            if (i % 400 == 0) {
+                g.addEdge(4, i);
+            }
+        }
+        for (int i = 500; i < 600; i++) {
+            g.removeVertex(i);
+        }
+        for (int i = 0; i < 50; i++) {
+            g.addEdge(-i - 1, i);
+            g.addEdge(3, -i - 1);
+        }
+    }
+
+    private static void checkRows(Graph<Integer> g, Consumer<IntIntConsumer> forEachEdge,
+                                  Consumer<IntIntConsumer> parallelForEachEdge,
+                                  IntFunction<Integer> vertex)
+    {
+        Set<Pair<Integer, Integer>> expected = edgeSet(g);
+        List<Pair<Integer, Integer>> streamed = g.edges().collect(Collectors.toList());
+        assertEquals(g.numEdges(), streamed.size());
+        assertEquals(expected, new HashSet<Pair<Integer, Integer>>(streamed));
+        assertEquals(expected, g.edges().parallel().collect(Collectors.toSet()));
+        // split partway through the first row: the prefix keeps the rest of it
+        List<Pair<Integer, Integer>> seen = new ArrayList<Pair<Integer, Integer>>();
+        Spliterator<Pair<Integer, Integer>> suffix = g.edges().spliterator();
+        assertTrue(suffix.tryAdvance(seen::add));
+        Spliterator<Pair<Integer, Integer>> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        Spliterator<Pair<Integer, Integer>> quarter = prefix.trySplit();
+        quarter.forEachRemaining(seen::add);
+        while (prefix.tryAdvance(seen::add)) {
+        }
+        suffix.forEachRemaining(seen::add);
+        assertEquals(streamed, seen);
+
+        List<Pair<Integer, Integer>> passed = new ArrayList<Pair<Integer, Integer>>();
+        forEachEdge.accept((from, to) -> passed.add(Pair.of(vertex.apply(from), vertex.apply(to))));
+        assertEquals(streamed, passed);
+        Set<Pair<Integer, Integer>> parallel = ConcurrentHashMap.newKeySet();
+        LongAdder count = new LongAdder();
+        parallelForEachEdge.accept((from, to) -> {
+            parallel.add(Pair.of(vertex.apply(from), vertex.apply(to)));
+            count.increment();
+        });
+        assertEquals(g.numEdges(), count.sum());
+        assertEquals(expected, parallel);
+    }
+
+    @Test
+    public void mutableGraphsStreamTheirRows()
+    {
+        for (boolean sorted : new boolean[] { false, true }) {
+            GraphImplementation<Integer> g = new GraphImplementation<Integer>(0, 0, sorted);
+            fill(g);
+            checkRows(g, g::forEachEdge, g::parallelForEachEdge, g::vertex);
+            assertEquals(-50, (int) g.vertex(g.id(-50)));
+            assertEquals(-1, g.id(550));
+            assertEquals(null, g.vertex(-1));
+            assertEquals(null, g.vertex(1 << 20));
+        }
+
+        HybridGraph<Integer> hybrid = new HybridGraph<Integer>();
+        fill(hybrid);
+        checkRows(hybrid, hybrid::forEachEdge, hybrid::parallelForEachEdge, hybrid::vertex);
+        assertEquals(-50, (int) hybrid.vertex(hybrid.id(-50)));
+        assertEquals(-1, hybrid.id(550));
+        assertEquals(null, hybrid.vertex(1 << 20));
+    }
+}
@@ -0,0 +1,121 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class GeneratorTests
+{
+    private static List<GraphGenerator> generators(long seed)
+    {
+        return Arrays.asList(GraphGenerator.erdosRenyi(500, 4, seed),
+                             GraphGenerator.barabasiAlbert(500, 3, seed),
+                             GraphGenerator.rmat(9, 8, seed),
+                             GraphGenerator.grid(20, 25),
+                             GraphGenerator.chain(500));
+    }
+
+    @Test
+    public void generatorsAreDeterministic()
+    {
+        List<GraphGenerator> first = generators(1);
+        List<GraphGenerator> again = generators(1);
+        List<GraphGenerator> other = generators(2);
+        for (int i = 0; i < first.size(); i++) {
+            FrozenGraph<Integer> g = first.get(i).freeze();
+            assertEquals("The same seed gives the same graph", g, again.get(i).freeze());
+            assertEquals("Generating twice gives the same graph", g, first.get(i).freeze());
+            if (i < 3) {
+                assertNotEquals("Another seed gives another graph", g, other.get(i).freeze());
+            }
+        }
+    }
+
+    @Test
+    public void freezeMatchesLoadingIntoAGraph()
+    {
+        for (GraphGenerator generator : generators(3)) {
+            FrozenGraph<Integer> frozen = generator.freeze();
+            Graph<Integer> loaded = generator.into(new GraphImplementation<Integer>());
+
+            assertEquals(generator.numVertices(), frozen.numVertices());
+            assertEquals(loaded, frozen);
+        }
+        Graph<String> named = GraphGenerator.chain(3).into(new GraphImplementation<String>(),
+                                                            id -> "v" + id);
+        assertTrue(named.hasEdge("v0", "v1"));
+        assertTrue(named.hasEdge("v1", "v2"));
+        assertEquals(2, named.numEdges());
+    }
+
+    @Test
+    public void shapes()
+    {
+        FrozenGraph<Integer> grid = GraphGenerator.grid(20, 25).freeze();
+        assertEquals(2 * (20 * 24 + 25 * 19), grid.numEdges());
+        assertEquals("Opposite corners", 19 + 24, grid.pathLength(0, 499));
+
+        FrozenGraph<Integer> chain = GraphGenerator.chain(1000).freeze();
+        assertEquals(999, chain.numEdges());
+        assertEquals(999, chain.pathLength(0, 999));
+        assertFalse(chain.hasPath(999, 0));
+
+        assertEquals(0, GraphGenerator.chain(0).freeze().numVertices());
+        assertEquals(1 << 9, GraphGenerator.rmat(9, 8, 1).numVertices());
+    }
+
+    @Test
+    public void randomGraphsHaveTheExpectedDegrees()
+    {
+        FrozenGraph<Integer> er = GraphGenerator.erdosRenyi(20000, 5, 7).freeze();
+        double average = (double) er.numEdges() / er.numVertices();
+        assertTrue("Average degree " + average, Math.abs(average - 5) < 0.1);
+        for (Integer v : er.getVertices()) {
+            assertFalse("No loops", er.hasEdge(v, v));
+        }
+
+        FrozenGraph<Integer> ba = GraphGenerator.barabasiAlbert(20000, 4, 7).freeze();
+        int[] inDegrees = new int[ba.numVertices()];
+        for (Integer v : ba.getVertices()) {
+            assertTrue("Each vertex adds at most 4 edges", ba.degree(v) <= 4);
+            for (Integer w : ba.adjacentTo(v)) {
+                assertTrue("Edges point to earlier vertices", w < v);
+                inDegrees[w]++;
+            }
+        }
+        int max = Arrays.stream(inDegrees).max().getAsInt();
+        assertTrue("Early vertices become hubs: " + max, max > 50 * ba.numEdges() / ba.numVertices());
+    }
+
+    @Test
+    public void ofRowsSortsAndDropsDuplicates()
+    {
+        FrozenGraph<Integer> g = FrozenGraph.ofRows(new int[] {0, 3, 3, 5},
+                                                    new int[] {2, 1, 2, 0, 0});
+
+        assertEquals(3, g.numVertices());
+        assertEquals(3, g.numEdges());
+        assertEquals(Arrays.asList(1, 2), g.adjacentTo(0));
+        assertTrue(g.hasEdge(2, 0));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void ofRowsChecksTargets()
+    {
+        FrozenGraph.ofRows(new int[] {0, 1}, new int[] {1});
+    }
+}
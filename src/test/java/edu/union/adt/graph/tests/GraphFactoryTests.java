@@ -0,0 +1,127 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphFactory.Mutability;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.VersionedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class GraphFactoryTests
+{
+    private Graph<String> source;
+
+    @Before
+    public void setUp()
+    {
+        source = new GraphFactory<String>().createGraph();
+        source.addEdge("Ant", "Buu");
+        source.addEdge("Buu", "Cow");
+        source.addEdge("Cow", "Dog");
+        source.addEdge("Ant", "Cow");
+        source.addVertex("Egg");
+    }
+
+    @Test
+    public void defaultsToGraphImplementation()
+    {
+        assertTrue("A plain factory creates a GraphImplementation",
+                   new GraphFactory<String>().createGraph()
+                   instanceof GraphImplementation);
+        Graph<String> sized = new GraphFactory<String>()
+            .expectedVertices(1000).expectedEdges(5000).createGraph();
+        assertTrue("Size hints keep the default implementation",
+                   sized instanceof GraphImplementation);
+        sized.addEdge("A", "B");
+        assertEquals("A pre-sized graph starts empty and works",
+                     1, sized.numEdges());
+    }
+
+    @Test
+    public void concurrencySelectsVersionedGraph()
+    {
+        assertTrue("Concurrent graphs never block readers",
+                   new GraphFactory<String>().concurrency(8).createGraph()
+                   instanceof VersionedGraph);
+    }
+
+    @Test
+    public void appendOnlyRejectsRemoval()
+    {
+        Graph<String> g = new GraphFactory<String>()
+            .mutability(Mutability.APPEND_ONLY).createGraph();
+        g.addEdge("A", "B");
+        assertTrue("Append-only graphs can grow", g.hasEdge("A", "B"));
+        try {
+            g.removeEdge("A", "B");
+            fail("Append-only graphs cannot shrink");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void copiesKeepTheirContents()
+    {
+        Graph<String> copy = new GraphFactory<String>().concurrency(4).createGraph(source);
+        assertEquals("A copy has the same vertices", 5, copy.numVertices());
+        assertEquals("A copy has the same edges", 4, copy.numEdges());
+        assertTrue("A copy has the same edges", copy.hasEdge("Cow", "Dog"));
+    }
+
+    @Test
+    public void frozenGraphs()
+    {
+        Graph<String> frozen = new GraphFactory<String>()
+            .mutability(Mutability.FROZEN).createGraph(source);
+
+        assertTrue("Frozen graphs are FrozenGraphs", frozen instanceof FrozenGraph);
+        assertEquals("A frozen graph equals the graph it was made from",
+                     frozen, new GraphFactory<String>().concurrency(2).createGraph(source));
+        assertEquals("Frozen graphs have the same vertices", 5, frozen.numVertices());
+        assertEquals("Frozen graphs have the same edges", 4, frozen.numEdges());
+        assertEquals("Degree counts successors", 2, frozen.degree("Ant"));
+        assertTrue("Edges are kept", frozen.hasEdge("Buu", "Cow"));
+        assertFalse("Edges stay directed", frozen.hasEdge("Cow", "Buu"));
+        assertFalse("Missing vertices have no edges", frozen.hasEdge("Emu", "Ant"));
+        assertEquals("Shortest paths are found", 2, frozen.pathLength("Ant", "Dog"));
+        assertEquals("Unreachable vertices are infinitely far",
+                     Integer.MAX_VALUE, frozen.pathLength("Dog", "Ant"));
+        assertTrue("Paths exist from a vertex to itself", frozen.hasPath("Egg", "Egg"));
+        assertEquals("Paths list their vertices", Arrays.asList("Ant", "Cow", "Dog"),
+                     toList(frozen.getPath("Ant", "Dog")));
+        assertTrue("An empty frozen graph is empty",
+                   new GraphFactory<String>().mutability(Mutability.FROZEN)
+                   .createGraph().isEmpty());
+        try {
+            frozen.addVertex("Fox");
+            fail("Frozen graphs cannot change");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    private List<String> toList(Iterable<String> container)
+    {
+        List<String> result = new ArrayList<String>();
+        for (String s : container) {
+            result.add(s);
+        }
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package edu.union.adt.graph.tests;
 
 import edu.union.adt.graph.tests.buin.GraphTestBuin;
+import edu.union.adt.graph.tests.shard.ShardedGraphTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -10,7 +11,30 @@ import org.junit.runners.Suite;
 ({
     SimpleGraphTests.class,
     GraphTestsUsingEquals.class,
-    GraphTestBuin.class
+    GraphTestBuin.class,
+    TraversalTests.class,
+    VersionedGraphTests.class,
+    DurableGraphTests.class,
+    InstrumentedGraphTests.class,
+    GraphFactoryTests.class,
+    ShardedGraphTests.class,
+    PathLengthsTests.class,
+    VertexInterningTests.class,
+    SortedAdjacencyTests.class,
+    CompressedGraphTests.class,
+    UndirectedGraphTests.class,
+    ConnectivityTrackerTests.class,
+    AttributeTests.class,
+    SubgraphTests.class,
+    ObservableGraphTests.class,
+    GeneratorTests.class,
+    GraphTransactionTests.class,
+    AsyncGraphQueriesTests.class,
+    DistanceOracleTests.class,
+    HybridGraphTests.class,
+    ReorderTests.class,
+    DistanceMatrixTests.class,
+    EdgeStreamTests.class
 })
 public class GraphTestSuite
 { // no implementation needed; above annotations do the work.
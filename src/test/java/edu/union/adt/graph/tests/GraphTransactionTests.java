@@ -0,0 +1,199 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DurableGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.GraphTransaction;
+import edu.union.adt.graph.Mutation;
+import edu.union.adt.graph.UndirectedGraph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.VertexCodec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+@RunWith(JUnit4.class)
+public class GraphTransactionTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * @return a random mix of mutations over a few vertices, so that
+     * edges are often added, removed and added again.
+     */
+    private static List<Mutation<Integer>> randomBatch(Random random, int size)
+    {
+        List<Mutation<Integer>> batch = new ArrayList<Mutation<Integer>>();
+        for (int i = 0; i < size; i++) {
+            int from = random.nextInt(30);
+            int to = random.nextInt(30);
+            int kind = random.nextInt(100);
+            if (kind < 55) {
+                batch.add(Mutation.addEdge(from, to));
+            } else if (kind < 90) {
+                batch.add(Mutation.removeEdge(from, to));
+            } else if (kind < 95) {
+                batch.add(Mutation.addVertex(from + 100));
+            } else {
+                batch.add(Mutation.removeVertex(from));
+            }
+        }
+        return batch;
+    }
+
+    @Test
+    public void batchesMatchMutatingOneAtATime()
+    {
+        List<Supplier<Graph<Integer>>> kinds = Arrays.asList(
+            () -> new GraphImplementation<Integer>(),
+            () -> new GraphImplementation<Integer>(8, 16, true),
+            () -> new VersionedGraph<Integer>(),
+            () -> new UndirectedGraph<Integer>());
+        Random random = new Random(11);
+        for (Supplier<Graph<Integer>> kind : kinds) {
+            Graph<Integer> batched = kind.get();
+            Graph<Integer> oneAtATime = kind.get();
+            for (int round = 0; round < 50; round++) {
+                List<Mutation<Integer>> batch = randomBatch(random, 1 + random.nextInt(200));
+                GraphTransaction<Integer> tx = new GraphTransaction<Integer>(batched);
+                for (Mutation<Integer> mutation : batch) {
+                    tx.add(mutation);
+                    mutation.applyTo(oneAtATime);
+                }
+                assertEquals(batch.size(), tx.commit());
+
+                assertEquals(oneAtATime, batched);
+                assertEquals(oneAtATime.numEdges(), batched.numEdges());
+            }
+        }
+    }
+
+    @Test
+    public void insertionOrderIsKept()
+    {
+        Graph<String> batched = new GraphImplementation<String>();
+        Graph<String> oneAtATime = new GraphImplementation<String>();
+        List<Mutation<String>> batch = Arrays.asList(
+            Mutation.addEdge("A", "D"), Mutation.addEdge("A", "B"), Mutation.addEdge("A", "C"),
+            Mutation.removeEdge("A", "D"), Mutation.addEdge("A", "D"), Mutation.removeEdge("A", "B"),
+            Mutation.addEdge("A", "B"), Mutation.addEdge("A", "C"));
+        for (Mutation<String> mutation : batch) {
+            mutation.applyTo(oneAtATime);
+        }
+        batched.applyAll(batch);
+
+        assertEquals(oneAtATime.adjacentTo("A"), batched.adjacentTo("A"));
+        assertEquals(Arrays.asList("C", "D", "B"), batched.adjacentTo("A"));
+    }
+
+    @Test
+    public void removedVerticesCutTheBatch()
+    {
+        Graph<String> g = new GraphImplementation<String>();
+        GraphTransaction<String> tx = new GraphTransaction<String>(g);
+        tx.addEdge("A", "B");
+        tx.removeVertex("B");
+        tx.addEdge("C", "B");
+        tx.commit();
+
+        assertFalse("The edge into B was removed with B", g.hasEdge("A", "B"));
+        assertTrue("B came back with the later edge", g.hasEdge("C", "B"));
+        assertEquals(1, g.numEdges());
+    }
+
+    @Test
+    public void rollbackLeavesTheGraphAlone()
+    {
+        Graph<String> g = new GraphImplementation<String>();
+        g.addEdge("A", "B");
+        try (GraphTransaction<String> tx = new GraphTransaction<String>(g)) {
+            tx.addEdge("B", "C");
+            tx.removeEdge("A", "B");
+            assertEquals(2, tx.size());
+            assertEquals("Nothing is applied before commit", 1, g.numEdges());
+            tx.rollback();
+            assertEquals(0, tx.size());
+            tx.addVertex("D");
+        }
+
+        assertEquals("Closing discards what was not committed", 2, g.numVertices());
+        assertTrue(g.hasEdge("A", "B"));
+    }
+
+    @Test
+    public void versionedGraphsPublishOneSnapshot()
+    {
+        VersionedGraph<String> g = new VersionedGraph<String>();
+        g.addEdge("A", "B");
+        VersionedGraph.Snapshot<String> before = g.snapshot();
+        GraphTransaction<String> tx = new GraphTransaction<String>(g);
+        tx.addEdge("B", "C");
+        tx.addEdge("C", "D");
+        tx.removeEdge("A", "B");
+        tx.commit();
+
+        assertEquals("Earlier snapshots are untouched", 1, before.numEdges());
+        assertEquals(2, g.numEdges());
+        assertTrue(g.hasPath("B", "D"));
+    }
+
+    @Test
+    public void failedCommitsKeepTheBatch()
+    {
+        Graph<String> g = FrozenGraph.copyOf(new GraphImplementation<String>());
+        GraphTransaction<String> tx = new GraphTransaction<String>(g);
+        tx.addEdge("A", "B");
+        try {
+            tx.commit();
+            fail("Frozen graphs reject mutations");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(1, tx.size());
+        }
+        try {
+            tx.addEdge("A", null);
+            fail("Null vertices are rejected when they are added");
+        } catch (NullPointerException e) {
+            assertEquals(1, tx.size());
+        }
+    }
+
+    @Test
+    public void durableBatchesSurviveReopening() throws IOException
+    {
+        Path directory = folder.getRoot().toPath();
+        DurableGraph<String> g = DurableGraph.open(directory, VertexCodec.strings(),
+                                                   new GraphImplementation<String>(), 0);
+        GraphTransaction<String> tx = new GraphTransaction<String>(g);
+        for (int i = 0; i < 100; i++) {
+            tx.addEdge("v" + i, "v" + (i + 1));
+        }
+        tx.removeVertex("v50");
+        tx.commit();
+        g.close();
+
+        DurableGraph<String> recovered = DurableGraph.open(directory, VertexCodec.strings(),
+                                                           new GraphImplementation<String>(), 0);
+        assertEquals(100, recovered.numVertices());
+        assertEquals(98, recovered.numEdges());
+        assertFalse(recovered.contains("v50"));
+        recovered.close();
+    }
+}
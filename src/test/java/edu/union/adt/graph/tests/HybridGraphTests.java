@@ -0,0 +1,137 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.HybridGraph;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+@RunWith(JUnit4.class)
+public class HybridGraphTests
+{
+    private static <V> Set<V> set(Iterable<V> items)
+    {
+        Set<V> result = new HashSet<V>();
+        for (V item : items) {
+            result.add(item);
+        }
+        return result;
+    }
+
+    private static void assertSameGraph(Graph<Integer> expected, Graph<Integer> actual)
+    {
+        assertEquals(expected.numVertices(), actual.numVertices());
+        assertEquals(expected.numEdges(), actual.numEdges());
+        for (Integer v : expected.getVertices()) {
+            assertEquals("Degree of " + v, expected.degree(v), actual.degree(v));
+            assertEquals("Successors of " + v,
+                         set(expected.adjacentTo(v)), set(actual.adjacentTo(v)));
+        }
+    }
+
+    @Test
+    public void rowsChangeFormAsTheyGrowAndShrink()
+    {
+        HybridGraph<Integer> g = new HybridGraph<Integer>();
+        Graph<Integer> expected = new GraphImplementation<Integer>();
+        // enough vertices that a hub of 200 is a hash set, not a bitmap
+        for (int i = 0; i < 10000; i++) {
+            g.addVertex(i);
+            expected.addVertex(i);
+        }
+        for (int i = 1; i <= 2000; i++) {
+            g.addEdge(0, i);
+            expected.addEdge(0, i);
+            if (i == 3 || i == 20 || i == 200 || i == 2000) {
+                assertSameGraph(expected, g);
+                assertTrue(g.hasEdge(0, i));
+                assertFalse(g.hasEdge(0, i + 1));
+                assertFalse("Edges are directed", g.hasEdge(i, 0));
+            }
+        }
+        g.addEdge(0, 7);
+        assertEquals("Duplicates are ignored in every form", 2000, g.numEdges());
+        for (int i = 2000; i >= 1; i--) {
+            g.removeEdge(0, i);
+            expected.removeEdge(0, i);
+            if (i == 1500 || i == 100 || i == 70 || i == 40 || i == 3 || i == 1) {
+                assertSameGraph(expected, g);
+                assertFalse(g.hasEdge(0, i));
+            }
+        }
+        assertEquals(0, g.numEdges());
+    }
+
+    @Test
+    public void skewedGraphsMatchGraphImplementation()
+    {
+        Random random = new Random(3);
+        HybridGraph<Integer> g = new HybridGraph<Integer>();
+        Graph<Integer> expected = new GraphImplementation<Integer>();
+        for (int step = 0; step < 60000; step++) {
+            // a few hubs take most edges; the rest get a handful
+            int from = random.nextInt(4) == 0 ? random.nextInt(3) : random.nextInt(3000);
+            int to = random.nextInt(3000);
+            int action = random.nextInt(20);
+            if (action < 14) {
+                g.addEdge(from, to);
+                expected.addEdge(from, to);
+            } else if (action < 19) {
+                g.removeEdge(from, to);
+                expected.removeEdge(from, to);
+            } else if (random.nextInt(50) == 0) {
+                g.removeVertex(to);
+                expected.removeVertex(to);
+            }
+        }
+        assertSameGraph(expected, g);
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(3000);
+            int to = random.nextInt(3000);
+            assertEquals(expected.hasEdge(from, to), g.hasEdge(from, to));
+        }
+        for (int i = 0; i < 50; i++) {
+            int from = random.nextInt(3000);
+            int to = random.nextInt(3000);
+            assertEquals(expected.pathLength(from, to), g.pathLength(from, to));
+            assertEquals(expected.hasPath(from, to), g.hasPath(from, to));
+        }
+    }
+
+    @Test
+    public void removingAVertexRemovesItsEdges()
+    {
+        HybridGraph<String> g = new HybridGraph<String>();
+        for (int i = 0; i < 300; i++) {
+            g.addEdge("hub", "v" + i);
+            g.addEdge("v" + i, "hub");
+        }
+        g.removeVertex("hub");
+
+        assertEquals(300, g.numVertices());
+        assertEquals(0, g.numEdges());
+        assertEquals(0, g.degree("v7"));
+        assertEquals(Integer.MAX_VALUE, g.pathLength("v1", "v2"));
+        g.addEdge("v1", "hub");
+        assertEquals("The hub comes back empty", 0, g.degree("hub"));
+        assertEquals(1, g.pathLength("v1", "hub"));
+    }
+
+    @Test
+    public void factoryCreatesHybridGraphs()
+    {
+        assertTrue(new GraphFactory<String>().adjacency(GraphFactory.Adjacency.HYBRID)
+                   .createGraph() instanceof HybridGraph);
+    }
+}
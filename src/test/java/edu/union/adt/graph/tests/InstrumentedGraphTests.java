@@ -0,0 +1,201 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.HybridGraph;
+import edu.union.adt.graph.InstrumentedGraph;
+import edu.union.adt.graph.InstrumentedGraph.Operation;
+import edu.union.adt.graph.LatencyHistogram;
+import edu.union.adt.graph.UndirectedGraph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.shard.LoopbackTransport;
+import edu.union.adt.graph.shard.Partitioner;
+import edu.union.adt.graph.shard.ShardedGraph;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+@RunWith(JUnit4.class)
+public class InstrumentedGraphTests
+{
+    private InstrumentedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new GraphFactory<String>().createInstrumentedGraph();
+        g.setSamplingInterval(1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        g.unregister();
+        g = null;
+    }
+
+    @Test
+    public void countsCalls()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.hasEdge("A", "B");
+        g.hasEdge("A", "C");
+        g.hasEdge("C", "A");
+
+        assertEquals("Every addEdge is counted", 2, g.calls(Operation.ADD_EDGE));
+        assertEquals("Every hasEdge is counted", 3, g.calls(Operation.HAS_EDGE));
+        assertEquals("Every timed call is in the histogram",
+                     3, g.latency(Operation.HAS_EDGE).count());
+        assertEquals("Calls are forwarded", 2, g.numEdges());
+
+        g.reset();
+        assertEquals("Reset clears the counts", 0, g.calls(Operation.HAS_EDGE));
+    }
+
+    @Test
+    public void samplingTimesFewerCalls()
+    {
+        g.setSamplingInterval(1000000);
+        for (int i = 0; i < 100; i++) {
+            g.contains("A");
+        }
+        assertEquals("Every call is counted", 100, g.calls(Operation.CONTAINS));
+        assertTrue("Few calls are timed",
+                   g.latency(Operation.CONTAINS).count() < 100);
+    }
+
+    @Test
+    public void countsSearchWork()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("B", "D");
+        g.addEdge("C", "D");
+
+        assertEquals("Path queries still work", 2, g.pathLength("A", "D"));
+        assertEquals("A and B are expanded", 2, g.getVerticesVisited());
+        assertEquals("A's two edges and B's one are scanned", 3, g.getEdgesScanned());
+
+        assertTrue("hasPath is answered", !g.hasPath("D", "A"));
+        assertEquals("A failed search expands every reachable vertex",
+                     3, g.getVerticesVisited());
+
+        assertEquals(3, ((List<String>) g.getPath("A", "D")).size());
+        assertEquals("getPath is counted", 1, g.calls(Operation.GET_PATH));
+        assertEquals("getPath's search is counted", 5, g.getVerticesVisited());
+    }
+
+    /**
+     * Asserts that a path query on an instrumented 'delegate', holding
+     * A -> B -> C, is counted.
+     */
+    private static void assertSearchCounted(String name, Graph<String> delegate)
+    {
+        InstrumentedGraph<String> instrumented = new InstrumentedGraph<String>(delegate);
+        assertEquals(name, 2, instrumented.pathLength("A", "C"));
+        assertTrue(name + " reports vertices", instrumented.getVerticesVisited() >= 2);
+        assertTrue(name + " reports edges", instrumented.getEdgesScanned() >= 2);
+    }
+
+    @Test
+    public void pathQueriesUseTheWrappedGraphsOwnSearch() throws Exception
+    {
+        int[] searches = new int[1];
+        GraphImplementation<String> delegate = new GraphImplementation<String>() {
+            @Override
+            public int pathLength(String from, String to)
+            {
+                searches[0]++;
+                return super.pathLength(from, to);
+            }
+        };
+        g = new InstrumentedGraph<String>(delegate);
+        g.setSamplingInterval(1);
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+
+        assertEquals(2, g.pathLength("A", "C"));
+        assertEquals("The wrapped graph answered", 1, searches[0]);
+        assertEquals(1, g.latency(Operation.PATH_LENGTH).count());
+        assertEquals("Its search reports what it expanded", 2, g.getVerticesVisited());
+        assertEquals(2, g.getEdgesScanned());
+
+        InstrumentedGraph<String> frozen = new InstrumentedGraph<String>(FrozenGraph.copyOf(delegate));
+        assertEquals(2, frozen.pathLength("A", "C"));
+        assertEquals(2, frozen.getVerticesVisited());
+        assertEquals(2, frozen.getEdgesScanned());
+        assertTrue(!frozen.hasPath("C", "A"));
+        assertEquals("A search that finds nothing still counts", 3, frozen.getVerticesVisited());
+
+        assertSearchCounted("CompressedGraph", CompressedGraph.copyOf(delegate));
+        HybridGraph<String> hybrid = new HybridGraph<String>();
+        UndirectedGraph<String> undirected = new UndirectedGraph<String>();
+        VersionedGraph<String> versioned = new VersionedGraph<String>();
+        try (ShardedGraph<String> sharded = new ShardedGraph<String>(
+                 new LoopbackTransport<String>(3, Partitioner.<String>hash()))) {
+            List<Graph<String>> others = Arrays.<Graph<String>>asList(hybrid, undirected,
+                                                                      versioned, sharded);
+            for (Graph<String> other : others) {
+                other.addEdge("A", "B");
+                other.addEdge("B", "C");
+            }
+            assertSearchCounted("HybridGraph", hybrid);
+            assertSearchCounted("UndirectedGraph", undirected);
+            assertSearchCounted("VersionedGraph", versioned);
+            assertSearchCounted("ShardedGraph", sharded);
+        }
+    }
+
+    @Test
+    public void exposedThroughJmx() throws Exception
+    {
+        g.addEdge("A", "B");
+        g.hasEdge("A", "B");
+        ObjectName name = g.register("tests");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        assertEquals("The edge gauge is readable", 1,
+                     server.getAttribute(name, "EdgeCount"));
+        TabularData counts = (TabularData) server.getAttribute(name, "CallCounts");
+        assertEquals("Per-method counts are readable", 1L,
+                     counts.get(new Object[] { "hasEdge" }).get("value"));
+
+        g.unregister();
+        assertTrue("Unregistering removes the MBean", !server.isRegistered(name));
+    }
+
+    @Test
+    public void histogramPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals("Every value is counted", 1000, histogram.count());
+        assertEquals("The maximum is exact", 1000000, histogram.max());
+        assertEquals("The mean is exact", 500500.0, histogram.mean(), 0.001);
+        long median = histogram.percentile(50);
+        assertTrue("The median is within the bucket precision",
+                   median >= 500000 && median <= 500000 * 1.07);
+        assertEquals("The 100th percentile is the maximum",
+                     1000000, histogram.percentile(100));
+    }
+}
@@ -0,0 +1,219 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Mutation;
+import edu.union.adt.graph.MutationListener;
+import edu.union.adt.graph.ObservableGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+@RunWith(JUnit4.class)
+public class ObservableGraphTests
+{
+    private ObservableGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new ObservableGraph<String>(new GraphFactory<String>().createGraph(), 8);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g.close();
+        g = null;
+    }
+
+    /**
+     * Collects every mutation it is handed.
+     */
+    private static class Recorder implements MutationListener<String>
+    {
+        final List<Mutation<String>> seen = Collections.synchronizedList(new ArrayList<Mutation<String>>());
+        volatile long overflowed;
+
+        public void onMutations(List<Mutation<String>> batch)
+        {
+            seen.addAll(batch);
+        }
+
+        @Override
+        public void onOverflow(long missed)
+        {
+            overflowed += missed;
+        }
+    }
+
+    @Test
+    public void changesArePublishedInOrder() throws InterruptedException
+    {
+        Recorder recorder = new Recorder();
+        ObservableGraph<String>.Subscription subscription = g.subscribe(recorder);
+        g.addEdge("A", "B");
+        g.addEdge("A", "B");
+        g.addVertex("A");
+        g.addEdge("B", "B");
+        g.removeEdge("A", "C");
+        g.removeEdge("A", "B");
+        g.removeVertex("Z");
+        g.removeVertex("B");
+        subscription.awaitDelivery();
+
+        assertEquals("Only changes are published, new endpoints first",
+                     Arrays.asList(Mutation.addVertex("A"), Mutation.addVertex("B"),
+                                   Mutation.addEdge("A", "B"), Mutation.addEdge("B", "B"),
+                                   Mutation.removeEdge("A", "B"), Mutation.removeVertex("B")),
+                     recorder.seen);
+        assertEquals(6, g.publishedCount());
+        assertEquals(6, subscription.deliveredCount());
+        assertEquals(0, subscription.lag());
+    }
+
+    @Test
+    public void listenersOnlySeeLaterChanges() throws InterruptedException
+    {
+        g.addVertex("A");
+        Recorder recorder = new Recorder();
+        ObservableGraph<String>.Subscription subscription = g.subscribe(recorder);
+        g.addVertex("B");
+        subscription.awaitDelivery();
+
+        assertEquals(Arrays.asList(Mutation.addVertex("B")), recorder.seen);
+    }
+
+    @Test
+    public void blockingListenersMissNothing() throws InterruptedException
+    {
+        Graph<String> replica = new GraphFactory<String>().createGraph();
+        ObservableGraph<String>.Subscription subscription = g.subscribe(batch -> {
+            for (Mutation<String> mutation : batch) {
+                mutation.applyTo(replica);
+            }
+            Thread.yield();
+        });
+        for (int i = 0; i < 2000; i++) {
+            g.addEdge("v" + (i % 97), "v" + (i * 31 % 89));
+            if (i % 5 == 0) {
+                g.removeVertex("v" + (i % 13));
+            }
+        }
+        subscription.awaitDelivery();
+
+        assertEquals("The ring is much smaller than the stream", 8, g.capacity());
+        assertEquals(0, subscription.missedCount());
+        assertEquals("The replica follows the graph", g.delegate(), replica);
+    }
+
+    @Test(timeout = 20000)
+    public void blockingListenersFillTheWholeRing() throws InterruptedException
+    {
+        for (int capacity : new int[] { 1, 2, 8 }) {
+            ObservableGraph<String> small
+                = new ObservableGraph<String>(new GraphFactory<String>().createGraph(), capacity);
+            Recorder recorder = new Recorder() {
+                @Override
+                public void onMutations(List<Mutation<String>> batch)
+                {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.onMutations(batch);
+                }
+            };
+            ObservableGraph<String>.Subscription subscription = small.subscribe(recorder);
+            List<Mutation<String>> expected = new ArrayList<Mutation<String>>();
+            for (int i = 0; i < 50; i++) {
+                small.addVertex("v" + i);
+                expected.add(Mutation.addVertex("v" + i));
+            }
+            subscription.awaitDelivery();
+            small.close();
+
+            assertEquals("Capacity " + capacity, expected, recorder.seen);
+            assertEquals(0, subscription.missedCount());
+        }
+    }
+
+    @Test
+    public void resyncListenersAreToldWhatTheyMissed() throws InterruptedException
+    {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onMutations(List<Mutation<String>> batch)
+            {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onMutations(batch);
+            }
+        };
+        ObservableGraph<String>.Subscription subscription =
+            g.subscribe(recorder, ObservableGraph.Backpressure.RESYNC);
+        g.addVertex("first");
+        entered.await();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("v" + i);
+        }
+        release.countDown();
+        subscription.awaitDelivery();
+
+        assertTrue("Some mutations were overwritten", subscription.missedCount() > 0);
+        assertEquals(subscription.missedCount(), recorder.overflowed);
+        assertEquals("Every mutation was either delivered or missed",
+                     g.publishedCount(), subscription.deliveredCount() + subscription.missedCount());
+        assertEquals("The newest mutation is always delivered",
+                     Mutation.addVertex("v99"), recorder.seen.get(recorder.seen.size() - 1));
+    }
+
+    @Test
+    public void failingListenersAreUnsubscribed() throws InterruptedException
+    {
+        ObservableGraph<String>.Subscription subscription = g.subscribe(batch -> {
+            throw new IllegalStateException("broken");
+        });
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("v" + i);
+        }
+        subscription.awaitDelivery();
+
+        assertEquals("broken", subscription.failure().getMessage());
+        assertEquals(100, g.numVertices());
+    }
+
+    @Test
+    public void closeDeliversWhatWasPublished()
+    {
+        Recorder recorder = new Recorder();
+        ObservableGraph<String>.Subscription subscription = g.subscribe(recorder);
+        g.addVertex("A");
+        g.addVertex("B");
+        subscription.close();
+        g.addVertex("C");
+
+        assertEquals(Arrays.asList(Mutation.addVertex("A"), Mutation.addVertex("B")), recorder.seen);
+        assertNull(subscription.failure());
+    }
+}
@@ -0,0 +1,96 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class PathLengthsTests
+{
+    private Graph<Integer> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new GraphFactory<Integer>().createGraph();
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < 700; i++) {
+            g.addEdge(random.nextInt(300), random.nextInt(300));
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void emptyBatch()
+    {
+        assertEquals("No queries give no answers",
+                     0, g.pathLengths(Collections.<Pair<Integer, Integer>>emptyList()).length);
+    }
+
+    @Test
+    public void matchesPathLength()
+    {
+        Random random = new Random(11);
+        List<Pair<Integer, Integer>> queries = new ArrayList<Pair<Integer, Integer>>();
+        for (int i = 0; i < 2000; i++) {
+            // 150 distinct sources, so several 64-source batches with
+            // repeated sources in each
+            queries.add(Pair.of(random.nextInt(150), random.nextInt(300)));
+        }
+        queries.add(Pair.of(5, 5));
+
+        int[] expected = new int[queries.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = g.pathLength(queries.get(i).first(), queries.get(i).second());
+        }
+
+        assertArrayEquals("Batched lengths match one query at a time",
+                          expected, g.pathLengths(queries));
+        assertArrayEquals("A frozen graph answers the same batch directly",
+                          expected, FrozenGraph.copyOf(g).pathLengths(queries));
+    }
+
+    @Test
+    public void missingAndUnreachable()
+    {
+        Graph<String> small = new GraphFactory<String>().createGraph();
+        small.addEdge("A", "B");
+        small.addEdge("B", "C");
+        small.addVertex("D");
+
+        List<Pair<String, String>> queries = new ArrayList<Pair<String, String>>();
+        queries.add(Pair.of("A", "C"));
+        queries.add(Pair.of("C", "A"));
+        queries.add(Pair.of("A", "D"));
+        queries.add(Pair.of("A", "Z"));
+        queries.add(Pair.of("A", "A"));
+
+        assertArrayEquals("Unreachable and missing vertices give MAX_VALUE",
+                          new int[] {2, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                                     Integer.MAX_VALUE, 0},
+                          small.pathLengths(queries));
+    }
+}
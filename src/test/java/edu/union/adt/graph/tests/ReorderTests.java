@@ -0,0 +1,128 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Attributes;
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.FrozenGraph.Ordering;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class ReorderTests
+{
+    /**
+     * @return a grid whose vertices are added in random order, so its
+     * frozen ids are scattered.
+     */
+    private static FrozenGraph<Integer> shuffledGrid(int side)
+    {
+        FrozenGraph<Integer> grid = GraphGenerator.grid(side, side).freeze();
+        List<Integer> cells = new ArrayList<Integer>();
+        for (int i = 0; i < side * side; i++) {
+            cells.add(i);
+        }
+        Collections.shuffle(cells, new Random(4));
+        Graph<Integer> g = new GraphImplementation<Integer>();
+        for (Integer cell : cells) {
+            g.addVertex(cell);
+        }
+        for (Integer cell : cells) {
+            for (Integer next : grid.adjacentTo(cell)) {
+                g.addEdge(cell, next);
+            }
+        }
+        return FrozenGraph.copyOf(g);
+    }
+
+    /**
+     * @return the largest difference between the ids of an edge's ends.
+     */
+    private static int bandwidth(FrozenGraph<Integer> g)
+    {
+        int widest = 0;
+        for (Integer v : g.getVertices()) {
+            for (Integer next : g.adjacentTo(v)) {
+                widest = Math.max(widest, Math.abs(g.id(v) - g.id(next)));
+            }
+        }
+        return widest;
+    }
+
+    @Test
+    public void reorderingKeepsTheGraph()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.rmat(10, 4, 8).freeze();
+        for (Ordering ordering : Ordering.values()) {
+            FrozenGraph<Integer> reordered = g.reorder(ordering);
+
+            assertEquals(ordering + " keeps vertices and edges", g, reordered);
+            for (int i = 0; i < 200; i++) {
+                assertEquals(g.pathLength(i, 1023 - i), reordered.pathLength(i, 1023 - i));
+            }
+            for (int id = 0; id < g.numVertices(); id++) {
+                assertEquals(id, reordered.id(reordered.vertex(id)));
+            }
+        }
+    }
+
+    @Test
+    public void orderingsBringNeighborsTogether()
+    {
+        FrozenGraph<Integer> g = shuffledGrid(30);
+        int scattered = bandwidth(g);
+
+        assertTrue(scattered > 500);
+        assertTrue("RCM numbers a grid row by diagonal", bandwidth(g.reorder(Ordering.RCM)) <= 31);
+        assertTrue(bandwidth(g.reorder(Ordering.BFS)) <= 61);
+    }
+
+    @Test
+    public void degreeOrderPutsHubsFirst()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.rmat(10, 8, 3).freeze();
+        FrozenGraph<Integer> reordered = g.reorder(Ordering.DEGREE);
+        for (int id = 1; id < reordered.numVertices(); id++) {
+            assertTrue(reordered.degree(reordered.vertex(id - 1))
+                       >= reordered.degree(reordered.vertex(id)));
+        }
+    }
+
+    @Test
+    public void attributesFollowTheirVerticesAndEdges()
+    {
+        FrozenGraph<Integer> g = shuffledGrid(5);
+        long[] weights = g.edgeAttributes().longColumn("weight");
+        Attributes.StringColumn names = g.vertexAttributes().stringColumn("name");
+        for (Integer v : g.getVertices()) {
+            names.set(g.id(v), "cell " + v);
+            for (Integer next : g.adjacentTo(v)) {
+                weights[g.edgeIndex(v, next)] = 100L * v + next;
+            }
+        }
+        g.vertexAttributes().booleanColumn("corner").set(g.id(24));
+
+        FrozenGraph<Integer> reordered = g.reorder(Ordering.RCM);
+        long[] moved = reordered.edgeAttributes().longColumn("weight");
+        for (Integer v : reordered.getVertices()) {
+            assertEquals("cell " + v,
+                         reordered.vertexAttributes().stringColumn("name").get(reordered.id(v)));
+            for (Integer next : reordered.adjacentTo(v)) {
+                assertEquals(100L * v + next, moved[reordered.edgeIndex(v, next)]);
+            }
+        }
+        assertEquals(1, reordered.vertexAttributes().booleanColumn("corner").cardinality());
+        assertTrue(reordered.vertexAttributes().booleanColumn("corner").get(reordered.id(24)));
+    }
+}
@@ -0,0 +1,148 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+@RunWith(JUnit4.class)
+public class SortedAdjacencyTests
+{
+    private Graph<Integer> sorted;
+    private Graph<Integer> plain;
+
+    @Before
+    public void setUp()
+    {
+        sorted = new GraphFactory<Integer>().adjacency(GraphFactory.Adjacency.SORTED).createGraph();
+        plain = new GraphFactory<Integer>().createGraph();
+        Random random = new Random(3);
+        for (int i = 0; i < 5000; i++) {
+            // vertex 0 is a hub; the rest are sparse
+            int from = i % 3 == 0 ? 0 : random.nextInt(200);
+            int to = random.nextInt(2000);
+            sorted.addEdge(from, to);
+            plain.addEdge(from, to);
+        }
+        for (int i = 0; i < 500; i++) {
+            int from = i % 2 == 0 ? 0 : random.nextInt(200);
+            int to = random.nextInt(2000);
+            sorted.removeEdge(from, to);
+            plain.removeEdge(from, to);
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        sorted = null;
+        plain = null;
+    }
+
+    @Test
+    public void sameEdgesAsInsertionOrder()
+    {
+        assertEquals("Sorting changes no edges", plain, sorted);
+        assertEquals("Edge counts agree", plain.numEdges(), sorted.numEdges());
+        for (int from = 0; from < 200; from++) {
+            assertEquals("Degrees agree", plain.degree(from), sorted.degree(from));
+            for (int to = 0; to < 2000; to += 7) {
+                assertEquals("hasEdge agrees", plain.hasEdge(from, to), sorted.hasEdge(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void removedVertexLeavesNoEdges()
+    {
+        sorted.removeVertex(5);
+        sorted.addVertex(-1);
+
+        for (int from = 0; from < 200; from++) {
+            if (from != 5) {
+                assertTrue("No edge reaches a removed vertex's id",
+                           !sorted.hasEdge(from, 5) && !sorted.hasEdge(from, -1));
+            }
+        }
+    }
+
+    @Test
+    public void commonNeighborsMatchBruteForce()
+    {
+        Graph<Integer> frozen = FrozenGraph.copyOf(sorted);
+        for (int a = 0; a < 40; a++) {
+            for (int b = 0; b < 40; b++) {
+                Set<Integer> expected = new HashSet<Integer>();
+                for (Integer next : plain.adjacentTo(a)) {
+                    if (plain.hasEdge(b, next)) {
+                        expected.add(next);
+                    }
+                }
+                assertEquals("Sorted rows intersect correctly",
+                             expected, new HashSet<Integer>(sorted.commonNeighbors(a, b)));
+                assertEquals("Insertion-order rows intersect correctly",
+                             expected, new HashSet<Integer>(plain.commonNeighbors(a, b)));
+                assertEquals("Frozen rows intersect correctly",
+                             expected, new HashSet<Integer>(frozen.commonNeighbors(a, b)));
+                assertEquals("Counts match the intersection",
+                             expected.size(), sorted.commonNeighborCount(a, b));
+            }
+        }
+        List<Integer> none = sorted.commonNeighbors(0, 12345);
+        assertTrue("A missing vertex has no common neighbors", none.isEmpty());
+    }
+
+    @Test
+    public void triangleCountMatchesBruteForce()
+    {
+        Graph<Integer> g = new GraphFactory<Integer>().createGraph();
+        Random random = new Random(5);
+        for (int i = 0; i < 400; i++) {
+            g.addEdge(random.nextInt(40), random.nextInt(40));
+        }
+        long expected = 0;
+        for (int a = 0; a < 40; a++) {
+            for (int b = a + 1; b < 40; b++) {
+                for (int c = b + 1; c < 40; c++) {
+                    if (joined(g, a, b) && joined(g, b, c) && joined(g, a, c)) {
+                        expected++;
+                    }
+                }
+            }
+        }
+        assertEquals("Each undirected triangle is counted once", expected, g.triangleCount());
+    }
+
+    @Test
+    public void triangleOfBothWayEdges()
+    {
+        Graph<String> g = new GraphFactory<String>().createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("B", "A");
+        g.addEdge("B", "C");
+        g.addEdge("A", "C");
+        g.addEdge("C", "C");
+        g.addEdge("C", "D");
+
+        assertEquals("Edge direction, doubled edges and loops are ignored",
+                     1, g.triangleCount());
+    }
+
+    private static boolean joined(Graph<Integer> g, int a, int b)
+    {
+        return g.hasEdge(a, b) || g.hasEdge(b, a);
+    }
+}
@@ -0,0 +1,134 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+@RunWith(JUnit4.class)
+public class SubgraphTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new GraphFactory<String>().createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("D", "A");
+        g.addEdge("A", "C");
+        g.addEdge("E", "A");
+        g.addVertex("F");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    private static Set<String> set(String... items)
+    {
+        return new HashSet<String>(Arrays.asList(items));
+    }
+
+    @Test
+    public void inducedSubgraphKeepsEdgesBetweenMembers()
+    {
+        for (Graph<String> source : Arrays.asList(g, FrozenGraph.copyOf(g))) {
+            FrozenGraph<String> sub = source.inducedSubgraph(set("A", "C", "D", "Z"));
+
+            assertEquals("Only vertices of the graph are kept", 3, sub.numVertices());
+            assertFalse("Vertices outside the graph are ignored", sub.contains("Z"));
+            assertEquals("Edges between members are kept", 3, sub.numEdges());
+            assertTrue(sub.hasEdge("A", "C"));
+            assertTrue(sub.hasEdge("C", "D"));
+            assertTrue(sub.hasEdge("D", "A"));
+            assertFalse("Edges leaving the set are dropped", sub.contains("B"));
+        }
+    }
+
+    @Test
+    public void emptySubgraph()
+    {
+        FrozenGraph<String> sub = FrozenGraph.copyOf(g).inducedSubgraph(set());
+
+        assertEquals(0, sub.numVertices());
+        assertEquals(0, sub.numEdges());
+    }
+
+    @Test
+    public void kHopNeighborhoodFollowsOutgoingEdges()
+    {
+        for (Graph<String> source : Arrays.asList(g, FrozenGraph.copyOf(g))) {
+            assertEquals("Zero hops is the center alone",
+                         1, source.kHopNeighborhood("A", 0).numVertices());
+            FrozenGraph<String> one = source.kHopNeighborhood("A", 1);
+            assertEquals(set("A", "B", "C"), vertices(one));
+            assertEquals("A->B, A->C and B->C", 3, one.numEdges());
+            assertEquals(set("A", "B", "C", "D"), vertices(source.kHopNeighborhood("A", 2)));
+            assertEquals("Incoming edges are not followed",
+                         set("E", "A", "B", "C"), vertices(source.kHopNeighborhood("E", 2)));
+            assertEquals("A missing center gives an empty graph",
+                         0, source.kHopNeighborhood("Z", 2).numVertices());
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void negativeHopsAreRejected()
+    {
+        FrozenGraph.copyOf(g).kHopNeighborhood("A", -1);
+    }
+
+    @Test
+    public void largeSubgraphsMatchTheGenericCopy()
+    {
+        Random random = new Random(7);
+        Graph<Integer> source = new GraphFactory<Integer>().createGraph();
+        for (int i = 0; i < 200000; i++) {
+            source.addEdge(random.nextInt(40000), random.nextInt(40000));
+        }
+        FrozenGraph<Integer> frozen = FrozenGraph.copyOf(source);
+        Set<Integer> keep = new HashSet<Integer>();
+        for (int i = 0; i < 40000; i += 2) {
+            keep.add(i);
+        }
+        FrozenGraph<Integer> parallel = frozen.inducedSubgraph(keep);
+        FrozenGraph<Integer> generic = source.inducedSubgraph(keep);
+
+        assertEquals(generic.numVertices(), parallel.numVertices());
+        assertEquals(generic.numEdges(), parallel.numEdges());
+        for (Integer v : generic.getVertices()) {
+            for (Integer w : generic.adjacentTo(v)) {
+                assertTrue(parallel.hasEdge(v, w));
+            }
+        }
+        assertEquals(vertices(source.kHopNeighborhood(3, 2)), vertices(frozen.kHopNeighborhood(3, 2)));
+        assertEquals(source.kHopNeighborhood(3, 2).numEdges(), frozen.kHopNeighborhood(3, 2).numEdges());
+    }
+
+    private static <V> Set<V> vertices(Graph<V> graph)
+    {
+        Set<V> items = new HashSet<V>();
+        for (V vertex : graph.getVertices()) {
+            items.add(vertex);
+        }
+        return items;
+    }
+}
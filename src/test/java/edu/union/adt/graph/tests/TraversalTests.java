@@ -0,0 +1,133 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+
+@RunWith(JUnit4.class)
+public class TraversalTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new GraphFactory<String>().createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("B", "D");
+        g.addEdge("C", "D");
+        g.addEdge("D", "E");
+        g.addEdge("E", "A");
+        g.addVertex("Lonely");
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void bfsVisitsByDistance()
+    {
+        List<String> order = toList(g.bfs("A"));
+
+        assertEquals("BFS reaches every vertex reachable from A once",
+                     5, order.size());
+        assertEquals("BFS starts at the start vertex", "A", order.get(0));
+        assertTrue("B and C are visited before D",
+                   order.indexOf("D") > order.indexOf("B")
+                   && order.indexOf("D") > order.indexOf("C"));
+        assertEquals("E is the farthest vertex", "E", order.get(4));
+        assertFalse("Unreachable vertices are not visited",
+                    order.contains("Lonely"));
+    }
+
+    @Test
+    public void dfsFollowsOneBranchFirst()
+    {
+        List<String> order = toList(g.dfs("A"));
+
+        assertEquals("DFS goes as deep as possible along the first edge",
+                     Arrays.asList("A", "B", "D", "E", "C"), order);
+    }
+
+    @Test
+    public void maxDepth()
+    {
+        assertEquals("Depth 0 only yields the start vertex",
+                     Arrays.asList("A"), toList(g.bfs("A").maxDepth(0)));
+        assertEquals("Depth 1 yields the start vertex and its neighbours",
+                     3, toList(g.bfs("A").maxDepth(1)).size());
+        assertFalse("Depth 2 does not reach E",
+                    toList(g.bfs("A").maxDepth(2)).contains("E"));
+        assertEquals("DFS depth limit applies to the DFS tree",
+                     Arrays.asList("A", "B", "C"),
+                     toList(g.dfs("A").maxDepth(1)));
+    }
+
+    @Test
+    public void filterPrunesTheWalk()
+    {
+        List<String> order = toList(g.bfs("A").filter(v -> !v.equals("B")));
+
+        assertFalse("A rejected vertex is not produced", order.contains("B"));
+        assertTrue("Other paths still reach D", order.contains("D"));
+
+        order = toList(g.bfs("A").filter(v -> !v.equals("D")));
+        assertFalse("Vertices only reachable through a rejected vertex "
+                    + "are not produced", order.contains("E"));
+    }
+
+    @Test
+    public void lazyStreams()
+    {
+        assertEquals("The first match within two hops is found",
+                     "D",
+                     g.bfs("A").maxDepth(2).stream()
+                     .filter(v -> v.startsWith("D")).findFirst().get());
+
+        Iterator<String> it = g.bfs("A").iterator();
+        assertEquals("Iterators are independent of each other",
+                     "A", it.next());
+        assertEquals("A fresh stream starts over", "A",
+                     g.bfs("A").stream().findFirst().get());
+    }
+
+    @Test
+    public void missingStart()
+    {
+        assertFalse("Traversing from a missing vertex yields nothing",
+                    g.bfs("Nowhere").iterator().hasNext());
+        assertEquals("DFS from a missing vertex yields nothing",
+                     0, g.dfs("Nowhere").stream().count());
+        assertEquals("An isolated vertex only yields itself",
+                     Arrays.asList("Lonely"),
+                     g.dfs("Lonely").stream().collect(Collectors.toList()));
+    }
+
+    private List<String> toList(Iterable<String> container)
+    {
+        List<String> result = new ArrayList<String>();
+        for (String s : container) {
+            result.add(s);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.GraphFactory.Direction;
+import edu.union.adt.graph.UndirectedGraph;
+
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class UndirectedGraphTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new GraphFactory<String>().direction(Direction.UNDIRECTED).createGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void factorySelectsUndirectedGraph()
+    {
+        assertTrue("The UNDIRECTED hint selects UndirectedGraph", g instanceof UndirectedGraph);
+        try {
+            new GraphFactory<String>().direction(Direction.UNDIRECTED).concurrency(4).createGraph();
+            fail("Undirected graphs are single-threaded");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void edgesGoBothWaysAndCountOnce()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "A");
+        g.addEdge("B", "C");
+        g.addEdge("C", "C");
+
+        assertEquals("Each undirected edge counts once", 3, g.numEdges());
+        assertTrue("Edges join both ways", g.hasEdge("B", "A") && g.hasEdge("C", "B"));
+        assertEquals("B is adjacent to A and C", 2, g.degree("B"));
+        assertEquals("A loop is one adjacency", 2, g.degree("C"));
+    }
+
+    @Test
+    public void removeEdgeRemovesBothDirections()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.removeEdge("B", "A");
+
+        assertFalse("The edge is gone from A", g.hasEdge("A", "B"));
+        assertFalse("The edge is gone from B", g.hasEdge("B", "A"));
+        assertEquals("One edge is left", 1, g.numEdges());
+        assertFalse("A is cut off", g.hasPath("A", "C"));
+        assertTrue("B and C are still joined", g.hasPath("C", "B"));
+    }
+
+    @Test
+    public void removeVertexRemovesItsEdges()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("B", "B");
+        g.removeVertex("B");
+        g.addEdge("D", "A");
+
+        assertEquals("Only the new edge is left", 1, g.numEdges());
+        assertEquals("A lost its edge to B", 1, g.degree("A"));
+        assertFalse("A and C were joined only through B", g.hasPath("A", "C"));
+        assertTrue("D reaches A", g.hasPath("A", "D"));
+    }
+
+    @Test
+    public void connectivityMatchesSearch()
+    {
+        Graph<Integer> u = new UndirectedGraph<Integer>();
+        Random random = new Random(4);
+        for (int i = 0; i < 300; i++) {
+            u.addEdge(random.nextInt(200), random.nextInt(200));
+            if (i % 5 == 0) {
+                u.removeEdge(random.nextInt(200), random.nextInt(200));
+            }
+            if (i % 50 == 0) {
+                u.removeVertex(random.nextInt(200));
+            }
+            int a = random.nextInt(200);
+            int b = random.nextInt(200);
+            boolean reachable = u.contains(a) && u.contains(b)
+                && u.pathLength(a, b) != Integer.MAX_VALUE;
+            assertEquals("Union-find agrees with breadth-first search",
+                         reachable, u.hasPath(a, b));
+        }
+    }
+
+    @Test
+    public void shortestPathsIgnoreDirection()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("C", "B");
+        g.addEdge("D", "C");
+
+        assertEquals("A reaches D against the order edges were added",
+                     3, g.pathLength("D", "A"));
+        assertEquals("Unknown vertices are unreachable",
+                     Integer.MAX_VALUE, g.pathLength("A", "Z"));
+    }
+}
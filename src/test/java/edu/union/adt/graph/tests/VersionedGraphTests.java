@@ -0,0 +1,232 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.VersionedGraph;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(JUnit4.class)
+public class VersionedGraphTests
+{
+    private VersionedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new VersionedGraph<String>();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void basicOperations()
+    {
+        assertTrue("A new graph is empty", g.isEmpty());
+
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "haha");
+        g.addEdge("Bar", "Foo");
+
+        assertEquals("Adding edges adds their endpoints", 3, g.numVertices());
+        assertEquals("Duplicate edges are not counted", 3, g.numEdges());
+        assertEquals("Degree counts outgoing edges", 2, g.degree("Foo"));
+        assertTrue("Edges are directed", g.hasEdge("Bar", "Foo"));
+        assertFalse("Edges are directed", g.hasEdge("haha", "Foo"));
+        assertFalse("A missing vertex has no adjacent vertices",
+                    g.adjacentTo(null).iterator().hasNext());
+
+        g.removeEdge("Foo", "haha");
+        assertFalse("Removing an edge removes it", g.hasEdge("Foo", "haha"));
+        assertEquals("Removing an edge decreases the edge count",
+                     2, g.numEdges());
+    }
+
+    @Test
+    public void removeVertexRemovesIncidentEdges()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.addEdge("B", "B");
+        g.addEdge("C", "A");
+
+        g.removeVertex("B");
+
+        assertFalse("The vertex is gone", g.contains("B"));
+        assertFalse("Edges into the vertex are gone", g.hasEdge("A", "B"));
+        assertEquals("Only C -> A remains", 1, g.numEdges());
+        assertEquals("A has no successors left", 0, g.degree("A"));
+    }
+
+    @Test
+    public void paths()
+    {
+        g.addEdge("Ant", "Buu");
+        g.addEdge("Buu", "Cow");
+        g.addEdge("Cow", "Dog");
+        g.addEdge("Ant", "Cow");
+
+        assertTrue("There is a path from Ant to Dog", g.hasPath("Ant", "Dog"));
+        assertFalse("There is no path from Dog to Ant", g.hasPath("Dog", "Ant"));
+        assertEquals("The shortest path skips Buu", 2, g.pathLength("Ant", "Dog"));
+        assertEquals("The path lists every vertex on it",
+                     Arrays.asList("Ant", "Cow", "Dog"),
+                     toList(g.getPath("Ant", "Dog")));
+        assertEquals("There is no path to a missing vertex",
+                     Integer.MAX_VALUE, g.pathLength("Ant", "Emu"));
+    }
+
+    @Test
+    public void snapshotsAreIsolated()
+    {
+        g.addEdge("A", "B");
+        VersionedGraph.Snapshot<String> before = g.snapshot();
+
+        g.addEdge("B", "C");
+        g.removeVertex("A");
+
+        assertTrue("The snapshot still has the removed vertex",
+                   before.contains("A"));
+        assertTrue("The snapshot still has the removed edge",
+                   before.hasEdge("A", "B"));
+        assertFalse("The snapshot does not see the new vertex",
+                    before.contains("C"));
+        assertEquals("The snapshot keeps its own edge count",
+                     1, before.numEdges());
+        assertEquals("The graph sees every change", 1, g.numEdges());
+        assertTrue("Versions increase with each change",
+                   g.version() > before.version());
+
+        try {
+            before.addVertex("Z");
+            fail("Snapshots cannot be modified");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void snapshotsEqualEquivalentGraphs()
+    {
+        VersionedGraph<String> other = new VersionedGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "A");
+        other.addEdge("B", "A");
+        other.addEdge("A", "B");
+
+        assertEquals("Graphs with the same edges are equal", g, other);
+        assertEquals("A snapshot equals its graph", g.snapshot(), g);
+        assertEquals("Equal graphs have equal hash codes",
+                     g.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void manyVerticesWithCollidingHashes()
+    {
+        VersionedGraph<Colliding> graph = new VersionedGraph<Colliding>();
+        for (int i = 0; i < 2000; i++) {
+            graph.addEdge(new Colliding(i), new Colliding((i * 7) % 2000));
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            graph.removeVertex(new Colliding(i));
+        }
+
+        assertEquals("Half of the vertices remain", 1000, graph.numVertices());
+        int count = 0;
+        for (Colliding vertex : graph.getVertices()) {
+            assertTrue("Only odd vertices remain", vertex.id % 2 == 1);
+            count++;
+        }
+        assertEquals("Iteration visits every vertex once", 1000, count);
+        assertTrue("Edges between remaining vertices survive",
+                   graph.hasEdge(new Colliding(1), new Colliding(7)));
+        assertEquals("Edge count matches the remaining edges",
+                     1000, graph.numEdges());
+    }
+
+    @Test
+    public void readersSeeConsistentSnapshots() throws Exception
+    {
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                g.addEdge("S", "M" + i);
+                g.addEdge("M" + i, "T");
+                g.removeVertex("M" + (i - 1));
+            }
+            done.set(true);
+        });
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                Graph<String> view = g.snapshot();
+                int length = view.pathLength("S", "T");
+                if (view.contains("T") && length != 2) {
+                    failure.set("Saw a torn path of length " + length);
+                }
+                if (view.numEdges() > 4) {
+                    failure.set("Saw " + view.numEdges() + " edges");
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertEquals("Readers never see a half-applied mutation",
+                     null, failure.get());
+        assertEquals("Only the last middle vertex survives", 2, g.numEdges());
+    }
+
+    private List<String> toList(Iterable<String> container)
+    {
+        List<String> result = new ArrayList<String>();
+        for (String s : container) {
+            result.add(s);
+        }
+        return result;
+    }
+
+    private static class Colliding
+    {
+        final int id;
+
+        Colliding(int id)
+        {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof Colliding && ((Colliding) other).id == id;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return id % 37;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphImplementation;
+
+import java.util.Iterator;
+
+@RunWith(JUnit4.class)
+public class VertexInterningTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new GraphImplementation<String>();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    @Test
+    public void equalVerticesAreStoredOnce()
+    {
+        String first = new String("A");
+        g.addVertex(first);
+        g.addEdge(new String("B"), new String("A"));
+        g.addEdge(new String("B"), new String("A"));
+
+        assertEquals("Equal vertices are one vertex", 2, g.numVertices());
+        assertEquals("Adding an edge twice adds it once", 1, g.numEdges());
+        assertSame("The first instance added is the one kept",
+                   first, g.adjacentTo("B").iterator().next());
+    }
+
+    @Test
+    public void removedIdsAreReused()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.removeVertex("B");
+        g.addVertex("D");
+
+        assertEquals("Removing B removes its three edges", 0, g.numEdges());
+        assertFalse("No edge reaches the vertex that took B's id",
+                    g.hasEdge("A", "D") || g.hasEdge("C", "D"));
+        assertEquals("D starts with no edges", 0, g.degree("D"));
+
+        g.addEdge("A", "D");
+        assertTrue("Edges to the new vertex work", g.hasPath("A", "D"));
+        assertFalse("B is gone", g.contains("B"));
+    }
+
+    @Test
+    public void removeEdgeKeepsTheRestOfTheRow()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("A", "D");
+        g.removeEdge("A", "C");
+
+        Iterator<String> adjacent = g.adjacentTo("A").iterator();
+        assertEquals("B is still first", "B", adjacent.next());
+        assertEquals("D follows it", "D", adjacent.next());
+        assertFalse("C is gone", adjacent.hasNext());
+        assertEquals("One edge was removed", 2, g.numEdges());
+    }
+
+    @Test
+    public void equalsOtherImplementations()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        Graph<String> frozen = FrozenGraph.copyOf(g);
+
+        assertTrue("Graphs with the same edges are equal however they are stored",
+                   g.equals(frozen) && frozen.equals(g));
+        assertEquals("Equal graphs have equal hash codes",
+                     frozen.hashCode(), g.hashCode());
+    }
+
+    @Test
+    public void pathsAreMaterializedAtTheBoundary()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "C");
+        g.addVertex("Lonely");
+
+        assertEquals("Shortest path skips B", 1, g.pathLength("A", "C"));
+        assertEquals("No path gives MAX_VALUE",
+                     Integer.MAX_VALUE, g.pathLength("A", "Lonely"));
+        assertEquals("Missing vertices give MAX_VALUE",
+                     Integer.MAX_VALUE, g.pathLength("A", "Missing"));
+        Iterator<String> path = g.getPath("A", "C").iterator();
+        assertEquals("A", path.next());
+        assertEquals("C", path.next());
+        assertFalse(path.hasNext());
+    }
+}
@@ -0,0 +1,355 @@
+package edu.union.adt.graph.tests.scale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Times each operation on graphs of growing size and fails if its cost
+ * grows faster than its documented complexity class.
+ *
+ * Each operation is timed at 2^11, 2^13 and 2^15 vertices (average
+ * degree 8), taking the fastest of several rounds at each size, and
+ * the growth exponent is the slope of log(time per operation) against
+ * log(vertices).  An operation documented as O(1) has exponent 0 and
+ * one documented as O(V + E) has exponent 1; the test fails when the
+ * measured exponent exceeds the documented one by more than the
+ * tolerance, 0.5 by default, or the "scale.tolerance" system property.
+ */
+@RunWith(Parameterized.class)
+public class ComplexityTests
+{
+    private static final int[] SIZES = {1 << 11, 1 << 13, 1 << 15};
+    private static final int DEGREE = 8;
+    private static final int ROUNDS = 5;
+    private static final double TOLERANCE =
+        Double.parseDouble(System.getProperty("scale.tolerance", "0.5"));
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> implementations()
+    {
+        return Arrays.asList(new Object[][] {
+            {"insertion order", (Supplier<GraphFactory<Integer>>) () -> new GraphFactory<Integer>(), 1},
+            {"sorted", (Supplier<GraphFactory<Integer>>) () -> new GraphFactory<Integer>()
+                .adjacency(GraphFactory.Adjacency.SORTED), 1},
+            {"versioned", (Supplier<GraphFactory<Integer>>) () -> new GraphFactory<Integer>()
+                .concurrency(4), 0},
+            {"undirected", (Supplier<GraphFactory<Integer>>) () -> new GraphFactory<Integer>()
+                .direction(GraphFactory.Direction.UNDIRECTED), 0},
+        });
+    }
+
+    private final String name;
+    private final Supplier<GraphFactory<Integer>> factory;
+    private final int removeVertexExponent;
+
+    /**
+     * @param removeVertexExponent 1 for graphs that must search every
+     * adjacency list for edges into a removed vertex, 0 for those that
+     * know its predecessors
+     */
+    public ComplexityTests(String name, Supplier<GraphFactory<Integer>> factory,
+                           int removeVertexExponent)
+    {
+        this.name = name;
+        this.factory = factory;
+        this.removeVertexExponent = removeVertexExponent;
+    }
+
+    /**
+     * Something to time at one size: prepare() builds what the timed
+     * part needs, run() does 'operations' operations.
+     */
+    private interface Workload
+    {
+        void prepare(int vertices, int round);
+
+        void run();
+
+        int operations();
+    }
+
+    private Graph<Integer> randomGraph(int vertices)
+    {
+        Graph<Integer> g = factory.get().expectedVertices(vertices + 1)
+            .expectedEdges(vertices * DEGREE).createGraph();
+        return GraphGenerator.erdosRenyi(vertices, DEGREE, vertices).into(g);
+    }
+
+    @Test
+    public void addEdgeIsConstant()
+    {
+        assertGrowth("addEdge", 0, new Workload() {
+            private Graph<Integer> g;
+            private int vertices;
+
+            public void prepare(int vertices, int round)
+            {
+                this.vertices = vertices;
+                g = factory.get().expectedVertices(vertices).createGraph();
+            }
+
+            public void run()
+            {
+                GraphGenerator.erdosRenyi(vertices, DEGREE, vertices).into(g);
+            }
+
+            public int operations()
+            {
+                return vertices * (DEGREE + 1);
+            }
+        });
+    }
+
+    @Test
+    public void hasEdgeAndContainsAreConstant()
+    {
+        assertGrowth("hasEdge", 0, queries((g, random, vertices) ->
+            g.hasEdge(random.nextInt(vertices), random.nextInt(vertices))));
+        assertGrowth("contains", 0, queries((g, random, vertices) ->
+            g.contains(random.nextInt(2 * vertices))));
+    }
+
+    @Test
+    public void removeEdgeIsConstant()
+    {
+        assertGrowth("removeEdge", 0, new Workload() {
+            private Graph<Integer> g;
+            private final List<int[]> edges = new ArrayList<int[]>();
+
+            public void prepare(int vertices, int round)
+            {
+                g = randomGraph(vertices);
+                edges.clear();
+                for (int from : distinct(operations(), vertices, round)) {
+                    for (Integer to : g.adjacentTo(from)) {
+                        edges.add(new int[] {from, to});
+                        break;
+                    }
+                }
+            }
+
+            public void run()
+            {
+                for (int[] edge : edges) {
+                    g.removeEdge(edge[0], edge[1]);
+                }
+            }
+
+            public int operations()
+            {
+                return 256;
+            }
+        });
+    }
+
+    @Test
+    public void removeVertexIsAsDocumented()
+    {
+        assertGrowth("removeVertex", removeVertexExponent, new Workload() {
+            private Graph<Integer> g;
+            private int[] victims;
+
+            public void prepare(int vertices, int round)
+            {
+                g = randomGraph(vertices);
+                victims = distinct(operations(), vertices, round);
+            }
+
+            public void run()
+            {
+                for (int victim : victims) {
+                    g.removeVertex(victim);
+                }
+            }
+
+            public int operations()
+            {
+                return removeVertexExponent == 0 ? 256 : 16;
+            }
+        });
+    }
+
+    @Test
+    public void pathLengthIsLinear()
+    {
+        assertGrowth("pathLength", 1, new Workload() {
+            private Graph<Integer> g;
+            private int unreachable;
+
+            public void prepare(int vertices, int round)
+            {
+                if (round == 0) {
+                    g = randomGraph(vertices);
+                    unreachable = vertices;
+                    g.addVertex(unreachable);
+                }
+            }
+
+            public void run()
+            {
+                for (int i = 0; i < operations(); i++) {
+                    // an unreachable target makes every query search all it can reach
+                    assertEquals(Integer.MAX_VALUE, g.pathLength(i, unreachable));
+                }
+            }
+
+            public int operations()
+            {
+                return 4;
+            }
+        });
+    }
+
+    @Test
+    public void getPathIsLinearInLongPaths()
+    {
+        assertGrowth("getPath", 1, new Workload() {
+            private Graph<Integer> g;
+            private int vertices;
+
+            public void prepare(int vertices, int round)
+            {
+                if (round == 0) {
+                    this.vertices = vertices;
+                    g = GraphGenerator.chain(vertices).into(factory.get().createGraph());
+                }
+            }
+
+            public void run()
+            {
+                int length = 0;
+                for (Integer vertex : g.getPath(0, vertices - 1)) {
+                    length++;
+                }
+                assertEquals(vertices, length);
+            }
+
+            public int operations()
+            {
+                return 1;
+            }
+        });
+    }
+
+    /**
+     * A query run against a random graph with a seeded random source.
+     */
+    private interface Query
+    {
+        void ask(Graph<Integer> g, Random random, int vertices);
+    }
+
+    private Workload queries(Query query)
+    {
+        return new Workload() {
+            private Graph<Integer> g;
+            private Random random;
+            private int vertices;
+
+            public void prepare(int vertices, int round)
+            {
+                if (round == 0) {
+                    g = randomGraph(vertices);
+                    this.vertices = vertices;
+                }
+                random = new Random(round);
+            }
+
+            public void run()
+            {
+                for (int i = 0; i < operations(); i++) {
+                    query.ask(g, random, vertices);
+                }
+            }
+
+            public int operations()
+            {
+                return 200000;
+            }
+        };
+    }
+
+    /**
+     * @return 'count' different ids below 'bound', in random order.
+     */
+    private static int[] distinct(int count, int bound, long seed)
+    {
+        int[] ids = new int[bound];
+        for (int i = 0; i < bound; i++) {
+            ids[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(bound - i);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private void assertGrowth(String operation, int exponent, Workload workload)
+    {
+        double[] x = new double[SIZES.length];
+        double[] y = new double[SIZES.length];
+        StringBuilder timings = new StringBuilder();
+        // the first size is timed twice so that the JIT has warmed up
+        for (int i = -1; i < SIZES.length; i++) {
+            int vertices = SIZES[Math.max(i, 0)];
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                workload.prepare(vertices, round);
+                long start = System.nanoTime();
+                workload.run();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            if (i >= 0) {
+                double perOperation = (double) best / workload.operations();
+                x[i] = Math.log(vertices);
+                y[i] = Math.log(perOperation);
+                timings.append(String.format(" %d: %.1f ns", vertices, perOperation));
+            }
+        }
+        double slope = slope(x, y);
+        if (slope > exponent + TOLERANCE) {
+            fail(String.format("%s on %s graphs grows as V^%.2f, documented as V^%d;%s",
+                               operation, name, slope, exponent, timings));
+        }
+    }
+
+    /**
+     * @return the least-squares slope of y against x.
+     */
+    private static double slope(double[] x, double[] y)
+    {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += x[i] / x.length;
+            meanY += y[i] / y.length;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return covariance / variance;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.union.adt.graph.tests.scale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.FrozenGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Pair;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Path queries on graphs with about a million vertices, which the
+ * small fixtures of GraphTestSuite never reach: long chains catch
+ * recursion that overflows the stack, and the timeouts catch searches
+ * that are far slower than linear.
+ */
+@RunWith(JUnit4.class)
+public class LargeGraphTests
+{
+    private static final int VERTICES = 1 << 20;
+
+    @Test(timeout = 60000)
+    public void millionVertexChain()
+    {
+        Graph<Integer> g = GraphGenerator.chain(VERTICES).into(
+            new GraphFactory<Integer>().expectedVertices(VERTICES).expectedEdges(VERTICES)
+            .createGraph());
+
+        assertTrue(g.hasPath(0, VERTICES - 1));
+        assertFalse(g.hasPath(VERTICES - 1, 0));
+        assertEquals(VERTICES - 1, g.pathLength(0, VERTICES - 1));
+        Iterator<Integer> path = g.getPath(0, VERTICES - 1).iterator();
+        for (int v = 0; v < VERTICES; v++) {
+            assertEquals(Integer.valueOf(v), path.next());
+        }
+        assertFalse(path.hasNext());
+    }
+
+    @Test(timeout = 60000)
+    public void millionVertexGrid()
+    {
+        FrozenGraph<Integer> g = GraphGenerator.grid(1024, 1024).freeze();
+
+        assertEquals(2 * 1023, g.pathLength(0, VERTICES - 1));
+        assertEquals(2 * 1023, g.pathLength(VERTICES - 1, 0));
+        assertEquals(1023 + 1, g.pathLength(5, 1024 * 1023 + 6));
+    }
+
+    @Test(timeout = 120000)
+    public void millionVertexPowerLawGraph()
+    {
+        GraphGenerator generator = GraphGenerator.rmat(20, 8, 42);
+        FrozenGraph<Integer> frozen = generator.freeze();
+        Graph<Integer> g = generator.into(new GraphFactory<Integer>()
+                                          .expectedVertices(VERTICES)
+                                          .expectedEdges(frozen.numEdges()).createGraph());
+        assertEquals(frozen.numEdges(), g.numEdges());
+
+        Random random = new Random(42);
+        List<Pair<Integer, Integer>> pairs = new ArrayList<Pair<Integer, Integer>>();
+        for (int i = 0; i < 10; i++) {
+            pairs.add(Pair.of(random.nextInt(VERTICES), random.nextInt(VERTICES)));
+        }
+        int[] lengths = frozen.pathLengths(pairs);
+        for (int i = 0; i < pairs.size(); i++) {
+            Integer from = pairs.get(i).first();
+            Integer to = pairs.get(i).second();
+            assertEquals(lengths[i], g.pathLength(from, to));
+            assertEquals(lengths[i] != Integer.MAX_VALUE, g.hasPath(from, to));
+        }
+    }
+}
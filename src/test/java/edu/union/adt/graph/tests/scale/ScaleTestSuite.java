@@ -0,0 +1,18 @@
+package edu.union.adt.graph.tests.scale;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * The scale tier: slow tests on large graphs, kept out of
+ * GraphTestSuite and run with "gradle scaleTest".
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses
+({
+    ComplexityTests.class,
+    LargeGraphTests.class
+})
+public class ScaleTestSuite
+{ // no implementation needed; above annotations do the work.
+}
@@ -0,0 +1,139 @@
+package edu.union.adt.graph.tests.shard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.shard.LoopbackTransport;
+import edu.union.adt.graph.shard.Partitioner;
+import edu.union.adt.graph.shard.ShardedGraph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class ShardedGraphTests
+{
+    private ShardedGraph<String> g;
+
+    private ShardedGraph<String> sharded(int shards)
+    {
+        g = new ShardedGraph<String>(
+            new LoopbackTransport<String>(shards, Partitioner.<String>hash()));
+        return g;
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        if (g != null) {
+            g.close();
+        }
+    }
+
+    @Test
+    public void basicOperations()
+    {
+        sharded(3);
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Foo", "haha");
+        g.addEdge("Foo", "haha");
+        g.addEdge("Bar", "Foo");
+        g.addVertex("Lonely");
+
+        assertEquals("Vertices are counted across shards", 4, g.numVertices());
+        assertEquals("Edges are counted across shards", 3, g.numEdges());
+        assertEquals("Degree counts successors", 2, g.degree("Foo"));
+        assertTrue("Edges are found on the owner shard", g.hasEdge("Bar", "Foo"));
+        assertFalse("Edges are directed", g.hasEdge("haha", "Foo"));
+
+        g.removeVertex("Foo");
+        assertFalse("Removed vertices are gone", g.contains("Foo"));
+        assertEquals("Edges into and out of the vertex are gone", 0, g.numEdges());
+    }
+
+    @Test
+    public void distributedPaths()
+    {
+        sharded(4);
+        g.addEdge("Ant", "Buu");
+        g.addEdge("Buu", "Cow");
+        g.addEdge("Cow", "Dog");
+        g.addEdge("Ant", "Cow");
+        g.addVertex("Egg");
+
+        assertEquals("A vertex is 0 away from itself", 0, g.pathLength("Egg", "Egg"));
+        assertEquals("The shortest path is found", 2, g.pathLength("Ant", "Dog"));
+        assertFalse("There is no path against the edges", g.hasPath("Dog", "Ant"));
+        assertEquals("Unreachable vertices are infinitely far",
+                     Integer.MAX_VALUE, g.pathLength("Ant", "Egg"));
+        assertEquals("The path lists its vertices", Arrays.asList("Ant", "Cow", "Dog"),
+                     toList(g.getPath("Ant", "Dog")));
+    }
+
+    @Test
+    public void matchesSingleGraphOnRandomEdges() throws IOException
+    {
+        Random random = new Random(3);
+        Graph<Integer> reference = new VersionedGraph<Integer>();
+        ShardedGraph<Integer> byHash = new ShardedGraph<Integer>(
+            new LoopbackTransport<Integer>(5, Partitioner.<Integer>hash()));
+        ShardedGraph<Integer> byRange = new ShardedGraph<Integer>(
+            new LoopbackTransport<Integer>(3, Partitioner.range(Arrays.asList(100, 200),
+                                                                Comparator.<Integer>naturalOrder())));
+        for (int i = 0; i < 900; i++) {
+            int from = random.nextInt(300);
+            int to = random.nextInt(300);
+            reference.addEdge(from, to);
+            byHash.addEdge(from, to);
+            byRange.addEdge(from, to);
+        }
+        try {
+            assertEquals("Sharding keeps every edge", reference, byHash);
+            assertEquals("Range sharding keeps every edge", reference, byRange);
+            for (int i = 0; i < 200; i++) {
+                int from = random.nextInt(300);
+                int to = random.nextInt(300);
+                int expected = reference.pathLength(from, to);
+                assertEquals("Hash-sharded distances match", expected,
+                             byHash.pathLength(from, to));
+                assertEquals("Range-sharded distances match", expected,
+                             byRange.pathLength(from, to));
+                List<Integer> path = toList(byHash.getPath(from, to));
+                if (expected != Integer.MAX_VALUE) {
+                    assertEquals("Paths have one more vertex than their length",
+                                 expected + 1, path.size());
+                    for (int v = 0; v + 1 < path.size(); v++) {
+                        assertTrue("Paths follow edges",
+                                   reference.hasEdge(path.get(v), path.get(v + 1)));
+                    }
+                }
+            }
+        } finally {
+            byHash.close();
+            byRange.close();
+        }
+    }
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> result = new ArrayList<T>();
+        Iterator<T> it = container.iterator();
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+}